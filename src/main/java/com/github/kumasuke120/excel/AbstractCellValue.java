@@ -22,10 +22,12 @@ import static com.github.kumasuke120.excel.WorkbookDateTimeFormatters.DEFAULT_DA
 @ApiStatus.Internal
 abstract class AbstractCellValue implements CellValue {
 
-    final Object originalValue;
+    private final Object originalValue;
 
     /**
-     * Creates a new instance of {@link CellValue} based on the given value
+     * Creates a new instance of {@link CellValue} based on the given value.<br>
+     * The subclasses that store their values unboxed pass <code>null</code> and override
+     * {@link #originalValue()}, {@link #originalType()} and {@link #isNull()}.
      *
      * @param originalValue the given value
      */
@@ -66,18 +68,18 @@ abstract class AbstractCellValue implements CellValue {
 
     @Override
     @NotNull
-    public final Class<?> originalType() {
+    public Class<?> originalType() {
         return Objects.requireNonNull(originalValue).getClass();
     }
 
     @Override
     @Nullable
-    public final Object originalValue() {
+    public Object originalValue() {
         return originalValue;
     }
 
     @Override
-    public final boolean isNull() {
+    public boolean isNull() {
         return originalValue == null;
     }
 
@@ -129,6 +131,7 @@ abstract class AbstractCellValue implements CellValue {
                                             Function<Object, Object> mappingFunction) {
         Objects.requireNonNull(mappingFunction);
 
+        final Object originalValue = originalValue();
         final Object newOriginalValue;
         try {
             newOriginalValue = mappingFunction.apply(originalValue);
@@ -151,7 +154,11 @@ abstract class AbstractCellValue implements CellValue {
     @NotNull
     @Contract(pure = true)
     public final CellValue trim() {
-        return mapOriginalValue(v -> v instanceof String ? ((String) v).trim() : v);
+        if (isNull() || originalType() != String.class) { // checks the type first, the primitives stay unboxed
+            return this;
+        } else {
+            return mapOriginalValue(v -> ((String) v).trim());
+        }
     }
 
     @Override
@@ -160,7 +167,7 @@ abstract class AbstractCellValue implements CellValue {
         if (this instanceof StrictCellValue) {
             return this;
         } else {
-            return StrictCellValue.newInstance(originalValue);
+            return newStrictValue();
         }
     }
 
@@ -170,32 +177,61 @@ abstract class AbstractCellValue implements CellValue {
         if (this instanceof LenientCellValue) {
             return this;
         } else {
-            return LenientCellValue.newInstance(originalValue);
+            return newLenientValue();
         }
     }
 
+    /**
+     * Returns a {@link StrictCellValue} of the same original value.
+     *
+     * @return an instance of <code>StrictCellValue</code>
+     */
+    @NotNull
+    StrictCellValue newStrictValue() {
+        return StrictCellValue.newInstance(originalValue());
+    }
+
+    /**
+     * Returns a {@link LenientCellValue} of the same original value.
+     *
+     * @return an instance of <code>LenientCellValue</code>
+     */
+    @NotNull
+    LenientCellValue newLenientValue() {
+        return LenientCellValue.newInstance(originalValue());
+    }
+
+    // the value classes storing primitives unboxed are equal to the ones storing boxes
+    @NotNull
+    private Class<? extends AbstractCellValue> valueClass() {
+        return this instanceof StrictCellValue ? StrictCellValue.class : LenientCellValue.class;
+    }
+
     @Override
     public final boolean equals(@Nullable Object o) {
         if (this == o) {
             return true;
         }
-        if (o == null || getClass() != o.getClass()) {
+        if (o instanceof LazyCellValue) { // compares with its decoded value
+            o = ((LazyCellValue) o).materialize();
+        }
+        if (!(o instanceof AbstractCellValue) || valueClass() != ((AbstractCellValue) o).valueClass()) {
             return false;
         }
         AbstractCellValue cellValue = (AbstractCellValue) o;
-        return Objects.equals(originalValue, cellValue.originalValue);
+        return Objects.equals(originalValue(), cellValue.originalValue());
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(getClass(), originalValue);
+        return Objects.hash(valueClass(), originalValue());
     }
 
     /**
      * Returns the string representation of the <code>CellValue</code>.<br>
      * This result string will follow this form:
      * <pre><code>
-     * getClass().getName() +
+     * <i>StrictCellValue or LenientCellValue</i>.class.getName() +
      * "{" +
      * (isNull() ? "" : "type = <i>value type</i>, ") +
      * "value = <i>value</i>" +
@@ -210,7 +246,7 @@ abstract class AbstractCellValue implements CellValue {
     @Override
     @NotNull
     public final String toString() {
-        return getClass().getName() +
+        return valueClass().getName() +
                 "{" +
                 (isNull() ? "" : "type = " + originalType().getCanonicalName() + ", ") +
                 "value = " + originalValue() +
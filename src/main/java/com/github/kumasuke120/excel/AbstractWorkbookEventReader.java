@@ -8,6 +8,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.time.temporal.Temporal;
 import java.util.Objects;
 
 /**
@@ -22,6 +23,14 @@ abstract class AbstractWorkbookEventReader implements WorkbookEventReader {
     private volatile boolean closed = false;
     private volatile boolean reading = false;
 
+    // the handler of the current reading, accessed on the reading thread only
+    private CancelFastEventHandler activeHandler;
+
+    // the events are handed off from another thread through a ring of this size if it is positive,
+    // set by the subclasses when opening
+    int asyncBufferSize;
+    WaitStrategy asyncWaitStrategy;
+
     /**
      * Creates a new {@link AbstractWorkbookEventReader} based on the given file {@link InputStream}
      * and the given password if possible.
@@ -149,13 +158,27 @@ abstract class AbstractWorkbookEventReader implements WorkbookEventReader {
 
         Objects.requireNonNull(handler);
 
-        final EventHandler delegate = new CancelFastEventHandler(handler);
+        final CancelFastEventHandler cancelFastHandler = new CancelFastEventHandler(handler);
+        // cells are assembled into rows or batches ahead of the cancellation checks, which happen once a row or batch
+        final EventHandler delegate;
+        if (handler instanceof RowEventHandler) {
+            delegate = new RowViewBuffer.Assembler(cancelFastHandler);
+        } else if (handler instanceof BatchEventHandler) {
+            delegate = new ColumnBatchBuffer.Assembler(cancelFastHandler);
+        } else {
+            delegate = cancelFastHandler;
+        }
 
         reading = true;
+        activeHandler = cancelFastHandler;
         currentReader.set(this);
 
         try {
-            doRead(delegate);
+            if (asyncBufferSize > 0) {
+                AsyncEventRing.read(this::doRead, delegate, asyncBufferSize, asyncWaitStrategy);
+            } else {
+                doRead(delegate);
+            }
         } catch (CancelReadingException ignored) {
             // stops parsing and cancels reading
         } catch (Exception e) {
@@ -166,6 +189,7 @@ abstract class AbstractWorkbookEventReader implements WorkbookEventReader {
             }
         } finally {
             currentReader.remove();
+            activeHandler = null;
             reading = false;
         }
     }
@@ -194,6 +218,9 @@ abstract class AbstractWorkbookEventReader implements WorkbookEventReader {
         assertBeingRead();
 
         reading = false;
+        if (currentReader.get() == this) { // stops the cells at once when cancelled by the handler
+            activeHandler.dispatching = false;
+        }
     }
 
     /**
@@ -273,66 +300,167 @@ abstract class AbstractWorkbookEventReader implements WorkbookEventReader {
     }
 
     /**
-     * A <code>RuntimeException</code> that stops EventHandler, not an actual exception
+     * A <code>RuntimeException</code> that stops EventHandler, not an actual exception.<br>
+     * It carries no stack trace, a single instance is thrown for all the cancellations.
      */
     private static class CancelReadingException extends RuntimeException {
+        private static final CancelReadingException INSTANCE = new CancelReadingException();
+
+        private CancelReadingException() {
+            super(null, null, false, false);
+        }
     }
 
     /**
-     * An <code>EventHandler</code> that checks reading state before any event is triggered
+     * An <code>EventHandler</code> that checks reading state before any event is triggered.<br>
+     * <br>
+     * * The volatile reading state is read only on the events of documents, sheets, rows, and assembled rows and
+     * batches. Cells check a plain copy of it, which is refreshed on those events and cleared at once when the
+     * reading is cancelled on the reading thread.<br>
+     * * Events are passed on directly, no objects are allocated for each of them.
      */
-    private class CancelFastEventHandler implements EventHandler {
+    private class CancelFastEventHandler implements TypedEventHandler, RowEventHandler, BatchEventHandler {
         private final EventHandler handler;
-        private volatile boolean cancelled;
+        private final TypedEventHandler typedHandler;
+        private final RowEventHandler rowHandler;
+        private final BatchEventHandler batchHandler;
+        private boolean cancelled;
+
+        // a plain copy of the reading state for the cell events
+        private boolean dispatching;
 
         private CancelFastEventHandler(@NotNull EventHandler handler) {
             this.handler = handler;
+            this.typedHandler = handler instanceof TypedEventHandler ? (TypedEventHandler) handler : null;
+            this.rowHandler = handler instanceof RowEventHandler ? (RowEventHandler) handler : null;
+            this.batchHandler = handler instanceof BatchEventHandler ? (BatchEventHandler) handler : null;
             this.cancelled = false;
+            this.dispatching = true;
         }
 
         @Override
         public void onStartDocument() {
-            onEvent(handler::onStartDocument);
+            checkReading();
+            handler.onStartDocument();
         }
 
         @Override
         public void onEndDocument() {
-            onEvent(handler::onEndDocument);
+            checkReading();
+            handler.onEndDocument();
         }
 
         @Override
         public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
-            onEvent(() -> handler.onStartSheet(sheetIndex, sheetName));
+            checkReading();
+            handler.onStartSheet(sheetIndex, sheetName);
         }
 
         @Override
         public void onEndSheet(int sheetIndex) {
-            onEvent(() -> handler.onEndSheet(sheetIndex));
+            checkReading();
+            handler.onEndSheet(sheetIndex);
         }
 
         @Override
         public void onStartRow(int sheetIndex, int rowNum) {
-            onEvent(() -> handler.onStartRow(sheetIndex, rowNum));
+            checkReading();
+            handler.onStartRow(sheetIndex, rowNum);
         }
 
         @Override
         public void onEndRow(int sheetIndex, int rowNum) {
-            onEvent(() -> handler.onEndRow(sheetIndex, rowNum));
+            checkReading();
+            handler.onEndRow(sheetIndex, rowNum);
         }
 
         @Override
         public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
-            onEvent(() -> handler.onHandleCell(sheetIndex, rowNum, columnNum, cellValue));
+            checkDispatching();
+            if (typedHandler == null) {
+                handler.onHandleCell(sheetIndex, rowNum, columnNum, cellValue);
+            } else { // cells replayed in parallel reading are recorded as CellValues
+                TypedCellEvents.handleCell(typedHandler, sheetIndex, rowNum, columnNum, cellValue);
+            }
         }
 
-        private void onEvent(Runnable runnable) {
-            if (reading) {
-                runnable.run();
+        @Override
+        public void onBlankCell(int sheetIndex, int rowNum, int columnNum) {
+            if (typedHandler == null) {
+                TypedEventHandler.super.onBlankCell(sheetIndex, rowNum, columnNum);
             } else {
-                doOnCancelled();
+                checkDispatching();
+                typedHandler.onBlankCell(sheetIndex, rowNum, columnNum);
+            }
+        }
+
+        @Override
+        public void onBooleanCell(int sheetIndex, int rowNum, int columnNum, boolean value) {
+            if (typedHandler == null) {
+                TypedEventHandler.super.onBooleanCell(sheetIndex, rowNum, columnNum, value);
+            } else {
+                checkDispatching();
+                typedHandler.onBooleanCell(sheetIndex, rowNum, columnNum, value);
+            }
+        }
+
+        @Override
+        public void onLongCell(int sheetIndex, int rowNum, int columnNum, long value) {
+            if (typedHandler == null) {
+                TypedEventHandler.super.onLongCell(sheetIndex, rowNum, columnNum, value);
+            } else {
+                checkDispatching();
+                typedHandler.onLongCell(sheetIndex, rowNum, columnNum, value);
+            }
+        }
+
+        @Override
+        public void onNumericCell(int sheetIndex, int rowNum, int columnNum, double value) {
+            if (typedHandler == null) {
+                TypedEventHandler.super.onNumericCell(sheetIndex, rowNum, columnNum, value);
+            } else {
+                checkDispatching();
+                typedHandler.onNumericCell(sheetIndex, rowNum, columnNum, value);
             }
         }
 
+        @Override
+        public void onStringCell(int sheetIndex, int rowNum, int columnNum, @NotNull CharSequence value) {
+            if (typedHandler == null) {
+                TypedEventHandler.super.onStringCell(sheetIndex, rowNum, columnNum, value);
+            } else {
+                checkDispatching();
+                typedHandler.onStringCell(sheetIndex, rowNum, columnNum, value);
+            }
+        }
+
+        @Override
+        public void onTemporalCell(int sheetIndex, int rowNum, int columnNum, @NotNull Temporal value) {
+            if (typedHandler == null) {
+                TypedEventHandler.super.onTemporalCell(sheetIndex, rowNum, columnNum, value);
+            } else {
+                checkDispatching();
+                typedHandler.onTemporalCell(sheetIndex, rowNum, columnNum, value);
+            }
+        }
+
+        @Override
+        public void onRow(int sheetIndex, int rowNum, @NotNull RowView row) {
+            checkReading();
+            rowHandler.onRow(sheetIndex, rowNum, row);
+        }
+
+        @Override
+        public int batchSize() {
+            return batchHandler.batchSize();
+        }
+
+        @Override
+        public void onBatch(int sheetIndex, @NotNull ColumnBatch batch) {
+            checkReading();
+            batchHandler.onBatch(sheetIndex, batch);
+        }
+
         @Override
         public void onReadCancelled() {
             if (!cancelled) {
@@ -341,12 +469,25 @@ abstract class AbstractWorkbookEventReader implements WorkbookEventReader {
             }
         }
 
+        // reads the volatile reading state and refreshes the plain copy of it
+        private void checkReading() {
+            if (!(dispatching = reading)) {
+                doOnCancelled();
+            }
+        }
+
+        private void checkDispatching() {
+            if (!dispatching) {
+                doOnCancelled();
+            }
+        }
+
         private void doOnCancelled() {
             // triggers when the reading process was cancelled
             onReadCancelled();
 
             // throws an exception to abort processing
-            throw new CancelReadingException();
+            throw CancelReadingException.INSTANCE;
         }
 
     }
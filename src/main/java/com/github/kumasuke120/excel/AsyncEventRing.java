@@ -0,0 +1,374 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.WorkbookEventReader.EventHandler;
+import com.github.kumasuke120.excel.WorkbookEventReader.TypedEventHandler;
+import com.github.kumasuke120.excel.WorkbookEventReader.WaitStrategy;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.temporal.Temporal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A single-producer/single-consumer ring of preallocated event slots, which lets a workbook be parsed on another
+ * thread while its events are handled on the thread calling {@link WorkbookEventReader#read(EventHandler)}.<br>
+ * <br>
+ * * The slots are laid out as parallel arrays and reused, no objects are allocated for each event, except that
+ * the {@link CharSequence}s of string cells are copied to {@link String}s as they might be reused by the parser.<br>
+ * * The handler stays on the calling thread, so that {@link WorkbookEventReader#currentRead()} and the
+ * cancellation work as usual. Once the handler stops, by cancellation or an error, the parsing thread is stopped
+ * and waited for before returning.<br>
+ * * Both threads wait by the given {@link WaitStrategy} when the ring is empty or full.
+ */
+@ApiStatus.Internal
+final class AsyncEventRing {
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private static final long PARK_NANOS = 50_000;
+
+    private static final byte START_DOCUMENT = 0;
+    private static final byte END_DOCUMENT = 1;
+    private static final byte START_SHEET = 2;
+    private static final byte END_SHEET = 3;
+    private static final byte START_ROW = 4;
+    private static final byte END_ROW = 5;
+    private static final byte CELL_VALUE = 6;
+    private static final byte BLANK_CELL = 7;
+    private static final byte BOOLEAN_CELL = 8;
+    private static final byte LONG_CELL = 9;
+    private static final byte NUMERIC_CELL = 10;
+    private static final byte STRING_CELL = 11;
+    private static final byte TEMPORAL_CELL = 12;
+    private static final byte END_OF_EVENTS = 13;
+
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+
+    // the slots
+    private final byte[] kinds;
+    private final int[] sheetIndexes;
+    private final int[] rowNums;
+    private final int[] columnNums;
+    private final long[] primitives;
+    private final Object[] objects;
+
+    // sequence of the next slot to be published and to be consumed
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    private volatile boolean stopped = false;
+
+    private AsyncEventRing(int bufferSize, @NotNull WaitStrategy waitStrategy) {
+        final int capacity = Integer.highestOneBit(Math.max(2, bufferSize) * 2 - 1);
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+
+        this.kinds = new byte[capacity];
+        this.sheetIndexes = new int[capacity];
+        this.rowNums = new int[capacity];
+        this.columnNums = new int[capacity];
+        this.primitives = new long[capacity];
+        this.objects = new Object[capacity];
+    }
+
+    /**
+     * Parses on a new thread by the given parser, and handles the events on the current thread by the given
+     * handler. It returns when the parsing ends and all the events are handled, or when the handler throws.
+     *
+     * @param parser       the parser, which triggers the events on the handler passed to it
+     * @param handler      the handler to receive the events
+     * @param bufferSize   the count of slots, rounded up to a power of two
+     * @param waitStrategy the way both threads wait
+     * @throws Exception any exception thrown by the parser or the handler
+     */
+    static void read(@NotNull Parser parser, @NotNull EventHandler handler, int bufferSize,
+                     @NotNull WaitStrategy waitStrategy) throws Exception {
+        final AsyncEventRing ring = new AsyncEventRing(bufferSize, waitStrategy);
+        final Thread parsingThread = new Thread(() -> ring.produce(parser),
+                                                "workbook-event-reader-parser-" + threadCounter.incrementAndGet());
+        parsingThread.setDaemon(true);
+        parsingThread.start();
+
+        try {
+            ring.consume(TypedCellEvents.asTypedHandler(handler));
+        } finally {
+            ring.stopped = true;
+            joinUninterruptibly(parsingThread);
+        }
+    }
+
+    private static void joinUninterruptibly(@NotNull Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // runs on the parsing thread
+    private void produce(@NotNull Parser parser) {
+        final Publisher publisher = new Publisher();
+        Throwable error = null;
+        try {
+            parser.parse(publisher);
+        } catch (StopParsingException e) {
+            return;
+        } catch (Throwable e) {
+            error = e;
+        }
+
+        try {
+            publisher.publish(END_OF_EVENTS, -1, -1, -1, 0, error);
+        } catch (StopParsingException ignored) {
+            // the handler has stopped
+        }
+    }
+
+    // runs on the calling thread
+    private void consume(@NotNull TypedEventHandler handler) throws Exception {
+        long sequence = 0;
+        long available = 0;
+        while (true) {
+            if (sequence == available) {
+                int waits = 0;
+                while ((available = published.get()) == sequence) {
+                    waits = await(waits);
+                }
+            }
+
+            // the slot is released once read, so that the parser could go on while the event is handled
+            final int index = (int) sequence & mask;
+            final byte kind = kinds[index];
+            final int sheetIndex = sheetIndexes[index];
+            final int rowNum = rowNums[index];
+            final int columnNum = columnNums[index];
+            final long primitive = primitives[index];
+            final Object object = objects[index];
+            objects[index] = null;
+            sequence += 1;
+            consumed.lazySet(sequence);
+
+            if (kind == END_OF_EVENTS) {
+                if (object instanceof Exception) {
+                    throw (Exception) object;
+                } else if (object instanceof Error) {
+                    throw (Error) object;
+                } else if (object != null) {
+                    throw new WorkbookProcessException((Throwable) object);
+                }
+                return;
+            }
+
+            dispatch(handler, kind, sheetIndex, rowNum, columnNum, primitive, object);
+        }
+    }
+
+    private static void dispatch(@NotNull TypedEventHandler handler, byte kind, int sheetIndex, int rowNum,
+                                 int columnNum, long primitive, @Nullable Object object) {
+        switch (kind) {
+            case START_DOCUMENT:
+                handler.onStartDocument();
+                break;
+            case END_DOCUMENT:
+                handler.onEndDocument();
+                break;
+            case START_SHEET:
+                handler.onStartSheet(sheetIndex, (String) nonNull(object));
+                break;
+            case END_SHEET:
+                handler.onEndSheet(sheetIndex);
+                break;
+            case START_ROW:
+                handler.onStartRow(sheetIndex, rowNum);
+                break;
+            case END_ROW:
+                handler.onEndRow(sheetIndex, rowNum);
+                break;
+            case CELL_VALUE:
+                handler.onHandleCell(sheetIndex, rowNum, columnNum, (CellValue) nonNull(object));
+                break;
+            case BLANK_CELL:
+                handler.onBlankCell(sheetIndex, rowNum, columnNum);
+                break;
+            case BOOLEAN_CELL:
+                handler.onBooleanCell(sheetIndex, rowNum, columnNum, primitive != 0);
+                break;
+            case LONG_CELL:
+                handler.onLongCell(sheetIndex, rowNum, columnNum, primitive);
+                break;
+            case NUMERIC_CELL:
+                handler.onNumericCell(sheetIndex, rowNum, columnNum, Double.longBitsToDouble(primitive));
+                break;
+            case STRING_CELL:
+                handler.onStringCell(sheetIndex, rowNum, columnNum, (String) nonNull(object));
+                break;
+            case TEMPORAL_CELL:
+                handler.onTemporalCell(sheetIndex, rowNum, columnNum, (Temporal) nonNull(object));
+                break;
+            default:
+                throw new AssertionError("Shouldn't happen");
+        }
+    }
+
+    @NotNull
+    private static Object nonNull(@Nullable Object object) {
+        assert object != null;
+        return object;
+    }
+
+    // waits once by the strategy, returns the count of waits so far
+    private int await(int waits) {
+        switch (waitStrategy) {
+            case SPIN:
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            case PARK:
+                if (waits < 100) { // spins a little before parking
+                    break;
+                }
+                LockSupport.parkNanos(PARK_NANOS);
+                break;
+            default:
+                throw new AssertionError("Shouldn't happen");
+        }
+        return waits + 1;
+    }
+
+    /**
+     * A functional interface that parses a workbook, triggering the events on the given handler.
+     */
+    @FunctionalInterface
+    interface Parser {
+        void parse(@NotNull EventHandler handler) throws Exception;
+    }
+
+    /**
+     * A <code>RuntimeException</code> that stops the parser once the handler has stopped, not an actual exception
+     */
+    private static class StopParsingException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private static final StopParsingException INSTANCE = new StopParsingException();
+
+        private StopParsingException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * An <code>EventHandler</code> that publishes the events into the slots, which runs on the parsing thread.
+     */
+    private final class Publisher implements TypedEventHandler {
+        private long sequence = 0;
+        private long wrapPoint = -1;
+
+        @Override
+        public void onStartDocument() {
+            publish(START_DOCUMENT, -1, -1, -1, 0, null);
+        }
+
+        @Override
+        public void onEndDocument() {
+            publish(END_DOCUMENT, -1, -1, -1, 0, null);
+        }
+
+        @Override
+        public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+            publish(START_SHEET, sheetIndex, -1, -1, 0, sheetName);
+        }
+
+        @Override
+        public void onEndSheet(int sheetIndex) {
+            publish(END_SHEET, sheetIndex, -1, -1, 0, null);
+        }
+
+        @Override
+        public void onStartRow(int sheetIndex, int rowNum) {
+            publish(START_ROW, sheetIndex, rowNum, -1, 0, null);
+        }
+
+        @Override
+        public void onEndRow(int sheetIndex, int rowNum) {
+            publish(END_ROW, sheetIndex, rowNum, -1, 0, null);
+        }
+
+        @Override
+        public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+            publish(CELL_VALUE, sheetIndex, rowNum, columnNum, 0, cellValue);
+        }
+
+        @Override
+        public void onBlankCell(int sheetIndex, int rowNum, int columnNum) {
+            publish(BLANK_CELL, sheetIndex, rowNum, columnNum, 0, null);
+        }
+
+        @Override
+        public void onBooleanCell(int sheetIndex, int rowNum, int columnNum, boolean value) {
+            publish(BOOLEAN_CELL, sheetIndex, rowNum, columnNum, value ? 1 : 0, null);
+        }
+
+        @Override
+        public void onLongCell(int sheetIndex, int rowNum, int columnNum, long value) {
+            publish(LONG_CELL, sheetIndex, rowNum, columnNum, value, null);
+        }
+
+        @Override
+        public void onNumericCell(int sheetIndex, int rowNum, int columnNum, double value) {
+            publish(NUMERIC_CELL, sheetIndex, rowNum, columnNum, Double.doubleToRawLongBits(value), null);
+        }
+
+        @Override
+        public void onStringCell(int sheetIndex, int rowNum, int columnNum, @NotNull CharSequence value) {
+            publish(STRING_CELL, sheetIndex, rowNum, columnNum, 0, value.toString());
+        }
+
+        @Override
+        public void onTemporalCell(int sheetIndex, int rowNum, int columnNum, @NotNull Temporal value) {
+            publish(TEMPORAL_CELL, sheetIndex, rowNum, columnNum, 0, value);
+        }
+
+        private void publish(byte kind, int sheetIndex, int rowNum, int columnNum, long primitive,
+                             @Nullable Object object) {
+            if (sequence > wrapPoint) { // checks the free slots only when the known ones are used up
+                int waits = 0;
+                while (sequence - consumed.get() > mask) {
+                    if (stopped) {
+                        throw StopParsingException.INSTANCE;
+                    }
+                    waits = await(waits);
+                }
+                wrapPoint = consumed.get() + mask;
+
+                if (stopped) {
+                    throw StopParsingException.INSTANCE;
+                }
+            }
+
+            final int index = (int) sequence & mask;
+            kinds[index] = kind;
+            sheetIndexes[index] = sheetIndex;
+            rowNums[index] = rowNum;
+            columnNums[index] = columnNum;
+            primitives[index] = primitive;
+            objects[index] = object;
+
+            sequence += 1;
+            published.lazySet(sequence);
+        }
+    }
+
+}
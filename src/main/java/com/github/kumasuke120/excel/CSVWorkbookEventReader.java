@@ -16,6 +16,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Objects;
 
 /**
  * A {@link WorkbookEventReader} reads a csv workbook whose file extension
@@ -26,6 +27,9 @@ public class CSVWorkbookEventReader extends AbstractWorkbookEventReader {
 
     private static final ThreadLocal<Charset> charsetLocal = new ThreadLocal<>();
     private static final ThreadLocal<CSVFormat> formatLocal = ThreadLocal.withInitial(() -> CSVFormat.EXCEL);
+    private static final ThreadLocal<Integer> asyncBufferSizeLocal = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<WaitStrategy> asyncWaitStrategyLocal =
+            ThreadLocal.withInitial(() -> WaitStrategy.PARK);
 
     private byte[] content;
     private Charset charset;
@@ -77,8 +81,39 @@ public class CSVWorkbookEventReader extends AbstractWorkbookEventReader {
         }
     }
 
+    /**
+     * Sets all following-opened instances of {@link CSVWorkbookEventReader} on the current thread parsing
+     * the workbook on another thread, whose events are handed off to the thread calling
+     * {@link #read(EventHandler)} through a ring of <code>bufferSize</code> reused slots.<br>
+     * The handler still runs on the calling thread, so that it could overlap with the parsing while
+     * {@link WorkbookEventReader#currentRead()} and the cancellation work as usual.
+     *
+     * @param bufferSize   count of events could be handed off ahead, rounded up to a power of two,
+     *                     <code>0</code> means parsing on the calling thread
+     * @param waitStrategy the way both threads wait when the ring is empty or full
+     * @throws IllegalArgumentException <code>bufferSize</code> is negative or greater than <code>2^30</code>
+     * @throws NullPointerException     <code>waitStrategy</code> is <code>null</code>
+     */
+    public static void setAsync(int bufferSize,
+                                @NotNull(exception = NullPointerException.class) WaitStrategy waitStrategy) {
+        if (bufferSize < 0 || bufferSize > 1 << 30) {
+            throw new IllegalArgumentException("bufferSize should be between 0 and 2^30: " + bufferSize);
+        }
+        Objects.requireNonNull(waitStrategy);
+
+        if (bufferSize == 0) {
+            asyncBufferSizeLocal.remove();
+            asyncWaitStrategyLocal.remove();
+        } else {
+            asyncBufferSizeLocal.set(bufferSize);
+            asyncWaitStrategyLocal.set(waitStrategy);
+        }
+    }
+
     @Override
     void doOnStartOpen() {
+        asyncBufferSize = asyncBufferSizeLocal.get();
+        asyncWaitStrategy = asyncWaitStrategyLocal.get();
         charset = charsetLocal.get();
         format = formatLocal.get();
     }
@@ -121,14 +156,20 @@ public class CSVWorkbookEventReader extends AbstractWorkbookEventReader {
             handler.onStartDocument();
             handler.onStartSheet(0, "");
 
+            final TypedEventHandler typedHandler = TypedCellEvents.asTypedHandler(handler);
+
             int currentRowNumber = -1;
             for (final CSVRecord record : parser) {
                 handler.onStartRow(0, ++currentRowNumber);
 
                 // handles cells
                 for (int currentColumnNum = 0; currentColumnNum < record.size(); currentColumnNum++) {
-                    final CellValue cellValue = getRecordCellValue(record, currentColumnNum);
-                    handler.onHandleCell(0, currentRowNumber, currentColumnNum, cellValue);
+                    final String cellValue = getRecordCellValue(record, currentColumnNum);
+                    if (cellValue == null) {
+                        typedHandler.onBlankCell(0, currentRowNumber, currentColumnNum);
+                    } else {
+                        typedHandler.onStringCell(0, currentRowNumber, currentColumnNum, cellValue);
+                    }
                 }
 
                 handler.onEndRow(0, currentRowNumber);
@@ -159,8 +200,8 @@ public class CSVWorkbookEventReader extends AbstractWorkbookEventReader {
         return charset;
     }
 
-    @NotNull
-    private CellValue getRecordCellValue(@NotNull CSVRecord record, int i) {
+    @Nullable
+    private String getRecordCellValue(@NotNull CSVRecord record, int i) {
         /* gets and cleans value */
         String value = record.get(i);
         if (StringUtils.isEmpty(value)) { // treats empty as null
@@ -169,7 +210,7 @@ public class CSVWorkbookEventReader extends AbstractWorkbookEventReader {
             value = value.substring(1);
         }
 
-        return CellValue.newInstance(value);
+        return value;
     }
 
     private static class CSVFReaderCleanAction extends ReaderCleanAction {
@@ -0,0 +1,151 @@
+package com.github.kumasuke120.excel;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.LocaleUtil;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Renders the numeric value of a cell to the <code>long</code>, <code>double</code> or <code>BigDecimal</code>
+ * value as it is displayed, giving the same results as formatting it with {@link DataFormatter} and then
+ * converting it with {@link ReaderUtils#decimalStringToDecimal(String)}.<br>
+ * <br>
+ * * The <code>General</code> format and plain fixed-point formats (<code>0</code>, <code>0.00</code>,
+ * <code>#,##0</code>, <code>#,##0.00</code> and etc.) are rounded with {@link BigDecimal} directly, following
+ * the rounding of {@link DataFormatter}: the value is taken as excel displays it with 15 significant digits,
+ * and is rounded half up.<br>
+ * * Other formats, scientific values and locales not using <code>.</code>, <code>,</code> and <code>-</code>
+ * as their symbols fall back to {@link DataFormatter}.<br>
+ * * Instances are not thread-safe.
+ */
+@ApiStatus.Internal
+final class CellDecimalRenderer {
+
+    // the General format shows at most 10 significant digits for non-integers, see ExcelGeneralNumberFormat
+    private static final MathContext TO_10_SF = new MathContext(10, RoundingMode.HALF_UP);
+    private static final int MAX_GENERAL_FRACTION_DIGITS = 10;
+    private static final double MIN_GENERAL_SCIENTIFIC = 1E11;
+    private static final double MAX_GENERAL_TINY_SCIENTIFIC = 1E-10;
+    private static final double MIN_GENERAL_ELEVEN_DIGITS = 1E10;
+
+    private final DataFormatter dataFormatter;
+    private final NumericLexer numericLexer = new NumericLexer();
+
+    private Locale checkedLocale;
+    private boolean plainSymbols;
+
+    /**
+     * Creates a new {@link CellDecimalRenderer} falling back to the given {@link DataFormatter}.
+     *
+     * @param dataFormatter {@link DataFormatter} for formats that could not be rendered directly
+     */
+    CellDecimalRenderer(@NotNull DataFormatter dataFormatter) {
+        this.dataFormatter = dataFormatter;
+    }
+
+    /**
+     * Renders the given value with the given number format.
+     *
+     * @param value            numeric value of the cell
+     * @param cellNumberFormat number format of the cell, which should have a format string
+     * @return a <code>long</code>, <code>double</code> or <code>BigDecimal</code> value, or the formatted
+     * <code>String</code> if it is not a number
+     */
+    @NotNull
+    Object render(double value, @NotNull CellNumberFormat cellNumberFormat) {
+        final Object renderedValue = renderDirectly(value, cellNumberFormat);
+        if (renderedValue != null) {
+            return renderedValue;
+        }
+
+        final String decimalStringValue = dataFormatter.formatRawCellContents(value,
+                cellNumberFormat.getFormatIndex(), cellNumberFormat.getFormatString());
+        return ReaderUtils.decimalStringToDecimal(decimalStringValue, numericLexer);
+    }
+
+    @Nullable
+    private Object renderDirectly(double value, @NotNull CellNumberFormat cellNumberFormat) {
+        final int fixedDecimalPlaces = cellNumberFormat.getFixedDecimalPlaces();
+        if (!cellNumberFormat.isGeneral() && fixedDecimalPlaces == -1) {
+            return null;
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value) || !hasPlainSymbols()) {
+            return null;
+        }
+
+        // DataFormatter formats the value as excel displays it, unless it is in scientific notation
+        final String textValue = NumberToTextConverter.toText(value);
+        if (textValue.indexOf('E') != -1) {
+            return null;
+        }
+
+        final BigDecimal displayedValue = new BigDecimal(textValue);
+        if (cellNumberFormat.isGeneral()) {
+            return renderGeneral(displayedValue);
+        } else {
+            return toDecimal(displayedValue.setScale(fixedDecimalPlaces, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Nullable
+    private static Object renderGeneral(@NotNull BigDecimal displayedValue) {
+        final double value = displayedValue.doubleValue();
+        final double absValue = Math.abs(value);
+
+        if (absValue >= MIN_GENERAL_SCIENTIFIC || (absValue <= MAX_GENERAL_TINY_SCIENTIFIC && absValue > 0)) {
+            // scientific notation
+            return null;
+        } else if (Math.floor(value) == value || absValue >= MIN_GENERAL_ELEVEN_DIGITS) {
+            return toDecimal(displayedValue.setScale(0, RoundingMode.HALF_UP));
+        }
+
+        final BigDecimal roundedValue = BigDecimal.valueOf(value).round(TO_10_SF).stripTrailingZeros();
+        if (roundedValue.scale() > MAX_GENERAL_FRACTION_DIGITS) {
+            // needs to be rounded again by DecimalFormat
+            return null;
+        }
+        return toDecimal(roundedValue);
+    }
+
+    // converts the value as ReaderUtils.decimalStringToDecimal() does to its formatted string
+    @NotNull
+    private static Object toDecimal(@NotNull BigDecimal value) {
+        if (value.scale() <= 0) { // formatted without decimal point
+            final BigDecimal integerValue = value.setScale(0, RoundingMode.UNNECESSARY);
+            if (integerValue.unscaledValue().bitLength() < Long.SIZE) {
+                return integerValue.longValue();
+            }
+            value = integerValue;
+        }
+
+        final double doubleValue = value.doubleValue();
+        if (Double.toString(doubleValue).equals(value.toString())) {
+            return doubleValue;
+        } else {
+            return value;
+        }
+    }
+
+    // tests if the locale of DataFormatter uses the symbols that the direct rendering assumes
+    private boolean hasPlainSymbols() {
+        final Locale locale = LocaleUtil.getUserLocale();
+        if (!locale.equals(checkedLocale)) {
+            final DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            plainSymbols = symbols.getDecimalSeparator() == '.' &&
+                    symbols.getGroupingSeparator() == ',' &&
+                    symbols.getMinusSign() == '-' &&
+                    symbols.getZeroDigit() == '0';
+            checkedLocale = locale;
+        }
+        return plainSymbols;
+    }
+
+}
@@ -0,0 +1,222 @@
+package com.github.kumasuke120.excel;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The number format of a cell style, resolved and classified once, so that cells could be decoded
+ * without examining their format strings again.<br>
+ * <br>
+ * * Instances are immutable and could be shared among threads and workbooks.<br>
+ * * Instances are cached in a bounded cache keyed by format index and format string, which saves the
+ * classification work across workbooks sharing the same formats.
+ */
+@ApiStatus.Internal
+final class CellNumberFormat {
+
+    /**
+     * The general format, numbers are displayed as they are
+     */
+    static final int KIND_GENERAL = 0;
+
+    /**
+     * The text format, numbers are treated as text
+     */
+    static final int KIND_TEXT = 1;
+
+    /**
+     * A date or time format, numbers are treated as dates or times
+     */
+    static final int KIND_DATE = 2;
+
+    /**
+     * Any other number format, numbers are rounded to the displayed decimals
+     */
+    static final int KIND_NUMBER = 3;
+
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    // plain fixed-point formats, such as '0', '0.00', '#,##0' and '#,##0.00'
+    private static final Pattern fixedPointPattern = Pattern.compile("(?:#,##)?0(?:\\.(0+))?");
+
+    private static final CellNumberFormat GENERAL = new CellNumberFormat(0, "General");
+
+    private static final FormatCache cache = new FormatCache(MAX_CACHE_SIZE);
+
+    private final int formatIndex;
+    private final String formatString;
+    private final int kind;
+    private final boolean general;
+    private final int fixedDecimalPlaces;
+
+    private CellNumberFormat(int formatIndex, @Nullable String formatString) {
+        this.formatIndex = formatIndex;
+        this.formatString = formatString;
+        this.kind = classify(formatIndex, formatString);
+        this.general = "General".equalsIgnoreCase(formatString);
+        this.fixedDecimalPlaces = toFixedDecimalPlaces(formatString);
+    }
+
+    private static int classify(int formatIndex, @Nullable String formatString) {
+        if (ReaderUtils.isATextFormat(formatIndex, formatString)) {
+            return KIND_TEXT;
+        } else if (DateUtil.isADateFormat(formatIndex, formatString)) {
+            return KIND_DATE;
+        } else if (formatIndex == 0 || "General".equalsIgnoreCase(formatString)) {
+            return KIND_GENERAL;
+        } else {
+            return KIND_NUMBER;
+        }
+    }
+
+    private static int toFixedDecimalPlaces(@Nullable String formatString) {
+        if (formatString == null) {
+            return -1;
+        }
+
+        final Matcher matcher = fixedPointPattern.matcher(formatString);
+        if (matcher.matches()) {
+            final String decimalPlaces = matcher.group(1);
+            return decimalPlaces == null ? 0 : decimalPlaces.length();
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the {@link CellNumberFormat} of the given format index and format string.
+     *
+     * @param formatIndex  index of format
+     * @param formatString format string, it might be <code>null</code> if the format cannot be found
+     * @return resolved {@link CellNumberFormat}
+     */
+    @NotNull
+    static CellNumberFormat of(int formatIndex, @Nullable String formatString) {
+        if (formatIndex == 0 && GENERAL.formatString.equals(formatString)) {
+            return GENERAL;
+        }
+
+        return cache.get(formatIndex, formatString);
+    }
+
+    int getFormatIndex() {
+        return formatIndex;
+    }
+
+    @Nullable
+    String getFormatString() {
+        return formatString;
+    }
+
+    int getKind() {
+        return kind;
+    }
+
+    boolean isText() {
+        return kind == KIND_TEXT;
+    }
+
+    boolean isDate() {
+        return kind == KIND_DATE;
+    }
+
+    /**
+     * Tests if the format string is <code>General</code>.
+     *
+     * @return <code>true</code> if the format string is <code>General</code>, otherwise <code>false</code>
+     */
+    boolean isGeneral() {
+        return general;
+    }
+
+    /**
+     * Returns the decimal places of a plain fixed-point format string, such as <code>0.00</code> and
+     * <code>#,##0.00</code>.
+     *
+     * @return decimal places, or <code>-1</code> if the format string is not a plain fixed-point one
+     */
+    int getFixedDecimalPlaces() {
+        return fixedDecimalPlaces;
+    }
+
+    /**
+     * A bounded cache of resolved {@link CellNumberFormat}s, which evicts the least recently used ones.
+     */
+    static final class FormatCache extends LinkedHashMap<CacheKey, CellNumberFormat> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        FormatCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Returns the cached {@link CellNumberFormat} of the given format index and format string, which is
+         * resolved and cached if absent.
+         *
+         * @param formatIndex  index of format
+         * @param formatString format string, it might be <code>null</code> if the format cannot be found
+         * @return resolved {@link CellNumberFormat}
+         */
+        @NotNull
+        CellNumberFormat get(int formatIndex, @Nullable String formatString) {
+            final CacheKey key = new CacheKey(formatIndex, formatString);
+            synchronized (this) {
+                final CellNumberFormat cached = get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            // classifies outside the lock, the same format might be classified twice occasionally
+            final CellNumberFormat format = new CellNumberFormat(formatIndex, formatString);
+            synchronized (this) {
+                final CellNumberFormat raced = putIfAbsent(key, format);
+                return raced == null ? format : raced;
+            }
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, CellNumberFormat> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private static final class CacheKey {
+        private final int formatIndex;
+        private final String formatString;
+
+        private CacheKey(int formatIndex, @Nullable String formatString) {
+            this.formatIndex = formatIndex;
+            this.formatString = formatString;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey cacheKey = (CacheKey) o;
+            return formatIndex == cacheKey.formatIndex && Objects.equals(formatString, cacheKey.formatString);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(formatIndex, formatString);
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+/**
+ * Canonical instances of a kind of {@link CellValue} for the values that appear a lot in workbooks:
+ * <code>null</code>, booleans, small integers, the empty string and the single space.<br>
+ * <br>
+ * * {@link CellValue}s are immutable, the instances could be shared among cells, readers and threads.<br>
+ * * Numbers could be created without boxing them, which are narrowed in the same way as
+ * {@link ReaderUtils#toRelativeType(Object)} and stored unboxed by the primitive constructors.
+ *
+ * @param <V> the kind of {@link CellValue}
+ */
+@ApiStatus.Internal
+final class CellValueFlyweights<V extends CellValue> {
+
+    private static final int MIN_CACHED_INT = -128;
+    private static final int MAX_CACHED_INT = 1023;
+
+    private final Function<Object, V> constructor;
+    private final IntFunction<V> intConstructor;
+    private final LongFunction<V> longConstructor;
+    private final DoubleFunction<V> doubleConstructor;
+
+    private final V nullValue;
+    private final V trueValue;
+    private final V falseValue;
+    private final V emptyStringValue;
+    private final V spaceStringValue;
+    private final Object[] intValues;
+
+    /**
+     * Creates all the canonical instances with the given constructors.
+     *
+     * @param constructor       constructor of the kind of {@link CellValue}, which accepts any allowed value
+     * @param intConstructor    constructor of the kind of {@link CellValue} storing an unboxed <code>int</code>
+     * @param longConstructor   constructor of the kind of {@link CellValue} storing an unboxed <code>long</code>
+     * @param doubleConstructor constructor of the kind of {@link CellValue} storing an unboxed <code>double</code>
+     */
+    CellValueFlyweights(@NotNull Function<Object, V> constructor,
+                        @NotNull IntFunction<V> intConstructor,
+                        @NotNull LongFunction<V> longConstructor,
+                        @NotNull DoubleFunction<V> doubleConstructor) {
+        this.constructor = constructor;
+        this.intConstructor = intConstructor;
+        this.longConstructor = longConstructor;
+        this.doubleConstructor = doubleConstructor;
+
+        nullValue = constructor.apply(null);
+        trueValue = constructor.apply(Boolean.TRUE);
+        falseValue = constructor.apply(Boolean.FALSE);
+        emptyStringValue = constructor.apply("");
+        spaceStringValue = constructor.apply(" ");
+
+        intValues = new Object[MAX_CACHED_INT - MIN_CACHED_INT + 1];
+        for (int i = 0; i < intValues.length; i++) {
+            intValues[i] = intConstructor.apply(i + MIN_CACHED_INT);
+        }
+    }
+
+    /**
+     * Returns the canonical instance of the given value if there is one.
+     *
+     * @param originalValue the given value
+     * @return the canonical instance, or <code>null</code> if the value has no canonical instance
+     */
+    @Nullable
+    V get(@Nullable Object originalValue) {
+        if (originalValue == null) {
+            return nullValue;
+        } else if (originalValue instanceof Integer) {
+            final int intValue = (Integer) originalValue;
+            return isCachedInt(intValue) ? getInt(intValue) : null;
+        } else if (originalValue instanceof Boolean) {
+            return (Boolean) originalValue ? trueValue : falseValue;
+        } else if (originalValue instanceof String) {
+            final String stringValue = (String) originalValue;
+            if (stringValue.isEmpty()) {
+                return emptyStringValue;
+            } else if (stringValue.length() == 1 && stringValue.charAt(0) == ' ') {
+                return spaceStringValue;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the canonical instance of the given value, or creates a new one if there isn't.
+     *
+     * @param originalValue the given value
+     * @return an instance of the kind of {@link CellValue}
+     */
+    @NotNull
+    V valueOf(@Nullable Object originalValue) {
+        final V cellValue = get(originalValue);
+        return cellValue != null ? cellValue : constructor.apply(originalValue);
+    }
+
+    /**
+     * Returns an instance of the given whole number, which is an <code>int</code> if it fits, otherwise a
+     * <code>long</code>.
+     *
+     * @param value the given whole number
+     * @return an instance of the kind of {@link CellValue}
+     */
+    @NotNull
+    V valueOfWholeNumber(long value) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            final int intValue = (int) value;
+            return isCachedInt(intValue) ? getInt(intValue) : intConstructor.apply(intValue);
+        } else {
+            return longConstructor.apply(value);
+        }
+    }
+
+    /**
+     * Returns an instance of the given number, which is an <code>int</code> or a <code>long</code> if it is a
+     * whole number, otherwise a <code>double</code>.
+     *
+     * @param value the given number
+     * @return an instance of the kind of {@link CellValue}
+     */
+    @NotNull
+    V valueOfNumber(double value) {
+        if (ReaderUtils.isAWholeNumber(value)) {
+            if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+                return longConstructor.apply((long) value);
+            } else {
+                return valueOfWholeNumber((int) value);
+            }
+        } else {
+            return doubleConstructor.apply(value);
+        }
+    }
+
+    private static boolean isCachedInt(int value) {
+        return value >= MIN_CACHED_INT && value <= MAX_CACHED_INT;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    private V getInt(int value) {
+        return (V) intValues[value - MIN_CACHED_INT];
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A batch of consecutive rows in a sheet laid out by column, which is passed to
+ * {@link WorkbookEventReader.BatchEventHandler#onBatch(int, ColumnBatch) onBatch()}.<br>
+ * <br>
+ * * The batch and all of its arrays are reused by the reader for the next batch, they are only valid during the
+ * call.<br>
+ * * The arrays might be longer than {@link #rowCount()}, the elements beyond it should be ignored.<br>
+ * * Blank cells and absent cells are both <code>null</code> in the batch.
+ */
+public interface ColumnBatch {
+
+    /**
+     * Returns the index of the containing sheet.
+     *
+     * @return the index of the containing sheet, starts with 0
+     */
+    int sheetIndex();
+
+    /**
+     * Returns the count of rows in this batch, which is never greater than
+     * {@link WorkbookEventReader.BatchEventHandler#batchSize()}.
+     *
+     * @return the count of rows
+     */
+    int rowCount();
+
+    /**
+     * Returns the indexes of the rows in this batch, which are ascending but not necessarily consecutive.
+     *
+     * @return the indexes of the rows, starts with 0
+     */
+    @NotNull
+    int[] rowNums();
+
+    /**
+     * Returns the count of columns in this batch, which is the index of the last present cell in all rows plus 1.
+     *
+     * @return the count of columns
+     */
+    int columnCount();
+
+    /**
+     * Returns the column at the given index.
+     *
+     * @param columnNum the index of the column, starts with 0
+     * @return the column at the given index
+     * @throws IndexOutOfBoundsException <code>columnNum</code> is not less than {@link #columnCount()}
+     */
+    @NotNull
+    Column column(int columnNum);
+
+    /**
+     * Returns the string of the given code in the string dictionary of this batch.
+     *
+     * @param code the code from {@link Column#stringCodes()}
+     * @return the string of the given code
+     * @throws IndexOutOfBoundsException <code>code</code> is not less than {@link #dictionarySize()}
+     */
+    @NotNull
+    String dictionaryString(int code);
+
+    /**
+     * Returns the count of distinct strings in this batch.
+     *
+     * @return the count of distinct strings
+     */
+    int dictionarySize();
+
+    /**
+     * The type of the values in a {@link Column}, which decides the array holding them
+     */
+    enum ColumnType {
+        /**
+         * All values are <code>null</code>.
+         */
+        EMPTY,
+        /**
+         * Values are booleans, stored in {@link Column#longValues()} as <code>1</code> or <code>0</code>.
+         */
+        BOOLEAN,
+        /**
+         * Values are whole numbers, stored in {@link Column#longValues()}.
+         */
+        LONG,
+        /**
+         * Values are numbers, stored in {@link Column#doubleValues()}.
+         */
+        DOUBLE,
+        /**
+         * Values are strings, stored in {@link Column#stringCodes()} as the codes of the string dictionary.
+         */
+        STRING,
+        /**
+         * Values are of other types or of more than one types, stored in {@link Column#objectValues()} as
+         * {@link CellValue#originalValue()} does.
+         */
+        OBJECT
+    }
+
+    /**
+     * A column of a {@link ColumnBatch}, whose values are stored in the array of its {@link ColumnType}.<br>
+     * Whole numbers are stored as <code>double</code> if any number of the column is not whole, and they are
+     * narrowed back by {@link #cell(int)}.
+     */
+    interface Column {
+
+        /**
+         * Returns the type of the values in this column.
+         *
+         * @return the type of the values
+         */
+        @NotNull
+        ColumnType type();
+
+        /**
+         * Checks if the value at the given row is <code>null</code>.
+         *
+         * @param rowIndex the index of the row in the batch, starts with 0
+         * @return <code>true</code> if the value is <code>null</code>, otherwise <code>false</code>
+         */
+        boolean isNull(int rowIndex);
+
+        /**
+         * Returns the bitmap of non-<code>null</code> values, whose bit <code>(rowIndex &amp; 63)</code> of
+         * the element <code>(rowIndex &gt;&gt;&gt; 6)</code> is set if the value at the row is not
+         * <code>null</code>.
+         *
+         * @return the bitmap of non-<code>null</code> values
+         */
+        @NotNull
+        long[] nonNullBitmap();
+
+        /**
+         * Returns the values of a {@link ColumnType#LONG} or {@link ColumnType#BOOLEAN} column.
+         *
+         * @return the values, or <code>null</code> if this column is not of the types
+         */
+        @Nullable
+        long[] longValues();
+
+        /**
+         * Returns the values of a {@link ColumnType#DOUBLE} column.
+         *
+         * @return the values, or <code>null</code> if this column is not of the type
+         */
+        @Nullable
+        double[] doubleValues();
+
+        /**
+         * Returns the codes of the strings of a {@link ColumnType#STRING} column.
+         *
+         * @return the codes of the strings, or <code>null</code> if this column is not of the type
+         * @see ColumnBatch#dictionaryString(int)
+         */
+        @Nullable
+        int[] stringCodes();
+
+        /**
+         * Returns the values of an {@link ColumnType#OBJECT} column.
+         *
+         * @return the values, or <code>null</code> if this column is not of the type
+         */
+        @Nullable
+        Object[] objectValues();
+
+        /**
+         * Returns the value at the given row wrapped in a {@link CellValue}.
+         *
+         * @param rowIndex the index of the row in the batch, starts with 0
+         * @return the value at the given row
+         */
+        @NotNull
+        CellValue cell(int rowIndex);
+
+    }
+
+}
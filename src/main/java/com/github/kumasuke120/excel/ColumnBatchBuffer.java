@@ -0,0 +1,474 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.WorkbookEventReader.BatchEventHandler;
+import com.github.kumasuke120.excel.WorkbookEventReader.TypedEventHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A reusable {@link ColumnBatch} which fills the arrays of its columns row by row.<br>
+ * <br>
+ * * The type of a column starts with {@link ColumnType#EMPTY} and is widened as values of other types come,
+ * the values already stored are converted to the array of the wider type.<br>
+ * * The arrays of a column are allocated once with the capacity of the batch, and only the used parts of them
+ * are cleared for the next batch.
+ */
+@ApiStatus.Internal
+final class ColumnBatchBuffer implements ColumnBatch {
+
+    private final int capacity;
+
+    private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+    private String[] dictionary = new String[16];
+    private int dictionarySize = 0;
+
+    private ColumnBuffer[] columns = new ColumnBuffer[0];
+    private int columnCount = 0;
+
+    private final int[] rowNums;
+    private int sheetIndex = -1;
+    private int rowCount = 0;
+
+    /**
+     * Creates a batch holding at most the given count of rows.
+     *
+     * @param capacity the max count of rows
+     * @throws IllegalArgumentException <code>capacity</code> is not positive
+     */
+    ColumnBatchBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Batch size should be positive: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.rowNums = new int[capacity];
+    }
+
+    /**
+     * Clears all the rows and the dictionary, the batch will be of the given sheet.
+     *
+     * @param sheetIndex the index of the containing sheet, starts with 0
+     */
+    void reset(int sheetIndex) {
+        for (int i = 0; i < columnCount; i++) {
+            columns[i].reset(rowCount);
+        }
+        Arrays.fill(dictionary, 0, dictionarySize, null);
+        dictionaryCodes.clear();
+
+        this.sheetIndex = sheetIndex;
+        dictionarySize = 0;
+        columnCount = 0;
+        rowCount = 0;
+    }
+
+    /**
+     * Checks if the batch holds the max count of rows.
+     *
+     * @return <code>true</code> if the batch is full, otherwise <code>false</code>
+     */
+    boolean isFull() {
+        return rowCount == capacity;
+    }
+
+    /**
+     * Appends a row to the batch, all of its cells are <code>null</code> until they are set.
+     *
+     * @param rowNum the index of the row, starts with 0
+     */
+    void addRow(int rowNum) {
+        rowNums[rowCount] = rowNum;
+        rowCount += 1;
+    }
+
+    /**
+     * Returns the column at the given index for the last row to set its cell, creating it if it doesn't exist.
+     *
+     * @param columnNum the index of the column, starts with 0
+     * @return the column at the given index
+     */
+    @NotNull
+    ColumnBuffer columnToSet(int columnNum) {
+        if (columnNum >= columns.length) {
+            final int oldLength = columns.length;
+            columns = Arrays.copyOf(columns, Math.max(oldLength << 1, columnNum + 1));
+            for (int i = oldLength; i < columns.length; i++) {
+                columns[i] = new ColumnBuffer();
+            }
+        }
+
+        if (columnNum >= columnCount) {
+            columnCount = columnNum + 1;
+        }
+        return columns[columnNum];
+    }
+
+    private int encode(@NotNull String value) {
+        final Integer code = dictionaryCodes.get(value);
+        if (code != null) {
+            return code;
+        }
+
+        if (dictionarySize == dictionary.length) {
+            dictionary = Arrays.copyOf(dictionary, dictionarySize << 1);
+        }
+        dictionary[dictionarySize] = value;
+        dictionaryCodes.put(value, dictionarySize);
+        return dictionarySize++;
+    }
+
+    @Override
+    public int sheetIndex() {
+        return sheetIndex;
+    }
+
+    @Override
+    public int rowCount() {
+        return rowCount;
+    }
+
+    @Override
+    @NotNull
+    public int[] rowNums() {
+        return rowNums;
+    }
+
+    @Override
+    public int columnCount() {
+        return columnCount;
+    }
+
+    @Override
+    @NotNull
+    public Column column(int columnNum) {
+        if (columnNum < 0 || columnNum >= columnCount) {
+            throw new IndexOutOfBoundsException("Column index out of range: " + columnNum);
+        }
+        return columns[columnNum];
+    }
+
+    @Override
+    @NotNull
+    public String dictionaryString(int code) {
+        if (code < 0 || code >= dictionarySize) {
+            throw new IndexOutOfBoundsException("Code out of range: " + code);
+        }
+        return dictionary[code];
+    }
+
+    @Override
+    public int dictionarySize() {
+        return dictionarySize;
+    }
+
+    /**
+     * A column of {@link ColumnBatchBuffer}, which sets the values at the last row of the batch.
+     */
+    final class ColumnBuffer implements Column {
+        private final long[] nonNullBitmap = new long[(capacity + 63) >>> 6];
+        private ColumnType type = ColumnType.EMPTY;
+
+        private long[] longValues;
+        private double[] doubleValues;
+        private int[] stringCodes;
+        private Object[] objectValues;
+
+        private void reset(int rowCount) {
+            Arrays.fill(nonNullBitmap, 0, (rowCount + 63) >>> 6, 0L);
+            if (objectValues != null) {
+                Arrays.fill(objectValues, 0, rowCount, null);
+            }
+            type = ColumnType.EMPTY;
+        }
+
+        void setBoolean(boolean value) {
+            if (prepare(ColumnType.BOOLEAN)) {
+                getLongValues()[rowCount - 1] = value ? 1 : 0;
+            } else {
+                objectValues[rowCount - 1] = value;
+            }
+        }
+
+        void setLong(long value) {
+            if (type == ColumnType.DOUBLE) {
+                setDouble(value);
+            } else if (prepare(ColumnType.LONG)) {
+                getLongValues()[rowCount - 1] = value;
+            } else {
+                objectValues[rowCount - 1] = ReaderUtils.toRelativeType(value);
+            }
+        }
+
+        void setDouble(double value) {
+            if (type == ColumnType.LONG) {
+                toDoubleColumn();
+            }
+
+            if (prepare(ColumnType.DOUBLE)) {
+                getDoubleValues()[rowCount - 1] = value;
+            } else {
+                objectValues[rowCount - 1] = ReaderUtils.toRelativeType(value);
+            }
+        }
+
+        void setString(@NotNull CharSequence value) {
+            // the given CharSequence might be reused by the reader
+            final String stringValue = value.toString();
+            if (prepare(ColumnType.STRING)) {
+                getStringCodes()[rowCount - 1] = encode(stringValue);
+            } else {
+                objectValues[rowCount - 1] = stringValue;
+            }
+        }
+
+        void setObject(@NotNull Object value) {
+            prepare(ColumnType.OBJECT);
+            getObjectValues()[rowCount - 1] = value;
+        }
+
+        // marks the last row non-null, returns false if the value should be stored as an object
+        private boolean prepare(ColumnType valueType) {
+            final int rowIndex = rowCount - 1;
+            nonNullBitmap[rowIndex >>> 6] |= 1L << rowIndex;
+
+            if (type == valueType) {
+                return true;
+            } else if (type == ColumnType.EMPTY) {
+                type = valueType;
+                return true;
+            } else {
+                if (type != ColumnType.OBJECT) {
+                    toObjectColumn(rowIndex);
+                }
+                return false;
+            }
+        }
+
+        private void toDoubleColumn() {
+            final long[] longValues = getLongValues();
+            final double[] doubleValues = getDoubleValues();
+            for (int i = 0; i < rowCount; i++) {
+                if (!isNull(i)) {
+                    doubleValues[i] = longValues[i];
+                }
+            }
+            type = ColumnType.DOUBLE;
+        }
+
+        // converts the values before the given row
+        private void toObjectColumn(int endRowIndex) {
+            final Object[] objectValues = getObjectValues();
+            for (int i = 0; i < endRowIndex; i++) {
+                if (!isNull(i)) {
+                    objectValues[i] = cell(i).originalValue();
+                }
+            }
+            type = ColumnType.OBJECT;
+        }
+
+        private long[] getLongValues() {
+            if (longValues == null) {
+                longValues = new long[capacity];
+            }
+            return longValues;
+        }
+
+        private double[] getDoubleValues() {
+            if (doubleValues == null) {
+                doubleValues = new double[capacity];
+            }
+            return doubleValues;
+        }
+
+        private int[] getStringCodes() {
+            if (stringCodes == null) {
+                stringCodes = new int[capacity];
+            }
+            return stringCodes;
+        }
+
+        private Object[] getObjectValues() {
+            if (objectValues == null) {
+                objectValues = new Object[capacity];
+            }
+            return objectValues;
+        }
+
+        @Override
+        @NotNull
+        public ColumnType type() {
+            return type;
+        }
+
+        @Override
+        public boolean isNull(int rowIndex) {
+            return (nonNullBitmap[rowIndex >>> 6] & (1L << rowIndex)) == 0;
+        }
+
+        @Override
+        @NotNull
+        public long[] nonNullBitmap() {
+            return nonNullBitmap;
+        }
+
+        @Override
+        @Nullable
+        public long[] longValues() {
+            return type == ColumnType.LONG || type == ColumnType.BOOLEAN ? longValues : null;
+        }
+
+        @Override
+        @Nullable
+        public double[] doubleValues() {
+            return type == ColumnType.DOUBLE ? doubleValues : null;
+        }
+
+        @Override
+        @Nullable
+        public int[] stringCodes() {
+            return type == ColumnType.STRING ? stringCodes : null;
+        }
+
+        @Override
+        @Nullable
+        public Object[] objectValues() {
+            return type == ColumnType.OBJECT ? objectValues : null;
+        }
+
+        @Override
+        @NotNull
+        public CellValue cell(int rowIndex) {
+            if (isNull(rowIndex)) {
+                return CellValue.newInstance(null);
+            }
+
+            switch (type) {
+                case BOOLEAN:
+                    return CellValue.newInstance(longValues[rowIndex] != 0);
+                case LONG:
+                    return LenientCellValue.newWholeNumberInstance(longValues[rowIndex]);
+                case DOUBLE:
+                    return LenientCellValue.newNumberInstance(doubleValues[rowIndex]);
+                case STRING:
+                    return CellValue.newInstance(dictionary[stringCodes[rowIndex]]);
+                case OBJECT:
+                    return CellValue.newInstance(objectValues[rowIndex]);
+                default:
+                    return CellValue.newInstance(null);
+            }
+        }
+    }
+
+    /**
+     * An <code>EventHandler</code> that fills the cells of rows in a {@link ColumnBatchBuffer} and passes it to
+     * the given {@link BatchEventHandler} when it is full or the sheet ends.<br>
+     * Row and cell events are not passed to the given handler, other events are passed as they are.
+     */
+    static final class Assembler implements TypedEventHandler {
+        private final BatchEventHandler handler;
+        private final ColumnBatchBuffer batch;
+
+        /**
+         * Creates an assembler with the batch size of the given handler.
+         *
+         * @param handler the given handler
+         * @throws IllegalArgumentException the batch size is not positive
+         */
+        Assembler(@NotNull BatchEventHandler handler) {
+            this.handler = handler;
+            this.batch = new ColumnBatchBuffer(handler.batchSize());
+        }
+
+        @Override
+        public void onStartDocument() {
+            handler.onStartDocument();
+        }
+
+        @Override
+        public void onEndDocument() {
+            handler.onEndDocument();
+        }
+
+        @Override
+        public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+            batch.reset(sheetIndex);
+            handler.onStartSheet(sheetIndex, sheetName);
+        }
+
+        @Override
+        public void onEndSheet(int sheetIndex) {
+            flush();
+            handler.onEndSheet(sheetIndex);
+        }
+
+        @Override
+        public void onStartRow(int sheetIndex, int rowNum) {
+            if (batch.isFull()) {
+                flush();
+            }
+            batch.addRow(rowNum);
+        }
+
+        private void flush() {
+            if (batch.rowCount() != 0) {
+                final int sheetIndex = batch.sheetIndex();
+                handler.onBatch(sheetIndex, batch);
+                batch.reset(sheetIndex);
+            }
+        }
+
+        @Override
+        public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+            // cells decoded lazily or replayed in parallel reading are stored by their values
+            final Object value = cellValue.originalValue();
+            if (value instanceof BigDecimal) {
+                batch.columnToSet(columnNum).setObject(value);
+            } else {
+                TypedCellEvents.handleCell(this, sheetIndex, rowNum, columnNum, value);
+            }
+        }
+
+        @Override
+        public void onBlankCell(int sheetIndex, int rowNum, int columnNum) {
+            batch.columnToSet(columnNum);
+        }
+
+        @Override
+        public void onBooleanCell(int sheetIndex, int rowNum, int columnNum, boolean value) {
+            batch.columnToSet(columnNum).setBoolean(value);
+        }
+
+        @Override
+        public void onLongCell(int sheetIndex, int rowNum, int columnNum, long value) {
+            batch.columnToSet(columnNum).setLong(value);
+        }
+
+        @Override
+        public void onNumericCell(int sheetIndex, int rowNum, int columnNum, double value) {
+            batch.columnToSet(columnNum).setDouble(value);
+        }
+
+        @Override
+        public void onStringCell(int sheetIndex, int rowNum, int columnNum, @NotNull CharSequence value) {
+            batch.columnToSet(columnNum).setString(value);
+        }
+
+        @Override
+        public void onTemporalCell(int sheetIndex, int rowNum, int columnNum, @NotNull Temporal value) {
+            batch.columnToSet(columnNum).setObject(value);
+        }
+
+        @Override
+        public void onReadCancelled() {
+            handler.onReadCancelled();
+        }
+    }
+
+}
@@ -7,16 +7,17 @@ import org.apache.poi.poifs.filesystem.DocumentInputStream;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.util.LittleEndian;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * A {@link WorkbookEventReader} reads a legacy workbook (Excel 97 - 2003) whose file extension
@@ -28,9 +29,21 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
     private static final short USER_CODE_CONTINUE = 0;
     private static final short USER_CODE_ABORT = Short.MIN_VALUE;
 
+    private static final String WORKBOOK_DOCUMENT_NAME = "Workbook";
+
+    private static final ThreadLocal<Integer> parallelismLocal = ThreadLocal.withInitial(() -> 1);
+    private static final ThreadLocal<Boolean> rawValuesLocal = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> lazyCellValuesLocal = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Integer> asyncBufferSizeLocal = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<WaitStrategy> asyncWaitStrategyLocal =
+            ThreadLocal.withInitial(() -> WaitStrategy.PARK);
+
     private POIFSFileSystem fileSystem;
     private String password;
     private DataFormatter dataFormatter;
+    private int parallelism;
+    private boolean rawValues;
+    private boolean lazyCellValues;
 
     /**
      * Creates a new {@link HSSFWorkbookEventReader} based on the given file path.
@@ -72,6 +85,103 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
         super(in, password);
     }
 
+    /**
+     * Sets all following-opened instances of {@link HSSFWorkbookEventReader} on the current thread decoding
+     * at most the given count of sheets in parallel.<br>
+     * Events are still delivered in sheet order on the thread calling {@link #read(EventHandler)}, and the events of
+     * the sheets being decoded ahead will be buffered in memory. The events of the earliest sheet are delivered in
+     * chunks of 4,096 as they are decoded, while the other sheets buffer at most 262,144 events altogether, typically
+     * some tens of megabytes, beyond which their workers wait. Encrypted workbooks are always decoded sequentially.
+     *
+     * @param parallelism maximum count of sheets to be decoded in parallel, <code>1</code> means sequentially
+     * @throws IllegalArgumentException <code>parallelism</code> is less than <code>1</code>
+     */
+    public static void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism should be positive: " + parallelism);
+        }
+
+        if (parallelism == 1) {
+            parallelismLocal.remove();
+        } else {
+            parallelismLocal.set(parallelism);
+        }
+    }
+
+    /**
+     * Sets all following-opened instances of {@link HSSFWorkbookEventReader} on the current thread reading
+     * the stored values of cells without applying their styles.<br>
+     * Numeric cells will be read as <code>int</code>, <code>long</code> or <code>double</code> as they are
+     * stored, dates will be read as their excel serial numbers, and cells formatted as text will be read as
+     * numbers. The formats and styles of the workbook will not be tracked at all.
+     *
+     * @param rawValues <code>true</code> to read the stored values of cells, otherwise <code>false</code>
+     */
+    public static void setRawValues(boolean rawValues) {
+        if (rawValues) {
+            rawValuesLocal.set(true);
+        } else {
+            rawValuesLocal.remove();
+        }
+    }
+
+    /**
+     * Sets all following-opened instances of {@link HSSFWorkbookEventReader} on the current thread deferring
+     * the decoding of numeric, date and shared string cells until the values of their {@link CellValue}s
+     * are accessed.<br>
+     * The values are the same as decoded eagerly, but the cells whose values are never accessed cost nothing
+     * to decode. The {@link CellValue}s could be accessed after their events, even on other threads, while
+     * errors in decoding them will be thrown as {@link WorkbookProcessException} by their accessors.
+     *
+     * @param lazyCellValues <code>true</code> to decode cells when their values are accessed,
+     *                       otherwise <code>false</code>
+     */
+    public static void setLazyCellValues(boolean lazyCellValues) {
+        if (lazyCellValues) {
+            lazyCellValuesLocal.set(true);
+        } else {
+            lazyCellValuesLocal.remove();
+        }
+    }
+
+    /**
+     * Sets all following-opened instances of {@link HSSFWorkbookEventReader} on the current thread parsing
+     * the workbook on another thread, whose events are handed off to the thread calling
+     * {@link #read(EventHandler)} through a ring of <code>bufferSize</code> reused slots.<br>
+     * The handler still runs on the calling thread, so that it could overlap with the parsing while
+     * {@link WorkbookEventReader#currentRead()} and the cancellation work as usual.
+     *
+     * @param bufferSize   count of events could be handed off ahead, rounded up to a power of two,
+     *                     <code>0</code> means parsing on the calling thread
+     * @param waitStrategy the way both threads wait when the ring is empty or full
+     * @throws IllegalArgumentException <code>bufferSize</code> is negative or greater than <code>2^30</code>
+     * @throws NullPointerException     <code>waitStrategy</code> is <code>null</code>
+     */
+    public static void setAsync(int bufferSize,
+                                @NotNull(exception = NullPointerException.class) WaitStrategy waitStrategy) {
+        if (bufferSize < 0 || bufferSize > 1 << 30) {
+            throw new IllegalArgumentException("bufferSize should be between 0 and 2^30: " + bufferSize);
+        }
+        Objects.requireNonNull(waitStrategy);
+
+        if (bufferSize == 0) {
+            asyncBufferSizeLocal.remove();
+            asyncWaitStrategyLocal.remove();
+        } else {
+            asyncBufferSizeLocal.set(bufferSize);
+            asyncWaitStrategyLocal.set(waitStrategy);
+        }
+    }
+
+    @Override
+    void doOnStartOpen() {
+        asyncBufferSize = asyncBufferSizeLocal.get();
+        asyncWaitStrategy = asyncWaitStrategyLocal.get();
+        parallelism = parallelismLocal.get();
+        rawValues = rawValuesLocal.get();
+        lazyCellValues = lazyCellValuesLocal.get();
+    }
+
     @Override
     void doOpen(@NotNull InputStream in, @Nullable String password) throws Exception {
         Exception thrown = null;
@@ -122,18 +232,64 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
     void doRead(@NotNull EventHandler handler) throws Exception {
         handler.onStartDocument();
 
+        if (parallelism > 1 && password == null) {
+            readSheetsInParallel(handler);
+        } else {
+            readSheets(handler);
+        }
+
+        handler.onEndDocument();
+    }
+
+    private void readSheets(@NotNull EventHandler handler) throws IOException {
         final HSSFRequest request = new HSSFRequest();
         final ReaderHSSFListener readerListener = new ReaderHSSFListener(handler);
         request.addListenerForAllRecords(readerListener);
 
         // processes the document
         processRequest(request);
+    }
 
-        handler.onEndDocument();
+    private void readSheetsInParallel(@NotNull EventHandler handler) throws Exception {
+        final byte[] workbookData;
+        try (final DocumentInputStream documentIs = fileSystem.createDocumentInputStream(WORKBOOK_DOCUMENT_NAME)) {
+            workbookData = IOUtils.toByteArray(documentIs);
+        }
+
+        // reads the workbook globals, which ends before the first sheet starts
+        final WorkbookGlobals globals = new WorkbookGlobals();
+        final HSSFRequest globalsRequest = new HSSFRequest();
+        globalsRequest.addListenerForAllRecords(globals);
+        new HSSFEventFactory().abortableProcessEvents(globalsRequest, new ByteArrayInputStream(workbookData));
+
+        if (!globals.isAllWorksheets(workbookData)) {
+            // sheets other than worksheets are rare, and they are not numbered as worksheets
+            readSheets(handler);
+            return;
+        }
+
+        try (final ParallelEventDispatcher dispatcher = new ParallelEventDispatcher(handler, parallelism)) {
+            for (int sheetIndex = 0; sheetIndex < globals.boundSheets.size(); sheetIndex++) {
+                final int theSheetIndex = sheetIndex;
+                final int positionOfBof = globals.boundSheets.get(sheetIndex).getPositionOfBof();
+
+                dispatcher.submit(null, workerHandler -> {
+                    final HSSFRequest request = new HSSFRequest();
+                    request.addListenerForAllRecords(new ReaderHSSFListener(workerHandler, globals, theSheetIndex));
+
+                    // decodes the sheet substream only, from its BOF to its EOF
+                    final InputStream sheetIs = new ByteArrayInputStream(workbookData, positionOfBof,
+                            workbookData.length - positionOfBof);
+                    new HSSFEventFactory().abortableProcessEvents(request, sheetIs);
+                });
+            }
+
+            dispatcher.finish();
+        }
     }
 
     private void processRequest(@NotNull HSSFRequest request) throws IOException {
-        try (final DocumentInputStream documentIs = fileSystem.createDocumentInputStream("Workbook")) {
+        try (final DocumentInputStream documentIs = fileSystem.createDocumentInputStream(WORKBOOK_DOCUMENT_NAME)) {
             boolean passwordSet = false;
             String oldStoredUserPassword = null;
             try {
@@ -181,9 +337,75 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
         }
     }
 
+    // collects the records of the workbook globals and aborts at the end of them
+    private static class WorkbookGlobals extends AbortableHSSFListener {
+        private final List<Record> formatRecords = new ArrayList<>();
+        private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+
+        private boolean use1904Windowing = false;
+        private SSTRecord sharedStringTable;
+
+        @Override
+        public short abortableProcessRecord(@NotNull Record record) {
+            switch (record.getSid()) {
+                case FormatRecord.sid:
+                case ExtendedFormatRecord.sid: {
+                    formatRecords.add(record);
+                    break;
+                }
+                case BoundSheetRecord.sid: {
+                    boundSheets.add((BoundSheetRecord) record);
+                    break;
+                }
+                case DateWindow1904Record.sid: {
+                    final DateWindow1904Record dateWindow1904 = (DateWindow1904Record) record;
+                    use1904Windowing = dateWindow1904.getWindowing() == 1;
+                    break;
+                }
+                case SSTRecord.sid: {
+                    sharedStringTable = (SSTRecord) record;
+                    break;
+                }
+                case EOFRecord.sid: {
+                    return USER_CODE_ABORT;
+                }
+            }
+
+            return USER_CODE_CONTINUE;
+        }
+
+        // checks whether every sheet starts with a worksheet BOF at the recorded position
+        private boolean isAllWorksheets(@NotNull byte[] workbookData) {
+            for (BoundSheetRecord boundSheet : boundSheets) {
+                final int positionOfBof = boundSheet.getPositionOfBof();
+                // sid(2) + size(2) + version(2) + type(2)
+                if (positionOfBof < 0 || positionOfBof + 8 > workbookData.length ||
+                        LittleEndian.getShort(workbookData, positionOfBof) != BOFRecord.sid ||
+                        LittleEndian.getShort(workbookData, positionOfBof + 6) != BOFRecord.TYPE_WORKSHEET) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @NotNull
+        private FormatTrackingHSSFListener newFormatTracker() {
+            final FormatTrackingHSSFListener formatTracker = new FormatTrackingHSSFListener(null);
+            for (Record formatRecord : formatRecords) {
+                formatTracker.processRecordInternally(formatRecord);
+            }
+            return formatTracker;
+        }
+    }
+
     private class ReaderHSSFListener extends AbortableHSSFListener {
         private final EventHandler handler;
+        private final TypedEventHandler typedHandler;
         private final FormatTrackingHSSFListener formatTracker;
+        private CellNumberFormat[] cellNumberFormats = new CellNumberFormat[16];
+        private final SerialDateConverter serialDateConverter = new SerialDateConverter();
+        private final CellDecimalRenderer decimalRenderer;
+        private final boolean singleSheet;
 
         private boolean use1904Windowing = false;
         private SSTRecord sharedStringTable;
@@ -203,15 +425,35 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
 
         private int tSheetIndex = -1;
         private int tRowNum = -1;
+        private int bofDepth = 0;
 
         private ReaderHSSFListener(@NotNull EventHandler handler) {
             this.handler = handler;
+            this.typedHandler = TypedCellEvents.asTypedHandler(handler);
             this.formatTracker = new FormatTrackingHSSFListener(null);
+            this.decimalRenderer = new CellDecimalRenderer(dataFormatter);
+            this.singleSheet = false;
+        }
+
+        // reads only the sheet substream starting at the first record, using the given workbook globals
+        private ReaderHSSFListener(@NotNull EventHandler handler, @NotNull WorkbookGlobals globals, int sheetIndex) {
+            this.handler = handler;
+            this.typedHandler = TypedCellEvents.asTypedHandler(handler);
+            this.formatTracker = globals.newFormatTracker();
+            this.decimalRenderer = new CellDecimalRenderer(new DataFormatter()); // DataFormatter is not thread-safe
+            this.singleSheet = true;
+
+            this.use1904Windowing = globals.use1904Windowing;
+            this.sharedStringTable = globals.sharedStringTable;
+            this.boundSheets = Collections.singletonMap(sheetIndex, globals.boundSheets.get(sheetIndex));
+            this.currentSheetIndex = sheetIndex - 1;
         }
 
         @Override
         public short abortableProcessRecord(@NotNull Record record) {
-            formatTracker.processRecordInternally(record); // records the formats and styles
+            if (!rawValues) {
+                formatTracker.processRecordInternally(record); // records the formats and styles
+            }
 
             final short currentSid = record.getSid();
             switch (currentSid) {
@@ -223,6 +465,8 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                     break;
                 }
                 case EOFRecord.sid: {
+                    bofDepth -= 1;
+
                     // this record exists after header or sheet end
                     if (currentSheetIndex != -1) { // not header end
                         handleEndSheet(currentSheetIndex);
@@ -241,6 +485,7 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                 }
                 case BOFRecord.sid: {
                     final BOFRecord bof = (BOFRecord) record;
+                    bofDepth += 1;
                     if (BOFRecord.TYPE_WORKBOOK == bof.getType()) { // workbook starts
                         boundSheets = new HashMap<>();
                     } else if (BOFRecord.TYPE_WORKSHEET == bof.getType()) { // new sheet starts
@@ -274,8 +519,7 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                 case NumberRecord.sid: {
                     final NumberRecord number = (NumberRecord) record;
 
-                    final Object cellValue = formatNumberDateCell(number);
-                    handleCell(number.getRow(), number.getColumn(), cellValue);
+                    handleNumberDateCell(number);
                     break;
                 }
                 case FormulaRecord.sid: {
@@ -285,8 +529,7 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                             CellType.forInt(formula.getCachedResultType());
                     switch (resultType) {
                         case NUMERIC: {
-                            final Object cellValue = formatNumberDateCell(formula);
-                            handleCell(formula.getRow(), formula.getColumn(), cellValue);
+                            handleNumberDateCell(formula);
                             break;
                         }
                         case STRING: {
@@ -323,7 +566,7 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                     final RKRecord rk = (RKRecord) record;
 
                     final double cellValue = rk.getRKNumber();
-                    handleCell(rk.getRow(), rk.getColumn(), cellValue);
+                    handleNumberCell(rk.getRow(), rk.getColumn(), cellValue);
                     break;
                 }
                 case LabelRecord.sid: {
@@ -337,16 +580,22 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                     final LabelSSTRecord labelSst = (LabelSSTRecord) record;
 
                     final int sstIndex = labelSst.getSSTIndex();
-                    final String cellValue = sharedStringTable.getString(sstIndex)
-                            .getString();
-                    handleCell(labelSst.getRow(), labelSst.getColumn(), formatString(cellValue));
+                    if (lazyCellValues) {
+                        handleCellValue(labelSst.getRow(), labelSst.getColumn(),
+                                new LazySharedStringCellValue(sharedStringTable, sstIndex));
+                    } else {
+                        final String cellValue = sharedStringTable.getString(sstIndex)
+                                .getString();
+                        handleCell(labelSst.getRow(), labelSst.getColumn(), formatString(cellValue));
+                    }
                     break;
                 }
             }
 
             previousRecord = record;
 
-            return USER_CODE_CONTINUE;
+            // the sheet substream ends with its own EOF, the following records belong to other sheets
+            return singleSheet && bofDepth == 0 ? USER_CODE_ABORT : USER_CODE_CONTINUE;
         }
 
         private void handleStartSheet() {
@@ -368,8 +617,7 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
             previousSheetEndHandled = false;
         }
 
-        @Nullable
-        private Object formatNumberDateCell(@NotNull CellValueRecordInterface cellRecord) {
+        private void handleNumberDateCell(@NotNull CellValueRecordInterface cellRecord) {
             final double value;
             if (cellRecord instanceof NumberRecord) {
                 value = ((NumberRecord) cellRecord).getValue();
@@ -379,17 +627,28 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                 throw new AssertionError("Shouldn't happen");
             }
 
-            final int formatIndex = formatTracker.getFormatIndex(cellRecord);
-            final String formatString = formatTracker.getFormatString(cellRecord);
+            if (rawValues) {
+                handleNumberCell(cellRecord.getRow(), cellRecord.getColumn(), value);
+            } else if (lazyCellValues) {
+                // the formats are tracked while reading, resolves the format of the cell at once
+                handleCellValue(cellRecord.getRow(), cellRecord.getColumn(),
+                        new LazyNumberDateCellValue(value, getCellNumberFormat(cellRecord)));
+            } else {
+                handleCell(cellRecord.getRow(), cellRecord.getColumn(),
+                        formatNumberDateCell(value, getCellNumberFormat(cellRecord)));
+            }
+        }
 
-            if (formatString != null) {
+        @Nullable
+        private Object formatNumberDateCell(double value, @NotNull CellNumberFormat cellNumberFormat) {
+            if (cellNumberFormat.getFormatString() != null) {
                 boolean returnAsString = false;
 
-                if (ReaderUtils.isATextFormat(formatIndex, formatString)) { // deals with cell marked as text
+                if (cellNumberFormat.isText()) { // deals with cell marked as text
                     returnAsString = true;
-                } else if (DateUtil.isADateFormat(formatIndex, formatString)) { // deals with date
+                } else if (cellNumberFormat.isDate()) { // deals with date
                     if (ReaderUtils.isValidExcelDate(value)) {
-                        return ReaderUtils.toJsr310DateOrTime(value, use1904Windowing);
+                        return serialDateConverter.toJsr310DateOrTime(value, use1904Windowing);
                     } else {
                         returnAsString = true;
                     }
@@ -403,13 +662,30 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                     }
                 }
 
-                final String decimalStringValue = dataFormatter.formatRawCellContents(value, formatIndex, formatString);
-                return ReaderUtils.decimalStringToDecimal(decimalStringValue);
+                return decimalRenderer.render(value, cellNumberFormat);
             }
 
             return value;
         }
 
+        // all extended formats precede the cells, the number format of each style is resolved at its first use
+        @NotNull
+        private CellNumberFormat getCellNumberFormat(@NotNull CellValueRecordInterface cellRecord) {
+            final int xfIndex = cellRecord.getXFIndex() & 0xFFFF;
+            if (xfIndex >= cellNumberFormats.length) {
+                cellNumberFormats = Arrays.copyOf(cellNumberFormats,
+                        Math.max(xfIndex + 1, cellNumberFormats.length << 1));
+            }
+
+            CellNumberFormat cellNumberFormat = cellNumberFormats[xfIndex];
+            if (cellNumberFormat == null) {
+                cellNumberFormat = CellNumberFormat.of(formatTracker.getFormatIndex(cellRecord),
+                        formatTracker.getFormatString(cellRecord));
+                cellNumberFormats[xfIndex] = cellNumberFormat;
+            }
+            return cellNumberFormat;
+        }
+
         @Nullable
         private String formatString(@Nullable String value) {
             return "".equals(value) ? null : value;
@@ -425,17 +701,34 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
         }
 
         private void handleCell(int rowNum, int columnNum, @Nullable Object cellValue) {
+            startCell(rowNum);
+            TypedCellEvents.handleCell(typedHandler, currentSheetIndex, rowNum, columnNum,
+                    ReaderUtils.toRelativeType(cellValue));
+            endCell(columnNum);
+        }
+
+        private void handleNumberCell(int rowNum, int columnNum, double cellValue) {
+            startCell(rowNum);
+            TypedCellEvents.handleNumber(typedHandler, currentSheetIndex, rowNum, columnNum, cellValue);
+            endCell(columnNum);
+        }
+
+        private void handleCellValue(int rowNum, int columnNum, @NotNull CellValue cellValue) {
+            startCell(rowNum);
+            typedHandler.onHandleCell(currentSheetIndex, rowNum, columnNum, cellValue);
+            endCell(columnNum);
+        }
+
+        private void startCell(int rowNum) {
             previousRowNumber = currentRowNumber;
             currentRowNumber = rowNum;
 
             if (previousRowNumber != currentRowNumber) {
                 handleStartRow();
             }
+        }
 
-            cellValue = ReaderUtils.toRelativeType(cellValue);
-            handler.onHandleCell(currentSheetIndex, rowNum, columnNum,
-                    CellValue.newInstance(cellValue));
-
+        private void endCell(int columnNum) {
             if (currentRowEndColumnNum == columnNum) {
                 handleEndRow(currentRowNumber);
             }
@@ -457,6 +750,48 @@ public class HSSFWorkbookEventReader extends AbstractWorkbookEventReader {
             handler.onEndRow(currentSheetIndex, rowNum);
             previousRowEndHandled = true;
         }
+
+        // the shared string table is read-only after it has been read, which could be read on any thread
+        private class LazySharedStringCellValue extends LazyCellValue {
+            private final SSTRecord sharedStringTable;
+            private final int sstIndex;
+
+            LazySharedStringCellValue(@NotNull SSTRecord sharedStringTable, int sstIndex) {
+                this.sharedStringTable = sharedStringTable;
+                this.sstIndex = sstIndex;
+            }
+
+            @Override
+            @Nullable
+            Object decode() {
+                return formatString(sharedStringTable.getString(sstIndex).getString());
+            }
+        }
+
+        // the converter and the renderer are only used by lazy cell values once they are enabled
+        private class LazyNumberDateCellValue extends LazyCellValue {
+            private final double value;
+            private final CellNumberFormat cellNumberFormat;
+
+            LazyNumberDateCellValue(double value, @NotNull CellNumberFormat cellNumberFormat) {
+                this.value = value;
+                this.cellNumberFormat = cellNumberFormat;
+            }
+
+            // numbers and dates are never decoded to null
+            @Override
+            boolean mightBeNull() {
+                return false;
+            }
+
+            @Override
+            @Nullable
+            Object decode() {
+                synchronized (ReaderHSSFListener.this) {
+                    return formatNumberDateCell(value, cellNumberFormat);
+                }
+            }
+        }
     }
 
 }
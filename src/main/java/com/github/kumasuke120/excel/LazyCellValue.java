@@ -0,0 +1,226 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+
+/**
+ * A {@link CellValue} which holds the raw token of a cell and defers decoding it until its value is needed.<br>
+ * <br>
+ * * The token is decoded by {@link #decode()} at most once in most cases, and then every call is delegated to
+ * the decoded {@link LenientCellValue}, so that it behaves the same as the eagerly decoded one.<br>
+ * * Decoding might happen on any thread, the implementations of {@link #decode()} should be thread-safe.<br>
+ * * Errors in decoding are thrown as {@link WorkbookProcessException} by the accessors.
+ */
+@ApiStatus.Internal
+abstract class LazyCellValue implements CellValue {
+
+    // LenientCellValue is immutable, decoding twice in a race is harmless
+    private CellValue value;
+
+    /**
+     * Decodes the raw token to the original value.
+     *
+     * @return the original value, which will be converted by {@link ReaderUtils#toRelativeType(Object)}
+     * @throws Exception errors happened when decoding
+     */
+    @Nullable
+    abstract Object decode() throws Exception;
+
+    /**
+     * Returns whether the raw token could be decoded to <code>null</code>, {@link #isNull()} only decodes the
+     * tokens that could.
+     *
+     * @return <code>true</code> if the raw token might be decoded to <code>null</code>, otherwise <code>false</code>
+     */
+    boolean mightBeNull() {
+        return true;
+    }
+
+    /**
+     * Returns the decoded {@link CellValue}, decoding it if it has not been decoded.
+     *
+     * @return the decoded {@link CellValue}
+     * @throws WorkbookProcessException errors happened when decoding
+     */
+    @NotNull
+    final CellValue materialize() {
+        CellValue value = this.value;
+        if (value == null) {
+            final Object originalValue;
+            try {
+                originalValue = decode();
+            } catch (WorkbookEventReaderException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new WorkbookProcessException(e);
+            }
+
+            value = LenientCellValue.newInstance(ReaderUtils.toRelativeType(originalValue));
+            this.value = value;
+        }
+        return value;
+    }
+
+    @Override
+    @NotNull
+    public Class<?> originalType() {
+        return materialize().originalType();
+    }
+
+    @Override
+    @Nullable
+    public Object originalValue() {
+        return materialize().originalValue();
+    }
+
+    @Override
+    public boolean isNull() {
+        final CellValue value = this.value;
+        if (value != null) {
+            return value.isNull();
+        }
+        return mightBeNull() && materialize().isNull();
+    }
+
+    @Override
+    public boolean booleanValue() {
+        return materialize().booleanValue();
+    }
+
+    @Override
+    public int intValue() {
+        return materialize().intValue();
+    }
+
+    @Override
+    public long longValue() {
+        return materialize().longValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return materialize().doubleValue();
+    }
+
+    @Override
+    public BigDecimal bigDecimalValue() {
+        return materialize().bigDecimalValue();
+    }
+
+    @Override
+    @NotNull
+    public String stringValue() {
+        return materialize().stringValue();
+    }
+
+    @Override
+    @NotNull
+    public LocalTime localTimeValue() {
+        return materialize().localTimeValue();
+    }
+
+    @Override
+    @NotNull
+    public LocalTime localTimeValue(@NotNull(exception = NullPointerException.class) DateTimeFormatter formatter) {
+        return materialize().localTimeValue(formatter);
+    }
+
+    @Override
+    @NotNull
+    public LocalTime localTimeValue(@NotNull(exception = NullPointerException.class)
+                                            Iterable<DateTimeFormatter> formatters) {
+        return materialize().localTimeValue(formatters);
+    }
+
+    @Override
+    @NotNull
+    public LocalDate localDateValue() {
+        return materialize().localDateValue();
+    }
+
+    @Override
+    @NotNull
+    public LocalDate localDateValue(@NotNull(exception = NullPointerException.class) DateTimeFormatter formatter) {
+        return materialize().localDateValue(formatter);
+    }
+
+    @Override
+    @NotNull
+    public LocalDate localDateValue(@NotNull(exception = NullPointerException.class)
+                                            Iterable<DateTimeFormatter> formatters) {
+        return materialize().localDateValue(formatters);
+    }
+
+    @Override
+    @NotNull
+    public LocalDateTime localDateTimeValue() {
+        return materialize().localDateTimeValue();
+    }
+
+    @Override
+    @NotNull
+    public LocalDateTime localDateTimeValue(@NotNull(exception = NullPointerException.class)
+                                                    DateTimeFormatter formatter) {
+        return materialize().localDateTimeValue(formatter);
+    }
+
+    @Override
+    @NotNull
+    public LocalDateTime localDateTimeValue(@NotNull(exception = NullPointerException.class)
+                                                    Iterable<DateTimeFormatter> formatters) {
+        return materialize().localDateTimeValue(formatters);
+    }
+
+    @Override
+    @NotNull
+    @Contract(pure = true)
+    public CellValue mapOriginalValue(@NotNull(exception = NullPointerException.class)
+                                              Function<Object, Object> mappingFunction) {
+        return materialize().mapOriginalValue(mappingFunction);
+    }
+
+    @Override
+    @NotNull
+    @Contract(pure = true)
+    public CellValue trim() {
+        return materialize().trim();
+    }
+
+    @Override
+    @NotNull
+    public CellValue strict() {
+        return materialize().strict();
+    }
+
+    @Override
+    @NotNull
+    public CellValue lenient() {
+        return materialize().lenient();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        return materialize().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return materialize().hashCode();
+    }
+
+    @Override
+    @NotNull
+    public String toString() {
+        return materialize().toString();
+    }
+
+}
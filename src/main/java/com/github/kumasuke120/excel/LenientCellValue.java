@@ -2,7 +2,6 @@ package com.github.kumasuke120.excel;
 
 
 import org.jetbrains.annotations.ApiStatus;
-import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -22,12 +21,13 @@ import static com.github.kumasuke120.excel.WorkbookDateTimeFormatters.parseTempo
  * provides convenient and lenient ways to convert between them
  */
 @ApiStatus.Internal
-final class LenientCellValue extends AbstractCellValue {
+class LenientCellValue extends AbstractCellValue {
 
     /**
-     * A <code>CellValue</code> singleton whose value is <code>null</code>
+     * Canonical <code>CellValue</code>s of <code>null</code> and other common values
      */
-    private static final LenientCellValue NULL = new LenientCellValue(null);
+    private static final CellValueFlyweights<LenientCellValue> FLYWEIGHTS =
+            new CellValueFlyweights<>(LenientCellValue::new, OfInt::new, OfLong::new, OfDouble::new);
 
     private LenientCellValue(@Nullable Object originalValue) {
         super(originalValue);
@@ -35,19 +35,39 @@ final class LenientCellValue extends AbstractCellValue {
 
     /**
      * Returns a <code>LenientCellValue</code> based on the given value.<br>
-     * If the given value is <code>null</code>, it will always return the same instance.
+     * If the given value is <code>null</code>, a boolean, a small integer, an empty string or a single space,
+     * it will always return the same instance.
      *
      * @param originalValue the given value
      * @return an instance of <code>CellValue</code>
      */
     @NotNull
-    @Contract("!null -> new")
     static LenientCellValue newInstance(@Nullable Object originalValue) {
-        if (originalValue == null) {
-            return NULL;
-        } else {
-            return new LenientCellValue(originalValue);
-        }
+        return FLYWEIGHTS.valueOf(originalValue);
+    }
+
+    /**
+     * Returns a <code>LenientCellValue</code> based on the given whole number, which is stored unboxed and narrowed
+     * to an <code>int</code> if it fits.
+     *
+     * @param value the given whole number
+     * @return an instance of <code>CellValue</code>
+     */
+    @NotNull
+    static LenientCellValue newWholeNumberInstance(long value) {
+        return FLYWEIGHTS.valueOfWholeNumber(value);
+    }
+
+    /**
+     * Returns a <code>LenientCellValue</code> based on the given number, which is stored unboxed and narrowed
+     * to an <code>int</code> or a <code>long</code> if it is a whole number.
+     *
+     * @param value the given number
+     * @return an instance of <code>CellValue</code>
+     */
+    @NotNull
+    static LenientCellValue newNumberInstance(double value) {
+        return FLYWEIGHTS.valueOfNumber(value);
     }
 
     @Override
@@ -58,12 +78,14 @@ final class LenientCellValue extends AbstractCellValue {
 
     @Override
     public boolean booleanValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof Boolean) {
             return (Boolean) originalValue;
         } else if (originalValue instanceof Number) {
             return ((Number) originalValue).intValue() != 0;
         } else if (originalValue instanceof String) {
-            final String originalString = (String) this.originalValue;
+            final String originalString = (String) originalValue;
             if ("true".equalsIgnoreCase(originalString) || "1".equals(originalString)) {
                 return true;
             } else if ("false".equalsIgnoreCase(originalString) || "0".equals(originalString)) {
@@ -78,24 +100,22 @@ final class LenientCellValue extends AbstractCellValue {
 
     @Override
     public int intValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof Integer) {
             return (Integer) originalValue;
         } else if (originalValue instanceof Number) {
             return ((Number) originalValue).intValue();
         } else if (originalValue instanceof String) {
-            final String originalString = (String) this.originalValue;
+            final NumericLexer lexer = new NumericLexer();
+            lexer.lex((String) originalValue);
 
-            try {
-                return Integer.parseInt(originalString);
-            } catch (NumberFormatException e1) {
-                try {
-                    return (int) Double.parseDouble(originalString);
-                } catch (NumberFormatException e2) {
-                    // it will be more reasonable to throw an exception which
-                    // indicates that the conversion to int has failed
-                    e1.addSuppressed(e2);
-                    throw new CellValueCastException(e1);
-                }
+            if (lexer.isInt()) {
+                return (int) lexer.longValue();
+            } else if (lexer.isDouble()) {
+                return (int) lexer.doubleValue();
+            } else {
+                throw newNumberCastException((String) originalValue);
             }
         } else {
             throw new CellValueCastException();
@@ -104,24 +124,22 @@ final class LenientCellValue extends AbstractCellValue {
 
     @Override
     public long longValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof Long) {
             return (Long) originalValue;
         } else if (originalValue instanceof Number) {
             return ((Number) originalValue).longValue();
         } else if (originalValue instanceof String) {
-            final String originalString = (String) this.originalValue;
+            final NumericLexer lexer = new NumericLexer();
+            lexer.lex((String) originalValue);
 
-            try {
-                return Long.parseLong(originalString);
-            } catch (NumberFormatException e1) {
-                try {
-                    return (long) Double.parseDouble(originalString);
-                } catch (NumberFormatException e2) {
-                    // it will be more reasonable to throw an exception which
-                    // indicates that the conversion to long has failed
-                    e1.addSuppressed(e2);
-                    throw new CellValueCastException(e1);
-                }
+            if (lexer.isLong()) {
+                return lexer.longValue();
+            } else if (lexer.isDouble()) {
+                return (long) lexer.doubleValue();
+            } else {
+                throw newNumberCastException((String) originalValue);
             }
         } else {
             throw new CellValueCastException();
@@ -130,15 +148,20 @@ final class LenientCellValue extends AbstractCellValue {
 
     @Override
     public double doubleValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof Double) {
             return (Double) originalValue;
         } else if (originalValue instanceof Number) {
             return ((Number) originalValue).doubleValue();
         } else if (originalValue instanceof String) {
-            try {
-                return Double.parseDouble((String) originalValue);
-            } catch (NumberFormatException e) {
-                throw new CellValueCastException(e);
+            final NumericLexer lexer = new NumericLexer();
+            lexer.lex((String) originalValue);
+
+            if (lexer.isDouble()) {
+                return lexer.doubleValue();
+            } else {
+                throw newNumberCastException((String) originalValue);
             }
         } else {
             throw new CellValueCastException();
@@ -147,24 +170,37 @@ final class LenientCellValue extends AbstractCellValue {
 
     @Override
     public BigDecimal bigDecimalValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof BigDecimal) {
             return (BigDecimal) originalValue;
         } else if (originalValue instanceof Number) {
             return new BigDecimal(originalValue.toString());
         } else if (originalValue instanceof String) {
-            try {
-                return new BigDecimal((String) originalValue);
-            } catch (NumberFormatException e) {
-                throw new CellValueCastException(e);
+            final NumericLexer lexer = new NumericLexer();
+            lexer.lex((String) originalValue);
+
+            if (lexer.isBigDecimal()) {
+                return lexer.bigDecimalValue();
+            } else {
+                throw newNumberCastException((String) originalValue);
             }
         } else {
             throw new CellValueCastException();
         }
     }
 
+    // keeps the cause as it was thrown by the parsing methods of JDK
+    @NotNull
+    private static CellValueCastException newNumberCastException(@NotNull String originalString) {
+        return new CellValueCastException(new NumberFormatException("For input string: \"" + originalString + "\""));
+    }
+
     @Override
     @NotNull
     public String stringValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue != null) {
             return String.valueOf(originalValue);
         } else {
@@ -178,6 +214,7 @@ final class LenientCellValue extends AbstractCellValue {
     public LocalTime localTimeValue(@NotNull(exception = NullPointerException.class)
                                     Iterable<DateTimeFormatter> formatters) {
         Objects.requireNonNull(formatters);
+        final Object originalValue = originalValue();
 
         if (originalValue instanceof LocalTime) {
             return (LocalTime) originalValue;
@@ -219,6 +256,7 @@ final class LenientCellValue extends AbstractCellValue {
     public LocalDate localDateValue(@NotNull(exception = NullPointerException.class)
                                     Iterable<DateTimeFormatter> formatters) {
         Objects.requireNonNull(formatters);
+        final Object originalValue = originalValue();
 
         if (originalValue instanceof LocalDate) {
             return (LocalDate) originalValue;
@@ -240,6 +278,7 @@ final class LenientCellValue extends AbstractCellValue {
     public LocalDateTime localDateTimeValue(@NotNull(exception = NullPointerException.class)
                                             Iterable<DateTimeFormatter> formatters) {
         Objects.requireNonNull(formatters);
+        final Object originalValue = originalValue();
 
         if (originalValue instanceof LocalDateTime) {
             return (LocalDateTime) originalValue;
@@ -265,4 +304,208 @@ final class LenientCellValue extends AbstractCellValue {
         }
     }
 
+    /**
+     * A <code>LenientCellValue</code> of an <code>int</code>, which is stored unboxed
+     */
+    static final class OfInt extends LenientCellValue {
+
+        private final int value;
+
+        OfInt(int value) {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        @NotNull
+        public Class<?> originalType() {
+            return Integer.class;
+        }
+
+        @Override
+        @NotNull
+        public Object originalValue() {
+            return value;
+        }
+
+        @Override
+        public boolean isNull() {
+            return false;
+        }
+
+        @Override
+        public boolean booleanValue() {
+            return value != 0;
+        }
+
+        @Override
+        public int intValue() {
+            return value;
+        }
+
+        @Override
+        public long longValue() {
+            return value;
+        }
+
+        @Override
+        public double doubleValue() {
+            return value;
+        }
+
+        @Override
+        public BigDecimal bigDecimalValue() {
+            return BigDecimal.valueOf(value);
+        }
+
+        @Override
+        @NotNull
+        public String stringValue() {
+            return Integer.toString(value);
+        }
+
+        @Override
+        @NotNull
+        StrictCellValue newStrictValue() {
+            return StrictCellValue.newWholeNumberInstance(value);
+        }
+
+    }
+
+    /**
+     * A <code>LenientCellValue</code> of a <code>long</code>, which is stored unboxed
+     */
+    static final class OfLong extends LenientCellValue {
+
+        private final long value;
+
+        OfLong(long value) {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        @NotNull
+        public Class<?> originalType() {
+            return Long.class;
+        }
+
+        @Override
+        @NotNull
+        public Object originalValue() {
+            return value;
+        }
+
+        @Override
+        public boolean isNull() {
+            return false;
+        }
+
+        @Override
+        public boolean booleanValue() {
+            return (int) value != 0;
+        }
+
+        @Override
+        public int intValue() {
+            return (int) value;
+        }
+
+        @Override
+        public long longValue() {
+            return value;
+        }
+
+        @Override
+        public double doubleValue() {
+            return value;
+        }
+
+        @Override
+        public BigDecimal bigDecimalValue() {
+            return BigDecimal.valueOf(value);
+        }
+
+        @Override
+        @NotNull
+        public String stringValue() {
+            return Long.toString(value);
+        }
+
+        @Override
+        @NotNull
+        StrictCellValue newStrictValue() {
+            return StrictCellValue.newWholeNumberInstance(value);
+        }
+
+    }
+
+    /**
+     * A <code>LenientCellValue</code> of a <code>double</code>, which is stored unboxed
+     */
+    static final class OfDouble extends LenientCellValue {
+
+        private final double value;
+
+        OfDouble(double value) {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        @NotNull
+        public Class<?> originalType() {
+            return Double.class;
+        }
+
+        @Override
+        @NotNull
+        public Object originalValue() {
+            return value;
+        }
+
+        @Override
+        public boolean isNull() {
+            return false;
+        }
+
+        @Override
+        public boolean booleanValue() {
+            return (int) value != 0;
+        }
+
+        @Override
+        public int intValue() {
+            return (int) value;
+        }
+
+        @Override
+        public long longValue() {
+            return (long) value;
+        }
+
+        @Override
+        public double doubleValue() {
+            return value;
+        }
+
+        @Override
+        public BigDecimal bigDecimalValue() {
+            return BigDecimal.valueOf(value);
+        }
+
+        @Override
+        @NotNull
+        public String stringValue() {
+            return Double.toString(value);
+        }
+
+        @Override
+        @NotNull
+        StrictCellValue newStrictValue() {
+            return StrictCellValue.newNumberInstance(value);
+        }
+
+    }
+
 }
@@ -0,0 +1,407 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * A lexer that classifies a char sequence as a number in a single pass without throwing any exception.<br>
+ * <br>
+ * * The plain grammar is <code>[+-]?digits*(.digits*)?([eE][+-]?digits+)?</code> with at least one digit before
+ * the exponent, which is accepted by {@link Long#parseLong(String)} (if it is an integer that fits),
+ * {@link Double#parseDouble(String)} and {@link BigDecimal#BigDecimal(String)} alike.<br>
+ * * Integers are accumulated while lexing, doubles and <code>BigDecimal</code>s are parsed from the lexed text,
+ * which will never fail.<br>
+ * * The JDK parsers accept some more forms, such as surrounding whitespaces, <code>NaN</code>,
+ * <code>Infinity</code>, hexadecimal, type suffixes and non-ASCII digits. Texts that might be one of them are
+ * marked as irregular and resolved lazily with the JDK parsers, so that ordinary texts never cost an exception.
+ * <br>
+ * * Instances are reusable but not thread-safe.
+ */
+@ApiStatus.Internal
+final class NumericLexer {
+
+    /**
+     * The text is not a number in the plain grammar
+     */
+    static final int NOT_A_NUMBER = 0;
+
+    /**
+     * The text is an integer, such as <code>-123</code>
+     */
+    static final int INTEGER = 1;
+
+    /**
+     * The text is a decimal without exponent, such as <code>-123.45</code>
+     */
+    static final int DECIMAL = 2;
+
+    /**
+     * The text is a number with exponent, such as <code>1.2345E-3</code>
+     */
+    static final int SCIENTIFIC = 3;
+
+    // exponents longer than this might overflow the scale of BigDecimal
+    private static final int MAX_EXPONENT_DIGITS = 9;
+
+    private static final int UNKNOWN = 0;
+    private static final int VALID = 1;
+    private static final int INVALID = 2;
+
+    private CharSequence text;
+    private String numberText;
+
+    private int kind;
+    private boolean irregular;
+    private boolean negative;
+    private boolean longOverflow;
+    private long longValue;
+
+    // lazily resolved results of the JDK parsers for irregular texts
+    private int longState;
+    private int doubleState;
+    private int bigDecimalState;
+    private double doubleValue;
+    private BigDecimal bigDecimalValue;
+
+    /**
+     * Lexes the given text.
+     *
+     * @param text text to be lexed
+     * @return kind of the number, one of {@link #NOT_A_NUMBER}, {@link #INTEGER}, {@link #DECIMAL} and
+     * {@link #SCIENTIFIC}
+     */
+    int lex(@NotNull CharSequence text) {
+        return lex(text, false);
+    }
+
+    /**
+     * Lexes the given text, skipping the grouping separators (<code>,</code>) if needed as if they were
+     * removed from the text.
+     *
+     * @param text                   text to be lexed
+     * @param skipGroupingSeparators <code>true</code> if grouping separators should be skipped
+     * @return kind of the number, one of {@link #NOT_A_NUMBER}, {@link #INTEGER}, {@link #DECIMAL} and
+     * {@link #SCIENTIFIC}
+     */
+    int lex(@NotNull CharSequence text, boolean skipGroupingSeparators) {
+        if (skipGroupingSeparators && indexOf(text, ',') != -1) {
+            final String strippedText = text.toString().replace(",", "");
+            reset(strippedText);
+            numberText = strippedText;
+        } else {
+            reset(text);
+        }
+
+        final CharSequence t = this.text;
+        final int length = t.length();
+        int i = 0;
+
+        // sign
+        if (i < length && (t.charAt(i) == '-' || t.charAt(i) == '+')) {
+            negative = t.charAt(i) == '-';
+            i += 1;
+        }
+
+        // integer part, accumulated negatively like Long.parseLong() to reach Long.MIN_VALUE
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multiplyMin = limit / 10;
+        long result = 0;
+        int mantissaDigits = 0;
+        for (; i < length; i++) {
+            final char c = t.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
+            }
+
+            final int digit = c - '0';
+            if (result < multiplyMin || result * 10 < limit + digit) {
+                longOverflow = true;
+            } else if (!longOverflow) {
+                result = result * 10 - digit;
+            }
+            mantissaDigits += 1;
+        }
+
+        // fraction part
+        boolean hasPoint = false;
+        if (i < length && t.charAt(i) == '.') {
+            hasPoint = true;
+            for (i += 1; i < length; i++) {
+                final char c = t.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                mantissaDigits += 1;
+            }
+        }
+
+        if (mantissaDigits == 0) {
+            return notANumber();
+        }
+
+        // exponent part
+        if (i < length && (t.charAt(i) == 'e' || t.charAt(i) == 'E')) {
+            i += 1;
+            if (i < length && (t.charAt(i) == '-' || t.charAt(i) == '+')) {
+                i += 1;
+            }
+
+            int exponentDigits = 0;
+            int significantExponentDigits = 0;
+            for (; i < length; i++) {
+                final char c = t.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                exponentDigits += 1;
+                if (significantExponentDigits > 0 || c != '0') { // leading zeros never overflow
+                    significantExponentDigits += 1;
+                }
+            }
+
+            if (exponentDigits == 0 || i < length) {
+                return notANumber();
+            } else if (significantExponentDigits > MAX_EXPONENT_DIGITS) {
+                irregular = true;
+                return kind = NOT_A_NUMBER;
+            } else {
+                return kind = SCIENTIFIC;
+            }
+        }
+
+        if (i < length) {
+            return notANumber();
+        } else if (hasPoint) {
+            return kind = DECIMAL;
+        } else {
+            longValue = negative ? result : -result;
+            return kind = INTEGER;
+        }
+    }
+
+    private static int indexOf(@NotNull CharSequence text, char c) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void reset(@NotNull CharSequence text) {
+        this.text = text;
+        this.numberText = null;
+        this.kind = NOT_A_NUMBER;
+        this.irregular = false;
+        this.negative = false;
+        this.longOverflow = false;
+        this.longValue = 0;
+        this.longState = UNKNOWN;
+        this.doubleState = UNKNOWN;
+        this.bigDecimalState = UNKNOWN;
+        this.doubleValue = 0;
+        this.bigDecimalValue = null;
+    }
+
+    private int notANumber() {
+        irregular = mightBeIrregularNumber(text);
+        return kind = NOT_A_NUMBER;
+    }
+
+    // tests if the JDK parsers might accept the text, which is out of the plain grammar
+    private static boolean mightBeIrregularNumber(@NotNull CharSequence text) {
+        final int length = text.length();
+        if (length == 0) {
+            return false;
+        }
+
+        // Double.parseDouble() trims whitespaces and control characters
+        if (text.charAt(0) <= ' ' || text.charAt(length - 1) <= ' ') {
+            return true;
+        }
+
+        final int start = text.charAt(0) == '-' || text.charAt(0) == '+' ? 1 : 0;
+        if (start < length) {
+            final char first = text.charAt(start);
+            if (first == 'N' || first == 'I') { // NaN or Infinity
+                return true;
+            }
+            if (first == '0' && start + 1 < length &&
+                    (text.charAt(start + 1) == 'x' || text.charAt(start + 1) == 'X')) { // hexadecimal
+                return true;
+            }
+        }
+
+        final char last = text.charAt(length - 1);
+        if (last == 'f' || last == 'F' || last == 'd' || last == 'D') { // type suffix
+            return true;
+        }
+
+        // Long.parseLong() and BigDecimal accept non-ASCII digits
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c >= 0x80 && Character.isDigit(c)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the kind of the last lexed text.
+     *
+     * @return kind of the number
+     */
+    int getKind() {
+        return kind;
+    }
+
+    /**
+     * Tests if the last lexed text could be parsed by {@link Long#parseLong(String)}.
+     *
+     * @return <code>true</code> if it is a <code>long</code>, otherwise <code>false</code>
+     */
+    boolean isLong() {
+        if (irregular) {
+            resolveIrregularLong();
+            return longState == VALID;
+        }
+        return kind == INTEGER && !longOverflow;
+    }
+
+    /**
+     * Tests if the last lexed text could be parsed by {@link Integer#parseInt(String)}.
+     *
+     * @return <code>true</code> if it is an <code>int</code>, otherwise <code>false</code>
+     */
+    boolean isInt() {
+        return isLong() && longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the <code>long</code> value of the last lexed text, which should be tested by {@link #isLong()}.
+     *
+     * @return <code>long</code> value
+     */
+    long longValue() {
+        assert isLong();
+        return longValue;
+    }
+
+    /**
+     * Tests if the last lexed text could be parsed by {@link Double#parseDouble(String)}.
+     *
+     * @return <code>true</code> if it is a <code>double</code>, otherwise <code>false</code>
+     */
+    boolean isDouble() {
+        if (irregular) {
+            resolveIrregularDouble();
+            return doubleState == VALID;
+        }
+        return kind != NOT_A_NUMBER;
+    }
+
+    /**
+     * Returns the <code>double</code> value of the last lexed text, which should be tested by
+     * {@link #isDouble()}.
+     *
+     * @return <code>double</code> value
+     */
+    double doubleValue() {
+        assert isDouble();
+
+        if (irregular) {
+            return doubleValue;
+        } else if (kind == INTEGER && !longOverflow) {
+            return negative && longValue == 0 ? -0.0 : longValue;
+        } else {
+            // will never throw NumberFormatException
+            return Double.parseDouble(getNumberText());
+        }
+    }
+
+    /**
+     * Tests if the last lexed text could be parsed by {@link BigDecimal#BigDecimal(String)}.
+     *
+     * @return <code>true</code> if it is a <code>BigDecimal</code>, otherwise <code>false</code>
+     */
+    boolean isBigDecimal() {
+        if (irregular) {
+            resolveIrregularBigDecimal();
+            return bigDecimalState == VALID;
+        }
+        return kind != NOT_A_NUMBER;
+    }
+
+    /**
+     * Returns the <code>BigDecimal</code> value of the last lexed text, which should be tested by
+     * {@link #isBigDecimal()}.
+     *
+     * @return <code>BigDecimal</code> value
+     */
+    @NotNull
+    BigDecimal bigDecimalValue() {
+        assert isBigDecimal();
+
+        if (irregular) {
+            return bigDecimalValue;
+        } else if (kind == INTEGER && !longOverflow) {
+            return BigDecimal.valueOf(longValue);
+        } else {
+            // will never throw NumberFormatException
+            return new BigDecimal(getNumberText());
+        }
+    }
+
+    /**
+     * Returns the last lexed text, without grouping separators if they have been skipped.
+     *
+     * @return the lexed text
+     */
+    @NotNull
+    @Contract(pure = true)
+    String getNumberText() {
+        if (numberText == null) {
+            numberText = text.toString();
+        }
+        return numberText;
+    }
+
+    private void resolveIrregularLong() {
+        if (longState == UNKNOWN) {
+            try {
+                longValue = Long.parseLong(getNumberText());
+                longState = VALID;
+            } catch (NumberFormatException e) {
+                longState = INVALID;
+            }
+        }
+    }
+
+    private void resolveIrregularDouble() {
+        if (doubleState == UNKNOWN) {
+            try {
+                doubleValue = Double.parseDouble(getNumberText());
+                doubleState = VALID;
+            } catch (NumberFormatException e) {
+                doubleState = INVALID;
+            }
+        }
+    }
+
+    private void resolveIrregularBigDecimal() {
+        if (bigDecimalState == UNKNOWN) {
+            try {
+                bigDecimalValue = new BigDecimal(getNumberText());
+                bigDecimalState = VALID;
+            } catch (NumberFormatException e) {
+                bigDecimalState = INVALID;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,303 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A dispatcher that runs reading tasks on several worker threads and delivers their events to the
+ * given {@link WorkbookEventReader.EventHandler} in the order the tasks were submitted.<br>
+ * <br>
+ * * Events are buffered per task in chunks and replayed on the thread that calls
+ * {@link #submit(Closeable, EventTask)} or {@link #finish()}, so the handler is never invoked concurrently.<br>
+ * * The chunks of the earliest task are replayed as soon as they are filled. The other tasks buffer at most
+ * a fixed count of chunks altogether, beyond which their workers wait until the buffered chunks are replayed.<br>
+ * * At most twice the parallelism of tasks could be pending at the same time, submitting more tasks
+ * will replay the earliest one first.
+ */
+@ApiStatus.Internal
+class ParallelEventDispatcher implements Closeable {
+
+    private static final int CHUNK_SIZE = 4096;
+    private static final int MAX_BUFFERED_CHUNKS = 64;
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private final WorkbookEventReader.EventHandler handler;
+    private final ExecutorService executor;
+    private final int maxPendingTasks;
+    private final Deque<PendingTask> pendingTasks;
+
+    private final int chunkSize;
+    private final int maxBufferedChunks;
+    private final Lock bufferLock = new ReentrantLock();
+    private final Condition bufferReleased = bufferLock.newCondition();
+    private int bufferedChunks = 0;
+
+    /**
+     * Creates a new {@link ParallelEventDispatcher} delivering events to the given handler.
+     *
+     * @param handler     {@link WorkbookEventReader.EventHandler} to receive the events in order
+     * @param parallelism maximum count of worker threads
+     */
+    ParallelEventDispatcher(@NotNull WorkbookEventReader.EventHandler handler, int parallelism) {
+        this(handler, parallelism, CHUNK_SIZE, MAX_BUFFERED_CHUNKS);
+    }
+
+    ParallelEventDispatcher(@NotNull WorkbookEventReader.EventHandler handler, int parallelism,
+                            int chunkSize, int maxBufferedChunks) {
+        assert parallelism > 0 && chunkSize > 0 && maxBufferedChunks > 0;
+
+        this.handler = handler;
+        this.executor = Executors.newFixedThreadPool(parallelism, ParallelEventDispatcher::newWorkerThread);
+        this.maxPendingTasks = parallelism * 2;
+        this.pendingTasks = new ArrayDeque<>(maxPendingTasks);
+        this.chunkSize = chunkSize;
+        this.maxBufferedChunks = maxBufferedChunks;
+    }
+
+    @NotNull
+    private static Thread newWorkerThread(@NotNull Runnable r) {
+        final Thread thread = new Thread(r, "workbook-event-reader-worker-" + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Submits a task to be run on a worker thread. The given resource will be closed when the task
+     * is done or when this dispatcher is closed, whichever comes first.
+     *
+     * @param resource resource used by the task, it might be <code>null</code>
+     * @param task     task that triggers events on the given handler
+     * @throws Exception any exception occurred when replaying the earlier tasks
+     */
+    void submit(@Nullable Closeable resource, @NotNull EventTask task) throws Exception {
+        while (pendingTasks.size() >= maxPendingTasks) {
+            replayEarliest();
+        }
+
+        final PendingTask pendingTask = new PendingTask(resource);
+        pendingTasks.addLast(pendingTask);
+        pendingTask.future = executor.submit(() -> pendingTask.run(task));
+    }
+
+    /**
+     * Waits for all submitted tasks and replays their events in order.
+     *
+     * @throws Exception any exception occurred when running the tasks or replaying their events
+     */
+    void finish() throws Exception {
+        while (!pendingTasks.isEmpty()) {
+            replayEarliest();
+        }
+    }
+
+    private void replayEarliest() throws Exception {
+        final PendingTask pendingTask = pendingTasks.getFirst();
+
+        bufferLock.lock();
+        try {
+            pendingTask.earliest = true;
+            bufferReleased.signalAll();
+        } finally {
+            bufferLock.unlock();
+        }
+
+        Object item;
+        while (!((item = pendingTask.chunks.take()) instanceof EndOfTask)) {
+            releaseChunk();
+            ((SheetEventBuffer) item).replay(handler);
+        }
+
+        // the task is done, otherwise it would be cancelled by close()
+        pendingTasks.removeFirst();
+        suppressClose(pendingTask.resource);
+
+        final Throwable error = ((EndOfTask) item).error;
+        if (error instanceof Exception) {
+            throw (Exception) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        }
+    }
+
+    // waits until there is room for another chunk, unless the chunk is going to be replayed at once
+    private void acquireChunk(@NotNull PendingTask pendingTask) throws InterruptedException {
+        bufferLock.lock();
+        try {
+            while (!pendingTask.earliest && bufferedChunks >= maxBufferedChunks) {
+                bufferReleased.await();
+            }
+            bufferedChunks += 1;
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    private void releaseChunk() {
+        bufferLock.lock();
+        try {
+            bufferedChunks -= 1;
+            bufferReleased.signalAll();
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    /**
+     * Cancels all unfinished tasks, and releases the resources and worker threads.
+     */
+    @Override
+    public void close() {
+        for (PendingTask pendingTask : pendingTasks) {
+            if (pendingTask.future != null) {
+                pendingTask.future.cancel(true);
+            }
+        }
+
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (PendingTask pendingTask : pendingTasks) {
+            suppressClose(pendingTask.resource);
+        }
+        pendingTasks.clear();
+    }
+
+    private static void suppressClose(@Nullable Closeable resource) {
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (IOException ignore) {
+                // the events have been read, nothing more could be done
+            }
+        }
+    }
+
+    /**
+     * A task that reads a part of the workbook and triggers events on the given handler
+     */
+    @FunctionalInterface
+    interface EventTask {
+
+        /**
+         * Reads a part of the workbook, it will be invoked on a worker thread.
+         *
+         * @param handler {@link WorkbookEventReader.EventHandler} that buffers the triggered events
+         * @throws Exception any exception occurred during reading process
+         */
+        void run(@NotNull WorkbookEventReader.EventHandler handler) throws Exception;
+
+    }
+
+    private static final class EndOfTask {
+        private final Throwable error;
+
+        private EndOfTask(@Nullable Throwable error) {
+            this.error = error;
+        }
+    }
+
+    /**
+     * An <code>EventHandler</code> that records the events of a task into chunks and hands them off to
+     * the replaying thread.
+     */
+    private final class PendingTask implements WorkbookEventReader.EventHandler {
+        private final Closeable resource;
+        private final BlockingQueue<Object> chunks = new LinkedBlockingQueue<>();
+        private volatile Future<?> future;
+
+        // guarded by bufferLock
+        private boolean earliest = false;
+
+        // used by the worker only
+        private SheetEventBuffer buffer = new SheetEventBuffer();
+
+        private PendingTask(@Nullable Closeable resource) {
+            this.resource = resource;
+        }
+
+        // runs on the worker thread
+        private void run(@NotNull EventTask task) {
+            Throwable error = null;
+            try {
+                task.run(this);
+            } catch (Throwable e) {
+                error = e;
+            }
+
+            // delivers the events triggered before the error as a sequential reading would do
+            if (buffer.size() > 0) {
+                try {
+                    handOff();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            chunks.add(new EndOfTask(error));
+        }
+
+        @Override
+        public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+            buffer.onStartSheet(sheetIndex, sheetName);
+            handOffIfFull();
+        }
+
+        @Override
+        public void onEndSheet(int sheetIndex) {
+            buffer.onEndSheet(sheetIndex);
+            handOffIfFull();
+        }
+
+        @Override
+        public void onStartRow(int sheetIndex, int rowNum) {
+            buffer.onStartRow(sheetIndex, rowNum);
+            handOffIfFull();
+        }
+
+        @Override
+        public void onEndRow(int sheetIndex, int rowNum) {
+            buffer.onEndRow(sheetIndex, rowNum);
+            handOffIfFull();
+        }
+
+        @Override
+        public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+            buffer.onHandleCell(sheetIndex, rowNum, columnNum, cellValue);
+            handOffIfFull();
+        }
+
+        private void handOffIfFull() {
+            if (buffer.size() >= chunkSize) {
+                try {
+                    handOff();
+                } catch (InterruptedException e) {
+                    // the dispatcher has been closed, stops as soon as possible
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException();
+                }
+            }
+        }
+
+        private void handOff() throws InterruptedException {
+            acquireChunk(this);
+            chunks.add(buffer);
+            buffer = new SheetEventBuffer();
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.WorkbookEventReader.RowEventHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A {@link RowEventHandler} that hands the rows off to several worker threads by their keys, so that the work on
+ * the rows could be spread across cores while the workbook is parsed sequentially.<br>
+ * <br>
+ * * The key of each row is computed by the given function on the reading thread, rows with equal keys are always
+ * handled by the same worker in the order they were read.<br>
+ * * Each worker has a bounded queue, the reading waits when the queue of the target worker is full.<br>
+ * * The given handler receives {@link RowEventHandler#onRow(int, int, RowView) onRow()} on the workers concurrently,
+ * it should be thread-safe. The rows are copied, they stay valid after the call. Other events are triggered on the
+ * reading thread, {@link RowEventHandler#onEndSheet(int) onEndSheet()} and
+ * {@link RowEventHandler#onEndDocument() onEndDocument()} wait until all the rows before them have been handled,
+ * while the rows not handled yet are dropped before {@link RowEventHandler#onReadCancelled() onReadCancelled()}.
+ * {@link WorkbookEventReader#currentRead()} is not available on the workers.<br>
+ * * Errors thrown by the given handler stop the reading, they are re-thrown by the reader at the next row or the
+ * next event.<br>
+ * * The workers start with each reading and stop at its end, {@link #close()} stops them if the reading fails,
+ * which is done by {@link #read(WorkbookEventReader)}.
+ */
+public final class PartitionedRowHandler implements RowEventHandler, Closeable {
+
+    private static final Object END_OF_ROWS = new Object();
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private final RowEventHandler handler;
+    private final Function<? super RowView, ?> keyFunction;
+    private final int parallelism;
+    private final int queueCapacity;
+
+    // accessed on the reading thread
+    private Worker[] workers;
+
+    private volatile Throwable failure;
+    private volatile boolean dropping;
+
+    /**
+     * Creates a handler that hands the rows off to the given count of workers by the keys computed by the given
+     * function.
+     *
+     * @param handler       the thread-safe handler to receive the rows
+     * @param keyFunction   the function to compute the key of a row, the key might be <code>null</code>
+     * @param parallelism   the count of workers
+     * @param queueCapacity the max count of rows waiting to be handled by each worker
+     * @throws NullPointerException     <code>handler</code> or <code>keyFunction</code> is <code>null</code>
+     * @throws IllegalArgumentException <code>parallelism</code> or <code>queueCapacity</code> is not positive
+     */
+    public PartitionedRowHandler(@NotNull(exception = NullPointerException.class) RowEventHandler handler,
+                                 @NotNull(exception = NullPointerException.class)
+                                         Function<? super RowView, ?> keyFunction,
+                                 int parallelism, int queueCapacity) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism should be positive: " + parallelism);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity should be positive: " + queueCapacity);
+        }
+
+        this.handler = Objects.requireNonNull(handler);
+        this.keyFunction = Objects.requireNonNull(keyFunction);
+        this.parallelism = parallelism;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Reads the given reader with this handler, and stops the workers whether the reading succeeds or not.
+     *
+     * @param reader the reader to be read
+     * @throws NullPointerException <code>reader</code> is <code>null</code>
+     * @see WorkbookEventReader#read(WorkbookEventReader.EventHandler)
+     */
+    public void read(@NotNull(exception = NullPointerException.class) WorkbookEventReader reader) {
+        Objects.requireNonNull(reader);
+        try {
+            reader.read(this);
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public void onStartDocument() {
+        startWorkers();
+        handler.onStartDocument();
+    }
+
+    @Override
+    public void onEndDocument() {
+        stopWorkers();
+        throwIfFailed();
+        handler.onEndDocument();
+    }
+
+    @Override
+    public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+        throwIfFailed();
+        handler.onStartSheet(sheetIndex, sheetName);
+    }
+
+    @Override
+    public void onEndSheet(int sheetIndex) {
+        awaitWorkers();
+        handler.onEndSheet(sheetIndex);
+    }
+
+    @Override
+    public void onRow(int sheetIndex, int rowNum, @NotNull RowView row) {
+        throwIfFailed();
+        if (workers == null) {
+            startWorkers();
+        }
+
+        final Object key = keyFunction.apply(row);
+        final int hash = key == null ? 0 : spread(key.hashCode());
+        workers[Math.floorMod(hash, parallelism)].put(RowViewBuffer.copyOf(row));
+    }
+
+    @Override
+    public void onReadCancelled() {
+        dropping = true;
+        stopWorkers();
+        handler.onReadCancelled();
+    }
+
+    /**
+     * Stops the workers, dropping the rows not handled yet.
+     */
+    @Override
+    public void close() {
+        if (workers != null) {
+            dropping = true;
+            stopWorkers();
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void startWorkers() {
+        stopWorkers();
+
+        failure = null;
+        dropping = false;
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker();
+        }
+    }
+
+    // waits until all the rows handed off have been handled
+    private void awaitWorkers() {
+        if (workers == null) {
+            return;
+        }
+
+        final CountDownLatch latch = new CountDownLatch(parallelism);
+        for (Worker worker : workers) {
+            worker.put(latch);
+        }
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WorkbookProcessException(e);
+        }
+        throwIfFailed();
+    }
+
+    private void stopWorkers() {
+        if (workers == null) {
+            return;
+        }
+
+        final Worker[] stopping = workers;
+        workers = null;
+        for (Worker worker : stopping) {
+            worker.put(END_OF_ROWS);
+        }
+        for (Worker worker : stopping) {
+            worker.join();
+        }
+    }
+
+    private void throwIfFailed() {
+        final Throwable failure = this.failure;
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new WorkbookProcessException(failure);
+        }
+    }
+
+    private final class Worker {
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+
+        private Worker() {
+            thread = new Thread(this::handleRows, "workbook-row-worker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        // runs on the reading thread
+        private void put(@NotNull Object item) {
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WorkbookProcessException(e);
+            }
+        }
+
+        // runs on the reading thread
+        private void join() {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // runs on the worker thread, takes items until the end even if failed, so that the reading never blocks
+        private void handleRows() {
+            while (true) {
+                final Object item;
+                try {
+                    item = queue.take();
+                } catch (InterruptedException e) {
+                    fail(e);
+                    continue;
+                }
+
+                if (item == END_OF_ROWS) {
+                    return;
+                } else if (item instanceof CountDownLatch) {
+                    ((CountDownLatch) item).countDown();
+                } else if (failure == null && !dropping) {
+                    final RowView row = (RowView) item;
+                    try {
+                        handler.onRow(row.sheetIndex(), row.rowNum(), row);
+                    } catch (Throwable e) {
+                        fail(e);
+                    }
+                }
+            }
+        }
+
+        private void fail(@NotNull Throwable e) {
+            synchronized (PartitionedRowHandler.this) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+}
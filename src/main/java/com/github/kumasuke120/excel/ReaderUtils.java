@@ -8,11 +8,11 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
-import java.time.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Collections;
-import java.util.Date;
 import java.util.Map;
-import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -49,12 +49,9 @@ class ReaderUtils {
     static boolean isAWholeNumber(@Nullable String value) {
         if (value == null) return false;
 
-        try {
-            Long.parseLong(value);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        final NumericLexer lexer = new NumericLexer();
+        lexer.lex(value);
+        return lexer.isLong();
     }
 
     /**
@@ -67,12 +64,9 @@ class ReaderUtils {
     static boolean isADecimalFraction(@Nullable String value) {
         if (value == null) return false;
 
-        try {
-            Double.parseDouble(value);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        final NumericLexer lexer = new NumericLexer();
+        lexer.lex(value);
+        return lexer.isDouble();
     }
 
     /**
@@ -86,26 +80,29 @@ class ReaderUtils {
             return null;
         }
 
-        if (isAWholeNumber(value)) {
-            return Long.parseLong(value);
-        }
-
-        final String stripedValue = value.replace(",", "");
-        if (isAWholeNumber(stripedValue)) {
-            return Long.parseLong(stripedValue);
-        }
+        return decimalStringToDecimal(value, new NumericLexer());
+    }
 
-        BigDecimal decimalValue;
-        try {
-            decimalValue = new BigDecimal(value);
-        } catch (NumberFormatException e) {
-            try {
-                decimalValue = new BigDecimal(stripedValue);
-            } catch (NumberFormatException e2) {
-                return value;
-            }
+    /**
+     * Converts a possible decimal <code>String</code> to its corespondent decimal type with the given lexer.
+     *
+     * @param value <code>String</code> value to be converted
+     * @param lexer {@link NumericLexer} to be used
+     * @return a <code>long</code>, <code>double</code> or <code>BigDecimal</code> value, or the given value
+     * if it is not a number
+     */
+    @NotNull
+    static Object decimalStringToDecimal(@NotNull String value, @NotNull NumericLexer lexer) {
+        // grouping separators are removed as the formatted value may contain them
+        lexer.lex(value, true);
+
+        if (lexer.isLong()) {
+            return lexer.longValue();
+        } else if (!lexer.isBigDecimal()) {
+            return value;
         }
 
+        final BigDecimal decimalValue = lexer.bigDecimalValue();
         final double doubleValue = decimalValue.doubleValue();
         if (Double.toString(doubleValue).equals(decimalValue.toString())) {
             return doubleValue;
@@ -125,11 +122,9 @@ class ReaderUtils {
     static int toInt(@Nullable String value, int defaultValue) {
         if (value == null) return defaultValue;
 
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        final NumericLexer lexer = new NumericLexer();
+        lexer.lex(value);
+        return lexer.isInt() ? (int) lexer.longValue() : defaultValue;
     }
 
     /**
@@ -154,27 +149,7 @@ class ReaderUtils {
      */
     @Nullable
     static Object toJsr310DateOrTime(double excelDateValue, boolean use1904Windowing) {
-        if (isValidExcelDate(excelDateValue)) {
-            final Date date = DateUtil.getJavaDate(excelDateValue, use1904Windowing,
-                    TimeZone.getTimeZone("UTC"));
-            final LocalDateTime localDateTime = toLocalDateTimeOffsetByUTC(date);
-
-            if (excelDateValue < 1) { // time only
-                return localDateTime.toLocalTime();
-            } else if (isAWholeNumber(excelDateValue)) { // date only
-                return localDateTime.toLocalDate();
-            } else { // date with time
-                return localDateTime;
-            }
-        } else {
-            return null;
-        }
-    }
-
-    @NotNull
-    private static LocalDateTime toLocalDateTimeOffsetByUTC(@NotNull Date date) {
-        final Instant instant = date.toInstant();
-        return LocalDateTime.ofInstant(instant, ZoneId.of("UTC"));
+        return SerialDateConverter.UNCACHED.toJsr310DateOrTime(excelDateValue, use1904Windowing);
     }
 
     /**
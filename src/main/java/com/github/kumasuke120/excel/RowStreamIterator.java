@@ -0,0 +1,277 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.WorkbookEventReader.RowEventHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.BaseStream;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An {@link Iterator} that pulls rows from a {@link WorkbookEventReader} being read on another thread.<br>
+ * <br>
+ * * The reading thread starts with the first pull, and hands rows off in chunks through a bounded queue. It blocks
+ * when the queue is full, so that the reading advances only as fast as the rows are consumed.<br>
+ * * Closing cancels the reading and waits for the reading thread to finish, after which the reader could be read
+ * or closed again. The streams close themselves once a terminal operation returns, so that a short-circuiting
+ * operation cancels the reading as well.<br>
+ * * Errors happened when reading are re-thrown by {@link #hasNext()} once the rows before them are consumed.
+ */
+@ApiStatus.Internal
+final class RowStreamIterator implements Iterator<RowView>, Closeable {
+
+    private static final int CHUNK_SIZE = 256;
+    private static final int QUEUE_CAPACITY = 4;
+
+    private final WorkbookEventReader reader;
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private volatile boolean closed = false;
+    private Thread readingThread;
+
+    private List<RowView> chunk;
+    private int position = 0;
+    private boolean finished = false;
+
+    private RowStreamIterator(@NotNull WorkbookEventReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns a sequential {@link Stream} of the rows of the given reader, which is closed once its terminal
+     * operation returns.
+     *
+     * @param reader the given reader
+     * @return a {@link Stream} of the rows
+     */
+    @NotNull
+    static Stream<RowView> stream(@NotNull WorkbookEventReader reader) {
+        final RowStreamIterator iterator = new RowStreamIterator(reader);
+        final Spliterator<RowView> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return ClosingStreamHandler.wrap(StreamSupport.stream(spliterator, false).onClose(iterator::close));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (chunk != null && position < chunk.size()) {
+            return true;
+        } else if (finished) {
+            return false;
+        }
+
+        if (readingThread == null) {
+            readingThread = new Thread(this::readRows, "workbook-row-reader");
+            readingThread.setDaemon(true);
+            readingThread.start();
+        }
+
+        final Object item;
+        try {
+            item = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new WorkbookProcessException(e);
+        }
+
+        if (item instanceof EndOfRows) {
+            finished = true;
+            joinReadingThread();
+            throwIfFailed(((EndOfRows) item).error);
+            return false;
+        }
+
+        @SuppressWarnings("unchecked") final List<RowView> rows = (List<RowView>) item;
+        chunk = rows;
+        position = 0;
+        return true;
+    }
+
+    @Override
+    @NotNull
+    public RowView next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return chunk.get(position++);
+    }
+
+    /**
+     * Cancels the reading and waits for the reading thread to finish.
+     */
+    @Override
+    public void close() {
+        if (!finished) {
+            finished = true;
+            chunk = null;
+
+            // the reading thread checks the flag before handing off, clearing unblocks it if the queue is full
+            closed = true;
+            queue.clear();
+            joinReadingThread();
+        }
+    }
+
+    private void joinReadingThread() {
+        if (readingThread != null) {
+            try {
+                readingThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void throwIfFailed(@Nullable Throwable error) {
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        } else if (error != null) {
+            throw new WorkbookProcessException(error);
+        }
+    }
+
+    // runs on the reading thread
+    private void readRows() {
+        final RowHandOff handOff = new RowHandOff();
+        Throwable error = null;
+        try {
+            reader.read(handOff);
+            handOff.flush();
+        } catch (Throwable e) {
+            error = e;
+        }
+
+        handOff.put(new EndOfRows(error));
+    }
+
+    /**
+     * Forwards the calls to a stream, wrapping the streams returned by the intermediate operations in the same way
+     * and closing the stream after the terminal operations.<br>
+     * {@link BaseStream#iterator() iterator()} and {@link BaseStream#spliterator() spliterator()} are not closed,
+     * as they are consumed after they return.
+     */
+    private static final class ClosingStreamHandler implements InvocationHandler {
+
+        private final BaseStream<?, ?> stream;
+
+        private ClosingStreamHandler(@NotNull BaseStream<?, ?> stream) {
+            this.stream = stream;
+        }
+
+        @SuppressWarnings("unchecked")
+        @NotNull
+        static <S extends BaseStream<?, ?>> S wrap(@NotNull S stream) {
+            final Class<?> streamType;
+            if (stream instanceof Stream) {
+                streamType = Stream.class;
+            } else if (stream instanceof IntStream) {
+                streamType = IntStream.class;
+            } else if (stream instanceof LongStream) {
+                streamType = LongStream.class;
+            } else {
+                streamType = DoubleStream.class;
+            }
+
+            return (S) Proxy.newProxyInstance(ClosingStreamHandler.class.getClassLoader(),
+                                              new Class<?>[]{streamType}, new ClosingStreamHandler(stream));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeOnStream(method, args);
+            }
+
+            final boolean terminal = !BaseStream.class.isAssignableFrom(method.getReturnType()) &&
+                    !"iterator".equals(method.getName()) && !"spliterator".equals(method.getName()) &&
+                    !"close".equals(method.getName()) && !"isParallel".equals(method.getName());
+            try {
+                final Object result = invokeOnStream(method, args);
+                return result instanceof BaseStream ? wrap((BaseStream<?, ?>) result) : result;
+            } finally {
+                if (terminal) {
+                    stream.close();
+                }
+            }
+        }
+
+        private Object invokeOnStream(@NotNull Method method, @Nullable Object[] args) throws Throwable {
+            try {
+                return method.invoke(stream, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+    }
+
+    private static final class EndOfRows {
+        private final Throwable error;
+
+        private EndOfRows(@Nullable Throwable error) {
+            this.error = error;
+        }
+    }
+
+    /**
+     * An <code>EventHandler</code> that copies rows into chunks and hands them off to the consuming thread.
+     */
+    private final class RowHandOff implements RowEventHandler {
+        private List<RowView> rows = new ArrayList<>(CHUNK_SIZE);
+
+        @Override
+        public void onRow(int sheetIndex, int rowNum, @NotNull RowView row) {
+            if (closed) {
+                reader.cancel();
+                return;
+            }
+
+            rows.add(((RowViewBuffer) row).snapshot());
+            if (rows.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                put(rows);
+                rows = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+
+        private void put(@NotNull Object item) {
+            if (closed) {
+                return;
+            }
+
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                closed = true;
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
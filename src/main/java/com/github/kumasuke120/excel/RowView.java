@@ -0,0 +1,130 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A view of the cells in a row, which is passed to
+ * {@link WorkbookEventReader.RowEventHandler#onRow(int, int, RowView) onRow()} once the row has been read.<br>
+ * <br>
+ * * The view is reused by the reader for the next row, it is only valid during the call.<br>
+ * * Rows are sparse, only the cells that appear in the workbook are present. Accessing an absent cell behaves the
+ * same as accessing a blank one.<br>
+ * * The typed getters convert the values in the same way as the corresponding methods of {@link CellValue}, but
+ * they might not create any {@link CellValue}.
+ */
+public interface RowView {
+
+    /**
+     * Returns the index of the containing sheet.
+     *
+     * @return the index of the containing sheet, starts with 0
+     */
+    int sheetIndex();
+
+    /**
+     * Returns the index of the row.
+     *
+     * @return the index of the row, starts with 0
+     */
+    int rowNum();
+
+    /**
+     * Returns the index of the first present cell.
+     *
+     * @return the index of the first present cell, or <code>-1</code> if there is no cell in the row
+     */
+    int firstColumnNum();
+
+    /**
+     * Returns the index of the last present cell.
+     *
+     * @return the index of the last present cell, or <code>-1</code> if there is no cell in the row
+     */
+    int lastColumnNum();
+
+    /**
+     * Returns the count of the present cells.
+     *
+     * @return the count of the present cells
+     */
+    int cellCount();
+
+    /**
+     * Checks if the cell at the given index is present in the row.
+     *
+     * @param columnNum the index of the cell, starts with 0
+     * @return <code>true</code> if the cell is present, otherwise <code>false</code>
+     */
+    boolean hasCell(int columnNum);
+
+    /**
+     * Checks if the value of the cell at the given index is <code>null</code>, which is also the case of an absent
+     * cell.
+     *
+     * @param columnNum the index of the cell, starts with 0
+     * @return <code>true</code> if the value is <code>null</code>, otherwise <code>false</code>
+     */
+    boolean isNull(int columnNum);
+
+    /**
+     * Returns the value of the cell at the given index, which is the same as the one passed to
+     * {@link WorkbookEventReader.EventHandler#onHandleCell(int, int, int, CellValue) onHandleCell()}.
+     *
+     * @param columnNum the index of the cell, starts with 0
+     * @return the value of the cell, or a {@link CellValue} of <code>null</code> if the cell is absent
+     */
+    @NotNull
+    CellValue cell(int columnNum);
+
+    /**
+     * Returns the value of the cell at the given index as a <code>boolean</code>.
+     *
+     * @param columnNum the index of the cell, starts with 0
+     * @return <code>boolean</code> version of the value
+     * @throws CellValueCastException cannot convert the value to <code>boolean</code> type
+     * @see CellValue#booleanValue()
+     */
+    boolean booleanValue(int columnNum);
+
+    /**
+     * Returns the value of the cell at the given index as an <code>int</code>.
+     *
+     * @param columnNum the index of the cell, starts with 0
+     * @return <code>int</code> version of the value
+     * @throws CellValueCastException cannot convert the value to <code>int</code> type
+     * @see CellValue#intValue()
+     */
+    int intValue(int columnNum);
+
+    /**
+     * Returns the value of the cell at the given index as a <code>long</code>.
+     *
+     * @param columnNum the index of the cell, starts with 0
+     * @return <code>long</code> version of the value
+     * @throws CellValueCastException cannot convert the value to <code>long</code> type
+     * @see CellValue#longValue()
+     */
+    long longValue(int columnNum);
+
+    /**
+     * Returns the value of the cell at the given index as a <code>double</code>.
+     *
+     * @param columnNum the index of the cell, starts with 0
+     * @return <code>double</code> version of the value
+     * @throws CellValueCastException cannot convert the value to <code>double</code> type
+     * @see CellValue#doubleValue()
+     */
+    double doubleValue(int columnNum);
+
+    /**
+     * Returns the value of the cell at the given index as a {@link String}.
+     *
+     * @param columnNum the index of the cell, starts with 0
+     * @return {@link String} version of the value
+     * @throws CellValueCastException the value is <code>null</code>
+     * @see CellValue#stringValue()
+     */
+    @NotNull
+    String stringValue(int columnNum);
+
+}
@@ -0,0 +1,384 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.WorkbookEventReader.RowEventHandler;
+import com.github.kumasuke120.excel.WorkbookEventReader.TypedEventHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+
+/**
+ * A reusable {@link RowView} which stores the cells of a row in parallel arrays indexed by their column numbers.<br>
+ * <br>
+ * * Numbers and booleans are stored unboxed, strings and dates are stored as they are, so that the typed getters
+ * need not create any {@link CellValue}.<br>
+ * * Only the range between the first and the last present cells is cleared for the next row.
+ */
+@ApiStatus.Internal
+final class RowViewBuffer implements RowView {
+
+    private static final byte TYPE_ABSENT = 0;
+    private static final byte TYPE_BLANK = 1;
+    private static final byte TYPE_BOOLEAN = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_STRING = 5;
+    private static final byte TYPE_TEMPORAL = 6;
+    private static final byte TYPE_CELL_VALUE = 7;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] types;
+    private long[] primitives;
+    private Object[] objects;
+
+    private int sheetIndex = -1;
+    private int rowNum = -1;
+    private int firstColumnNum = -1;
+    private int lastColumnNum = -1;
+    private int cellCount = 0;
+
+    RowViewBuffer() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private RowViewBuffer(int capacity) {
+        types = new byte[capacity];
+        primitives = new long[capacity];
+        objects = new Object[capacity];
+    }
+
+    /**
+     * Returns a copy of the current row, which stays valid after this buffer is reused.
+     *
+     * @return a copy of the current row
+     */
+    @NotNull
+    RowView snapshot() {
+        final int length = lastColumnNum + 1;
+        final RowViewBuffer copy = new RowViewBuffer(length);
+        System.arraycopy(types, 0, copy.types, 0, length);
+        System.arraycopy(primitives, 0, copy.primitives, 0, length);
+        System.arraycopy(objects, 0, copy.objects, 0, length);
+
+        copy.sheetIndex = sheetIndex;
+        copy.rowNum = rowNum;
+        copy.firstColumnNum = firstColumnNum;
+        copy.lastColumnNum = lastColumnNum;
+        copy.cellCount = cellCount;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the given row, which stays valid after the call it is passed to.
+     *
+     * @param row the row to be copied, which might be implemented by users
+     * @return a copy of the given row
+     */
+    @NotNull
+    static RowView copyOf(@NotNull RowView row) {
+        if (row instanceof RowViewBuffer) {
+            return ((RowViewBuffer) row).snapshot();
+        }
+
+        final RowViewBuffer copy = new RowViewBuffer(Math.max(row.lastColumnNum() + 1, 0));
+        copy.reset(row.sheetIndex(), row.rowNum());
+        if (row.cellCount() != 0) {
+            for (int columnNum = row.firstColumnNum(); columnNum <= row.lastColumnNum(); columnNum++) {
+                if (row.hasCell(columnNum)) {
+                    copy.setCellValue(columnNum, row.cell(columnNum));
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Clears all the cells and starts the given row.
+     *
+     * @param sheetIndex the index of the containing sheet, starts with 0
+     * @param rowNum     the index of the row, starts with 0
+     */
+    void reset(int sheetIndex, int rowNum) {
+        if (cellCount != 0) {
+            Arrays.fill(types, firstColumnNum, lastColumnNum + 1, TYPE_ABSENT);
+            Arrays.fill(objects, firstColumnNum, lastColumnNum + 1, null);
+        }
+
+        this.sheetIndex = sheetIndex;
+        this.rowNum = rowNum;
+        firstColumnNum = -1;
+        lastColumnNum = -1;
+        cellCount = 0;
+    }
+
+    void setBlank(int columnNum) {
+        set(columnNum, TYPE_BLANK, 0, null);
+    }
+
+    void setBoolean(int columnNum, boolean value) {
+        set(columnNum, TYPE_BOOLEAN, value ? 1 : 0, null);
+    }
+
+    void setLong(int columnNum, long value) {
+        set(columnNum, TYPE_LONG, value, null);
+    }
+
+    void setDouble(int columnNum, double value) {
+        // narrows whole numbers in the same way as ReaderUtils#toRelativeType(Object)
+        if (ReaderUtils.isAWholeNumber(value)) {
+            setLong(columnNum, (long) value);
+        } else {
+            set(columnNum, TYPE_DOUBLE, Double.doubleToRawLongBits(value), null);
+        }
+    }
+
+    void setString(int columnNum, @NotNull CharSequence value) {
+        // the given CharSequence might be reused by the reader
+        set(columnNum, TYPE_STRING, 0, value.toString());
+    }
+
+    void setTemporal(int columnNum, @NotNull Temporal value) {
+        set(columnNum, TYPE_TEMPORAL, 0, value);
+    }
+
+    void setCellValue(int columnNum, @NotNull CellValue cellValue) {
+        set(columnNum, TYPE_CELL_VALUE, 0, cellValue);
+    }
+
+    private void set(int columnNum, byte type, long primitive, Object object) {
+        if (columnNum >= types.length) {
+            final int newCapacity = Math.max(types.length << 1, columnNum + 1);
+            types = Arrays.copyOf(types, newCapacity);
+            primitives = Arrays.copyOf(primitives, newCapacity);
+            objects = Arrays.copyOf(objects, newCapacity);
+        }
+
+        if (types[columnNum] == TYPE_ABSENT) {
+            cellCount += 1;
+            if (firstColumnNum == -1 || columnNum < firstColumnNum) {
+                firstColumnNum = columnNum;
+            }
+            if (columnNum > lastColumnNum) {
+                lastColumnNum = columnNum;
+            }
+        }
+
+        types[columnNum] = type;
+        primitives[columnNum] = primitive;
+        objects[columnNum] = object;
+    }
+
+    private byte typeAt(int columnNum) {
+        return columnNum >= 0 && columnNum < types.length ? types[columnNum] : TYPE_ABSENT;
+    }
+
+    @Override
+    public int sheetIndex() {
+        return sheetIndex;
+    }
+
+    @Override
+    public int rowNum() {
+        return rowNum;
+    }
+
+    @Override
+    public int firstColumnNum() {
+        return firstColumnNum;
+    }
+
+    @Override
+    public int lastColumnNum() {
+        return lastColumnNum;
+    }
+
+    @Override
+    public int cellCount() {
+        return cellCount;
+    }
+
+    @Override
+    public boolean hasCell(int columnNum) {
+        return typeAt(columnNum) != TYPE_ABSENT;
+    }
+
+    @Override
+    public boolean isNull(int columnNum) {
+        switch (typeAt(columnNum)) {
+            case TYPE_ABSENT:
+            case TYPE_BLANK:
+                return true;
+            case TYPE_CELL_VALUE:
+                return ((CellValue) objects[columnNum]).isNull();
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    @NotNull
+    public CellValue cell(int columnNum) {
+        switch (typeAt(columnNum)) {
+            case TYPE_BOOLEAN:
+                return CellValue.newInstance(primitives[columnNum] != 0);
+            case TYPE_LONG:
+                return LenientCellValue.newWholeNumberInstance(primitives[columnNum]);
+            case TYPE_DOUBLE:
+                return LenientCellValue.newNumberInstance(Double.longBitsToDouble(primitives[columnNum]));
+            case TYPE_STRING:
+            case TYPE_TEMPORAL:
+                return CellValue.newInstance(objects[columnNum]);
+            case TYPE_CELL_VALUE:
+                return (CellValue) objects[columnNum];
+            default:
+                return CellValue.newInstance(null);
+        }
+    }
+
+    @Override
+    public boolean booleanValue(int columnNum) {
+        switch (typeAt(columnNum)) {
+            case TYPE_BOOLEAN:
+                return primitives[columnNum] != 0;
+            case TYPE_LONG:
+                return (int) primitives[columnNum] != 0;
+            case TYPE_DOUBLE:
+                return (int) Double.longBitsToDouble(primitives[columnNum]) != 0;
+            default:
+                return cell(columnNum).booleanValue();
+        }
+    }
+
+    @Override
+    public int intValue(int columnNum) {
+        switch (typeAt(columnNum)) {
+            case TYPE_LONG:
+                return (int) primitives[columnNum];
+            case TYPE_DOUBLE:
+                return (int) Double.longBitsToDouble(primitives[columnNum]);
+            default:
+                return cell(columnNum).intValue();
+        }
+    }
+
+    @Override
+    public long longValue(int columnNum) {
+        switch (typeAt(columnNum)) {
+            case TYPE_LONG:
+                return primitives[columnNum];
+            case TYPE_DOUBLE:
+                return (long) Double.longBitsToDouble(primitives[columnNum]);
+            default:
+                return cell(columnNum).longValue();
+        }
+    }
+
+    @Override
+    public double doubleValue(int columnNum) {
+        switch (typeAt(columnNum)) {
+            case TYPE_LONG:
+                return primitives[columnNum];
+            case TYPE_DOUBLE:
+                return Double.longBitsToDouble(primitives[columnNum]);
+            default:
+                return cell(columnNum).doubleValue();
+        }
+    }
+
+    @Override
+    @NotNull
+    public String stringValue(int columnNum) {
+        if (typeAt(columnNum) == TYPE_STRING) {
+            return (String) objects[columnNum];
+        } else {
+            return cell(columnNum).stringValue();
+        }
+    }
+
+    /**
+     * An <code>EventHandler</code> that assembles the cells of each row in a {@link RowViewBuffer} and passes it to
+     * the given {@link RowEventHandler} when the row ends.<br>
+     * Row and cell events are not passed to the given handler, other events are passed as they are.
+     */
+    static final class Assembler implements TypedEventHandler {
+        private final RowEventHandler handler;
+        private final RowViewBuffer row = new RowViewBuffer();
+
+        Assembler(@NotNull RowEventHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void onStartDocument() {
+            handler.onStartDocument();
+        }
+
+        @Override
+        public void onEndDocument() {
+            handler.onEndDocument();
+        }
+
+        @Override
+        public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+            handler.onStartSheet(sheetIndex, sheetName);
+        }
+
+        @Override
+        public void onEndSheet(int sheetIndex) {
+            handler.onEndSheet(sheetIndex);
+        }
+
+        @Override
+        public void onStartRow(int sheetIndex, int rowNum) {
+            row.reset(sheetIndex, rowNum);
+        }
+
+        @Override
+        public void onEndRow(int sheetIndex, int rowNum) {
+            handler.onRow(sheetIndex, rowNum, row);
+        }
+
+        @Override
+        public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+            row.setCellValue(columnNum, cellValue);
+        }
+
+        @Override
+        public void onBlankCell(int sheetIndex, int rowNum, int columnNum) {
+            row.setBlank(columnNum);
+        }
+
+        @Override
+        public void onBooleanCell(int sheetIndex, int rowNum, int columnNum, boolean value) {
+            row.setBoolean(columnNum, value);
+        }
+
+        @Override
+        public void onLongCell(int sheetIndex, int rowNum, int columnNum, long value) {
+            row.setLong(columnNum, value);
+        }
+
+        @Override
+        public void onNumericCell(int sheetIndex, int rowNum, int columnNum, double value) {
+            row.setDouble(columnNum, value);
+        }
+
+        @Override
+        public void onStringCell(int sheetIndex, int rowNum, int columnNum, @NotNull CharSequence value) {
+            row.setString(columnNum, value);
+        }
+
+        @Override
+        public void onTemporalCell(int sheetIndex, int rowNum, int columnNum, @NotNull Temporal value) {
+            row.setTemporal(columnNum, value);
+        }
+
+        @Override
+        public void onReadCancelled() {
+            handler.onReadCancelled();
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Converts excel serial date values to {@link LocalTime}, {@link LocalDateTime} or {@link LocalDate}
+ * arithmetically, giving the same results as {@link org.apache.poi.ss.usermodel.DateUtil#getJavaDate} in UTC.<br>
+ * <br>
+ * * The 1900 date windowing counts the nonexistent 1900-02-29 as a day, as excel does, so serials from 61 on are
+ * shifted back by one day, while serials before 61 are left as they are.<br>
+ * * The dates of recently converted whole-day serials are kept in a small direct-mapped cache, because the same
+ * dates tend to repeat a lot in a sheet. Instances with cache are not thread-safe.
+ */
+@ApiStatus.Internal
+final class SerialDateConverter {
+
+    /**
+     * A converter without cache, which could be shared among threads
+     */
+    static final SerialDateConverter UNCACHED = new SerialDateConverter(0);
+
+    private static final int DEFAULT_CACHE_SIZE = 512;
+    private static final int MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+    private static final long NANOS_PER_MILLI = 1000_000L;
+
+    private static final LocalDate DAY_ZERO_1900 = LocalDate.of(1899, 12, 31);
+    private static final LocalDate DAY_ZERO_1904 = LocalDate.of(1904, 1, 1);
+
+    private final int[] cachedSerials;
+    private final LocalDate[] cachedDates;
+    private boolean cachedUse1904Windowing = false;
+
+    /**
+     * Creates a new {@link SerialDateConverter} with a cache of the default size.
+     */
+    SerialDateConverter() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    private SerialDateConverter(int cacheSize) {
+        assert cacheSize == 0 || Integer.bitCount(cacheSize) == 1;
+
+        cachedSerials = new int[cacheSize];
+        cachedDates = new LocalDate[cacheSize];
+        Arrays.fill(cachedSerials, -1);
+    }
+
+    /**
+     * Converts the given excel date value to @{@link LocalTime}, {@link LocalDateTime} or
+     * {@link LocalDate} accordingly.
+     *
+     * @param excelDateValue   excel date value
+     * @param use1904Windowing <code>true</code> if date uses 1904 windowing,
+     *                         or <code>false</code> if using 1900 date windowing.
+     * @return converted @{@link LocalTime}, {@link LocalDateTime} or {@link LocalDate}, or <code>null</code> if
+     * the given value is not a valid excel date
+     */
+    @Nullable
+    Object toJsr310DateOrTime(double excelDateValue, boolean use1904Windowing) {
+        if (!ReaderUtils.isValidExcelDate(excelDateValue)) {
+            return null;
+        }
+
+        final int wholeDays = (int) Math.floor(excelDateValue);
+        // rounds to milliseconds like DateUtil, which might reach the next day
+        final int millisInDay = (int) ((excelDateValue - wholeDays) * MILLIS_PER_DAY + 0.5);
+
+        if (excelDateValue < 1) { // time only
+            return toLocalTime(millisInDay);
+        } else if (ReaderUtils.isAWholeNumber(excelDateValue)) { // date only
+            return getLocalDate(wholeDays, use1904Windowing);
+        } else if (millisInDay == MILLIS_PER_DAY) { // date with time, rounded to the next day
+            return getLocalDate(wholeDays, use1904Windowing).plusDays(1).atStartOfDay();
+        } else { // date with time
+            return getLocalDate(wholeDays, use1904Windowing).atTime(toLocalTime(millisInDay));
+        }
+    }
+
+    @NotNull
+    private static LocalTime toLocalTime(int millisInDay) {
+        if (millisInDay == MILLIS_PER_DAY) {
+            return LocalTime.MIDNIGHT;
+        } else {
+            return LocalTime.ofNanoOfDay(millisInDay * NANOS_PER_MILLI);
+        }
+    }
+
+    @NotNull
+    private LocalDate getLocalDate(int wholeDays, boolean use1904Windowing) {
+        if (cachedSerials.length == 0) {
+            return toLocalDate(wholeDays, use1904Windowing);
+        }
+
+        if (cachedUse1904Windowing != use1904Windowing) {
+            Arrays.fill(cachedSerials, -1);
+            cachedUse1904Windowing = use1904Windowing;
+        }
+
+        final int index = wholeDays & (cachedSerials.length - 1);
+        if (cachedSerials[index] == wholeDays) {
+            return cachedDates[index];
+        }
+
+        final LocalDate localDate = toLocalDate(wholeDays, use1904Windowing);
+        cachedSerials[index] = wholeDays;
+        cachedDates[index] = localDate;
+        return localDate;
+    }
+
+    /**
+     * Converts the whole-day part of an excel date value to {@link LocalDate}.
+     *
+     * @param wholeDays        non-negative whole-day part of an excel date value
+     * @param use1904Windowing <code>true</code> if date uses 1904 windowing,
+     *                         or <code>false</code> if using 1900 date windowing.
+     * @return converted {@link LocalDate}
+     */
+    @NotNull
+    static LocalDate toLocalDate(int wholeDays, boolean use1904Windowing) {
+        if (use1904Windowing) {
+            return DAY_ZERO_1904.plusDays(wholeDays);
+        } else if (wholeDays < 61) {
+            // 1900-01-00 is 1899-12-31, and serials before the fictional 1900-02-29 are not affected
+            return DAY_ZERO_1900.plusDays(wholeDays);
+        } else {
+            // excel thinks 1900-02-29 is a valid date, which it isn't
+            return DAY_ZERO_1900.plusDays(wholeDays - 1);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * An <code>EventHandler</code> that records sheet, row and cell events in compact arrays, so that they
+ * could be replayed later on another {@link WorkbookEventReader.EventHandler} in the same order.<br>
+ * Document events and cancellation events are not recorded.
+ */
+@ApiStatus.Internal
+class SheetEventBuffer implements WorkbookEventReader.EventHandler {
+
+    private static final byte EVENT_START_SHEET = 1;
+    private static final byte EVENT_END_SHEET = 2;
+    private static final byte EVENT_START_ROW = 3;
+    private static final byte EVENT_END_ROW = 4;
+    private static final byte EVENT_HANDLE_CELL = 5;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] arguments = new int[INITIAL_CAPACITY * 3];
+    private Object[] objects = new Object[INITIAL_CAPACITY];
+
+    private int size = 0;
+
+    @Override
+    public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+        record(EVENT_START_SHEET, sheetIndex, 0, 0, sheetName);
+    }
+
+    @Override
+    public void onEndSheet(int sheetIndex) {
+        record(EVENT_END_SHEET, sheetIndex, 0, 0, null);
+    }
+
+    @Override
+    public void onStartRow(int sheetIndex, int rowNum) {
+        record(EVENT_START_ROW, sheetIndex, rowNum, 0, null);
+    }
+
+    @Override
+    public void onEndRow(int sheetIndex, int rowNum) {
+        record(EVENT_END_ROW, sheetIndex, rowNum, 0, null);
+    }
+
+    @Override
+    public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+        record(EVENT_HANDLE_CELL, sheetIndex, rowNum, columnNum, cellValue);
+    }
+
+    private void record(byte type, int arg0, int arg1, int arg2, Object object) {
+        // the worker recording events has been interrupted, stops as soon as possible
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
+        }
+
+        if (size == types.length) {
+            final int newCapacity = size << 1;
+            types = Arrays.copyOf(types, newCapacity);
+            arguments = Arrays.copyOf(arguments, newCapacity * 3);
+            objects = Arrays.copyOf(objects, newCapacity);
+        }
+
+        final int argumentIndex = size * 3;
+        types[size] = type;
+        arguments[argumentIndex] = arg0;
+        arguments[argumentIndex + 1] = arg1;
+        arguments[argumentIndex + 2] = arg2;
+        objects[size] = object;
+        size += 1;
+    }
+
+    /**
+     * Returns the count of events recorded.
+     *
+     * @return count of events recorded
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Replays all recorded events on the given {@link WorkbookEventReader.EventHandler} in the recorded order.
+     *
+     * @param handler {@link WorkbookEventReader.EventHandler} to receive the recorded events
+     */
+    void replay(@NotNull WorkbookEventReader.EventHandler handler) {
+        for (int i = 0; i < size; i++) {
+            final int argumentIndex = i * 3;
+            final int arg0 = arguments[argumentIndex];
+            final int arg1 = arguments[argumentIndex + 1];
+
+            switch (types[i]) {
+                case EVENT_START_SHEET:
+                    handler.onStartSheet(arg0, (String) objects[i]);
+                    break;
+                case EVENT_END_SHEET:
+                    handler.onEndSheet(arg0);
+                    break;
+                case EVENT_START_ROW:
+                    handler.onStartRow(arg0, arg1);
+                    break;
+                case EVENT_END_ROW:
+                    handler.onEndRow(arg0, arg1);
+                    break;
+                case EVENT_HANDLE_CELL:
+                    handler.onHandleCell(arg0, arg1, arguments[argumentIndex + 2], (CellValue) objects[i]);
+                    break;
+                default:
+                    throw new AssertionError("Shouldn't happen");
+            }
+        }
+    }
+
+}
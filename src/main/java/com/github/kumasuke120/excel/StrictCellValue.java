@@ -1,7 +1,6 @@
 package com.github.kumasuke120.excel;
 
 import org.jetbrains.annotations.ApiStatus;
-import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -21,12 +20,13 @@ import static com.github.kumasuke120.excel.WorkbookDateTimeFormatters.parseTempo
  * provides convenient and strict ways to convert between them
  */
 @ApiStatus.Internal
-final class StrictCellValue extends AbstractCellValue {
+class StrictCellValue extends AbstractCellValue {
 
     /**
-     * A <code>CellValue</code> singleton whose value is <code>null</code>
+     * Canonical <code>CellValue</code>s of <code>null</code> and other common values
      */
-    private static final StrictCellValue NULL = new StrictCellValue(null);
+    private static final CellValueFlyweights<StrictCellValue> FLYWEIGHTS =
+            new CellValueFlyweights<>(StrictCellValue::new, OfInt::new, OfLong::new, OfDouble::new);
 
     StrictCellValue(Object originalValue) {
         super(originalValue);
@@ -34,19 +34,39 @@ final class StrictCellValue extends AbstractCellValue {
 
     /**
      * Returns a <code>StrictCellValue</code> based on the given value.<br>
-     * If the given value is <code>null</code>, it will always return the same instance.
+     * If the given value is <code>null</code>, a boolean, a small integer, an empty string or a single space,
+     * it will always return the same instance.
      *
      * @param originalValue the given value
      * @return an instance of <code>CellValue</code>
      */
     @NotNull
-    @Contract("!null -> new")
     static StrictCellValue newInstance(@Nullable Object originalValue) {
-        if (originalValue == null) {
-            return NULL;
-        } else {
-            return new StrictCellValue(originalValue);
-        }
+        return FLYWEIGHTS.valueOf(originalValue);
+    }
+
+    /**
+     * Returns a <code>StrictCellValue</code> based on the given whole number, which is stored unboxed and narrowed
+     * to an <code>int</code> if it fits.
+     *
+     * @param value the given whole number
+     * @return an instance of <code>CellValue</code>
+     */
+    @NotNull
+    static StrictCellValue newWholeNumberInstance(long value) {
+        return FLYWEIGHTS.valueOfWholeNumber(value);
+    }
+
+    /**
+     * Returns a <code>StrictCellValue</code> based on the given number, which is stored unboxed and narrowed
+     * to an <code>int</code> or a <code>long</code> if it is a whole number.
+     *
+     * @param value the given number
+     * @return an instance of <code>CellValue</code>
+     */
+    @NotNull
+    static StrictCellValue newNumberInstance(double value) {
+        return FLYWEIGHTS.valueOfNumber(value);
     }
 
     @Override
@@ -57,6 +77,8 @@ final class StrictCellValue extends AbstractCellValue {
 
     @Override
     public boolean booleanValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof Boolean) {
             return (Boolean) originalValue;
         } else {
@@ -66,10 +88,12 @@ final class StrictCellValue extends AbstractCellValue {
 
     @Override
     public int intValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof Integer) {
             return (Integer) originalValue;
         } else if (originalValue instanceof String) {
-            final String originalString = (String) this.originalValue;
+            final String originalString = (String) originalValue;
 
             try {
                 return Integer.parseInt(originalString);
@@ -83,10 +107,12 @@ final class StrictCellValue extends AbstractCellValue {
 
     @Override
     public long longValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof Long) {
             return (Long) originalValue;
         } else if (originalValue instanceof String) {
-            final String originalString = (String) this.originalValue;
+            final String originalString = (String) originalValue;
 
             try {
                 return Long.parseLong(originalString);
@@ -100,6 +126,8 @@ final class StrictCellValue extends AbstractCellValue {
 
     @Override
     public double doubleValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof Double) {
             return (Double) originalValue;
         } else if (originalValue instanceof String) {
@@ -115,6 +143,8 @@ final class StrictCellValue extends AbstractCellValue {
 
     @Override
     public BigDecimal bigDecimalValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof BigDecimal) {
             return (BigDecimal) originalValue;
         } else if (originalValue instanceof String) {
@@ -131,6 +161,8 @@ final class StrictCellValue extends AbstractCellValue {
     @Override
     @NotNull
     public String stringValue() {
+        final Object originalValue = originalValue();
+
         if (originalValue instanceof String) {
             return originalValue.toString();
         } else if (originalValue != null) {
@@ -146,6 +178,7 @@ final class StrictCellValue extends AbstractCellValue {
     public LocalTime localTimeValue(@NotNull(exception = NullPointerException.class)
                                     Iterable<DateTimeFormatter> formatters) {
         Objects.requireNonNull(formatters);
+        final Object originalValue = originalValue();
 
         if (originalValue instanceof LocalTime) {
             return (LocalTime) originalValue;
@@ -166,6 +199,7 @@ final class StrictCellValue extends AbstractCellValue {
     public @NotNull LocalDate localDateValue(@NotNull(exception = NullPointerException.class)
                                              Iterable<DateTimeFormatter> formatters) {
         Objects.requireNonNull(formatters);
+        final Object originalValue = originalValue();
 
         if (originalValue instanceof LocalDate) {
             return (LocalDate) originalValue;
@@ -184,6 +218,7 @@ final class StrictCellValue extends AbstractCellValue {
     public @NotNull LocalDateTime localDateTimeValue(@NotNull(exception = NullPointerException.class)
                                                      Iterable<DateTimeFormatter> formatters) {
         Objects.requireNonNull(formatters);
+        final Object originalValue = originalValue();
 
         if (originalValue instanceof LocalDateTime) {
             return (LocalDateTime) originalValue;
@@ -200,4 +235,130 @@ final class StrictCellValue extends AbstractCellValue {
         }
     }
 
+    /**
+     * A <code>StrictCellValue</code> of an <code>int</code>, which is stored unboxed
+     */
+    static final class OfInt extends StrictCellValue {
+
+        private final int value;
+
+        OfInt(int value) {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        @NotNull
+        public Class<?> originalType() {
+            return Integer.class;
+        }
+
+        @Override
+        @NotNull
+        public Object originalValue() {
+            return value;
+        }
+
+        @Override
+        public boolean isNull() {
+            return false;
+        }
+
+        @Override
+        public int intValue() {
+            return value;
+        }
+
+        @Override
+        @NotNull
+        LenientCellValue newLenientValue() {
+            return LenientCellValue.newWholeNumberInstance(value);
+        }
+
+    }
+
+    /**
+     * A <code>StrictCellValue</code> of a <code>long</code>, which is stored unboxed
+     */
+    static final class OfLong extends StrictCellValue {
+
+        private final long value;
+
+        OfLong(long value) {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        @NotNull
+        public Class<?> originalType() {
+            return Long.class;
+        }
+
+        @Override
+        @NotNull
+        public Object originalValue() {
+            return value;
+        }
+
+        @Override
+        public boolean isNull() {
+            return false;
+        }
+
+        @Override
+        public long longValue() {
+            return value;
+        }
+
+        @Override
+        @NotNull
+        LenientCellValue newLenientValue() {
+            return LenientCellValue.newWholeNumberInstance(value);
+        }
+
+    }
+
+    /**
+     * A <code>StrictCellValue</code> of a <code>double</code>, which is stored unboxed
+     */
+    static final class OfDouble extends StrictCellValue {
+
+        private final double value;
+
+        OfDouble(double value) {
+            super(null);
+            this.value = value;
+        }
+
+        @Override
+        @NotNull
+        public Class<?> originalType() {
+            return Double.class;
+        }
+
+        @Override
+        @NotNull
+        public Object originalValue() {
+            return value;
+        }
+
+        @Override
+        public boolean isNull() {
+            return false;
+        }
+
+        @Override
+        public double doubleValue() {
+            return value;
+        }
+
+        @Override
+        @NotNull
+        LenientCellValue newLenientValue() {
+            return LenientCellValue.newNumberInstance(value);
+        }
+
+    }
+
 }
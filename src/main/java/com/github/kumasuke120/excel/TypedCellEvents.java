@@ -0,0 +1,154 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.WorkbookEventReader.EventHandler;
+import com.github.kumasuke120.excel.WorkbookEventReader.TypedEventHandler;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.temporal.Temporal;
+
+/**
+ * Utilities to trigger the cell events on a {@link TypedEventHandler} by the types of the values.<br>
+ * The readers trigger the typed callbacks only, a plain {@link EventHandler} is adapted by
+ * {@link #asTypedHandler(EventHandler)} to receive the same {@link CellValue}s as it did.
+ */
+@ApiStatus.Internal
+final class TypedCellEvents {
+
+    private TypedCellEvents() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the given handler if it is a {@link TypedEventHandler}, otherwise an adapter which passes all the
+     * cells to {@link EventHandler#onHandleCell(int, int, int, CellValue)} of the given handler.
+     *
+     * @param handler the given handler
+     * @return a {@link TypedEventHandler} to receive the cells
+     */
+    @NotNull
+    static TypedEventHandler asTypedHandler(@NotNull EventHandler handler) {
+        if (handler instanceof TypedEventHandler) {
+            return (TypedEventHandler) handler;
+        } else {
+            return new CellValueHandlerAdapter(handler);
+        }
+    }
+
+    /**
+     * Triggers the callback for the type of the given value.
+     *
+     * @param handler    {@link TypedEventHandler} to receive the cell
+     * @param sheetIndex the index of the containing sheet, starts with 0
+     * @param rowNum     the index of the containing row, starts with 0
+     * @param columnNum  the index of the cell, starts with 0
+     * @param value      the value of the cell converted by {@link ReaderUtils#toRelativeType(Object)}
+     */
+    static void handleCell(@NotNull TypedEventHandler handler, int sheetIndex, int rowNum, int columnNum,
+                           @Nullable Object value) {
+        if (value == null) {
+            handler.onBlankCell(sheetIndex, rowNum, columnNum);
+        } else if (value instanceof String) {
+            handler.onStringCell(sheetIndex, rowNum, columnNum, (String) value);
+        } else if (value instanceof Integer || value instanceof Long) {
+            handler.onLongCell(sheetIndex, rowNum, columnNum, ((Number) value).longValue());
+        } else if (value instanceof Double) {
+            handleNumber(handler, sheetIndex, rowNum, columnNum, (Double) value);
+        } else if (value instanceof Boolean) {
+            handler.onBooleanCell(sheetIndex, rowNum, columnNum, (Boolean) value);
+        } else if (value instanceof Temporal) {
+            handler.onTemporalCell(sheetIndex, rowNum, columnNum, (Temporal) value);
+        } else {
+            handler.onHandleCell(sheetIndex, rowNum, columnNum, CellValue.newInstance(value));
+        }
+    }
+
+    /**
+     * Triggers the callback for the original value of the given {@link CellValue}, lazy values are passed
+     * as they are.
+     *
+     * @param handler    {@link TypedEventHandler} to receive the cell
+     * @param sheetIndex the index of the containing sheet, starts with 0
+     * @param rowNum     the index of the containing row, starts with 0
+     * @param columnNum  the index of the cell, starts with 0
+     * @param cellValue  the value of the cell
+     */
+    static void handleCell(@NotNull TypedEventHandler handler, int sheetIndex, int rowNum, int columnNum,
+                           @NotNull CellValue cellValue) {
+        if (cellValue instanceof LazyCellValue) { // keeps it undecoded
+            handler.onHandleCell(sheetIndex, rowNum, columnNum, cellValue);
+        } else {
+            handleCell(handler, sheetIndex, rowNum, columnNum, cellValue.originalValue());
+        }
+    }
+
+    /**
+     * Triggers the callback for the given number, whole numbers are narrowed to <code>long</code> in the same way
+     * as {@link ReaderUtils#toRelativeType(Object)}.
+     *
+     * @param handler    {@link TypedEventHandler} to receive the cell
+     * @param sheetIndex the index of the containing sheet, starts with 0
+     * @param rowNum     the index of the containing row, starts with 0
+     * @param columnNum  the index of the cell, starts with 0
+     * @param value      the value of the cell
+     */
+    static void handleNumber(@NotNull TypedEventHandler handler, int sheetIndex, int rowNum, int columnNum,
+                             double value) {
+        if (ReaderUtils.isAWholeNumber(value)) {
+            handler.onLongCell(sheetIndex, rowNum, columnNum, (long) value);
+        } else {
+            handler.onNumericCell(sheetIndex, rowNum, columnNum, value);
+        }
+    }
+
+    // wraps the cells in CellValues with the default callbacks
+    private static class CellValueHandlerAdapter implements TypedEventHandler {
+        private final EventHandler handler;
+
+        private CellValueHandlerAdapter(@NotNull EventHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void onStartDocument() {
+            handler.onStartDocument();
+        }
+
+        @Override
+        public void onEndDocument() {
+            handler.onEndDocument();
+        }
+
+        @Override
+        public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+            handler.onStartSheet(sheetIndex, sheetName);
+        }
+
+        @Override
+        public void onEndSheet(int sheetIndex) {
+            handler.onEndSheet(sheetIndex);
+        }
+
+        @Override
+        public void onStartRow(int sheetIndex, int rowNum) {
+            handler.onStartRow(sheetIndex, rowNum);
+        }
+
+        @Override
+        public void onEndRow(int sheetIndex, int rowNum) {
+            handler.onEndRow(sheetIndex, rowNum);
+        }
+
+        @Override
+        public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+            handler.onHandleCell(sheetIndex, rowNum, columnNum, cellValue);
+        }
+
+        @Override
+        public void onReadCancelled() {
+            handler.onReadCancelled();
+        }
+    }
+
+}
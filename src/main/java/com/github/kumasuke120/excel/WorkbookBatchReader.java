@@ -0,0 +1,493 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A reader that opens and reads many workbooks concurrently, whose results and errors are isolated per workbook
+ * in {@link CompletableFuture}s.<br>
+ * <br>
+ * * At most the given count of workbooks are open at the same time, and the total size of the files open is kept
+ * under the given limit. A file larger than the limit is read alone. The sizes of {@link InputStream}s are
+ * unknown, they are not counted.<br>
+ * * Workbooks are opened and read on virtual threads on Java 21 or later, otherwise on a pool of as many threads
+ * as workbooks could be open. Workbooks waiting for room are queued in order without holding any threads, they are
+ * handed to the threads once there is room for them.<br>
+ * * The readers returned by <code>open()</code> hold their room until they are closed, they must be closed even
+ * if they are no longer needed, otherwise the workbooks queued after them might never be opened.<br>
+ * * The options of the readers are thread-local, the ones set on the calling thread do not apply.
+ */
+public final class WorkbookBatchReader implements Closeable {
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+    private final int maxOpenWorkbooks;
+    private final long maxOpenBytes;
+    private final ExecutorService executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // guarded by lock
+    private final Deque<Task<?>> pendingTasks = new ArrayDeque<>();
+    private int openWorkbooks = 0;
+    private long openBytes = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates a reader which opens at most the given count of workbooks at the same time.
+     *
+     * @param maxOpenWorkbooks the max count of workbooks open at the same time
+     * @throws IllegalArgumentException <code>maxOpenWorkbooks</code> is not positive
+     */
+    public WorkbookBatchReader(int maxOpenWorkbooks) {
+        this(maxOpenWorkbooks, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a reader which opens at most the given count of workbooks, whose total size is under the given
+     * limit, at the same time.
+     *
+     * @param maxOpenWorkbooks the max count of workbooks open at the same time
+     * @param maxOpenBytes     the max total size of the files open at the same time in bytes
+     * @throws IllegalArgumentException <code>maxOpenWorkbooks</code> or <code>maxOpenBytes</code> is not positive
+     */
+    public WorkbookBatchReader(int maxOpenWorkbooks, long maxOpenBytes) {
+        this(maxOpenWorkbooks, maxOpenBytes, newExecutor(maxOpenWorkbooks));
+    }
+
+    // the executor should run the tasks on their own threads, which is shut down when this reader is closed
+    WorkbookBatchReader(int maxOpenWorkbooks, long maxOpenBytes, @NotNull ExecutorService executor) {
+        if (maxOpenWorkbooks <= 0) {
+            throw new IllegalArgumentException("Max count of open workbooks should be positive: " +
+                                                       maxOpenWorkbooks);
+        }
+        if (maxOpenBytes <= 0) {
+            throw new IllegalArgumentException("Max size of open workbooks should be positive: " + maxOpenBytes);
+        }
+
+        this.maxOpenWorkbooks = maxOpenWorkbooks;
+        this.maxOpenBytes = maxOpenBytes;
+        this.executor = executor;
+    }
+
+    @Nullable
+    private static MethodHandle findVirtualThreadExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                                                           MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) { // before java 21
+            return null;
+        }
+    }
+
+    @NotNull
+    private static ExecutorService newExecutor(int maxOpenWorkbooks) {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot create the executor of virtual threads", e);
+            }
+        }
+
+        final AtomicInteger threadCount = new AtomicInteger(0);
+        final ThreadFactory threadFactory = r -> {
+            final Thread thread = new Thread(r, "workbook-batch-reader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(maxOpenWorkbooks, threadFactory);
+    }
+
+    /**
+     * Opens the specified file asynchronously. The returned reader counts as open until it is closed, it must be
+     * closed, while it is closed at once if the returned {@link CompletableFuture} is cancelled before it is opened.
+     *
+     * @param filePath path of the file to be opened
+     * @return a {@link CompletableFuture} of the {@link WorkbookEventReader} to read the file
+     * @throws NullPointerException       <code>filePath</code> is <code>null</code>
+     * @throws RejectedExecutionException this batch reader has been closed
+     * @see WorkbookEventReader#open(Path)
+     */
+    @NotNull
+    public CompletableFuture<WorkbookEventReader> open(@NotNull(exception = NullPointerException.class)
+                                                               Path filePath) {
+        return open(filePath, null);
+    }
+
+    /**
+     * Opens the specified encrypted file with the given password asynchronously. The returned reader counts as
+     * open until it is closed, it must be closed, while it is closed at once if the returned
+     * {@link CompletableFuture} is cancelled before it is opened.
+     *
+     * @param filePath path of the file to be opened
+     * @param password password to open the file
+     * @return a {@link CompletableFuture} of the {@link WorkbookEventReader} to read the file
+     * @throws NullPointerException       <code>filePath</code> is <code>null</code>
+     * @throws RejectedExecutionException this batch reader has been closed
+     * @see WorkbookEventReader#open(Path, String)
+     */
+    @NotNull
+    public CompletableFuture<WorkbookEventReader> open(@NotNull(exception = NullPointerException.class)
+                                                               Path filePath,
+                                                       @Nullable String password) {
+        Objects.requireNonNull(filePath);
+        return withSizeOf(filePath, size -> submit(new Task<>(
+                size, () -> new ReleasingReader(WorkbookEventReader.open(filePath, password), size),
+                WorkbookEventReader::close)));
+    }
+
+    /**
+     * Opens the specified {@link InputStream} asynchronously. The returned reader counts as open until it is
+     * closed, it must be closed, while it is closed at once if the returned {@link CompletableFuture} is cancelled
+     * before it is opened.
+     *
+     * @param in {@link InputStream} of the workbook to be opened
+     * @return a {@link CompletableFuture} of the {@link WorkbookEventReader} to read the workbook
+     * @throws NullPointerException       <code>in</code> is <code>null</code>
+     * @throws RejectedExecutionException this batch reader has been closed
+     * @see WorkbookEventReader#open(InputStream)
+     */
+    @NotNull
+    public CompletableFuture<WorkbookEventReader> open(@NotNull(exception = NullPointerException.class)
+                                                               InputStream in) {
+        return open(in, null);
+    }
+
+    /**
+     * Opens the specified encrypted {@link InputStream} with the given password asynchronously. The returned reader
+     * counts as open until it is closed, it must be closed, while it is closed at once if the returned
+     * {@link CompletableFuture} is cancelled before it is opened.
+     *
+     * @param in       {@link InputStream} of the workbook to be opened
+     * @param password password to open the workbook
+     * @return a {@link CompletableFuture} of the {@link WorkbookEventReader} to read the workbook
+     * @throws NullPointerException       <code>in</code> is <code>null</code>
+     * @throws RejectedExecutionException this batch reader has been closed
+     * @see WorkbookEventReader#open(InputStream, String)
+     */
+    @NotNull
+    public CompletableFuture<WorkbookEventReader> open(@NotNull(exception = NullPointerException.class)
+                                                               InputStream in,
+                                                       @Nullable String password) {
+        Objects.requireNonNull(in);
+        return submit(new Task<>(0, () -> new ReleasingReader(WorkbookEventReader.open(in, password), 0),
+                                 WorkbookEventReader::close));
+    }
+
+    /**
+     * Opens and reads the specified file with the given handler asynchronously, and closes it afterwards.
+     *
+     * @param filePath path of the file to be read
+     * @param handler  a {@link WorkbookEventReader.EventHandler} that handles read events
+     * @return a {@link CompletableFuture} completed when the file has been read
+     * @throws NullPointerException       <code>filePath</code> or <code>handler</code> is <code>null</code>
+     * @throws RejectedExecutionException this batch reader has been closed
+     * @see WorkbookEventReader#read(WorkbookEventReader.EventHandler)
+     */
+    @NotNull
+    public CompletableFuture<Void> read(@NotNull(exception = NullPointerException.class) Path filePath,
+                                        @NotNull(exception = NullPointerException.class)
+                                                WorkbookEventReader.EventHandler handler) {
+        Objects.requireNonNull(handler);
+        return process(filePath, reader -> {
+            reader.read(handler);
+            return null;
+        });
+    }
+
+    /**
+     * Opens the specified file asynchronously, applies the given function to its reader, and closes it afterwards.
+     *
+     * @param filePath path of the file to be processed
+     * @param function function to process the reader, which is called on another thread
+     * @param <R>      type of the result
+     * @return a {@link CompletableFuture} of the result of the function
+     * @throws NullPointerException       <code>filePath</code> or <code>function</code> is <code>null</code>
+     * @throws RejectedExecutionException this batch reader has been closed
+     */
+    @NotNull
+    public <R> CompletableFuture<R> process(@NotNull(exception = NullPointerException.class) Path filePath,
+                                            @NotNull(exception = NullPointerException.class)
+                                                    Function<? super WorkbookEventReader, ? extends R> function) {
+        Objects.requireNonNull(filePath);
+        Objects.requireNonNull(function);
+        return withSizeOf(filePath, size -> submit(new Task<R>(size, () -> {
+            try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+                return function.apply(reader);
+            }
+        }, null)));
+    }
+
+    /**
+     * Opens the specified {@link InputStream} asynchronously, applies the given function to its reader, and closes
+     * it afterwards.
+     *
+     * @param in       {@link InputStream} of the workbook to be processed
+     * @param function function to process the reader, which is called on another thread
+     * @param <R>      type of the result
+     * @return a {@link CompletableFuture} of the result of the function
+     * @throws NullPointerException       <code>in</code> or <code>function</code> is <code>null</code>
+     * @throws RejectedExecutionException this batch reader has been closed
+     */
+    @NotNull
+    public <R> CompletableFuture<R> process(@NotNull(exception = NullPointerException.class) InputStream in,
+                                            @NotNull(exception = NullPointerException.class)
+                                                    Function<? super WorkbookEventReader, ? extends R> function) {
+        Objects.requireNonNull(in);
+        Objects.requireNonNull(function);
+        return submit(new Task<R>(0, () -> {
+            try (final WorkbookEventReader reader = WorkbookEventReader.open(in)) {
+                return function.apply(reader);
+            }
+        }, null));
+    }
+
+    /**
+     * Processes all the specified files with the given function, each of them is processed as
+     * {@link #process(Path, Function)} does.
+     *
+     * @param filePaths paths of the files to be processed
+     * @param function  function to process the readers, which is called on other threads
+     * @param <R>       type of the results
+     * @return {@link CompletableFuture}s of the results in the order of the paths
+     * @throws NullPointerException       <code>filePaths</code>, any of them or <code>function</code> is
+     *                                    <code>null</code>
+     * @throws RejectedExecutionException this batch reader has been closed
+     */
+    @NotNull
+    public <R> Map<Path, CompletableFuture<R>> processAll(@NotNull(exception = NullPointerException.class)
+                                                                  Collection<? extends Path> filePaths,
+                                                          @NotNull(exception = NullPointerException.class)
+                                                                  Function<? super WorkbookEventReader, ? extends R>
+                                                                  function) {
+        final Map<Path, CompletableFuture<R>> results = new LinkedHashMap<>();
+        for (Path filePath : filePaths) {
+            results.put(filePath, process(filePath, function));
+        }
+        return results;
+    }
+
+    /**
+     * Shuts down the threads of this reader once the workbooks queued have been handed to them, the workbooks
+     * queued or being processed will be finished, but no more workbooks could be opened.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            shutdownIfDrained();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @NotNull
+    private static <R> CompletableFuture<R> withSizeOf(@NotNull Path filePath,
+                                                       @NotNull Function<Long, CompletableFuture<R>> submitter) {
+        final long size;
+        try {
+            size = Files.size(filePath);
+        } catch (IOException e) {
+            final CompletableFuture<R> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new WorkbookIOException("Cannot get the size of the workbook file", e));
+            return failed;
+        }
+        return submitter.apply(size);
+    }
+
+    // queues the task, which is handed to the threads once there is room for it
+    @NotNull
+    private <R> CompletableFuture<R> submit(@NotNull Task<R> task) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException("The batch reader has been closed");
+            }
+
+            pendingTasks.addLast(task);
+            executeReadyTasks(null);
+        } finally {
+            lock.unlock();
+        }
+        return task.future;
+    }
+
+    // gives the room back, and hands the tasks queued to the threads if there is room for them
+    private void release(long size) {
+        lock.lock();
+        try {
+            releaseRoom(size);
+            executeReadyTasks(null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // gives the room back on a thread of the tasks, which runs the next task queued itself if there is room
+    @Nullable
+    private Task<?> releaseAndTakeNext(long size) {
+        lock.lock();
+        try {
+            releaseRoom(size);
+            final Task<?>[] next = new Task<?>[1];
+            executeReadyTasks(next);
+            return next[0];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // guarded by lock
+    private void releaseRoom(long size) {
+        openWorkbooks -= 1;
+        openBytes -= Math.min(size, maxOpenBytes);
+    }
+
+    // guarded by lock, tasks are taken in order, so that larger files are not starved by smaller ones
+    private void executeReadyTasks(@Nullable Task<?>[] next) {
+        Task<?> task;
+        while ((task = pendingTasks.peekFirst()) != null) {
+            if (task.future.isDone()) { // cancelled while queued
+                pendingTasks.pollFirst();
+                continue;
+            }
+
+            final long weight = Math.min(task.size, maxOpenBytes);
+            if (openWorkbooks == maxOpenWorkbooks || openBytes + weight > maxOpenBytes) {
+                break;
+            }
+
+            pendingTasks.pollFirst();
+            openWorkbooks += 1;
+            openBytes += weight;
+            if (next != null && next[0] == null) {
+                next[0] = task;
+            } else {
+                executor.execute(task);
+            }
+        }
+
+        shutdownIfDrained();
+    }
+
+    // guarded by lock
+    private void shutdownIfDrained() {
+        if (closed && pendingTasks.isEmpty()) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * A workbook to be opened once there is room for it, which gives the room back when it is done, unless its
+     * result holds the room.
+     *
+     * @param <R> type of the result
+     */
+    private final class Task<R> implements Runnable {
+        private final long size;
+        private final Supplier<R> body;
+        private final Consumer<? super R> discarder;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        /**
+         * @param size      size of the workbook
+         * @param body      the work on the workbook
+         * @param discarder closes the result if it is not taken, which holds the room until it is closed,
+         *                  <code>null</code> if the room is given back when the work is done
+         */
+        private Task(long size, @NotNull Supplier<R> body, @Nullable Consumer<? super R> discarder) {
+            this.size = size;
+            this.body = body;
+            this.discarder = discarder;
+        }
+
+        @Override
+        public void run() {
+            Task<?> task = this;
+            while (task != null) {
+                task = task.runOnce();
+            }
+        }
+
+        @Nullable
+        private Task<?> runOnce() {
+            boolean roomHeld = false;
+            try {
+                if (!future.isDone()) { // might be cancelled before running
+                    final R result = body.get();
+                    roomHeld = discarder != null;
+                    if (!future.complete(result) && discarder != null) {
+                        discarder.accept(result);
+                    }
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+
+            return roomHeld ? null : releaseAndTakeNext(size);
+        }
+    }
+
+    /**
+     * A {@link WorkbookEventReader} that gives its room back to the batch reader once it is closed.
+     */
+    private final class ReleasingReader implements WorkbookEventReader {
+        private final WorkbookEventReader reader;
+        private final long size;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private ReleasingReader(@NotNull WorkbookEventReader reader, long size) {
+            this.reader = reader;
+            this.size = size;
+        }
+
+        @Override
+        public void read(@NotNull(exception = NullPointerException.class) EventHandler handler) {
+            reader.read(handler);
+        }
+
+        @Override
+        public void cancel() {
+            reader.cancel();
+        }
+
+        @Override
+        public void close() {
+            try {
+                reader.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    release(size);
+                }
+            }
+        }
+    }
+
+}
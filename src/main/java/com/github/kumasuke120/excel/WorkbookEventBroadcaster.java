@@ -0,0 +1,425 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.WorkbookEventReader.BatchEventHandler;
+import com.github.kumasuke120.excel.WorkbookEventReader.EventHandler;
+import com.github.kumasuke120.excel.WorkbookEventReader.RowEventHandler;
+import com.github.kumasuke120.excel.WorkbookEventReader.TypedEventHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A broadcaster that reads a {@link WorkbookEventReader} once and delivers the same events to several
+ * {@link EventHandler}s.<br>
+ * <br>
+ * * Handlers added by {@link #add(EventHandler)} run inline on the reading thread in the order they were added.
+ * Handlers added by {@link #addAsync(EventHandler, int)} run on their own threads, receiving the events through
+ * bounded queues, the reading waits when any of the queues is full.<br>
+ * * Every cell is decoded once, all the handlers share the same {@link CellValue}s.
+ * {@link RowEventHandler}s and {@link BatchEventHandler}s have their rows and batches assembled on their own
+ * threads.<br>
+ * * A handler could drop out by {@link Member#cancel()} without stopping the others, it receives
+ * {@link EventHandler#onReadCancelled()} once it stops receiving events. The reading is cancelled only when all
+ * the handlers have dropped out, or when {@link WorkbookEventReader#cancel()} is called.<br>
+ * * {@link WorkbookEventReader#currentRead()} is only available to inline handlers.<br>
+ * * A broadcaster reads only once, the reader should not be read, cancelled or closed by others until
+ * {@link #read()} returns.
+ */
+public final class WorkbookEventBroadcaster {
+
+    private static final byte START_DOCUMENT = 0;
+    private static final byte END_DOCUMENT = 1;
+    private static final byte START_SHEET = 2;
+    private static final byte END_SHEET = 3;
+    private static final byte START_ROW = 4;
+    private static final byte END_ROW = 5;
+    private static final byte CELL = 6;
+    private static final byte READ_CANCELLED = 7;
+    private static final byte END_OF_EVENTS = 8;
+
+    private static final Event READ_CANCELLED_EVENT = new Event(READ_CANCELLED, -1, -1, -1, null);
+    private static final Event END_OF_EVENTS_EVENT = new Event(END_OF_EVENTS, -1, -1, -1, null);
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private final WorkbookEventReader reader;
+    private final List<Member> members = new ArrayList<>();
+    private boolean read = false;
+
+    /**
+     * Creates a broadcaster of the events of the given reader.
+     *
+     * @param reader the given reader
+     * @throws NullPointerException <code>reader</code> is <code>null</code>
+     */
+    public WorkbookEventBroadcaster(@NotNull(exception = NullPointerException.class) WorkbookEventReader reader) {
+        this.reader = Objects.requireNonNull(reader);
+    }
+
+    /**
+     * Adds a handler which runs inline on the reading thread.
+     *
+     * @param handler the handler to receive the events
+     * @return the {@link Member} to cancel the handler
+     * @throws NullPointerException  <code>handler</code> is <code>null</code>
+     * @throws IllegalStateException this broadcaster has been read
+     */
+    @NotNull
+    public Member add(@NotNull(exception = NullPointerException.class) EventHandler handler) {
+        return addMember(handler, 0);
+    }
+
+    /**
+     * Adds a handler which runs on its own thread, receiving the events through a queue of the given capacity.
+     *
+     * @param handler       the handler to receive the events
+     * @param queueCapacity the max count of events waiting to be handled
+     * @return the {@link Member} to cancel the handler
+     * @throws NullPointerException     <code>handler</code> is <code>null</code>
+     * @throws IllegalArgumentException <code>queueCapacity</code> is not positive
+     * @throws IllegalStateException    this broadcaster has been read
+     */
+    @NotNull
+    public Member addAsync(@NotNull(exception = NullPointerException.class) EventHandler handler,
+                           int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity of the queue should be positive: " + queueCapacity);
+        }
+        return addMember(handler, queueCapacity);
+    }
+
+    @NotNull
+    private synchronized Member addMember(@NotNull EventHandler handler, int queueCapacity) {
+        Objects.requireNonNull(handler);
+        if (read) {
+            throw new IllegalStateException("This 'WorkbookEventBroadcaster' has been read");
+        }
+
+        final Member member = new Member(toTypedHandler(handler), queueCapacity);
+        members.add(member);
+        return member;
+    }
+
+    @NotNull
+    private static TypedEventHandler toTypedHandler(@NotNull EventHandler handler) {
+        if (handler instanceof RowEventHandler) {
+            return new RowViewBuffer.Assembler((RowEventHandler) handler);
+        } else if (handler instanceof BatchEventHandler) {
+            return new ColumnBatchBuffer.Assembler((BatchEventHandler) handler);
+        } else {
+            return TypedCellEvents.asTypedHandler(handler);
+        }
+    }
+
+    /**
+     * Reads the workbook, delivering the events to all the handlers, and waits for all of them to finish.<br>
+     * Errors thrown by the inline handlers stop the reading, while errors thrown by the handlers on their own
+     * threads stop only those handlers. They are re-thrown when all the handlers have finished.
+     *
+     * @throws IllegalStateException        this broadcaster has been read
+     * @throws WorkbookProcessException     errors happened when reading or handling
+     * @throws IllegalReaderStateException  the reader has been closed or is being read
+     * @see WorkbookEventReader#read(EventHandler)
+     */
+    public void read() {
+        synchronized (this) {
+            if (read) {
+                throw new IllegalStateException("This 'WorkbookEventBroadcaster' has been read");
+            }
+            read = true;
+        }
+
+        for (Member member : members) {
+            member.start();
+        }
+
+        Throwable error = null;
+        try {
+            reader.read(new Dispatcher());
+        } catch (Throwable e) {
+            error = e;
+        } finally {
+            for (Member member : members) {
+                member.finish(error != null);
+            }
+        }
+
+        for (Member member : members) {
+            if (member.error == null) {
+                continue;
+            }
+
+            if (error == null) {
+                error = member.error;
+            } else {
+                error.addSuppressed(member.error);
+            }
+        }
+
+        if (error instanceof WorkbookEventReaderException) {
+            throw (WorkbookEventReaderException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        } else if (error != null) {
+            throw new WorkbookProcessException(error);
+        }
+    }
+
+    private static void deliver(@NotNull TypedEventHandler handler, byte kind, int sheetIndex, int rowNum,
+                                int columnNum, @Nullable Object value) {
+        switch (kind) {
+            case START_DOCUMENT:
+                handler.onStartDocument();
+                break;
+            case END_DOCUMENT:
+                handler.onEndDocument();
+                break;
+            case START_SHEET:
+                handler.onStartSheet(sheetIndex, (String) Objects.requireNonNull(value));
+                break;
+            case END_SHEET:
+                handler.onEndSheet(sheetIndex);
+                break;
+            case START_ROW:
+                handler.onStartRow(sheetIndex, rowNum);
+                break;
+            case END_ROW:
+                handler.onEndRow(sheetIndex, rowNum);
+                break;
+            case CELL:
+                TypedCellEvents.handleCell(handler, sheetIndex, rowNum, columnNum,
+                                           (CellValue) Objects.requireNonNull(value));
+                break;
+            default:
+                throw new AssertionError("Shouldn't happen");
+        }
+    }
+
+    /**
+     * A handler added to {@link WorkbookEventBroadcaster}.
+     */
+    public static final class Member {
+        private final TypedEventHandler handler;
+        private final BlockingQueue<Event> queue;
+
+        private volatile boolean cancelled = false;
+
+        // accessed on the reading thread
+        private boolean dropped = false;
+        private Thread thread;
+
+        // written by the thread of the handler, read after it finishes
+        private Throwable error;
+
+        private Member(@NotNull TypedEventHandler handler, int queueCapacity) {
+            this.handler = handler;
+            this.queue = queueCapacity == 0 ? null : new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /**
+         * Cancels the handler, it receives no more events but {@link EventHandler#onReadCancelled()}.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Returns <code>true</code> if the handler has been cancelled or has failed.
+         *
+         * @return <code>true</code> if the handler has been cancelled or has failed
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void start() {
+            if (queue != null) {
+                thread = new Thread(this::handleEvents,
+                                    "workbook-event-broadcaster-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+
+        // returns false if the handler has dropped out
+        private boolean accepts() {
+            if (!cancelled) {
+                return true;
+            }
+
+            readCancelled();
+            return false;
+        }
+
+        // runs on the reading thread
+        private void readCancelled() {
+            if (dropped) {
+                return;
+            }
+            dropped = true;
+
+            if (queue == null) {
+                handler.onReadCancelled();
+            } else {
+                put(READ_CANCELLED_EVENT);
+                put(END_OF_EVENTS_EVENT);
+            }
+        }
+
+        // runs on the reading thread
+        private void put(@NotNull Event event) {
+            try {
+                queue.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WorkbookProcessException(e);
+            }
+        }
+
+        // runs on the reading thread, waits for the handler to finish
+        private void finish(boolean failed) {
+            if (thread == null) {
+                return;
+            }
+
+            if (!dropped) {
+                dropped = true;
+                if (failed) { // the remaining events are dropped
+                    queue.clear();
+                }
+                put(END_OF_EVENTS_EVENT);
+            }
+
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // runs on the thread of the handler, takes events until the end even if cancelled
+        private void handleEvents() {
+            try {
+                while (true) {
+                    final Event event = queue.take();
+                    if (event.kind == END_OF_EVENTS) {
+                        return;
+                    } else if (error != null) {
+                        continue;
+                    }
+
+                    try {
+                        if (event.kind == READ_CANCELLED) {
+                            handler.onReadCancelled();
+                        } else if (!cancelled) {
+                            deliver(handler, event.kind, event.sheetIndex, event.rowNum, event.columnNum,
+                                    event.value);
+                        }
+                    } catch (Throwable e) {
+                        error = e;
+                        cancelled = true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                error = e;
+                cancelled = true;
+            }
+        }
+    }
+
+    private static final class Event {
+        private final byte kind;
+        private final int sheetIndex;
+        private final int rowNum;
+        private final int columnNum;
+        private final Object value;
+
+        private Event(byte kind, int sheetIndex, int rowNum, int columnNum, @Nullable Object value) {
+            this.kind = kind;
+            this.sheetIndex = sheetIndex;
+            this.rowNum = rowNum;
+            this.columnNum = columnNum;
+            this.value = value;
+        }
+    }
+
+    /**
+     * An <code>EventHandler</code> that delivers each event to the members accepting it.
+     */
+    private final class Dispatcher implements EventHandler {
+
+        @Override
+        public void onStartDocument() {
+            dispatch(START_DOCUMENT, -1, -1, -1, null);
+        }
+
+        @Override
+        public void onEndDocument() {
+            dispatch(END_DOCUMENT, -1, -1, -1, null);
+        }
+
+        @Override
+        public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+            dispatch(START_SHEET, sheetIndex, -1, -1, sheetName);
+        }
+
+        @Override
+        public void onEndSheet(int sheetIndex) {
+            dispatch(END_SHEET, sheetIndex, -1, -1, null);
+        }
+
+        @Override
+        public void onStartRow(int sheetIndex, int rowNum) {
+            dispatch(START_ROW, sheetIndex, rowNum, -1, null);
+        }
+
+        @Override
+        public void onEndRow(int sheetIndex, int rowNum) {
+            dispatch(END_ROW, sheetIndex, rowNum, -1, null);
+        }
+
+        @Override
+        public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+            dispatch(CELL, sheetIndex, rowNum, columnNum, cellValue);
+        }
+
+        @Override
+        public void onReadCancelled() {
+            for (Member member : members) {
+                member.readCancelled();
+            }
+        }
+
+        private void dispatch(byte kind, int sheetIndex, int rowNum, int columnNum, @Nullable Object value) {
+            // the event is shared by all the members on their own threads
+            Event event = null;
+            boolean accepted = false;
+            for (Member member : members) {
+                if (!member.accepts()) {
+                    continue;
+                }
+                accepted = true;
+
+                if (member.queue == null) {
+                    deliver(member.handler, kind, sheetIndex, rowNum, columnNum, value);
+                } else {
+                    if (event == null) {
+                        event = new Event(kind, sheetIndex, rowNum, columnNum, value);
+                    }
+                    member.put(event);
+                }
+            }
+
+            if (!accepted) { // all the members have dropped out
+                reader.cancel();
+            }
+        }
+    }
+
+}
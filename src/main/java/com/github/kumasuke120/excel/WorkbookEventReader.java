@@ -9,6 +9,8 @@ import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.Temporal;
+import java.util.stream.Stream;
 
 /**
  * A reader that processes workbooks in an event-driven manner, capable of handling cell values (excluding charts).
@@ -96,9 +98,36 @@ public interface WorkbookEventReader extends Closeable {
      */
     void read(@NotNull(exception = NullPointerException.class) EventHandler handler);
 
+    /**
+     * Returns a lazily evaluated {@link Stream} of the rows of all sheets in this workbook, which is read on another
+     * thread as the rows are pulled.<br>
+     * <br>
+     * * The rows are copied, they stay valid after they are pulled. Only a bounded count of rows are read ahead,
+     * the reading is suspended until they are consumed.<br>
+     * * The returned {@link Stream} closes itself once its terminal operation returns, which cancels the reading
+     * if the rows are not used up, e.g. after {@link Stream#limit(long) limit()}. The reader could be read again
+     * right after the terminal operation.<br>
+     * * The {@link Stream#iterator() iterator()} and {@link Stream#spliterator() spliterator()} are consumed after
+     * they return, the stream should be closed explicitly after using them.<br>
+     * * This {@link WorkbookEventReader} should not be read, cancelled or closed until the terminal operation of
+     * the returned {@link Stream} returns or the stream is closed.
+     *
+     * @return a {@link Stream} of the rows
+     * @throws WorkbookProcessException    errors happened when reading, thrown by the terminal operation
+     * @throws IllegalReaderStateException this {@link WorkbookEventReader} has been closed; called during reading
+     *                                     process, thrown by the terminal operation
+     */
+    @NotNull
+    default Stream<RowView> rows() {
+        return RowStreamIterator.stream(this);
+    }
+
     /**
      * Cancels reading process that is currently performing as soon as possible.
-     * It cannot cancel the process immediately, but it will cancel the process before next event's happening.<br>
+     * It cannot cancel the process immediately. When called by the {@link EventHandler} of this reader, it will
+     * cancel the process before next event's happening; when called from another thread, it will cancel the
+     * process before the next sheet, row or batch event's happening, the cells of the current row are still
+     * handled.<br>
      * The event {@link EventHandler#onReadCancelled() onReadCancelled()} will be triggered when the
      * reading process has been cancelled successfully.
      *
@@ -244,6 +273,151 @@ public interface WorkbookEventReader extends Closeable {
         }
     }
 
+    /**
+     * An <code>EventHandler</code> that receives the values of cells without wrapping them in {@link CellValue}s,
+     * which saves the allocations of boxed values for high-volume reading.<br>
+     * Every cell triggers exactly one of the cell callbacks according to the type of its value:
+     * <ul>
+     * <li><code>null</code>: {@link #onBlankCell(int, int, int) onBlankCell()}</li>
+     * <li>{@link Boolean}: {@link #onBooleanCell(int, int, int, boolean) onBooleanCell()}</li>
+     * <li>{@link Integer} or {@link Long}: {@link #onLongCell(int, int, int, long) onLongCell()}</li>
+     * <li>{@link Double}: {@link #onNumericCell(int, int, int, double) onNumericCell()}</li>
+     * <li>{@link String}: {@link #onStringCell(int, int, int, CharSequence) onStringCell()}</li>
+     * <li>{@link LocalTime}, {@link LocalDate} or {@link LocalDateTime}:
+     * {@link #onTemporalCell(int, int, int, Temporal) onTemporalCell()}</li>
+     * <li>{@link java.math.BigDecimal} and cells decoded lazily:
+     * {@link #onHandleCell(int, int, int, CellValue) onHandleCell()}</li>
+     * </ul>
+     * Each callback wraps the value in a {@link CellValue} and passes it to
+     * {@link #onHandleCell(int, int, int, CellValue) onHandleCell()} by default, so that one could only override
+     * the callbacks of the types of interest.
+     */
+    interface TypedEventHandler extends EventHandler {
+        /**
+         * Get triggered whenever a blank cell or a cell with error value could be handled.
+         *
+         * @param sheetIndex the index of the containing sheet, starts with 0
+         * @param rowNum     the index of the containing row, starts with 0
+         * @param columnNum  the index of the cell, starts with 0
+         */
+        default void onBlankCell(int sheetIndex, int rowNum, int columnNum) {
+            onHandleCell(sheetIndex, rowNum, columnNum, CellValue.newInstance(null));
+        }
+
+        /**
+         * Get triggered whenever a cell with boolean value could be handled.
+         *
+         * @param sheetIndex the index of the containing sheet, starts with 0
+         * @param rowNum     the index of the containing row, starts with 0
+         * @param columnNum  the index of the cell, starts with 0
+         * @param value      the value of the cell
+         */
+        default void onBooleanCell(int sheetIndex, int rowNum, int columnNum, boolean value) {
+            onHandleCell(sheetIndex, rowNum, columnNum, CellValue.newInstance(value));
+        }
+
+        /**
+         * Get triggered whenever a cell with whole number value could be handled.
+         *
+         * @param sheetIndex the index of the containing sheet, starts with 0
+         * @param rowNum     the index of the containing row, starts with 0
+         * @param columnNum  the index of the cell, starts with 0
+         * @param value      the value of the cell
+         */
+        default void onLongCell(int sheetIndex, int rowNum, int columnNum, long value) {
+            onHandleCell(sheetIndex, rowNum, columnNum, LenientCellValue.newWholeNumberInstance(value));
+        }
+
+        /**
+         * Get triggered whenever a cell with numeric value that is not a whole number could be handled.
+         *
+         * @param sheetIndex the index of the containing sheet, starts with 0
+         * @param rowNum     the index of the containing row, starts with 0
+         * @param columnNum  the index of the cell, starts with 0
+         * @param value      the value of the cell
+         */
+        default void onNumericCell(int sheetIndex, int rowNum, int columnNum, double value) {
+            onHandleCell(sheetIndex, rowNum, columnNum, LenientCellValue.newNumberInstance(value));
+        }
+
+        /**
+         * Get triggered whenever a cell with string value could be handled.<br>
+         * The given {@link CharSequence} might be reused by the reader, it is only valid during the call.
+         * One should convert it to {@link String} if it needs to be kept.
+         *
+         * @param sheetIndex the index of the containing sheet, starts with 0
+         * @param rowNum     the index of the containing row, starts with 0
+         * @param columnNum  the index of the cell, starts with 0
+         * @param value      the value of the cell, which is not empty unless it is read from a csv file
+         */
+        default void onStringCell(int sheetIndex, int rowNum, int columnNum, @NotNull CharSequence value) {
+            onHandleCell(sheetIndex, rowNum, columnNum, CellValue.newInstance(value.toString()));
+        }
+
+        /**
+         * Get triggered whenever a cell with date or time value could be handled.
+         *
+         * @param sheetIndex the index of the containing sheet, starts with 0
+         * @param rowNum     the index of the containing row, starts with 0
+         * @param columnNum  the index of the cell, starts with 0
+         * @param value      the value of the cell, which is a {@link LocalTime}, {@link LocalDate}
+         *                   or {@link LocalDateTime}
+         */
+        default void onTemporalCell(int sheetIndex, int rowNum, int columnNum, @NotNull Temporal value) {
+            onHandleCell(sheetIndex, rowNum, columnNum, CellValue.newInstance(value));
+        }
+    }
+
+    /**
+     * An <code>EventHandler</code> that receives a whole row at a time instead of its row and cell events.<br>
+     * <br>
+     * * {@link #onStartRow(int, int) onStartRow()}, {@link #onEndRow(int, int) onEndRow()} and the cell callbacks
+     * will not be triggered, the cells of each row are assembled by the reader and passed to
+     * {@link #onRow(int, int, RowView) onRow()} when the row ends.<br>
+     * * The given {@link RowView} is reused for every row, it is only valid during the call.<br>
+     * * Other events are triggered as usual.
+     */
+    interface RowEventHandler extends EventHandler {
+        /**
+         * Get triggered whenever a row and all of its cells could be handled.
+         *
+         * @param sheetIndex the index of the containing sheet, starts with 0
+         * @param rowNum     the index of the row, starts with 0
+         * @param row        the cells of the row, which is only valid during the call
+         */
+        void onRow(int sheetIndex, int rowNum, @NotNull RowView row);
+    }
+
+    /**
+     * An <code>EventHandler</code> that receives the rows of a sheet in batches laid out by column instead of its
+     * row and cell events.<br>
+     * <br>
+     * * {@link #onStartRow(int, int) onStartRow()}, {@link #onEndRow(int, int) onEndRow()} and the cell callbacks
+     * will not be triggered, the cells are filled into a {@link ColumnBatch} by the reader, which is passed to
+     * {@link #onBatch(int, ColumnBatch) onBatch()} when it is full or the sheet ends.<br>
+     * * A batch never contains rows of more than one sheet.<br>
+     * * The given {@link ColumnBatch} is reused for every batch, it is only valid during the call.<br>
+     * * Other events are triggered as usual.
+     */
+    interface BatchEventHandler extends EventHandler {
+        /**
+         * Returns the max count of rows in a batch, which is called once before reading.
+         *
+         * @return the max count of rows in a batch, should be positive
+         */
+        default int batchSize() {
+            return 1024;
+        }
+
+        /**
+         * Get triggered whenever a batch of rows could be handled.
+         *
+         * @param sheetIndex the index of the containing sheet, starts with 0
+         * @param batch      the rows laid out by column, which is only valid during the call
+         */
+        void onBatch(int sheetIndex, @NotNull ColumnBatch batch);
+    }
+
     /**
      * A context object encapsulates the reading process information of <code>WorkbookEventReader</code>
      */
@@ -258,4 +432,25 @@ public interface WorkbookEventReader extends Closeable {
 
     }
 
+    /**
+     * The ways the parsing thread and the handling thread wait for each other when the events are handed off
+     * asynchronously, see <code>setAsync()</code> of the readers.
+     */
+    enum WaitStrategy {
+        /**
+         * Busy spins, which has the lowest latency but occupies a core for each thread all the time.
+         */
+        SPIN,
+
+        /**
+         * Yields to other threads while waiting.
+         */
+        YIELD,
+
+        /**
+         * Spins for a little while, then parks for a short time, which uses the least CPU time.
+         */
+        PARK
+    }
+
 }
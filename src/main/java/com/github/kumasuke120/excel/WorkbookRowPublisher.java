@@ -0,0 +1,221 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.WorkbookEventReader.RowEventHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A publisher of the rows of a {@link WorkbookEventReader}, which reads the workbook only as fast as its subscriber
+ * requests.<br>
+ * <br>
+ * * It follows the rules of Reactive Streams, its {@link Subscriber} and {@link Subscription} have the same methods
+ * as those of <code>java.util.concurrent.Flow</code> and <code>org.reactivestreams</code>, so that they could be
+ * adapted by simple delegation.<br>
+ * * Reading starts on another thread with the first request, and the reading thread waits before each row when
+ * the outstanding demand reaches zero. Only the row being emitted is kept in memory.<br>
+ * * The rows are copied, they stay valid after {@link Subscriber#onNext(RowView) onNext()}.<br>
+ * * Cancelling the subscription cancels the reading by {@link WorkbookEventReader#cancel()}, no more signals will be
+ * sent then.<br>
+ * * A reader could only be read once at a time, so a publisher accepts only one subscriber. The reader should not be
+ * read, cancelled or closed until the subscription completes or is cancelled.
+ */
+public final class WorkbookRowPublisher {
+
+    private final WorkbookEventReader reader;
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    /**
+     * Creates a publisher of the rows of the given reader.
+     *
+     * @param reader the given reader
+     * @throws NullPointerException <code>reader</code> is <code>null</code>
+     */
+    public WorkbookRowPublisher(@NotNull(exception = NullPointerException.class) WorkbookEventReader reader) {
+        this.reader = Objects.requireNonNull(reader);
+    }
+
+    /**
+     * Subscribes the given subscriber to this publisher, the subscriber will receive
+     * {@link Subscriber#onError(Throwable) onError()} with an {@link IllegalStateException} if this publisher has
+     * been subscribed.
+     *
+     * @param subscriber the given subscriber
+     * @throws NullPointerException <code>subscriber</code> is <code>null</code>
+     */
+    public void subscribe(@NotNull(exception = NullPointerException.class) Subscriber subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        if (subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new RowSubscription(subscriber));
+        } else {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // no-op
+                }
+
+                @Override
+                public void cancel() {
+                    // no-op
+                }
+            });
+            subscriber.onError(new IllegalStateException("This 'WorkbookRowPublisher' has been subscribed"));
+        }
+    }
+
+    /**
+     * A receiver of the rows from {@link WorkbookRowPublisher}, whose methods are called one at a time.
+     */
+    public interface Subscriber {
+        /**
+         * Get triggered once the subscriber is subscribed, before any other signals.
+         *
+         * @param subscription the subscription to request rows or cancel
+         */
+        void onSubscribe(@NotNull Subscription subscription);
+
+        /**
+         * Get triggered whenever a requested row is read.
+         *
+         * @param row the row
+         */
+        void onNext(@NotNull RowView row);
+
+        /**
+         * Get triggered when the reading fails or the request is invalid, no more signals will be sent.
+         *
+         * @param error the error
+         */
+        void onError(@NotNull Throwable error);
+
+        /**
+         * Get triggered when all rows have been emitted, no more signals will be sent.
+         */
+        void onComplete();
+    }
+
+    /**
+     * The link between {@link WorkbookRowPublisher} and its {@link Subscriber}.
+     */
+    public interface Subscription {
+        /**
+         * Adds the given count of rows to the outstanding demand, {@link Long#MAX_VALUE} means no limit.
+         * The subscriber will receive {@link Subscriber#onError(Throwable) onError()} with an
+         * {@link IllegalArgumentException} if the count is not positive.
+         *
+         * @param n the count of rows
+         */
+        void request(long n);
+
+        /**
+         * Cancels the subscription and the reading, no more signals will be sent.
+         */
+        void cancel();
+    }
+
+    private final class RowSubscription implements Subscription {
+        private final Subscriber subscriber;
+
+        // guarded by this
+        private long demand = 0;
+        private boolean cancelled = false;
+        private Throwable pendingError;
+        private boolean started = false;
+
+        private RowSubscription(@NotNull Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (cancelled || pendingError != null) {
+                    return;
+                }
+
+                if (n <= 0) {
+                    // signals the error on the reading thread to keep the signals serial
+                    pendingError = new IllegalArgumentException("Count of rows requested should be positive: " + n);
+                } else {
+                    final long newDemand = demand + n;
+                    demand = newDemand < 0 ? Long.MAX_VALUE : newDemand;
+                }
+                notifyAll();
+
+                if (started) {
+                    return;
+                }
+                started = true;
+            }
+
+            final Thread readingThread = new Thread(this::readRows, "workbook-row-publisher");
+            readingThread.setDaemon(true);
+            readingThread.start();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        // runs on the reading thread
+        private void readRows() {
+            Throwable error = null;
+            try {
+                reader.read((RowEventHandler) this::onRow);
+            } catch (Throwable e) {
+                error = e;
+            }
+
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+
+                cancelled = true;
+                if (pendingError != null) {
+                    error = pendingError;
+                }
+            }
+
+            if (error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+
+        private void onRow(int sheetIndex, int rowNum, @NotNull RowView row) {
+            if (awaitDemand()) {
+                subscriber.onNext(((RowViewBuffer) row).snapshot());
+            } else {
+                reader.cancel();
+            }
+        }
+
+        // waits until there is outstanding demand, returns false if no more rows should be emitted
+        private synchronized boolean awaitDemand() {
+            while (demand == 0 && !cancelled && pendingError == null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    pendingError = e;
+                }
+            }
+
+            if (cancelled || pendingError != null) {
+                return false;
+            }
+
+            if (demand != Long.MAX_VALUE) {
+                demand -= 1;
+            }
+            return true;
+        }
+    }
+
+}
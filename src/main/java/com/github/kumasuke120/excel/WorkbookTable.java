@@ -0,0 +1,450 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.WorkbookEventReader.TypedEventHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable in-memory table of the cells of a sheet, which could be accessed randomly and repeatedly without
+ * reading the workbook again.<br>
+ * <br>
+ * * Each column stores a type tag and an 8-byte slot for every row: whole numbers and booleans are stored
+ * in the slots as they are, numbers as their bits, strings as the codes of a dictionary shared by the whole table.
+ * The tag of a blank or absent cell is zero, which serves as the null map of the column.<br>
+ * * Dates and other rare values are kept in a list, and their slots are the indexes of the list.<br>
+ * * The tags and the slots could be kept off-heap in direct {@link ByteBuffer}s, so that large sheets do not burden
+ * the garbage collector. The dictionary and the rare values are always on heap.<br>
+ * * Cells are addressed by their row and column indexes in the sheet, accessing a cell takes constant time.
+ * A table is safe to be accessed by multiple threads.
+ */
+public final class WorkbookTable {
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_BOOLEAN = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_STRING = 4;
+    private static final byte TAG_OBJECT = 5;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int sheetIndex;
+    private final int rowCount;
+    private final ColumnStore[] columns;
+    private final String[] dictionary;
+    private final Object[] objects;
+
+    private WorkbookTable(@NotNull Loader loader) {
+        this.sheetIndex = loader.sheetIndex;
+        this.rowCount = loader.rowCount;
+        this.columns = Arrays.copyOf(loader.columns, loader.columnCount);
+        this.dictionary = loader.dictionary.toArray(new String[0]);
+        this.objects = loader.objects.toArray();
+    }
+
+    /**
+     * Loads the sheet at the given index with the given reader into a table on heap.<br>
+     * The reader will not be closed, the sheets after the given one are not read.
+     *
+     * @param reader     the reader of the workbook
+     * @param sheetIndex the index of the sheet, starts with 0
+     * @return a table of the cells of the sheet
+     * @throws NullPointerException        <code>reader</code> is <code>null</code>
+     * @throws IllegalArgumentException    there is no sheet at the given index
+     * @throws WorkbookProcessException    errors happened when reading
+     * @throws IllegalReaderStateException the reader has been closed; the reader is being read
+     */
+    @NotNull
+    public static WorkbookTable load(@NotNull(exception = NullPointerException.class) WorkbookEventReader reader,
+                                     int sheetIndex) {
+        return load(reader, sheetIndex, false);
+    }
+
+    /**
+     * Loads the sheet at the given index with the given reader into a table, whose columns are kept in direct
+     * {@link ByteBuffer}s if <code>offHeap</code> is <code>true</code>.<br>
+     * The reader will not be closed, the sheets after the given one are not read.
+     *
+     * @param reader     the reader of the workbook
+     * @param sheetIndex the index of the sheet, starts with 0
+     * @param offHeap    <code>true</code> to keep the columns off-heap
+     * @return a table of the cells of the sheet
+     * @throws NullPointerException        <code>reader</code> is <code>null</code>
+     * @throws IllegalArgumentException    there is no sheet at the given index
+     * @throws WorkbookProcessException    errors happened when reading
+     * @throws IllegalReaderStateException the reader has been closed; the reader is being read
+     */
+    @NotNull
+    public static WorkbookTable load(@NotNull(exception = NullPointerException.class) WorkbookEventReader reader,
+                                     int sheetIndex, boolean offHeap) {
+        Objects.requireNonNull(reader);
+
+        final Loader loader = new Loader(reader, sheetIndex, offHeap);
+        reader.read(loader);
+        if (!loader.sheetFound) {
+            throw new IllegalArgumentException("No sheet at index: " + sheetIndex);
+        }
+
+        return new WorkbookTable(loader);
+    }
+
+    /**
+     * Returns the index of the sheet this table loaded from.
+     *
+     * @return the index of the sheet, starts with 0
+     */
+    public int sheetIndex() {
+        return sheetIndex;
+    }
+
+    /**
+     * Returns the count of rows, which is the index of the last row plus 1.
+     *
+     * @return the count of rows
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the count of columns, which is the index of the last column with non-<code>null</code> cells plus 1.
+     *
+     * @return the count of columns
+     */
+    public int columnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Checks if the value of the cell at the given row and column is <code>null</code>, which is also the case of
+     * a cell out of the table.
+     *
+     * @param rowNum    the index of the row, starts with 0
+     * @param columnNum the index of the column, starts with 0
+     * @return <code>true</code> if the value is <code>null</code>, otherwise <code>false</code>
+     */
+    public boolean isNull(int rowNum, int columnNum) {
+        return tagAt(rowNum, columnNum) == TAG_NULL;
+    }
+
+    /**
+     * Returns the value of the cell at the given row and column.
+     *
+     * @param rowNum    the index of the row, starts with 0
+     * @param columnNum the index of the column, starts with 0
+     * @return the value of the cell, or a {@link CellValue} of <code>null</code> if the cell is out of the table
+     */
+    @NotNull
+    public CellValue get(int rowNum, int columnNum) {
+        final byte tag = tagAt(rowNum, columnNum);
+        if (tag == TAG_NULL) {
+            return CellValue.newInstance(null);
+        }
+
+        final long slot = columns[columnNum].slot(rowNum);
+        switch (tag) {
+            case TAG_BOOLEAN:
+                return CellValue.newInstance(slot != 0);
+            case TAG_LONG:
+                return LenientCellValue.newWholeNumberInstance(slot);
+            case TAG_DOUBLE:
+                return LenientCellValue.newNumberInstance(Double.longBitsToDouble(slot));
+            case TAG_STRING:
+                return CellValue.newInstance(dictionary[(int) slot]);
+            default:
+                return CellValue.newInstance(objects[(int) slot]);
+        }
+    }
+
+    /**
+     * Triggers the cell callbacks of the given handler for every non-<code>null</code> cell of the given column in
+     * the order of rows.<br>
+     * Strings are passed to {@link TypedEventHandler#onStringCell(int, int, int, CharSequence) onStringCell()} as
+     * the {@link String}s in the dictionary, which could be kept.
+     *
+     * @param columnNum the index of the column, starts with 0
+     * @param handler   the handler to receive the cells
+     * @throws NullPointerException <code>handler</code> is <code>null</code>
+     */
+    public void scanColumn(int columnNum,
+                           @NotNull(exception = NullPointerException.class) TypedEventHandler handler) {
+        Objects.requireNonNull(handler);
+        if (columnNum < 0 || columnNum >= columns.length) {
+            return;
+        }
+
+        final ColumnStore column = columns[columnNum];
+        if (column == null) { // the column has no non-null cells
+            return;
+        }
+
+        final int end = Math.min(rowCount, column.capacity());
+        for (int rowNum = 0; rowNum < end; rowNum++) {
+            final byte tag = column.tag(rowNum);
+            if (tag == TAG_NULL) {
+                continue;
+            }
+
+            final long slot = column.slot(rowNum);
+            switch (tag) {
+                case TAG_BOOLEAN:
+                    handler.onBooleanCell(sheetIndex, rowNum, columnNum, slot != 0);
+                    break;
+                case TAG_LONG:
+                    handler.onLongCell(sheetIndex, rowNum, columnNum, slot);
+                    break;
+                case TAG_DOUBLE:
+                    handler.onNumericCell(sheetIndex, rowNum, columnNum, Double.longBitsToDouble(slot));
+                    break;
+                case TAG_STRING:
+                    handler.onStringCell(sheetIndex, rowNum, columnNum, dictionary[(int) slot]);
+                    break;
+                default:
+                    TypedCellEvents.handleCell(handler, sheetIndex, rowNum, columnNum, objects[(int) slot]);
+            }
+        }
+    }
+
+    private byte tagAt(int rowNum, int columnNum) {
+        if (rowNum < 0 || columnNum < 0 || columnNum >= columns.length) {
+            return TAG_NULL;
+        }
+
+        final ColumnStore column = columns[columnNum];
+        return column != null && rowNum < column.capacity() ? column.tag(rowNum) : TAG_NULL;
+    }
+
+    /**
+     * The tags and slots of a column, which grows as rows are set.
+     */
+    private static abstract class ColumnStore {
+        abstract int capacity();
+
+        abstract byte tag(int rowNum);
+
+        abstract long slot(int rowNum);
+
+        abstract void set(int rowNum, byte tag, long slot);
+    }
+
+    private static final class HeapColumnStore extends ColumnStore {
+        private byte[] tags = new byte[INITIAL_CAPACITY];
+        private long[] slots = new long[INITIAL_CAPACITY];
+
+        @Override
+        int capacity() {
+            return tags.length;
+        }
+
+        @Override
+        byte tag(int rowNum) {
+            return tags[rowNum];
+        }
+
+        @Override
+        long slot(int rowNum) {
+            return slots[rowNum];
+        }
+
+        @Override
+        void set(int rowNum, byte tag, long slot) {
+            if (rowNum >= tags.length) {
+                final int newCapacity = Math.max(tags.length << 1, rowNum + 1);
+                tags = Arrays.copyOf(tags, newCapacity);
+                slots = Arrays.copyOf(slots, newCapacity);
+            }
+
+            tags[rowNum] = tag;
+            slots[rowNum] = slot;
+        }
+    }
+
+    private static final class DirectColumnStore extends ColumnStore {
+        private ByteBuffer tags = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+        private ByteBuffer slots = ByteBuffer.allocateDirect(INITIAL_CAPACITY * Long.BYTES)
+                .order(ByteOrder.nativeOrder());
+
+        @Override
+        int capacity() {
+            return tags.capacity();
+        }
+
+        @Override
+        byte tag(int rowNum) {
+            return tags.get(rowNum);
+        }
+
+        @Override
+        long slot(int rowNum) {
+            return slots.getLong(rowNum * Long.BYTES);
+        }
+
+        @Override
+        void set(int rowNum, byte tag, long slot) {
+            if (rowNum >= tags.capacity()) {
+                final int newCapacity = Math.max(tags.capacity() << 1, rowNum + 1);
+                tags = copyOf(tags, newCapacity);
+                slots = copyOf(slots, newCapacity * Long.BYTES);
+            }
+
+            tags.put(rowNum, tag);
+            slots.putLong(rowNum * Long.BYTES, slot);
+        }
+
+        // new direct buffers are zero-filled
+        private static ByteBuffer copyOf(ByteBuffer buffer, int newCapacity) {
+            final ByteBuffer newBuffer = ByteBuffer.allocateDirect(newCapacity).order(buffer.order());
+            buffer.clear();
+            newBuffer.put(buffer);
+            newBuffer.clear();
+            return newBuffer;
+        }
+    }
+
+    /**
+     * An <code>EventHandler</code> that stores the cells of the given sheet in columns, and cancels reading once
+     * the sheet ends.
+     */
+    private static final class Loader implements TypedEventHandler {
+        private final WorkbookEventReader reader;
+        private final int sheetIndex;
+        private final boolean offHeap;
+
+        private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final List<Object> objects = new ArrayList<>();
+
+        private ColumnStore[] columns = new ColumnStore[16];
+        private int columnCount = 0;
+        private int rowCount = 0;
+
+        private boolean sheetFound = false;
+
+        private Loader(@NotNull WorkbookEventReader reader, int sheetIndex, boolean offHeap) {
+            this.reader = reader;
+            this.sheetIndex = sheetIndex;
+            this.offHeap = offHeap;
+        }
+
+        @Override
+        public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+            if (sheetIndex == this.sheetIndex) {
+                sheetFound = true;
+            }
+        }
+
+        @Override
+        public void onEndSheet(int sheetIndex) {
+            if (sheetIndex == this.sheetIndex) {
+                reader.cancel();
+            }
+        }
+
+        @Override
+        public void onStartRow(int sheetIndex, int rowNum) {
+            if (sheetIndex == this.sheetIndex && rowNum >= rowCount) {
+                rowCount = rowNum + 1;
+            }
+        }
+
+        @Override
+        public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+            if (sheetIndex != this.sheetIndex) {
+                return;
+            }
+
+            // cells decoded lazily or replayed in parallel reading are stored by their values
+            final Object value = cellValue.originalValue();
+            if (value instanceof BigDecimal) {
+                setObject(rowNum, columnNum, value);
+            } else {
+                TypedCellEvents.handleCell(this, sheetIndex, rowNum, columnNum, value);
+            }
+        }
+
+        @Override
+        public void onBlankCell(int sheetIndex, int rowNum, int columnNum) {
+            // leaves the tag as null
+        }
+
+        @Override
+        public void onBooleanCell(int sheetIndex, int rowNum, int columnNum, boolean value) {
+            if (sheetIndex == this.sheetIndex) {
+                set(rowNum, columnNum, TAG_BOOLEAN, value ? 1 : 0);
+            }
+        }
+
+        @Override
+        public void onLongCell(int sheetIndex, int rowNum, int columnNum, long value) {
+            if (sheetIndex == this.sheetIndex) {
+                set(rowNum, columnNum, TAG_LONG, value);
+            }
+        }
+
+        @Override
+        public void onNumericCell(int sheetIndex, int rowNum, int columnNum, double value) {
+            if (sheetIndex == this.sheetIndex) {
+                set(rowNum, columnNum, TAG_DOUBLE, Double.doubleToRawLongBits(value));
+            }
+        }
+
+        @Override
+        public void onStringCell(int sheetIndex, int rowNum, int columnNum, @NotNull CharSequence value) {
+            if (sheetIndex == this.sheetIndex) {
+                set(rowNum, columnNum, TAG_STRING, encode(value.toString()));
+            }
+        }
+
+        @Override
+        public void onTemporalCell(int sheetIndex, int rowNum, int columnNum, @NotNull Temporal value) {
+            if (sheetIndex == this.sheetIndex) {
+                setObject(rowNum, columnNum, value);
+            }
+        }
+
+        private int encode(@NotNull String value) {
+            final Integer code = dictionaryCodes.get(value);
+            if (code != null) {
+                return code;
+            }
+
+            final int newCode = dictionary.size();
+            dictionary.add(value);
+            dictionaryCodes.put(value, newCode);
+            return newCode;
+        }
+
+        private void setObject(int rowNum, int columnNum, @NotNull Object value) {
+            set(rowNum, columnNum, TAG_OBJECT, objects.size());
+            objects.add(value);
+        }
+
+        private void set(int rowNum, int columnNum, byte tag, long slot) {
+            if (columnNum >= columns.length) {
+                columns = Arrays.copyOf(columns, Math.max(columns.length << 1, columnNum + 1));
+            }
+
+            ColumnStore column = columns[columnNum];
+            if (column == null) {
+                column = offHeap ? new DirectColumnStore() : new HeapColumnStore();
+                columns[columnNum] = column;
+            }
+            column.set(rowNum, tag, slot);
+
+            if (columnNum >= columnCount) {
+                columnCount = columnNum + 1;
+            }
+        }
+    }
+
+}
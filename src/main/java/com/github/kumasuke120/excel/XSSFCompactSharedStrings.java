@@ -0,0 +1,598 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The shared strings of a xlsx workbook packed into a byte arena, which takes much less memory than the
+ * shared strings table of Apache POI.<br>
+ * <br>
+ * * The texts are read from <code>sharedStrings.xml</code> in a streaming pass, the formatting of their runs and
+ * their phonetic runs are dropped. They are the same as returned by <code>RichTextString.getString()</code>.<br>
+ * * Each text is stored as Latin-1 if all its chars fit in, otherwise each of its chars is stored as UTF-8,
+ * surrogates included.<br>
+ * * The decoded {@link String}s of recently used indexes are kept in a bounded LRU cache, so that repeated
+ * indexes return the same {@link String}s.
+ */
+@ApiStatus.Internal
+final class XSSFCompactSharedStrings implements XSSFSharedStrings {
+
+    static final byte LATIN_1 = 0;
+    static final byte UTF_8 = 1;
+    static final byte NO_TEXT = 2;
+
+    private static final Pattern ESCAPED_CHAR_PATTERN = Pattern.compile("_x([0-9A-Fa-f]{4})_");
+
+    private final byte[] arena;
+    private final int[] offsets;
+    private final byte[] encodings;
+    private final int count;
+    private final StringCache cache;
+
+    private XSSFCompactSharedStrings(@NotNull Builder builder, int cacheSize) {
+        this.arena = builder.arena;
+        this.offsets = builder.offsets;
+        this.encodings = builder.encodings;
+        this.count = builder.count;
+        this.cache = new StringCache(cacheSize);
+    }
+
+    /**
+     * Collects the texts of the shared strings in order.
+     */
+    interface TextSink {
+        /**
+         * Adds the text of the next shared string.
+         *
+         * @param text the text, <code>null</code> if the shared string has no text
+         * @throws IOException errors happened when storing
+         */
+        void add(@Nullable String text) throws IOException;
+    }
+
+    /**
+     * Reads the shared strings from the given <code>sharedStrings.xml</code>.
+     *
+     * @param in        {@link InputStream} of <code>sharedStrings.xml</code>, <code>null</code> if there is none
+     * @param parser    the parser to read it
+     * @param cacheSize the max count of decoded {@link String}s kept
+     * @return the shared strings
+     * @throws IOException  errors happened when reading
+     * @throws SAXException errors happened when parsing
+     */
+    @NotNull
+    static XSSFCompactSharedStrings read(@Nullable InputStream in, @NotNull SAXParser parser,
+                                         int cacheSize) throws IOException, SAXException {
+        final Builder builder = new Builder();
+        parse(in, parser, builder);
+        return builder.build(cacheSize);
+    }
+
+    /**
+     * Parses the given <code>sharedStrings.xml</code>, adding the texts of the shared strings to the given sink.
+     *
+     * @param in     {@link InputStream} of <code>sharedStrings.xml</code>, <code>null</code> if there is none
+     * @param parser the parser to read it
+     * @param sink   the sink to receive the texts
+     * @throws IOException  errors happened when reading or storing
+     * @throws SAXException errors happened when parsing
+     */
+    static void parse(@Nullable InputStream in, @NotNull SAXParser parser,
+                      @NotNull TextSink sink) throws IOException, SAXException {
+        if (in == null) {
+            return;
+        }
+
+        try {
+            parser.parse(new InputSource(in), new SharedStringsHandler(sink));
+        } catch (SAXException e) {
+            if (e.getException() instanceof IOException) {
+                throw (IOException) e.getException();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the count of the shared strings.
+     *
+     * @return the count of the shared strings
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public String getString(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+
+        final byte encoding = encodings[index];
+        if (encoding == NO_TEXT) {
+            return null;
+        }
+
+        String value = cache.get(index);
+        if (value == null) {
+            value = decode(arena, offsets[index], offsets[index + 1], encoding);
+            cache.put(index, value);
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the text stored in the given range of bytes.
+     *
+     * @param arena    the bytes storing the text
+     * @param start    start of the range, inclusive
+     * @param end      end of the range, exclusive
+     * @param encoding the encoding of the text, either {@link #LATIN_1} or {@link #UTF_8}
+     * @return the text
+     */
+    @NotNull
+    static String decode(byte[] arena, int start, int end, byte encoding) {
+        if (encoding == LATIN_1) {
+            final char[] chars = new char[end - start];
+            for (int i = start; i < end; i++) {
+                chars[i - start] = (char) (arena[i] & 0xFF);
+            }
+            return new String(chars);
+        }
+
+        final char[] chars = new char[end - start];
+        int length = 0;
+        int i = start;
+        while (i < end) {
+            final int b = arena[i] & 0xFF;
+            if (b < 0x80) {
+                chars[length++] = (char) b;
+                i += 1;
+            } else if (b < 0xE0) {
+                chars[length++] = (char) (((b & 0x1F) << 6) | (arena[i + 1] & 0x3F));
+                i += 2;
+            } else {
+                chars[length++] = (char) (((b & 0x0F) << 12) | ((arena[i + 1] & 0x3F) << 6) |
+                        (arena[i + 2] & 0x3F));
+                i += 3;
+            }
+        }
+        return new String(chars, 0, length);
+    }
+
+    @Override
+    public void close() {
+        // no-op
+    }
+
+    // decodes the chars escaped as '_xHHHH_' in the same way as XSSFRichTextString
+    @NotNull
+    static String unescape(@NotNull String value) {
+        if (!value.contains("_x")) {
+            return value;
+        }
+
+        final Matcher matcher = ESCAPED_CHAR_PATTERN.matcher(value);
+        final StringBuilder builder = new StringBuilder(value.length());
+        int last = 0;
+        while (matcher.find()) {
+            builder.append(value, last, matcher.start());
+            builder.append((char) Integer.parseInt(matcher.group(1), 16));
+            last = matcher.end();
+        }
+
+        if (last == 0) {
+            return value;
+        }
+        builder.append(value, last, value.length());
+        return builder.toString();
+    }
+
+    /**
+     * Returns the encoding to store the given text.
+     *
+     * @param text the text, <code>null</code> if there is none
+     * @return {@link #LATIN_1} if all its chars fit in, {@link #NO_TEXT} if it is <code>null</code>,
+     * otherwise {@link #UTF_8}
+     */
+    static byte encodingOf(@Nullable String text) {
+        if (text == null) {
+            return NO_TEXT;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return UTF_8;
+            }
+        }
+        return LATIN_1;
+    }
+
+    /**
+     * Returns the max count of bytes to store the given text in the given encoding.
+     *
+     * @param text     the text
+     * @param encoding the encoding, either {@link #LATIN_1} or {@link #UTF_8}
+     * @return the max count of bytes
+     */
+    static long maxEncodedLength(@NotNull String text, byte encoding) {
+        return encoding == LATIN_1 ? text.length() : text.length() * 3L;
+    }
+
+    /**
+     * Encodes the given text into the given bytes, which should have enough room.
+     *
+     * @param text     the text
+     * @param encoding the encoding, either {@link #LATIN_1} or {@link #UTF_8}
+     * @param dest     the bytes to store the text
+     * @param position the position to start storing
+     * @return the position after the text stored
+     */
+    static int encode(@NotNull String text, byte encoding, byte[] dest, int position) {
+        if (encoding == LATIN_1) {
+            for (int i = 0; i < text.length(); i++) {
+                dest[position++] = (byte) text.charAt(i);
+            }
+            return position;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                dest[position++] = (byte) c;
+            } else if (c < 0x800) {
+                dest[position++] = (byte) (0xC0 | (c >> 6));
+                dest[position++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                dest[position++] = (byte) (0xE0 | (c >> 12));
+                dest[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dest[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Packs the texts into the arena one by one.
+     */
+    static final class Builder implements TextSink {
+        private byte[] arena = new byte[8192];
+        private int[] offsets = new int[1024 + 1];
+        private byte[] encodings = new byte[1024];
+        private int count = 0;
+
+        @Override
+        public void add(@Nullable String text) {
+            if (count == encodings.length) {
+                final int newCapacity = Math.max(count + 1, count + (count >> 1));
+                encodings = Arrays.copyOf(encodings, newCapacity);
+                offsets = Arrays.copyOf(offsets, newCapacity + 1);
+            }
+
+            final byte encoding = encodingOf(text);
+            encodings[count] = encoding;
+
+            int position = offsets[count];
+            if (text != null) {
+                ensureArenaCapacity(position, maxEncodedLength(text, encoding));
+                position = encode(text, encoding, arena, position);
+            }
+
+            count += 1;
+            offsets[count] = position;
+        }
+
+        /**
+         * Returns the count of bytes packed.
+         *
+         * @return the count of bytes packed
+         */
+        int arenaSize() {
+            return offsets[count];
+        }
+
+        /**
+         * Returns the count of texts added.
+         *
+         * @return the count of texts added
+         */
+        int count() {
+            return count;
+        }
+
+        /**
+         * Returns the arena the texts packed into, whose first {@link #arenaSize()} bytes are used.
+         *
+         * @return the arena
+         */
+        byte[] arena() {
+            return arena;
+        }
+
+        /**
+         * Returns the start offset of the text at the given index in the arena.
+         *
+         * @param index index of the text, {@link #count()} for the end of the last one
+         * @return the start offset
+         */
+        int offsetAt(int index) {
+            return offsets[index];
+        }
+
+        /**
+         * Returns the encoding of the text at the given index.
+         *
+         * @param index index of the text
+         * @return the encoding
+         */
+        byte encodingAt(int index) {
+            return encodings[index];
+        }
+
+        /**
+         * Builds the shared strings with the texts packed.
+         *
+         * @param cacheSize the max count of decoded {@link String}s kept
+         * @return the shared strings
+         */
+        @NotNull
+        XSSFCompactSharedStrings build(int cacheSize) {
+            return new XSSFCompactSharedStrings(this, cacheSize);
+        }
+
+        private void ensureArenaCapacity(int position, long length) {
+            final long required = position + length;
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new WorkbookProcessException(
+                        new IllegalStateException("Shared strings are too large to be packed: " + required));
+            }
+
+            if (required > arena.length) {
+                final long newCapacity = Math.max(required, arena.length + ((long) arena.length >> 1));
+                arena = Arrays.copyOf(arena, (int) Math.min(newCapacity, Integer.MAX_VALUE - 8));
+            }
+        }
+    }
+
+    /**
+     * A <code>DefaultHandler</code> that collects the texts of <code>&lt;si&gt;</code> elements.
+     */
+    private static final class SharedStringsHandler extends DefaultHandler {
+        private static final String TAG_SHARED_STRING = "si";
+        private static final String TAG_RUN = "r";
+        private static final String TAG_PHONETIC_RUN = "rPh";
+        private static final String TAG_TEXT = "t";
+
+        private final TextSink sink;
+        private final StringBuilder text = new StringBuilder();
+        private final StringBuilder runText = new StringBuilder();
+
+        private boolean inSharedString = false;
+        private int runDepth = 0;
+        private int phoneticRunDepth = 0;
+        private boolean inText = false;
+        private boolean hasText = false;
+        private boolean hasRun = false;
+
+        private SharedStringsHandler(@NotNull TextSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case TAG_SHARED_STRING:
+                    inSharedString = true;
+                    text.setLength(0);
+                    runText.setLength(0);
+                    hasText = false;
+                    hasRun = false;
+                    break;
+                case TAG_RUN:
+                    runDepth += 1;
+                    hasRun = true;
+                    break;
+                case TAG_PHONETIC_RUN:
+                    phoneticRunDepth += 1;
+                    break;
+                case TAG_TEXT:
+                    inText = inSharedString && phoneticRunDepth == 0;
+                    if (inText && runDepth == 0) {
+                        hasText = true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case TAG_SHARED_STRING:
+                    inSharedString = false;
+                    addSharedString();
+                    break;
+                case TAG_RUN:
+                    runDepth -= 1;
+                    break;
+                case TAG_PHONETIC_RUN:
+                    phoneticRunDepth -= 1;
+                    break;
+                case TAG_TEXT:
+                    inText = false;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void addSharedString() throws SAXException {
+            final String value;
+            if (hasRun) {
+                value = unescape(runText.toString());
+            } else if (hasText) {
+                value = unescape(text.toString());
+            } else {
+                value = null;
+            }
+
+            try {
+                sink.add(value);
+            } catch (IOException e) {
+                throw new SAXException(e);
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                (runDepth > 0 ? runText : text).append(ch, start, length);
+            }
+        }
+    }
+
+    /**
+     * A bounded LRU cache of decoded {@link String}s by their indexes, whose entries are kept in arrays so that
+     * no objects are allocated for looking up or replacing.
+     */
+    static final class StringCache {
+        private static final int NIL = -1;
+
+        private final int capacity;
+        private final int[] buckets;
+        private final int[] keys;
+        private final String[] values;
+        private final int[] chainNext;
+        private final int[] prev;
+        private final int[] next;
+
+        private int size = 0;
+        private int head = NIL; // most recently used
+        private int tail = NIL; // least recently used
+
+        StringCache(int capacity) {
+            this.capacity = capacity;
+            final int bucketCount = Integer.highestOneBit(Math.max(1, capacity) * 2 - 1);
+            this.buckets = new int[bucketCount];
+            Arrays.fill(buckets, NIL);
+            this.keys = new int[capacity];
+            this.values = new String[capacity];
+            this.chainNext = new int[capacity];
+            this.prev = new int[capacity];
+            this.next = new int[capacity];
+        }
+
+        @Nullable
+        synchronized String get(int key) {
+            final int entry = find(key);
+            if (entry == NIL) {
+                return null;
+            }
+
+            moveToHead(entry);
+            return values[entry];
+        }
+
+        synchronized void put(int key, @NotNull String value) {
+            if (capacity == 0 || find(key) != NIL) { // might be decoded on another thread meanwhile
+                return;
+            }
+
+            final int entry;
+            if (size < capacity) {
+                entry = size++;
+            } else { // evicts the least recently used one
+                entry = tail;
+                unlink(entry);
+                removeFromBucket(entry);
+            }
+
+            keys[entry] = key;
+            values[entry] = value;
+            final int bucket = bucketOf(key);
+            chainNext[entry] = buckets[bucket];
+            buckets[bucket] = entry;
+            linkAtHead(entry);
+        }
+
+        private int bucketOf(int key) {
+            final int hash = key * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & (buckets.length - 1);
+        }
+
+        private int find(int key) {
+            for (int entry = buckets[bucketOf(key)]; entry != NIL; entry = chainNext[entry]) {
+                if (keys[entry] == key) {
+                    return entry;
+                }
+            }
+            return NIL;
+        }
+
+        private void removeFromBucket(int entry) {
+            final int bucket = bucketOf(keys[entry]);
+            int current = buckets[bucket];
+            if (current == entry) {
+                buckets[bucket] = chainNext[entry];
+                return;
+            }
+
+            while (chainNext[current] != entry) {
+                current = chainNext[current];
+            }
+            chainNext[current] = chainNext[entry];
+        }
+
+        private void moveToHead(int entry) {
+            if (entry != head) {
+                unlink(entry);
+                linkAtHead(entry);
+            }
+        }
+
+        private void unlink(int entry) {
+            final int p = prev[entry];
+            final int n = next[entry];
+            if (p == NIL) {
+                head = n;
+            } else {
+                next[p] = n;
+            }
+            if (n == NIL) {
+                tail = p;
+            } else {
+                prev[n] = p;
+            }
+        }
+
+        private void linkAtHead(int entry) {
+            prev[entry] = NIL;
+            next[entry] = head;
+            if (head != NIL) {
+                prev[head] = entry;
+            }
+            head = entry;
+            if (tail == NIL) {
+                tail = entry;
+            }
+        }
+    }
+
+}
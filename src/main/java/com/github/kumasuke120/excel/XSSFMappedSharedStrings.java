@@ -0,0 +1,396 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.XSSFCompactSharedStrings.StringCache;
+import com.github.kumasuke120.excel.XSSFCompactSharedStrings.TextSink;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.SAXParser;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The shared strings of a xlsx workbook stored in a temporary file mapped into memory, which lets workbooks whose
+ * shared strings exceed the heap be read.<br>
+ * <br>
+ * * The texts are encoded as {@link XSSFCompactSharedStrings} does, they are packed on the heap first and spilled
+ * into the file only if they grow beyond the given threshold, see {@link #read(InputStream, SAXParser, long, int)}.
+ * <br>
+ * * The file holds the region of the texts, followed by the index of their offsets, each offset is a
+ * <code>long</code> whose lowest two bits are the encoding of its text.<br>
+ * * The file is unmapped and deleted when closed, the shared strings could not be read afterwards.
+ */
+@ApiStatus.Internal
+final class XSSFMappedSharedStrings implements XSSFSharedStrings {
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final MethodHandle unmapHandle = getUnmapHandle();
+
+    private final Path file;
+    private final MappedByteBuffer[] chunks;
+    private final long indexStart;
+    private final int count;
+    private final StringCache cache;
+
+    // the buffers are read under the read lock, while they are unmapped under the write lock
+    private final Lock readLock;
+    private final Lock closeLock;
+    private boolean closed = false;
+
+    private XSSFMappedSharedStrings(@NotNull Path file, @NotNull MappedByteBuffer[] chunks, long indexStart,
+                                    int count, int cacheSize) {
+        this.file = file;
+        this.chunks = chunks;
+        this.indexStart = indexStart;
+        this.count = count;
+        this.cache = new StringCache(cacheSize);
+
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.closeLock = lock.writeLock();
+    }
+
+    /**
+     * Reads the shared strings from the given <code>sharedStrings.xml</code>, which are kept on the heap if the
+     * bytes packed are no more than <code>threshold</code>, otherwise are stored in a temporary file mapped into
+     * memory.
+     *
+     * @param in        {@link InputStream} of <code>sharedStrings.xml</code>, <code>null</code> if there is none
+     * @param parser    the parser to read it
+     * @param threshold the max count of bytes packed on the heap
+     * @param cacheSize the max count of decoded {@link String}s kept
+     * @return the shared strings
+     * @throws IOException  errors happened when reading or storing
+     * @throws SAXException errors happened when parsing
+     */
+    @NotNull
+    static XSSFSharedStrings read(@Nullable InputStream in, @NotNull SAXParser parser,
+                                  long threshold, int cacheSize) throws IOException, SAXException {
+        final SpillingSink sink = new SpillingSink(threshold);
+        try {
+            XSSFCompactSharedStrings.parse(in, parser, sink);
+            return sink.finish(cacheSize);
+        } catch (IOException | SAXException | RuntimeException | Error e) {
+            sink.discard();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the count of the shared strings.
+     *
+     * @return the count of the shared strings
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException the shared strings have been closed
+     */
+    @Override
+    @Nullable
+    public String getString(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+
+        final String cached = cache.get(index);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String value;
+        readLock.lock();
+        try {
+            if (closed) { // reading unmapped buffers crashes the vm
+                throw new IllegalStateException("Shared strings have been closed");
+            }
+
+            final long entry = getLong(indexStart + ((long) index << 3));
+            final byte encoding = (byte) (entry & 0b11);
+            if (encoding == XSSFCompactSharedStrings.NO_TEXT) {
+                return null;
+            }
+
+            final long start = entry >>> 2;
+            final long end = getLong(indexStart + ((long) (index + 1) << 3)) >>> 2;
+            final byte[] bytes = getBytes(start, (int) (end - start));
+            value = XSSFCompactSharedStrings.decode(bytes, 0, bytes.length, encoding);
+        } finally {
+            readLock.unlock();
+        }
+
+        cache.put(index, value);
+        return value;
+    }
+
+    @Override
+    public boolean isReadableAfterClose() {
+        return false;
+    }
+
+    // copies in bulk from a duplicate, which does not touch the position of the shared buffer
+    private byte[] getBytes(long start, int length) {
+        final byte[] bytes = new byte[length];
+        final int chunkIndex = (int) (start >>> CHUNK_SHIFT);
+        if (length == 0) {
+            return bytes;
+        } else if (chunkIndex == (int) ((start + length - 1) >>> CHUNK_SHIFT)) {
+            final ByteBuffer chunk = chunks[chunkIndex].duplicate();
+            chunk.position((int) (start & CHUNK_MASK));
+            chunk.get(bytes);
+        } else { // spans two chunks
+            for (int i = 0; i < length; i++) {
+                final long position = start + i;
+                bytes[i] = chunks[(int) (position >>> CHUNK_SHIFT)].get((int) (position & CHUNK_MASK));
+            }
+        }
+        return bytes;
+    }
+
+    // the index is aligned to 8 bytes, so that no offset spans two chunks
+    private long getLong(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getLong((int) (position & CHUNK_MASK));
+    }
+
+    /**
+     * Unmaps the buffers and deletes the temporary file. The file is deleted on exit if it cannot be deleted now.
+     */
+    @Override
+    public void close() {
+        closeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            for (int i = 0; i < chunks.length; i++) {
+                unmap(chunks[i]);
+                chunks[i] = null;
+            }
+        } finally {
+            closeLock.unlock();
+        }
+
+        deleteFile(file);
+    }
+
+    // unmaps the buffer at once, otherwise it is unmapped once garbage collected
+    private static void unmap(@NotNull MappedByteBuffer buffer) {
+        if (unmapHandle == null) {
+            return;
+        }
+
+        try {
+            unmapHandle.invokeExact((ByteBuffer) buffer);
+        } catch (Throwable ignored) {
+            // unmapped once garbage collected
+        }
+    }
+
+    private static void deleteFile(@Nullable Path file) {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // the buffers might not be unmapped yet on some platforms
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    @Nullable
+    private static MethodHandle getUnmapHandle() {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        // for Java 9 and later
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return lookup.findVirtual(unsafeClass, "invokeCleaner",
+                                      MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException ignore) {
+        }
+
+        // for Java 8
+        try {
+            final Class<?> directBufferClass = Class.forName("sun.nio.ch.DirectBuffer");
+            final Method cleanerMethod = directBufferClass.getMethod("cleaner");
+            final Method cleanMethod = cleanerMethod.getReturnType().getMethod("clean");
+            final MethodHandle cleaner = lookup.unreflect(cleanerMethod);
+            final MethodHandle clean = lookup.unreflect(cleanMethod);
+            return MethodHandles.filterReturnValue(cleaner, clean)
+                    .asType(MethodType.methodType(void.class, ByteBuffer.class));
+        } catch (ReflectiveOperationException | RuntimeException ignore) {
+        }
+
+        return null;
+    }
+
+    /**
+     * A {@link TextSink} that packs the texts on the heap until they grow beyond the threshold, after which it
+     * writes them to the temporary file.
+     */
+    private static final class SpillingSink implements TextSink {
+        private static final String TEMP_FILE_PREFIX = "workbook-shared-strings-";
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final long threshold;
+
+        private XSSFCompactSharedStrings.Builder builder = new XSSFCompactSharedStrings.Builder();
+
+        private Path dataFile;
+        private Path indexFile;
+        private OutputStream dataOut;
+        private DataOutputStream indexOut;
+        private long position;
+        private int count;
+        private byte[] scratch = new byte[256];
+
+        private SpillingSink(long threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void add(@Nullable String text) throws IOException {
+            if (builder != null) {
+                builder.add(text);
+                if (builder.arenaSize() > threshold) {
+                    spill();
+                }
+                return;
+            }
+
+            if (count == Integer.MAX_VALUE) {
+                throw new IOException("Too many shared strings: " + count);
+            }
+
+            final byte encoding = XSSFCompactSharedStrings.encodingOf(text);
+            indexOut.writeLong(position << 2 | encoding);
+            if (text != null) {
+                final long maxLength = XSSFCompactSharedStrings.maxEncodedLength(text, encoding);
+                if (maxLength > scratch.length) {
+                    scratch = new byte[(int) Math.max(maxLength, scratch.length * 2L)];
+                }
+
+                final int length = XSSFCompactSharedStrings.encode(text, encoding, scratch, 0);
+                dataOut.write(scratch, 0, length);
+                position += length;
+            }
+            count += 1;
+        }
+
+        // moves the texts packed on the heap into the files
+        private void spill() throws IOException {
+            dataFile = Files.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+            indexFile = Files.createTempFile(TEMP_FILE_PREFIX, ".idx.tmp");
+            dataOut = new BufferedOutputStream(Files.newOutputStream(dataFile), BUFFER_SIZE);
+            indexOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile), BUFFER_SIZE));
+
+            dataOut.write(builder.arena(), 0, builder.arenaSize());
+            for (int i = 0; i < builder.count(); i++) {
+                indexOut.writeLong((long) builder.offsetAt(i) << 2 | builder.encodingAt(i));
+            }
+            position = builder.arenaSize();
+            count = builder.count();
+            builder = null;
+        }
+
+        @NotNull
+        private XSSFSharedStrings finish(int cacheSize) throws IOException {
+            if (builder != null) {
+                return builder.build(cacheSize);
+            }
+
+            // ends the index, and aligns the start of the index to 8 bytes
+            indexOut.writeLong(position << 2);
+            final int padding = (int) (-position & 7);
+            dataOut.write(new byte[padding]);
+            final long indexStart = position + padding;
+
+            dataOut.close();
+            indexOut.close();
+            dataOut = null;
+            indexOut = null;
+
+            final MappedByteBuffer[] chunks;
+            try (final FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ,
+                                                           StandardOpenOption.WRITE);
+                 final FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                // appends the index to the texts
+                final long indexSize = index.size();
+                long transferred = 0;
+                while (transferred < indexSize) {
+                    transferred += data.transferFrom(index, indexStart + transferred, indexSize - transferred);
+                }
+
+                chunks = map(data, indexStart + indexSize);
+            }
+            deleteFile(indexFile);
+            indexFile = null;
+
+            final Path file = dataFile;
+            dataFile = null;
+            return new XSSFMappedSharedStrings(file, chunks, indexStart, count, cacheSize);
+        }
+
+        @NotNull
+        private static MappedByteBuffer[] map(@NotNull FileChannel channel, long size) throws IOException {
+            final MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+            for (int i = 0; i < chunks.length; i++) {
+                final long start = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_SIZE, size - start));
+            }
+            return chunks;
+        }
+
+        // removes the files if failed
+        private void discard() {
+            builder = null;
+            closeQuietly(dataOut);
+            closeQuietly(indexOut);
+            deleteFile(dataFile);
+            deleteFile(indexFile);
+        }
+
+        private static void closeQuietly(@Nullable OutputStream out) {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                    // already failed
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+
+/**
+ * The shared strings of a xlsx workbook, which are referred by their indexes in the sheets.
+ */
+@ApiStatus.Internal
+interface XSSFSharedStrings extends Closeable {
+
+    /**
+     * Returns the text of the shared string at the given index, without the formatting of its runs.<br>
+     * This method might be called on several threads at the same time.
+     *
+     * @param index index of the shared string
+     * @return the text of the shared string, or <code>null</code> if it has no text
+     * @throws IndexOutOfBoundsException <code>index</code> is out of range
+     */
+    @Nullable
+    String getString(int index);
+
+    /**
+     * Returns whether the shared strings could still be read after they are closed, which lets the cells
+     * referring them be decoded after the reader is closed.
+     *
+     * @return <code>true</code> if they could be read after closed, otherwise <code>false</code>
+     */
+    default boolean isReadableAfterClose() {
+        return true;
+    }
+
+}
@@ -6,9 +6,9 @@ import org.apache.poi.xssf.eventusermodel.XSSFReader;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTRst;
 
-import java.io.Closeable;
 import java.io.IOException;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
@@ -19,7 +19,7 @@ import java.lang.invoke.MethodType;
  * This class provides compatibility with multiple versions of Apache POI (starting from 3.17).
  */
 @ApiStatus.Internal
-class XSSFSharedStringsTable implements Closeable {
+class XSSFSharedStringsTable implements XSSFSharedStrings {
 
     private static final MethodHandle getSharedStringsTableHandle = getGetSharedStringsTableHandle();
 
@@ -70,6 +70,15 @@ class XSSFSharedStringsTable implements Closeable {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public String getString(int index) {
+        return getItemAt(index).getString();
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> T invokeMethodHandleForItemAt(MethodHandle handle, Object... args) {
         try {
@@ -0,0 +1,307 @@
+package com.github.kumasuke120.excel;
+
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inflates the sheet parts on a background thread ahead of the parser.<br>
+ * <br>
+ * * The background thread owns the given {@link XSSFReader.SheetIterator}, it opens the sheets one after
+ * another and fills a bounded count of buffers with their inflated bytes.<br>
+ * * The parser takes the sheets with {@link #nextSheet()} and reads them with {@link #getSheetStream()}, the
+ * buffers are given back to the background thread once they have been read.<br>
+ * * The time the parser spends waiting for the background thread is accumulated in {@link #getWaitNanos()}.
+ */
+@ApiStatus.Internal
+class XSSFSheetPrefetcher implements Closeable {
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private final XSSFReader.SheetIterator sheetIt;
+    private final BlockingQueue<Chunk> filledChunks;
+    private final BlockingQueue<byte[]> freeBuffers;
+    private final Thread thread;
+
+    private final SheetInputStream sheetStream = new SheetInputStream();
+    private Chunk currentChunk;
+    private int currentChunkPosition;
+    private boolean currentSheetEnded = true;
+    private String currentSheetName;
+
+    private long waitNanos = 0;
+
+    /**
+     * Creates a new {@link XSSFSheetPrefetcher} and starts inflating the sheets.
+     *
+     * @param sheetIt    iterator of the sheets, it should not be used by others anymore
+     * @param depth      maximum count of buffers filled ahead of the parser
+     * @param bufferSize size in bytes of each buffer
+     */
+    XSSFSheetPrefetcher(@NotNull XSSFReader.SheetIterator sheetIt, int depth, int bufferSize) {
+        assert depth > 0 && bufferSize > 0;
+
+        this.sheetIt = sheetIt;
+        // a sheet takes a chunk more to mark its start and end besides its data
+        this.filledChunks = new ArrayBlockingQueue<>(depth + 2);
+        this.freeBuffers = new ArrayBlockingQueue<>(depth);
+        for (int i = 0; i < depth; i++) {
+            freeBuffers.add(new byte[bufferSize]);
+        }
+
+        this.thread = new Thread(this::inflateSheets, "workbook-event-reader-prefetch-" +
+                threadCounter.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void inflateSheets() {
+        try {
+            while (sheetIt.hasNext()) {
+                try (final InputStream sheetIs = sheetIt.next()) {
+                    filledChunks.put(Chunk.startOfSheet(sheetIt.getSheetName()));
+
+                    boolean sheetEnded;
+                    do {
+                        final byte[] buffer = freeBuffers.take();
+                        final int n = readFully(sheetIs, buffer);
+                        if (n > 0) {
+                            filledChunks.put(Chunk.data(buffer, n));
+                        } else {
+                            freeBuffers.put(buffer);
+                        }
+                        sheetEnded = n < buffer.length;
+                    } while (!sheetEnded);
+
+                    filledChunks.put(Chunk.END_OF_SHEET);
+                }
+            }
+            filledChunks.put(Chunk.END_OF_SHEETS);
+        } catch (InterruptedException e) {
+            // closed by the parser, stops as soon as possible
+        } catch (Throwable t) {
+            // the parser will rethrow it when it reaches this chunk
+            try {
+                filledChunks.put(Chunk.failure(t));
+            } catch (InterruptedException e) {
+                // closed by the parser, nobody cares about the failure
+            }
+        }
+    }
+
+    // fills the buffer as possible, so that chunks of a sheet are full except for the last one
+    private static int readFully(@NotNull InputStream in, @NotNull byte[] buffer) throws IOException {
+        int total = 0;
+        int n;
+        while (total < buffer.length && (n = in.read(buffer, total, buffer.length - total)) != -1) {
+            total += n;
+        }
+        return total;
+    }
+
+    /**
+     * Moves to the next sheet, skipping the unread bytes of the current sheet.
+     *
+     * @return <code>true</code> if there is a next sheet, otherwise <code>false</code>
+     * @throws IOException any exception occurred when inflating the sheets
+     */
+    boolean nextSheet() throws IOException {
+        while (!currentSheetEnded) {
+            releaseCurrentChunk();
+            takeChunk();
+        }
+
+        final Chunk chunk = takeChunk();
+        if (chunk.type == Chunk.TYPE_END_OF_SHEETS) {
+            return false;
+        }
+
+        assert chunk.type == Chunk.TYPE_START_OF_SHEET;
+        currentSheetName = chunk.sheetName;
+        currentSheetEnded = false;
+        return true;
+    }
+
+    /**
+     * Returns the name of the current sheet.
+     *
+     * @return name of the current sheet
+     */
+    @NotNull
+    String getSheetName() {
+        assert currentSheetName != null;
+        return currentSheetName;
+    }
+
+    /**
+     * Returns the stream of the current sheet, which should be read on the thread calling {@link #nextSheet()}.
+     * Closing the returned stream has no effect.
+     *
+     * @return {@link InputStream} of the current sheet
+     */
+    @NotNull
+    InputStream getSheetStream() {
+        return sheetStream;
+    }
+
+    /**
+     * Returns the total time the parser has waited for the inflated bytes.
+     *
+     * @return waited time in nanoseconds
+     */
+    long getWaitNanos() {
+        return waitNanos;
+    }
+
+    @NotNull
+    private Chunk takeChunk() throws IOException {
+        Chunk chunk = filledChunks.poll();
+        if (chunk == null) {
+            final long waitStart = System.nanoTime();
+            try {
+                chunk = filledChunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } finally {
+                waitNanos += System.nanoTime() - waitStart;
+            }
+        }
+
+        switch (chunk.type) {
+            case Chunk.TYPE_FAILURE:
+                if (chunk.failure instanceof IOException) {
+                    throw (IOException) chunk.failure;
+                } else if (chunk.failure instanceof RuntimeException) {
+                    throw (RuntimeException) chunk.failure;
+                } else if (chunk.failure instanceof Error) {
+                    throw (Error) chunk.failure;
+                } else {
+                    throw new IOException(chunk.failure);
+                }
+            case Chunk.TYPE_END_OF_SHEET:
+                currentSheetEnded = true;
+                break;
+            case Chunk.TYPE_DATA:
+                currentChunk = chunk;
+                currentChunkPosition = 0;
+                break;
+        }
+        return chunk;
+    }
+
+    private void releaseCurrentChunk() {
+        if (currentChunk != null) {
+            freeBuffers.add(currentChunk.buffer); // never exceeds the capacity
+            currentChunk = null;
+        }
+    }
+
+    // returns true if there are unread bytes in the current chunk
+    private boolean fillCurrentChunk() throws IOException {
+        while (!currentSheetEnded && (currentChunk == null || currentChunkPosition == currentChunk.length)) {
+            releaseCurrentChunk();
+            takeChunk();
+        }
+        return !currentSheetEnded;
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class SheetInputStream extends InputStream {
+        @Override
+        public int read() throws IOException {
+            if (!fillCurrentChunk()) {
+                return -1;
+            }
+            return currentChunk.buffer[currentChunkPosition++] & 0xFF;
+        }
+
+        @Override
+        public int read(@NotNull byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fillCurrentChunk()) {
+                return -1;
+            }
+
+            final int n = Math.min(len, currentChunk.length - currentChunkPosition);
+            System.arraycopy(currentChunk.buffer, currentChunkPosition, b, off, n);
+            currentChunkPosition += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return currentChunk == null ? 0 : currentChunk.length - currentChunkPosition;
+        }
+
+        @Override
+        public void close() {
+            // the sheet will be skipped by the next call to nextSheet()
+        }
+    }
+
+    private static class Chunk {
+        private static final int TYPE_START_OF_SHEET = 1;
+        private static final int TYPE_DATA = 2;
+        private static final int TYPE_END_OF_SHEET = 3;
+        private static final int TYPE_END_OF_SHEETS = 4;
+        private static final int TYPE_FAILURE = 5;
+
+        private static final Chunk END_OF_SHEET = new Chunk(TYPE_END_OF_SHEET, null, 0, null, null);
+        private static final Chunk END_OF_SHEETS = new Chunk(TYPE_END_OF_SHEETS, null, 0, null, null);
+
+        private final int type;
+        private final byte[] buffer;
+        private final int length;
+        private final String sheetName;
+        private final Throwable failure;
+
+        private Chunk(int type, @Nullable byte[] buffer, int length,
+                      @Nullable String sheetName, @Nullable Throwable failure) {
+            this.type = type;
+            this.buffer = buffer;
+            this.length = length;
+            this.sheetName = sheetName;
+            this.failure = failure;
+        }
+
+        @NotNull
+        static Chunk startOfSheet(@NotNull String sheetName) {
+            return new Chunk(TYPE_START_OF_SHEET, null, 0, sheetName, null);
+        }
+
+        @NotNull
+        static Chunk data(@NotNull byte[] buffer, int length) {
+            return new Chunk(TYPE_DATA, buffer, length, null, null);
+        }
+
+        @NotNull
+        static Chunk failure(@NotNull Throwable failure) {
+            return new Chunk(TYPE_FAILURE, null, 0, null, failure);
+        }
+    }
+
+}
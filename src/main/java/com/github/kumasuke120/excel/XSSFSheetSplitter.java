@@ -0,0 +1,403 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Splits an inflated worksheet part (<code>xl/worksheets/sheetN.xml</code>) into ranges of whole rows, so that
+ * each range could be parsed independently as a well-formed document.<br>
+ * <br>
+ * * A sheet smaller than the split size is kept in memory and never split.<br>
+ * * A larger sheet is spilled to a temporary file, which will be deleted when this splitter is closed.<br>
+ * * Every range starts at a <code>&lt;row</code> tag carrying its own row reference, and is wrapped with the
+ * bytes before <code>&lt;sheetData&gt;</code> and after <code>&lt;/sheetData&gt;</code> when being opened.<br>
+ * * Sheets using namespace prefixes, comments, CDATA, DTDs or processing instructions among the rows are not
+ * split.
+ */
+@ApiStatus.Internal
+class XSSFSheetSplitter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_TAG_NAME_LENGTH = 16;
+    private static final int MAX_ROW_TAG_LENGTH = 256;
+
+    private static final byte[] TAG_SHEET_DATA = bytes("sheetData");
+    private static final byte[] TAG_SHEET_DATA_END = bytes("/sheetData");
+    private static final byte[] TAG_ROW = bytes("row");
+
+    private final long splitSize;
+
+    private byte[] memoryData;
+    private Path tempFile;
+    private FileChannel channel;
+    private long size;
+
+    private boolean splittable = true;
+    private long headEnd = -1;
+    private long tailStart = -1;
+    private long[] rangeStarts = new long[16];
+    private int rangeCount = 0;
+
+    // states of the scanner
+    private final byte[] tagName = new byte[MAX_TAG_NAME_LENGTH];
+    private int tagNameLength = -1;
+    private long tagStart;
+    private boolean awaitingSheetDataEnd = false;
+    private byte previousByte;
+
+    private XSSFSheetSplitter(long splitSize) {
+        assert splitSize > 0;
+        this.splitSize = splitSize;
+    }
+
+    /**
+     * Inflates the given sheet stream entirely and finds the row ranges of it.
+     *
+     * @param sheetIs   {@link InputStream} of the sheet part, it will not be closed
+     * @param splitSize approximate size in bytes of each row range
+     * @return a new {@link XSSFSheetSplitter}
+     * @throws IOException any I/O error occurred when inflating the sheet
+     */
+    @NotNull
+    static XSSFSheetSplitter split(@NotNull InputStream sheetIs, long splitSize) throws IOException {
+        final XSSFSheetSplitter splitter = new XSSFSheetSplitter(splitSize);
+        try {
+            splitter.inflate(sheetIs);
+            splitter.verifyRangeStarts();
+        } catch (IOException | RuntimeException e) {
+            splitter.close();
+            throw e;
+        }
+        return splitter;
+    }
+
+    private void inflate(@NotNull InputStream sheetIs) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+
+        // keeps the sheet in memory until it turns out to be larger than the split size
+        final ByteArrayOutputStream memoryOut = new ByteArrayOutputStream(BUFFER_SIZE);
+        int n;
+        while ((n = sheetIs.read(buffer)) != -1) {
+            scan(buffer, n);
+            memoryOut.write(buffer, 0, n);
+            size += n;
+
+            if (size > splitSize) {
+                break;
+            }
+        }
+
+        if (size <= splitSize) {
+            memoryData = memoryOut.toByteArray();
+            return;
+        }
+
+        tempFile = Files.createTempFile("workbook-event-reader-", ".xml");
+        channel = FileChannel.open(tempFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        writeFully(ByteBuffer.wrap(memoryOut.toByteArray()), 0);
+        while ((n = sheetIs.read(buffer)) != -1) {
+            scan(buffer, n);
+            writeFully(ByteBuffer.wrap(buffer, 0, n), size);
+            size += n;
+        }
+    }
+
+    private void writeFully(@NotNull ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // finds the positions of sheetData and rows across all buffers, ignoring everything but tag names
+    private void scan(@NotNull byte[] buffer, int length) {
+        if (!splittable || tailStart != -1) {
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            final byte b = buffer[i];
+            final long position = size + i;
+
+            if (awaitingSheetDataEnd) {
+                if (b == '>') {
+                    awaitingSheetDataEnd = false;
+                    if (previousByte == '/') { // <sheetData/>, no rows at all
+                        splittable = false;
+                        return;
+                    }
+                    headEnd = position + 1;
+                }
+            } else if (tagNameLength >= 0) {
+                if (tagNameLength == 0 && b == '!') { // comments, CDATA or DTDs
+                    splittable = false;
+                    return;
+                } else if (tagNameLength == 0 && b == '?' && headEnd != -1) { // processing instructions in rows
+                    splittable = false;
+                    return;
+                } else if (tagNameLength == 0 && b == '/') { // the slash of an end tag
+                    tagName[tagNameLength++] = b;
+                } else if (isTagNameEnd(b)) {
+                    if (!handleTagName(b)) {
+                        return;
+                    }
+                    tagNameLength = -1;
+                } else if (tagNameLength < MAX_TAG_NAME_LENGTH) {
+                    tagName[tagNameLength++] = b;
+                } else { // too long to be a tag of interest
+                    tagNameLength = -1;
+                }
+            } else if (b == '<') {
+                tagNameLength = 0;
+                tagStart = position;
+            }
+
+            previousByte = b;
+        }
+    }
+
+    private static boolean isTagNameEnd(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '>' || b == '/';
+    }
+
+    private boolean handleTagName(byte terminator) {
+        if (headEnd == -1) {
+            if (isTagName(TAG_SHEET_DATA)) {
+                if (terminator == '>') {
+                    headEnd = tagStart + TAG_SHEET_DATA.length + 2;
+                } else if (terminator == '/') {
+                    splittable = false;
+                    return false;
+                } else {
+                    awaitingSheetDataEnd = true;
+                }
+            }
+        } else if (tailStart == -1) {
+            if (isTagName(TAG_ROW)) {
+                addRow(tagStart);
+            } else if (isTagName(TAG_SHEET_DATA_END)) {
+                tailStart = tagStart;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isTagName(@NotNull byte[] name) {
+        if (tagNameLength != name.length) {
+            return false;
+        }
+        for (int i = 0; i < tagNameLength; i++) {
+            if (tagName[i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addRow(long rowStart) {
+        // only the rows that make a range long enough are recorded
+        if (rangeCount == 0 || rowStart - rangeStarts[rangeCount - 1] >= splitSize) {
+            if (rangeCount == rangeStarts.length) {
+                rangeStarts = Arrays.copyOf(rangeStarts, rangeCount << 1);
+            }
+            rangeStarts[rangeCount++] = rowStart;
+        }
+    }
+
+    // rows without a row reference are numbered after the previous row, which cannot start a range
+    private void verifyRangeStarts() throws IOException {
+        if (headEnd == -1 || tailStart == -1 || rangeCount == 0) {
+            splittable = false;
+        }
+        if (!splittable) {
+            rangeCount = 0;
+            return;
+        }
+
+        int verifiedCount = 1; // the first range always starts at the beginning of sheetData
+        rangeStarts[0] = headEnd;
+        for (int i = 1; i < rangeCount; i++) {
+            if (hasRowReference(rangeStarts[i])) {
+                rangeStarts[verifiedCount++] = rangeStarts[i];
+            }
+        }
+        rangeCount = verifiedCount;
+    }
+
+    private boolean hasRowReference(long rowStart) throws IOException {
+        final int length = (int) Math.min(MAX_ROW_TAG_LENGTH, size - rowStart);
+        final byte[] rowTag = new byte[length];
+        readFully(rowTag, rowStart);
+
+        // looks for ' r=' or ' r =' in the start tag, skipping '<row'
+        for (int i = TAG_ROW.length + 1; i < length; i++) {
+            final byte b = rowTag[i];
+            if (b == '>') {
+                return false;
+            }
+            if (b == 'r' && isTagNameEnd(rowTag[i - 1])) {
+                int j = i + 1;
+                while (j < length && (rowTag[j] == ' ' || rowTag[j] == '\t' ||
+                        rowTag[j] == '\r' || rowTag[j] == '\n')) {
+                    j++;
+                }
+                if (j < length && rowTag[j] == '=') {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void readFully(@NotNull byte[] dest, long position) throws IOException {
+        if (memoryData != null) {
+            System.arraycopy(memoryData, (int) position, dest, 0, dest.length);
+        } else {
+            final ByteBuffer buffer = ByteBuffer.wrap(dest);
+            while (buffer.hasRemaining()) {
+                final int n = channel.read(buffer, position + buffer.position());
+                if (n == -1) {
+                    throw new EOFException();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the count of row ranges, a sheet that cannot be split has only one range.
+     *
+     * @return count of row ranges
+     */
+    int getRangeCount() {
+        return splittable ? rangeCount : 1;
+    }
+
+    /**
+     * Opens the row range at the given index as a well-formed sheet document.<br>
+     * The returned stream could be read on any thread while the splitter stays open.
+     *
+     * @param rangeIndex index of the row range
+     * @return {@link InputStream} of the row range
+     */
+    @NotNull
+    InputStream openRange(int rangeIndex) {
+        assert rangeIndex >= 0 && rangeIndex < getRangeCount();
+
+        if (!splittable) {
+            return openBytes(0, size);
+        }
+
+        final long rangeStart = rangeStarts[rangeIndex];
+        final long rangeEnd = rangeIndex + 1 < rangeCount ? rangeStarts[rangeIndex + 1] : tailStart;
+        return new SequenceInputStream(
+                new SequenceInputStream(openBytes(0, headEnd), openBytes(rangeStart, rangeEnd)),
+                openBytes(tailStart, size));
+    }
+
+    @NotNull
+    private InputStream openBytes(long start, long end) {
+        if (memoryData != null) {
+            return new ByteArrayInputStream(memoryData, (int) start, (int) (end - start));
+        } else {
+            return new ChannelRangeInputStream(channel, start, end);
+        }
+    }
+
+    /**
+     * Deletes the temporary file if any.
+     *
+     * @throws IOException any I/O error occurred when deleting the file
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            if (tempFile != null) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    @NotNull
+    private static byte[] bytes(@NotNull String value) {
+        final byte[] result = new byte[value.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) value.charAt(i);
+        }
+        return result;
+    }
+
+    // reads a range of the file with positional reads, so that several streams could share the same channel
+    private static class ChannelRangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        private long position;
+
+        ChannelRangeInputStream(@NotNull FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+            buffer.limit(0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fillBuffer()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(@NotNull byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fillBuffer()) {
+                return -1;
+            }
+
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        private boolean fillBuffer() throws IOException {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+            if (position >= end) {
+                return false;
+            }
+
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            final int n = channel.read(buffer, position);
+            buffer.flip();
+            if (n <= 0) {
+                return false;
+            }
+            position += n;
+            return true;
+        }
+    }
+
+}
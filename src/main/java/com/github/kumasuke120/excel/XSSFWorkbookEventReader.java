@@ -5,14 +5,14 @@ import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.poifs.filesystem.DocumentFactoryHelper;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.BuiltinFormats;
 import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.ss.usermodel.RichTextString;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
 import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
 import org.apache.xmlbeans.XmlException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -27,12 +27,15 @@ import org.xml.sax.helpers.DefaultHandler;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * A {@link WorkbookEventReader} reads a SpreadsheetML workbook (Excel 2007 onwards) whose file extension
@@ -41,13 +44,39 @@ import java.util.Map;
 @SuppressWarnings("unused")
 public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
 
+    private static final ThreadLocal<Integer> parallelismLocal = ThreadLocal.withInitial(() -> 1);
+    private static final ThreadLocal<Long> sheetSplitSizeLocal = ThreadLocal.withInitial(() -> 0L);
+    private static final ThreadLocal<Boolean> byteScanningLocal = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Integer> prefetchDepthLocal = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<Integer> prefetchBufferSizeLocal = ThreadLocal.withInitial(() -> 64 * 1024);
+    private static final ThreadLocal<Boolean> rawValuesLocal = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> lazyCellValuesLocal = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Integer> asyncBufferSizeLocal = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<WaitStrategy> asyncWaitStrategyLocal =
+            ThreadLocal.withInitial(() -> WaitStrategy.PARK);
+    private static final ThreadLocal<Integer> compactSharedStringsCacheSizeLocal =
+            ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<Long> sharedStringsMappingThresholdLocal = ThreadLocal.withInitial(() -> 0L);
+
     private OPCPackage opcPackage;
     private XSSFReader xssfReader;
-    private XSSFSharedStringsTable sharedStringsTable;
+    private XSSFSharedStrings sharedStrings;
     private StylesTable stylesTable;
     private DataFormatter dataFormatter;
 
+    private CellNumberFormat[] cellNumberFormats;
     private boolean use1904Windowing;
+    private int parallelism;
+    private long sheetSplitSize;
+    private int prefetchDepth;
+    private int prefetchBufferSize;
+    private volatile long prefetchWaitNanos;
+    private boolean byteScanning;
+    private boolean rawValues;
+    private boolean lazyCellValues;
+    private boolean lazySharedStrings;
+    private int compactSharedStringsCacheSize;
+    private long sharedStringsMappingThreshold;
 
     /**
      * Creates a new {@link XSSFWorkbookEventReader} based on the given file path.
@@ -99,6 +128,239 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
         super(in, password);
     }
 
+    /**
+     * Sets all following-opened instances of {@link XSSFWorkbookEventReader} on the current thread parsing
+     * at most the given count of sheets in parallel.<br>
+     * Events are still delivered in sheet order on the thread calling {@link #read(EventHandler)}, and the events of
+     * the sheets being parsed ahead will be buffered in memory. The events of the earliest sheet are delivered in
+     * chunks of 4,096 as they are parsed, while the other sheets buffer at most 262,144 events altogether, typically
+     * some tens of megabytes, beyond which their workers wait.
+     *
+     * @param parallelism maximum count of sheets to be parsed in parallel, <code>1</code> means sequentially
+     * @throws IllegalArgumentException <code>parallelism</code> is less than <code>1</code>
+     */
+    public static void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism should be positive: " + parallelism);
+        }
+
+        if (parallelism == 1) {
+            parallelismLocal.remove();
+        } else {
+            parallelismLocal.set(parallelism);
+        }
+    }
+
+    /**
+     * Sets all following-opened instances of {@link XSSFWorkbookEventReader} on the current thread splitting
+     * every sheet larger than the given size into ranges of rows, which will be parsed in parallel.<br>
+     * It takes effect only when the parallelism is greater than <code>1</code>, see {@link #setParallelism(int)}.
+     * Every sheet will be inflated entirely before being parsed, and the sheets larger than the given size
+     * will be inflated to temporary files.<br>
+     * It is not public until it is measured to read faster than parsing each sheet as a whole, as inflating
+     * the sheets first costs more than it saves on a single core.
+     *
+     * @param sheetSplitSize approximate size in bytes of the uncompressed xml of each row range,
+     *                       <code>0</code> means never splitting sheets
+     * @throws IllegalArgumentException <code>sheetSplitSize</code> is negative
+     */
+    static void setSheetSplitSize(long sheetSplitSize) {
+        if (sheetSplitSize < 0) {
+            throw new IllegalArgumentException("sheetSplitSize should be non-negative: " + sheetSplitSize);
+        }
+
+        if (sheetSplitSize == 0) {
+            sheetSplitSizeLocal.remove();
+        } else {
+            sheetSplitSizeLocal.set(sheetSplitSize);
+        }
+    }
+
+    /**
+     * Sets all following-opened instances of {@link XSSFWorkbookEventReader} on the current thread inflating
+     * the sheets on a background thread ahead of parsing.<br>
+     * At most <code>depth</code> buffers of <code>bufferSize</code> bytes will be filled ahead, and the time
+     * spent waiting for them could be retrieved by {@link #getPrefetchWaitTime()}. It takes effect only when
+     * the sheets are parsed sequentially, see {@link #setParallelism(int)}.
+     *
+     * @param depth      maximum count of buffers filled ahead, <code>0</code> means never inflating ahead
+     * @param bufferSize size in bytes of each buffer
+     * @throws IllegalArgumentException <code>depth</code> is negative or <code>bufferSize</code> is not positive
+     */
+    public static void setPrefetch(int depth, int bufferSize) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("depth should be non-negative: " + depth);
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize should be positive: " + bufferSize);
+        }
+
+        if (depth == 0) {
+            prefetchDepthLocal.remove();
+            prefetchBufferSizeLocal.remove();
+        } else {
+            prefetchDepthLocal.set(depth);
+            prefetchBufferSizeLocal.set(bufferSize);
+        }
+    }
+
+    /**
+     * Returns the total time the last reading process has spent waiting for the sheets being inflated ahead,
+     * which is always zero if the sheets are not inflated ahead, see {@link #setPrefetch(int, int)}.
+     *
+     * @return waited time of the last reading process
+     */
+    @NotNull
+    public Duration getPrefetchWaitTime() {
+        return Duration.ofNanos(prefetchWaitNanos);
+    }
+
+    /**
+     * Sets all following-opened instances of {@link XSSFWorkbookEventReader} on the current thread decoding
+     * the sheets by scanning their UTF-8 bytes directly instead of using a SAX parser.<br>
+     * The scanner only understands the elements of the sheet data, which makes it much faster while producing
+     * the same events. Sheets that are not encoded in UTF-8 or that declare a DTD will still be parsed with
+     * a SAX parser, and the scanner does not validate the well-formedness of the sheets.
+     *
+     * @param byteScanning <code>true</code> to scan the bytes of sheets directly, otherwise <code>false</code>
+     */
+    public static void setByteScanning(boolean byteScanning) {
+        if (byteScanning) {
+            byteScanningLocal.set(true);
+        } else {
+            byteScanningLocal.remove();
+        }
+    }
+
+    /**
+     * Sets all following-opened instances of {@link XSSFWorkbookEventReader} on the current thread reading
+     * the stored values of cells without applying their styles.<br>
+     * Numeric cells will be read as <code>int</code>, <code>long</code> or <code>double</code> as they are
+     * stored, dates will be read as their excel serial numbers, and cells formatted as text will be read as
+     * numbers. The styles part of the workbook will not be loaded at all.
+     *
+     * @param rawValues <code>true</code> to read the stored values of cells, otherwise <code>false</code>
+     */
+    public static void setRawValues(boolean rawValues) {
+        if (rawValues) {
+            rawValuesLocal.set(true);
+        } else {
+            rawValuesLocal.remove();
+        }
+    }
+
+    /**
+     * Sets all following-opened instances of {@link XSSFWorkbookEventReader} on the current thread deferring
+     * the decoding of numeric, date and shared string cells until the values of their {@link CellValue}s
+     * are accessed.<br>
+     * The values are the same as decoded eagerly, but the cells whose values are never accessed cost nothing
+     * to decode. The {@link CellValue}s could be accessed after their events, even on other threads, while
+     * errors in decoding them will be thrown as {@link WorkbookProcessException} by their accessors.
+     *
+     * @param lazyCellValues <code>true</code> to decode cells when their values are accessed,
+     *                       otherwise <code>false</code>
+     */
+    public static void setLazyCellValues(boolean lazyCellValues) {
+        if (lazyCellValues) {
+            lazyCellValuesLocal.set(true);
+        } else {
+            lazyCellValuesLocal.remove();
+        }
+    }
+
+    /**
+     * Sets all following-opened instances of {@link XSSFWorkbookEventReader} on the current thread parsing
+     * the workbook on another thread, whose events are handed off to the thread calling
+     * {@link #read(EventHandler)} through a ring of <code>bufferSize</code> reused slots.<br>
+     * The handler still runs on the calling thread, so that it could overlap with the parsing while
+     * {@link WorkbookEventReader#currentRead()} and the cancellation work as usual.
+     *
+     * @param bufferSize   count of events could be handed off ahead, rounded up to a power of two,
+     *                     <code>0</code> means parsing on the calling thread
+     * @param waitStrategy the way both threads wait when the ring is empty or full
+     * @throws IllegalArgumentException <code>bufferSize</code> is negative or greater than <code>2^30</code>
+     * @throws NullPointerException     <code>waitStrategy</code> is <code>null</code>
+     */
+    public static void setAsync(int bufferSize,
+                                @NotNull(exception = NullPointerException.class) WaitStrategy waitStrategy) {
+        if (bufferSize < 0 || bufferSize > 1 << 30) {
+            throw new IllegalArgumentException("bufferSize should be between 0 and 2^30: " + bufferSize);
+        }
+        Objects.requireNonNull(waitStrategy);
+
+        if (bufferSize == 0) {
+            asyncBufferSizeLocal.remove();
+            asyncWaitStrategyLocal.remove();
+        } else {
+            asyncBufferSizeLocal.set(bufferSize);
+            asyncWaitStrategyLocal.set(waitStrategy);
+        }
+    }
+
+    /**
+     * Sets all following-opened instances of {@link XSSFWorkbookEventReader} on the current thread loading
+     * the shared strings into a compact store instead of the shared strings table of Apache POI.<br>
+     * The texts are packed into a byte arena when the workbook is opened, which takes a fraction of the memory
+     * of the table, while the decoded {@link String}s of the last <code>cacheSize</code> indexes used are kept
+     * to be returned again. The values read are the same in both ways.
+     *
+     * @param cacheSize count of decoded strings kept, <code>0</code> means using the table of Apache POI
+     * @throws IllegalArgumentException <code>cacheSize</code> is negative
+     */
+    public static void setCompactSharedStrings(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize should be non-negative: " + cacheSize);
+        }
+
+        if (cacheSize == 0) {
+            compactSharedStringsCacheSizeLocal.remove();
+        } else {
+            compactSharedStringsCacheSizeLocal.set(cacheSize);
+        }
+    }
+
+    /**
+     * Sets all following-opened instances of {@link XSSFWorkbookEventReader} on the current thread storing
+     * the shared strings in a temporary file mapped into memory once they grow beyond <code>threshold</code>
+     * bytes, so that workbooks whose shared strings exceed the heap could be read.<br>
+     * The shared strings are packed as {@link #setCompactSharedStrings(int)} does, they stay on the heap if their
+     * packed bytes are no more than <code>threshold</code>, otherwise they are moved into the file, which is
+     * unmapped and deleted when the reader is closed. The decoded strings kept are as many as set by
+     * {@link #setCompactSharedStrings(int)}, none if it is not set. The values read are the same in all ways,
+     * while shared string cells are decoded at once even if {@link #setLazyCellValues(boolean)} is set, since
+     * the file could not be read after the reader is closed.
+     *
+     * @param threshold max count of bytes of shared strings kept on the heap,
+     *                  <code>0</code> means never storing them in a file
+     * @throws IllegalArgumentException <code>threshold</code> is negative or greater than <code>2^30</code>
+     */
+    public static void setMappedSharedStrings(long threshold) {
+        if (threshold < 0 || threshold > 1 << 30) {
+            throw new IllegalArgumentException("threshold should be between 0 and 2^30: " + threshold);
+        }
+
+        if (threshold == 0) {
+            sharedStringsMappingThresholdLocal.remove();
+        } else {
+            sharedStringsMappingThresholdLocal.set(threshold);
+        }
+    }
+
+    @Override
+    void doOnStartOpen() {
+        asyncBufferSize = asyncBufferSizeLocal.get();
+        asyncWaitStrategy = asyncWaitStrategyLocal.get();
+        parallelism = parallelismLocal.get();
+        rawValues = rawValuesLocal.get();
+        lazyCellValues = lazyCellValuesLocal.get();
+        byteScanning = byteScanningLocal.get();
+        sheetSplitSize = sheetSplitSizeLocal.get();
+        prefetchDepth = prefetchDepthLocal.get();
+        prefetchBufferSize = prefetchBufferSizeLocal.get();
+        compactSharedStringsCacheSize = compactSharedStringsCacheSizeLocal.get();
+        sharedStringsMappingThreshold = sharedStringsMappingThresholdLocal.get();
+    }
+
     @Override
     void doOpen(@NotNull InputStream in, @Nullable String password) throws Exception {
         Exception thrown = null;
@@ -139,11 +401,86 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
 
     private void initFromOpcPackage() throws IOException, OpenXML4JException, XmlException {
         xssfReader = new XSSFReader(opcPackage);
-        sharedStringsTable = XSSFSharedStringsTable.getSharedStringsTable(xssfReader);
-        stylesTable = xssfReader.getStylesTable();
-        dataFormatter = new DataFormatter();
+        sharedStrings = compactSharedStringsCacheSize > 0 || sharedStringsMappingThreshold > 0 ?
+                loadCompactSharedStrings() : XSSFSharedStringsTable.getSharedStringsTable(xssfReader);
+        // lazy values might be decoded after the reader is closed
+        lazySharedStrings = lazyCellValues && (sharedStrings == null || sharedStrings.isReadableAfterClose());
+        try {
+            // styles are only used to format the values
+            stylesTable = rawValues ? null : xssfReader.getStylesTable();
+            dataFormatter = new DataFormatter();
+
+            initCellNumberFormats();
+
+            initUse1904Windowing();
+        } catch (Exception e) {
+            // the shared strings might hold a temporary file, while no clean action is created yet
+            if (sharedStrings != null) {
+                try {
+                    sharedStrings.close();
+                } catch (IOException closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+            throw e;
+        }
+    }
+
+    // resolves the number formats of all cell styles, so that cells could be decoded with a lookup
+    private void initCellNumberFormats() {
+        final int cellStyleCount = stylesTable == null ? 0 : stylesTable.getNumCellStyles();
+        cellNumberFormats = new CellNumberFormat[cellStyleCount];
+        for (int xfIndex = 0; xfIndex < cellStyleCount; xfIndex++) {
+            cellNumberFormats[xfIndex] = resolveCellNumberFormat(xfIndex);
+        }
+    }
+
+    @NotNull
+    private CellNumberFormat getCellNumberFormat(int xfIndex) {
+        if (xfIndex >= 0 && xfIndex < cellNumberFormats.length) {
+            return cellNumberFormats[xfIndex];
+        } else {
+            return resolveCellNumberFormat(xfIndex);
+        }
+    }
+
+    @NotNull
+    private CellNumberFormat resolveCellNumberFormat(int xfIndex) {
+        final short formatIndex = getFormatIndex(xfIndex);
+        final String formatString = getFormatString(formatIndex);
+        return CellNumberFormat.of(formatIndex, formatString);
+    }
+
+    // tests if the values of the format are displayed as numbers, which are whole numbers if they are stored so
+    private static boolean isNumberFormat(@NotNull CellNumberFormat cellNumberFormat) {
+        final int kind = cellNumberFormat.getKind();
+        return kind == CellNumberFormat.KIND_GENERAL || kind == CellNumberFormat.KIND_NUMBER;
+    }
+
+    private short getFormatIndex(int xfIndex) {
+        // valid numFmtId is non-negative, -1 denotes there is no cell format for the cell
+        if (xfIndex == -1) {
+            // returns the default format index
+            return 0;
+        }
+
+        CTXf cellXf = stylesTable.getCellXfAt(xfIndex);
+        if (cellXf.isSetNumFmtId()) {
+            return (short) cellXf.getNumFmtId();
+        } else {
+            // returns the default format index
+            return 0;
+        }
+    }
+
+    @Nullable
+    private String getFormatString(short numFmtId) {
+        final String formatString = BuiltinFormats.getBuiltinFormat(numFmtId);
+        if (formatString != null) {
+            return formatString;
+        }
 
-        initUse1904Windowing();
+        return stylesTable.getNumberFormatAt(numFmtId);
     }
 
     private void initUse1904Windowing() throws IOException, OpenXML4JException, XmlException {
@@ -166,8 +503,20 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
     void doRead(@NotNull EventHandler handler) throws Exception {
         handler.onStartDocument();
 
+        if (parallelism > 1) {
+            readSheetsInParallel(handler);
+        } else if (prefetchDepth > 0) {
+            readSheetsWithPrefetch(handler);
+        } else {
+            readSheets(handler);
+        }
+
+        handler.onEndDocument();
+    }
+
+    private void readSheets(@NotNull EventHandler handler) throws Exception {
         final SAXParser saxParser = createSAXParser();
-        final ReaderSheetHandler saxHandler = new ReaderSheetHandler(handler);
+        final ReaderSheetHandler saxHandler = new ReaderSheetHandler(handler, dataFormatter);
 
         int currentSheetIndex = -1;
         final XSSFReader.SheetIterator sheetIt = getSheetIterator();
@@ -177,13 +526,104 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                 handler.onStartSheet(++currentSheetIndex, sheetName);
 
                 saxHandler.initializeForNewSheet(currentSheetIndex);
-                saxParser.parse(sheetIs, saxHandler);
+                parseSheet(saxParser, sheetIs, saxHandler);
 
                 handler.onEndSheet(currentSheetIndex);
             }
         }
+    }
 
-        handler.onEndDocument();
+    private void readSheetsWithPrefetch(@NotNull EventHandler handler) throws Exception {
+        final SAXParser saxParser = createSAXParser();
+        final ReaderSheetHandler saxHandler = new ReaderSheetHandler(handler, dataFormatter);
+
+        prefetchWaitNanos = 0;
+        try (final XSSFSheetPrefetcher prefetcher = new XSSFSheetPrefetcher(getSheetIterator(),
+                prefetchDepth, prefetchBufferSize)) {
+            try {
+                int currentSheetIndex = -1;
+                while (prefetcher.nextSheet()) {
+                    handler.onStartSheet(++currentSheetIndex, prefetcher.getSheetName());
+
+                    saxHandler.initializeForNewSheet(currentSheetIndex);
+                    parseSheet(saxParser, prefetcher.getSheetStream(), saxHandler);
+
+                    handler.onEndSheet(currentSheetIndex);
+                }
+            } finally {
+                prefetchWaitNanos = prefetcher.getWaitNanos();
+            }
+        }
+    }
+
+    private void readSheetsInParallel(@NotNull EventHandler handler) throws Exception {
+        try (final ParallelEventDispatcher dispatcher = new ParallelEventDispatcher(handler, parallelism)) {
+            int currentSheetIndex = -1;
+            final XSSFReader.SheetIterator sheetIt = getSheetIterator();
+            while (sheetIt.hasNext()) {
+                // the iterator is not thread-safe, opens the sheets on the current thread
+                final InputStream sheetIs = sheetIt.next();
+                final String sheetName = sheetIt.getSheetName();
+                final int sheetIndex = ++currentSheetIndex;
+
+                if (sheetSplitSize > 0) {
+                    submitSheetRanges(dispatcher, sheetIs, sheetIndex, sheetName);
+                    continue;
+                }
+
+                dispatcher.submit(sheetIs, workerHandler -> {
+                    workerHandler.onStartSheet(sheetIndex, sheetName);
+
+                    // DataFormatter is not thread-safe, every worker uses its own one
+                    final ReaderSheetHandler saxHandler = new ReaderSheetHandler(workerHandler, new DataFormatter());
+                    saxHandler.initializeForNewSheet(sheetIndex);
+                    parseSheet(createSAXParser(), sheetIs, saxHandler);
+
+                    workerHandler.onEndSheet(sheetIndex);
+                });
+            }
+
+            dispatcher.finish();
+        }
+    }
+
+    private void submitSheetRanges(@NotNull ParallelEventDispatcher dispatcher, @NotNull InputStream sheetIs,
+                                   int sheetIndex, @NotNull String sheetName) throws Exception {
+        final XSSFSheetSplitter splitter;
+        try (final InputStream in = sheetIs) {
+            splitter = XSSFSheetSplitter.split(in, sheetSplitSize);
+        }
+
+        boolean splitterSubmitted = false;
+        try {
+            final int rangeCount = splitter.getRangeCount();
+            for (int rangeIndex = 0; rangeIndex < rangeCount; rangeIndex++) {
+                final boolean firstRange = rangeIndex == 0;
+                final boolean lastRange = rangeIndex == rangeCount - 1;
+                final InputStream rangeIs = splitter.openRange(rangeIndex);
+
+                // the splitter is closed with the last range, after all its ranges have been replayed
+                dispatcher.submit(lastRange ? splitter : null, workerHandler -> {
+                    if (firstRange) {
+                        workerHandler.onStartSheet(sheetIndex, sheetName);
+                    }
+
+                    // every range starts with a row reference, so that no state is shared between ranges
+                    final ReaderSheetHandler saxHandler = new ReaderSheetHandler(workerHandler, new DataFormatter());
+                    saxHandler.initializeForNewSheet(sheetIndex);
+                    parseSheet(createSAXParser(), rangeIs, saxHandler);
+
+                    if (lastRange) {
+                        workerHandler.onEndSheet(sheetIndex);
+                    }
+                });
+                splitterSubmitted = lastRange;
+            }
+        } finally {
+            if (!splitterSubmitted) {
+                splitter.close();
+            }
+        }
     }
 
     @NotNull
@@ -193,6 +633,35 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
         return (XSSFReader.SheetIterator) sheetsData;
     }
 
+    private void parseSheet(@NotNull SAXParser saxParser, @NotNull InputStream sheetIs,
+                            @NotNull ReaderSheetHandler saxHandler) throws IOException, SAXException {
+        if (byteScanning) {
+            final InputStream fallbackIs = saxHandler.getScanner().scan(sheetIs);
+            if (fallbackIs == null) { // scanned successfully
+                return;
+            }
+            sheetIs = fallbackIs;
+        }
+
+        saxParser.parse(sheetIs, saxHandler);
+    }
+
+    @NotNull
+    private XSSFSharedStrings loadCompactSharedStrings() throws IOException {
+        final List<PackagePart> parts =
+                opcPackage.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        try (final InputStream in = parts.isEmpty() ? null : parts.get(0).getInputStream()) {
+            if (sharedStringsMappingThreshold > 0) {
+                return XSSFMappedSharedStrings.read(in, createSAXParser(), sharedStringsMappingThreshold,
+                                                    compactSharedStringsCacheSize);
+            } else {
+                return XSSFCompactSharedStrings.read(in, createSAXParser(), compactSharedStringsCacheSize);
+            }
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new WorkbookProcessException(e);
+        }
+    }
+
     @NotNull
     private SAXParser createSAXParser() throws ParserConfigurationException, SAXException {
         final SAXParserFactory factory = SAXParserFactory.newInstance();
@@ -202,21 +671,38 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
 
     private static class XSSFReaderCleanAction extends ReaderCleanAction {
         private final OPCPackage opcPackage;
-        private final XSSFSharedStringsTable sharedStringsTable;
+        private final XSSFSharedStrings sharedStrings;
 
         XSSFReaderCleanAction(@NotNull XSSFWorkbookEventReader reader) {
             this.opcPackage = reader.opcPackage;
-            this.sharedStringsTable = reader.sharedStringsTable;
+            this.sharedStrings = reader.sharedStrings;
         }
 
         @Override
         void doClean() throws Exception {
-            if (opcPackage != null) {
-                opcPackage.close();
+            // the shared strings might hold a temporary file, which should be removed whatever happens
+            Exception thrown = null;
+            try {
+                if (opcPackage != null) {
+                    opcPackage.close();
+                }
+            } catch (Exception e) {
+                thrown = e;
             }
-            if (sharedStringsTable != null) {
-                sharedStringsTable.close();
+
+            try {
+                if (sharedStrings != null) {
+                    sharedStrings.close();
+                }
+            } catch (Exception e) {
+                if (thrown == null) {
+                    thrown = e;
+                } else {
+                    thrown.addSuppressed(e);
+                }
             }
+
+            if (thrown != null) throw thrown;
         }
     }
 
@@ -248,7 +734,11 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
         private static final String CELL_VALUE_BOOLEAN_FALSE = "0";
 
         private final EventHandler handler;
+        private final TypedEventHandler typedHandler;
+        private final CellDecimalRenderer decimalRenderer;
         private final StringBuilder currentCellValueBuilder = new StringBuilder();
+        private final NumericLexer numericLexer = new NumericLexer();
+        private final SerialDateConverter serialDateConverter = new SerialDateConverter();
 
         private String currentElementQName;
 
@@ -261,8 +751,20 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
 
         private boolean isCurrentCellValue = false;
 
-        ReaderSheetHandler(@NotNull EventHandler handler) {
+        private ReaderSheetScanner scanner;
+
+        ReaderSheetHandler(@NotNull EventHandler handler, @NotNull DataFormatter dataFormatter) {
             this.handler = handler;
+            this.typedHandler = TypedCellEvents.asTypedHandler(handler);
+            this.decimalRenderer = new CellDecimalRenderer(dataFormatter);
+        }
+
+        @NotNull
+        ReaderSheetScanner getScanner() {
+            if (scanner == null) {
+                scanner = new ReaderSheetScanner(this);
+            }
+            return scanner;
         }
 
         void initializeForNewSheet(int currentSheetIndex) {
@@ -344,9 +846,7 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
             currentElementQName = qName;
 
             if (TAG_CELL.equals(localName)) {
-                final Object cellValue = getCurrentCellValue();
-                handler.onHandleCell(currentSheetIndex, currentRowNum, currentColumnNum,
-                        CellValue.newInstance(cellValue));
+                handleCurrentCell();
 
                 // clears its content after processing
                 currentCellValueBuilder.setLength(0);
@@ -364,19 +864,69 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                     (CELL_TYPE_INLINE_STRING.equals(currentCellType) && TAG_INLINE_CELL_VALUE.equals(localName));
         }
 
-        @Nullable
-        private Object getCurrentCellValue() throws SAXParseException {
-            final Object cellValue;
+        private void handleCurrentCell() throws SAXParseException {
+            if (lazyCellValues) {
+                final CellValue lazyCellValue = newLazyCellValue();
+                if (lazyCellValue != null) {
+                    typedHandler.onHandleCell(currentSheetIndex, currentRowNum, currentColumnNum, lazyCellValue);
+                    return;
+                }
+            }
+
             if (CELL_TYPE_ERROR.equals(currentCellType)) {
-                cellValue = null;
+                typedHandler.onBlankCell(currentSheetIndex, currentRowNum, currentColumnNum);
             } else if (CELL_TYPE_BOOLEAN.equals(currentCellType)) {
-                cellValue = getCurrentBooleanCellValue();
-            } else { // treats all other cases as string firstly
-                final String stringCellValue = getCurrentStringCellValue();
-                cellValue = formatNumberDateCellValue(stringCellValue);
+                typedHandler.onBooleanCell(currentSheetIndex, currentRowNum, currentColumnNum,
+                        getCurrentBooleanCellValue());
+            } else if (CELL_TYPE_SHARED_STRING.equals(currentCellType)) {
+                handleStringCell(getCurrentSharedStringCellValue());
+            } else if (isCurrentCellString()) {
+                handleStringCell(currentCellValueBuilder); // the builder is only valid during the call
+            } else {
+                handleCurrentNumberDateCell();
+            }
+        }
+
+        @Nullable
+        private CellValue newLazyCellValue() throws SAXParseException {
+            if (CELL_TYPE_SHARED_STRING.equals(currentCellType)) {
+                return lazySharedStrings ? new LazySharedStringCellValue(getCurrentSharedStringIndex()) : null;
+            } else if (currentCellValueBuilder.length() != 0 && !isCurrentCellString() &&
+                    !CELL_TYPE_ERROR.equals(currentCellType) && !CELL_TYPE_BOOLEAN.equals(currentCellType)) {
+                return new LazyNumberDateCellValue(currentCellValueBuilder.toString(), currentCellXfIndex);
+            } else {
+                return null;
+            }
+        }
+
+        private void handleStringCell(@Nullable CharSequence stringCellValue) {
+            if (stringCellValue == null || stringCellValue.length() == 0) {
+                typedHandler.onBlankCell(currentSheetIndex, currentRowNum, currentColumnNum);
+            } else {
+                typedHandler.onStringCell(currentSheetIndex, currentRowNum, currentColumnNum, stringCellValue);
+            }
+        }
+
+        private void handleCurrentNumberDateCell() {
+            if (currentCellValueBuilder.length() == 0) {
+                typedHandler.onBlankCell(currentSheetIndex, currentRowNum, currentColumnNum);
+                return;
+            }
+
+            // decodes whole numbers without creating strings
+            if (rawValues || isNumberFormat(getCellNumberFormat(currentCellXfIndex))) {
+                numericLexer.lex(currentCellValueBuilder);
+                if (numericLexer.isLong()) {
+                    typedHandler.onLongCell(currentSheetIndex, currentRowNum, currentColumnNum,
+                            numericLexer.longValue());
+                    return;
+                }
             }
 
-            return ReaderUtils.toRelativeType(cellValue);
+            final Object cellValue = decodeNumberDateCellValue(currentCellValueBuilder.toString(),
+                    currentCellXfIndex);
+            TypedCellEvents.handleCell(typedHandler, currentSheetIndex, currentRowNum, currentColumnNum,
+                    ReaderUtils.toRelativeType(cellValue));
         }
 
         @NotNull
@@ -394,99 +944,72 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
         }
 
         @Nullable
-        private String getCurrentStringCellValue() throws SAXParseException {
-            if (CELL_TYPE_SHARED_STRING.equals(currentCellType)) {
-                return getCurrentSharedStringCellValue();
-            } else {
-                return currentCellValueBuilder.toString();
-            }
+        private String getCurrentSharedStringCellValue() throws SAXParseException {
+            return getSharedString(getCurrentSharedStringIndex());
         }
 
-        @Nullable
-        private String getCurrentSharedStringCellValue() throws SAXParseException {
+        private int getCurrentSharedStringIndex() throws SAXParseException {
             final String currentCellValue = currentCellValueBuilder.toString();
-
-            final int sharedStringIndex;
             try {
-                sharedStringIndex = Integer.parseInt(currentCellValue);
+                return Integer.parseInt(currentCellValue);
             } catch (NumberFormatException e) {
                 throw new SAXParseException(
                         "Cannot parse shared string index in tag '" + currentElementQName + "', " +
                                 "which should be a int: " + currentCellValue,
                         null, e);
             }
+        }
 
-            final RichTextString sharedString = sharedStringsTable.getItemAt(sharedStringIndex);
-            return sharedString.getString();
+        @Nullable
+        private String getSharedString(int sharedStringIndex) {
+            return sharedStrings.getString(sharedStringIndex);
         }
 
         @Nullable
-        private Object formatNumberDateCellValue(@Nullable String stringCellValue) {
+        private Object decodeNumberDateCellValue(@NotNull String stringCellValue, int xfIndex) {
+            if (rawValues) {
+                return toRawCellValue(stringCellValue);
+            }
+
             final Object cellValue;
 
-            final short formatIndex = getFormatIndex();
-            final String formatString = getFormatString(formatIndex);
+            final CellNumberFormat cellNumberFormat = getCellNumberFormat(xfIndex);
 
-            if (StringUtils.isEmpty(stringCellValue)) {
-                cellValue = null;
-            } else if (isCurrentCellString() ||
-                    ReaderUtils.isATextFormat(formatIndex, formatString)) { // deals with cell marked as text
+            if (cellNumberFormat.isText()) { // deals with cell marked as text
                 cellValue = stringCellValue;
-            } else if (DateUtil.isADateFormat(formatIndex, formatString)) { // deals with date format
-                Object theValue;
-                try {
-                    double doubleValue = Double.parseDouble(stringCellValue);
-                    if (ReaderUtils.isValidExcelDate(doubleValue)) {
-                        theValue = ReaderUtils.toJsr310DateOrTime(doubleValue, use1904Windowing);
-                    } else {
-                        // treats invalid value as text
-                        theValue = stringCellValue;
-                    }
-                } catch (NumberFormatException e) {
-                    // non-double value in a date format cell, which is tolerable
-                    theValue = stringCellValue;
-                }
-                cellValue = theValue;
-            } else if (ReaderUtils.isAWholeNumber(stringCellValue)) { // deals with whole number
-                // will never throw NumberFormatException
-                cellValue = Long.parseLong(stringCellValue);
-            } else if (ReaderUtils.isADecimalFraction(stringCellValue)) { // deals with decimal fraction
-                // will never throw NumberFormatException
-                final double doubleValue = Double.parseDouble(stringCellValue);
-                final String decimalStringValue = dataFormatter.formatRawCellContents(doubleValue,
-                        formatIndex, formatString);
-                cellValue = ReaderUtils.decimalStringToDecimal(decimalStringValue);
+            } else if (cellNumberFormat.isDate()) { // deals with date format
+                numericLexer.lex(stringCellValue);
+                if (numericLexer.isDouble() && ReaderUtils.isValidExcelDate(numericLexer.doubleValue())) {
+                    cellValue = serialDateConverter.toJsr310DateOrTime(numericLexer.doubleValue(),
+                            use1904Windowing);
+                } else {
+                    // treats invalid value or non-double value in a date format cell as text, which is tolerable
+                    cellValue = stringCellValue;
+                }
             } else {
-                cellValue = stringCellValue;
+                numericLexer.lex(stringCellValue);
+                if (numericLexer.isLong()) { // deals with whole number
+                    cellValue = numericLexer.longValue();
+                } else if (numericLexer.isDouble()) { // deals with decimal fraction
+                    cellValue = decimalRenderer.render(numericLexer.doubleValue(), cellNumberFormat);
+                } else {
+                    cellValue = stringCellValue;
+                }
             }
 
             return cellValue;
         }
 
-        private short getFormatIndex() {
-            // valid numFmtId is non-negative, -1 denotes there is no cell format for the cell
-            if (currentCellXfIndex == -1) {
-                // returns the default format index
-                return 0;
-            }
-
-            CTXf cellXf = stylesTable.getCellXfAt(currentCellXfIndex);
-            if (cellXf.isSetNumFmtId()) {
-                return (short) cellXf.getNumFmtId();
+        @NotNull
+        private Object toRawCellValue(@NotNull String stringCellValue) {
+            numericLexer.lex(stringCellValue);
+            if (numericLexer.isLong()) {
+                return numericLexer.longValue();
+            } else if (numericLexer.isDouble()) {
+                return numericLexer.doubleValue();
             } else {
-                // returns the default format index
-                return 0;
-            }
-        }
-
-        @Nullable
-        private String getFormatString(short numFmtId) {
-            final String formatString = BuiltinFormats.getBuiltinFormat(numFmtId);
-            if (formatString != null) {
-                return formatString;
+                return stringCellValue;
             }
-
-            return stylesTable.getNumberFormatAt(numFmtId);
         }
 
         private boolean isCurrentCellString() {
@@ -501,6 +1024,884 @@ public class XSSFWorkbookEventReader extends AbstractWorkbookEventReader {
                 currentCellValueBuilder.append(ch, start, length);
             }
         }
+
+        // the shared strings table is read-only after it has been loaded, which could be read on any thread
+        private class LazySharedStringCellValue extends LazyCellValue {
+            private final int sharedStringIndex;
+
+            LazySharedStringCellValue(int sharedStringIndex) {
+                this.sharedStringIndex = sharedStringIndex;
+            }
+
+            @Override
+            @Nullable
+            Object decode() {
+                final String sharedString = getSharedString(sharedStringIndex);
+                return StringUtils.isEmpty(sharedString) ? null : sharedString;
+            }
+        }
+
+        // the lexer, the renderer and the converter are only used by lazy cell values once they are enabled
+        private class LazyNumberDateCellValue extends LazyCellValue {
+            private final String stringCellValue;
+            private final int xfIndex;
+
+            LazyNumberDateCellValue(@NotNull String stringCellValue, int xfIndex) {
+                this.stringCellValue = stringCellValue;
+                this.xfIndex = xfIndex;
+            }
+
+            // numbers and dates are never decoded to null
+            @Override
+            boolean mightBeNull() {
+                return false;
+            }
+
+            @Override
+            @Nullable
+            Object decode() {
+                synchronized (ReaderSheetHandler.this) {
+                    return decodeNumberDateCellValue(stringCellValue, xfIndex);
+                }
+            }
+        }
+    }
+
+    // decodes a sheet by scanning its UTF-8 bytes, it shares the states and the cell decoding of ReaderSheetHandler
+    private class ReaderSheetScanner {
+        private static final int BUFFER_SIZE = 64 * 1024;
+        private static final int MAX_INT_DIGITS = 9;
+        private static final int MAX_LONG_DIGITS = 18;
+
+        // elements of interest
+        private static final int ELEMENT_OTHER = 0;
+        private static final int ELEMENT_ROW = 1;
+        private static final int ELEMENT_CELL = 2;
+        private static final int ELEMENT_CELL_VALUE = 3;
+        private static final int ELEMENT_INLINE_STR = 4;
+        private static final int ELEMENT_INLINE_CELL_VALUE = 5;
+
+        private static final String CELL_TYPE_NUMBER = "n";
+
+        private final ReaderSheetHandler sheetHandler;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private InputStream in;
+        private int position;
+        private int limit;
+
+        private final ByteSequence name = new ByteSequence();
+        private final ByteSequence attributeName = new ByteSequence();
+        private final ByteSequence rowReference = new ByteSequence();
+        private final ByteSequence cellReference = new ByteSequence();
+        private final ByteSequence cellType = new ByteSequence();
+        private final ByteSequence cellStyle = new ByteSequence();
+        private final ByteSequence value = new ByteSequence();
+        private int localNameStart;
+
+        ReaderSheetScanner(@NotNull ReaderSheetHandler sheetHandler) {
+            this.sheetHandler = sheetHandler;
+        }
+
+        /**
+         * Scans the given sheet and triggers the events on the handler of the {@link ReaderSheetHandler}.
+         *
+         * @param in {@link InputStream} of the sheet
+         * @return <code>null</code> if the sheet has been scanned, otherwise an {@link InputStream} of the whole
+         * sheet to be parsed by a SAX parser
+         */
+        @Nullable
+        InputStream scan(@NotNull InputStream in) throws IOException, SAXException {
+            this.in = in;
+            this.position = 0;
+            this.limit = 0;
+
+            if (!isScannable()) {
+                // replays the inspected bytes for the SAX parser
+                final InputStream inspectedIs = new ByteArrayInputStream(Arrays.copyOf(buffer, limit));
+                return new SequenceInputStream(inspectedIs, in);
+            }
+
+            try {
+                scanDocument();
+            } finally {
+                this.in = null;
+            }
+            return null;
+        }
+
+        // inspects the prolog, only UTF-8 documents without DTDs are scannable
+        private boolean isScannable() throws IOException {
+            int i = 0;
+            if (inspect(0) == 0xEF && inspect(1) == 0xBB && inspect(2) == 0xBF) { // UTF-8 BOM
+                i = 3;
+            }
+
+            while (true) {
+                int b = inspect(i);
+                while (isWhitespace(b)) {
+                    b = inspect(++i);
+                }
+                if (b != '<') { // other encodings
+                    return false;
+                }
+
+                b = inspect(++i);
+                if (b == '?') {
+                    final int end = indexOfInspected(i, '?', '>');
+                    if (end == -1 || !isUtf8Declaration(i + 1, end)) {
+                        return false;
+                    }
+                    i = end + 2;
+                } else if (b == '!') {
+                    if (inspect(i + 1) != '-' || inspect(i + 2) != '-') { // DTDs
+                        return false;
+                    }
+                    final int end = indexOfInspected(i + 3, '-', '-');
+                    if (end == -1) {
+                        return false;
+                    }
+                    i = end + 3;
+                } else {
+                    return b != -1;
+                }
+            }
+        }
+
+        private int inspect(int index) throws IOException {
+            while (index >= limit) {
+                if (limit == buffer.length) {
+                    return -1;
+                }
+                final int n = in.read(buffer, limit, buffer.length - limit);
+                if (n == -1) {
+                    return -1;
+                }
+                limit += n;
+            }
+            return buffer[index] & 0xFF;
+        }
+
+        private int indexOfInspected(int from, int first, int second) throws IOException {
+            for (int i = from; inspect(i + 1) != -1; i++) {
+                if (inspect(i) == first && inspect(i + 1) == second) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isUtf8Declaration(int start, int end) {
+            final String instruction = new String(buffer, start, end - start, StandardCharsets.ISO_8859_1);
+            if (!instruction.startsWith("xml") || instruction.length() > 3 &&
+                    !isWhitespace(instruction.charAt(3))) { // not an xml declaration
+                return true;
+            }
+
+            final int encodingIndex = instruction.indexOf("encoding");
+            if (encodingIndex == -1) { // UTF-8 by default
+                return true;
+            }
+
+            int firstQuoteIndex = encodingIndex;
+            while (firstQuoteIndex < instruction.length() &&
+                    instruction.charAt(firstQuoteIndex) != '"' && instruction.charAt(firstQuoteIndex) != '\'') {
+                firstQuoteIndex++;
+            }
+            if (firstQuoteIndex == instruction.length()) {
+                return false;
+            }
+            final int endQuoteIndex = instruction.indexOf(instruction.charAt(firstQuoteIndex), firstQuoteIndex + 1);
+            if (endQuoteIndex == -1) {
+                return false;
+            }
+
+            final String encoding = instruction.substring(firstQuoteIndex + 1, endQuoteIndex);
+            return "UTF-8".equalsIgnoreCase(encoding) || "UTF8".equalsIgnoreCase(encoding);
+        }
+
+        private void scanDocument() throws IOException, SAXException {
+            if (limit >= 3 && (buffer[0] & 0xFF) == 0xEF) { // skips the BOM, which has been verified
+                position = 3;
+            }
+
+            int b;
+            while ((b = read()) != -1) {
+                if (b == '<') {
+                    scanMarkup();
+                } else if (sheetHandler.isCurrentCellValue) {
+                    position -= 1; // steps back to the first byte of the text
+                    scanText();
+                }
+            }
+        }
+
+        private void scanMarkup() throws IOException, SAXException {
+            final int b = readRequired();
+            if (b == '/') {
+                final int element = readName(readRequired());
+                int c;
+                do {
+                    c = readRequired();
+                } while (c != '>');
+                endElement(element);
+            } else if (b == '?') { // processing instructions
+                skipUntil('?', '>');
+            } else if (b == '!') {
+                scanMarkupDeclaration();
+            } else {
+                final int element = readName(b);
+                final boolean emptyElement = readAttributes(element);
+                startElement(element);
+                if (emptyElement) {
+                    endElement(element);
+                }
+            }
+        }
+
+        private void scanMarkupDeclaration() throws IOException, SAXException {
+            final int b = readRequired();
+            if (b == '-' && readRequired() == '-') { // comments
+                skipUntil('-', '-');
+                if (readRequired() != '>') {
+                    throw newParseException("'--' is not permitted in comments");
+                }
+            } else if (b == '[' && readRequired() == 'C' && readRequired() == 'D' && readRequired() == 'A' &&
+                    readRequired() == 'T' && readRequired() == 'A' && readRequired() == '[') {
+                scanCData();
+            } else {
+                throw newParseException("Unsupported markup declaration");
+            }
+        }
+
+        private void scanCData() throws IOException, SAXException {
+            final boolean recording = sheetHandler.isCurrentCellValue;
+            int previous2 = -1;
+            int previous1 = -1;
+            int c;
+            while (!((c = readRequired()) == '>' && previous1 == ']' && previous2 == ']')) {
+                if (recording) {
+                    if (c == '\r') { // normalizes line endings
+                        value.append('\n');
+                        if (peek() == '\n') {
+                            position += 1;
+                        }
+                    } else {
+                        value.append(c);
+                    }
+                }
+                previous2 = previous1;
+                previous1 = c;
+            }
+
+            if (recording) {
+                value.length -= 2; // removes the ']]' appended
+            }
+        }
+
+        private void scanText() throws IOException, SAXException {
+            while (true) {
+                if (position == limit && !fill()) {
+                    return;
+                }
+
+                final byte[] buffer = this.buffer;
+                final int limit = this.limit;
+                final int start = position;
+                int i = start;
+                while (i < limit) {
+                    final byte c = buffer[i];
+                    if (c == '<' || c == '&' || c == '\r') {
+                        break;
+                    }
+                    i++;
+                }
+                value.append(buffer, start, i - start);
+                position = i;
+
+                if (i < limit) {
+                    final byte c = buffer[i];
+                    if (c == '<') {
+                        return;
+                    }
+
+                    position += 1;
+                    if (c == '&') {
+                        appendReference(value);
+                    } else { // normalizes line endings
+                        value.append('\n');
+                        if (peek() == '\n') {
+                            position += 1;
+                        }
+                    }
+                }
+            }
+        }
+
+        // reads the name of element, and returns its kind
+        private int readName(int first) throws IOException {
+            name.clear();
+            localNameStart = 0;
+
+            int c = first;
+            while (!isWhitespace(c) && c != '>' && c != '/' && c != -1) {
+                if (c == ':') {
+                    localNameStart = name.length + 1;
+                }
+                name.append(c);
+                c = read();
+            }
+            if (c != -1) {
+                position -= 1; // leaves the terminator to the caller
+            }
+
+            final int localNameLength = name.length - localNameStart;
+            final byte[] bytes = name.bytes;
+            final int i = localNameStart;
+            if (localNameLength == 1) {
+                switch (bytes[i]) {
+                    case 'c':
+                        return ELEMENT_CELL;
+                    case 'v':
+                        return ELEMENT_CELL_VALUE;
+                    case 't':
+                        return ELEMENT_INLINE_CELL_VALUE;
+                }
+            } else if (localNameLength == 3) {
+                if (bytes[i] == 'r' && bytes[i + 1] == 'o' && bytes[i + 2] == 'w') {
+                    return ELEMENT_ROW;
+                }
+            } else if (localNameLength == 2) {
+                if (bytes[i] == 'i' && bytes[i + 1] == 's') {
+                    return ELEMENT_INLINE_STR;
+                }
+            }
+            return ELEMENT_OTHER;
+        }
+
+        // reads the attributes, and returns true if the element is empty
+        private boolean readAttributes(int element) throws IOException, SAXException {
+            if (element == ELEMENT_ROW) {
+                rowReference.reset();
+            } else if (element == ELEMENT_CELL) {
+                cellReference.reset();
+                cellType.reset();
+                cellStyle.reset();
+            }
+
+            while (true) {
+                int c = readRequired();
+                while (isWhitespace(c)) {
+                    c = readRequired();
+                }
+
+                if (c == '>') {
+                    return false;
+                } else if (c == '/') {
+                    if (readRequired() != '>') {
+                        throw newParseException("'>' is expected");
+                    }
+                    return true;
+                }
+
+                attributeName.clear();
+                while (c != '=' && !isWhitespace(c)) {
+                    attributeName.append(c);
+                    c = readRequired();
+                }
+                while (isWhitespace(c)) {
+                    c = readRequired();
+                }
+                if (c != '=') {
+                    throw newParseException("'=' is expected");
+                }
+
+                int quote = readRequired();
+                while (isWhitespace(quote)) {
+                    quote = readRequired();
+                }
+                if (quote != '"' && quote != '\'') {
+                    throw newParseException("Quote is expected");
+                }
+
+                readAttributeValue(quote, getAttributeValueSequence(element));
+            }
+        }
+
+        @Nullable
+        private ByteSequence getAttributeValueSequence(int element) {
+            if (attributeName.length != 1) {
+                return null;
+            }
+
+            final byte attribute = attributeName.bytes[0];
+            if (element == ELEMENT_ROW) {
+                if (attribute == 'r') {
+                    return rowReference;
+                }
+            } else if (element == ELEMENT_CELL) {
+                switch (attribute) {
+                    case 'r':
+                        return cellReference;
+                    case 't':
+                        return cellType;
+                    case 's':
+                        return cellStyle;
+                }
+            }
+            return null;
+        }
+
+        private void readAttributeValue(int quote, @Nullable ByteSequence target) throws IOException, SAXException {
+            if (target == null) {
+                int c;
+                do {
+                    c = readRequired();
+                } while (c != quote);
+                return;
+            }
+
+            target.clear();
+            int c;
+            while ((c = readRequired()) != quote) {
+                if (c == '&') {
+                    appendReference(target);
+                } else if (c == '\r') { // normalizes line endings and white spaces
+                    target.append(' ');
+                    if (peek() == '\n') {
+                        position += 1;
+                    }
+                } else if (c == '\n' || c == '\t') {
+                    target.append(' ');
+                } else {
+                    target.append(c);
+                }
+            }
+        }
+
+        // appends the character referred by an entity reference or a character reference
+        private void appendReference(@NotNull ByteSequence target) throws IOException, SAXException {
+            final StringBuilder reference = new StringBuilder(8);
+            int c;
+            while ((c = readRequired()) != ';') {
+                if (reference.length() > 8) {
+                    throw newParseException("Cannot parse reference: &" + reference);
+                }
+                reference.append((char) c);
+            }
+
+            final String referenceName = reference.toString();
+            switch (referenceName) {
+                case "lt":
+                    target.append('<');
+                    return;
+                case "gt":
+                    target.append('>');
+                    return;
+                case "amp":
+                    target.append('&');
+                    return;
+                case "quot":
+                    target.append('"');
+                    return;
+                case "apos":
+                    target.append('\'');
+                    return;
+            }
+
+            if (referenceName.startsWith("#")) {
+                try {
+                    final int codePoint = referenceName.startsWith("#x") ?
+                            Integer.parseInt(referenceName.substring(2), 16) :
+                            Integer.parseInt(referenceName.substring(1));
+                    if (Character.isValidCodePoint(codePoint)) {
+                        target.appendCodePoint(codePoint);
+                        return;
+                    }
+                } catch (NumberFormatException e) {
+                    // reports as the same as other references below
+                }
+            }
+
+            throw newParseException("Cannot parse reference: &" + referenceName + ";");
+        }
+
+        private void startElement(int element) throws SAXException {
+            final ReaderSheetHandler h = sheetHandler;
+            switch (element) {
+                case ELEMENT_CELL: {
+                    startCell();
+                    break;
+                }
+                case ELEMENT_ROW: {
+                    startRow();
+                    break;
+                }
+                case ELEMENT_INLINE_STR: {
+                    if (h.currentCellType == null) {
+                        h.currentCellType = ReaderSheetHandler.CELL_TYPE_INLINE_STRING;
+                    }
+                    break;
+                }
+                case ELEMENT_INLINE_CELL_VALUE: {
+                    if (ReaderSheetHandler.CELL_TYPE_INLINE_STRING.equals(h.currentCellType)) {
+                        h.isCurrentCellValue = true;
+                        value.clear();
+                    }
+                    break;
+                }
+                case ELEMENT_CELL_VALUE: {
+                    h.isCurrentCellValue = true;
+                    value.clear();
+                    break;
+                }
+            }
+        }
+
+        private void startRow() throws SAXException {
+            final ReaderSheetHandler h = sheetHandler;
+            if (!rowReference.present) { // row reference can be left out
+                // treats as a continuation to previous row
+                h.currentRowNum = h.currentRowNum == -1 ? 0 : h.currentRowNum + 1;
+            } else {
+                final int rowNum = parseUnsignedInt(rowReference, 0, rowReference.length);
+                if (rowNum != -1) {
+                    h.currentRowNum = rowNum - 1;
+                } else {
+                    try {
+                        h.currentRowNum = Integer.parseInt(rowReference.toString()) - 1;
+                    } catch (NumberFormatException e) {
+                        throw new SAXParseException("Cannot parse row number in tag '" + name + "'",
+                                null, e);
+                    }
+                }
+            }
+
+            h.handler.onStartRow(h.currentSheetIndex, h.currentRowNum);
+        }
+
+        private void startCell() throws SAXException {
+            final ReaderSheetHandler h = sheetHandler;
+            if (!cellReference.present) { // cell reference can be left out
+                // treats as a continuation to previous column
+                h.currentColumnNum = h.currentColumnNum == -1 ? 0 : h.currentColumnNum + 1;
+            } else {
+                h.currentColumnNum = parseColumnNum();
+            }
+
+            // saves styles of current cell
+            if (!cellStyle.present) {
+                h.currentCellXfIndex = -1;
+            } else {
+                final int xfIndex = parseUnsignedInt(cellStyle, 0, cellStyle.length);
+                h.currentCellXfIndex = xfIndex != -1 ? xfIndex : ReaderUtils.toInt(cellStyle.toString(), -1);
+            }
+            h.currentCellType = cellType.present ? toCellType() : null;
+        }
+
+        // decodes the column part of cell reference arithmetically, e.g. 'AB12' to 27
+        private int parseColumnNum() throws SAXParseException {
+            final byte[] bytes = cellReference.bytes;
+            final int length = cellReference.length;
+
+            int columnNum = 0;
+            int i = 0;
+            while (i < length && bytes[i] >= 'A' && bytes[i] <= 'Z') {
+                columnNum = columnNum * 26 + (bytes[i] - 'A' + 1);
+                i++;
+            }
+
+            final int rowNum = parseUnsignedInt(cellReference, i, length);
+            if (i == 0 || rowNum == -1) { // leaves the rare cases to the regular way
+                final Map.Entry<Integer, Integer> rowAndColumn =
+                        ReaderUtils.cellReferenceToRowAndColumn(cellReference.toString());
+                if (rowAndColumn == null) {
+                    throw new SAXParseException(
+                            "Cannot parse row number or column number in tag '" + name + "'", null);
+                }
+
+                assert rowAndColumn.getKey() == sheetHandler.currentRowNum;
+                return rowAndColumn.getValue();
+            }
+
+            assert rowNum - 1 == sheetHandler.currentRowNum;
+            return columnNum - 1;
+        }
+
+        @NotNull
+        private String toCellType() {
+            if (cellType.length == 1) {
+                switch (cellType.bytes[0]) {
+                    case 's':
+                        return ReaderSheetHandler.CELL_TYPE_SHARED_STRING;
+                    case 'n':
+                        return CELL_TYPE_NUMBER;
+                    case 'b':
+                        return ReaderSheetHandler.CELL_TYPE_BOOLEAN;
+                    case 'e':
+                        return ReaderSheetHandler.CELL_TYPE_ERROR;
+                }
+            } else if (cellType.equalsAscii(ReaderSheetHandler.CELL_TYPE_STRING)) {
+                return ReaderSheetHandler.CELL_TYPE_STRING;
+            } else if (cellType.equalsAscii(ReaderSheetHandler.CELL_TYPE_INLINE_STRING)) {
+                return ReaderSheetHandler.CELL_TYPE_INLINE_STRING;
+            }
+            return cellType.toString();
+        }
+
+        private void endElement(int element) throws SAXException {
+            final ReaderSheetHandler h = sheetHandler;
+            switch (element) {
+                case ELEMENT_CELL: {
+                    handleCell();
+
+                    // clears its content after processing
+                    value.clear();
+                    h.currentCellType = null;
+                    break;
+                }
+                case ELEMENT_ROW: {
+                    h.currentColumnNum = -1;
+                    h.handler.onEndRow(h.currentSheetIndex, h.currentRowNum);
+                    break;
+                }
+                case ELEMENT_INLINE_CELL_VALUE: {
+                    if (ReaderSheetHandler.CELL_TYPE_INLINE_STRING.equals(h.currentCellType)) {
+                        h.isCurrentCellValue = false;
+                    }
+                    break;
+                }
+                case ELEMENT_CELL_VALUE: {
+                    h.isCurrentCellValue = false;
+                    break;
+                }
+            }
+        }
+
+        private void handleCell() throws SAXParseException {
+            final ReaderSheetHandler h = sheetHandler;
+            final TypedEventHandler handler = h.typedHandler;
+            final String type = h.currentCellType;
+
+            // decodes the most common cases without creating intermediate strings, unless numbers are decoded lazily
+            if (type == null || CELL_TYPE_NUMBER.equals(type)) {
+                if (!lazyCellValues && (rawValues || isNumberFormat(getCellNumberFormat(h.currentCellXfIndex)))) {
+                    if (value.length == 0) {
+                        handler.onBlankCell(h.currentSheetIndex, h.currentRowNum, h.currentColumnNum);
+                        return;
+                    }
+
+                    final long longValue = parseLong(value);
+                    if (longValue != Long.MIN_VALUE) {
+                        handler.onLongCell(h.currentSheetIndex, h.currentRowNum, h.currentColumnNum, longValue);
+                        return;
+                    }
+                }
+            } else if (ReaderSheetHandler.CELL_TYPE_SHARED_STRING.equals(type)) {
+                final int sharedStringIndex = parseUnsignedInt(value, 0, value.length);
+                if (sharedStringIndex != -1) {
+                    if (lazySharedStrings) {
+                        handler.onHandleCell(h.currentSheetIndex, h.currentRowNum, h.currentColumnNum,
+                                h.new LazySharedStringCellValue(sharedStringIndex));
+                    } else {
+                        h.handleStringCell(h.getSharedString(sharedStringIndex));
+                    }
+                    return;
+                }
+            } else if (ReaderSheetHandler.CELL_TYPE_ERROR.equals(type)) {
+                handler.onBlankCell(h.currentSheetIndex, h.currentRowNum, h.currentColumnNum);
+                return;
+            } else if (ReaderSheetHandler.CELL_TYPE_BOOLEAN.equals(type) && value.length == 1) {
+                if (value.bytes[0] == '1' || value.bytes[0] == '0') {
+                    handler.onBooleanCell(h.currentSheetIndex, h.currentRowNum, h.currentColumnNum,
+                            value.bytes[0] == '1');
+                    return;
+                }
+            }
+
+            // decodes the others in the same way as ReaderSheetHandler
+            h.currentElementQName = name.equalsAscii(ReaderSheetHandler.TAG_CELL) ?
+                    ReaderSheetHandler.TAG_CELL : name.toString();
+            h.currentCellValueBuilder.setLength(0);
+            value.appendTo(h.currentCellValueBuilder);
+            h.handleCurrentCell();
+        }
+
+        // parses at most 9 ASCII digits, returns -1 for any other cases
+        private int parseUnsignedInt(@NotNull ByteSequence sequence, int start, int end) {
+            if (start >= end || end - start > MAX_INT_DIGITS) {
+                return -1;
+            }
+
+            final byte[] bytes = sequence.bytes;
+            int result = 0;
+            for (int i = start; i < end; i++) {
+                final int digit = bytes[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                result = result * 10 + digit;
+            }
+            return result;
+        }
+
+        // parses an optional sign followed by at most 18 ASCII digits, returns Long.MIN_VALUE for any other cases
+        private long parseLong(@NotNull ByteSequence sequence) {
+            final byte[] bytes = sequence.bytes;
+            final int length = sequence.length;
+
+            int i = 0;
+            boolean negative = false;
+            if (bytes[0] == '-' || bytes[0] == '+') {
+                negative = bytes[0] == '-';
+                i = 1;
+            }
+            if (i == length || length - i > MAX_LONG_DIGITS) {
+                return Long.MIN_VALUE;
+            }
+
+            long result = 0;
+            for (; i < length; i++) {
+                final int digit = bytes[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return Long.MIN_VALUE;
+                }
+                result = result * 10 + digit;
+            }
+            return negative ? -result : result;
+        }
+
+        private boolean fill() throws IOException {
+            final int n = in.read(buffer, 0, buffer.length);
+            position = 0;
+            limit = Math.max(n, 0);
+            return n > 0;
+        }
+
+        private int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private int readRequired() throws IOException, SAXException {
+            final int b = read();
+            if (b == -1) {
+                throw newParseException("Unexpected end of the sheet");
+            }
+            return b;
+        }
+
+        private int peek() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position] & 0xFF;
+        }
+
+        private void skipUntil(int first, int second) throws IOException, SAXException {
+            int previous = -1;
+            int c;
+            while (!((c = readRequired()) == second && previous == first)) {
+                previous = c;
+            }
+        }
+
+        private boolean isWhitespace(int c) {
+            return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+        }
+
+        @NotNull
+        private SAXParseException newParseException(@NotNull String message) {
+            return new SAXParseException(message + " in sheet " + sheetHandler.currentSheetIndex, null);
+        }
+    }
+
+    // a growable sequence of bytes, which is reused to avoid allocations
+    private static class ByteSequence {
+        private byte[] bytes = new byte[32];
+        private int length = 0;
+        private boolean ascii = true;
+        private boolean present = false;
+
+        // marks as absent
+        void reset() {
+            length = 0;
+            ascii = true;
+            present = false;
+        }
+
+        // marks as present but empty
+        void clear() {
+            length = 0;
+            ascii = true;
+            present = true;
+        }
+
+        void append(int b) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, length << 1);
+            }
+            bytes[length++] = (byte) b;
+            if (b < 0 || b >= 0x80) {
+                ascii = false;
+            }
+        }
+
+        void append(@NotNull byte[] src, int offset, int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + count, length << 1));
+            }
+            System.arraycopy(src, offset, bytes, length, count);
+            if (ascii) {
+                for (int i = length; i < length + count; i++) {
+                    if (bytes[i] < 0) {
+                        ascii = false;
+                        break;
+                    }
+                }
+            }
+            length += count;
+        }
+
+        void appendCodePoint(int codePoint) {
+            if (codePoint < 0x80) {
+                append(codePoint);
+            } else {
+                final byte[] encoded = new String(Character.toChars(codePoint))
+                        .getBytes(StandardCharsets.UTF_8);
+                append(encoded, 0, encoded.length);
+            }
+        }
+
+        void appendTo(@NotNull StringBuilder builder) {
+            if (ascii) {
+                for (int i = 0; i < length; i++) {
+                    builder.append((char) bytes[i]);
+                }
+            } else {
+                builder.append(toString());
+            }
+        }
+
+        boolean equalsAscii(@NotNull String value) {
+            if (length != value.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] != value.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+            return new String(bytes, 0, length, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        }
     }
 
 }
@@ -3,6 +3,8 @@ package com.github.kumasuke120.excel;
 import com.github.kumasuke120.excel.util.StringUtils;
 import com.github.kumasuke120.util.LightWeightConstructor;
 import com.github.kumasuke120.util.ResourceUtil;
+import com.github.kumasuke120.util.TypedWorkbookEventRecorder;
+import com.github.kumasuke120.util.WorkbookEventRecorder;
 import com.github.kumasuke120.util.WorkbookRowCounter;
 import com.github.kumasuke120.util.XmlUtil;
 import org.apache.poi.EncryptedDocumentException;
@@ -13,8 +15,16 @@ import org.junit.jupiter.api.Assertions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Stack;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -236,6 +246,285 @@ abstract class AbstractWorkbookEventReaderTest<R extends AbstractWorkbookEventRe
         });
     }
 
+    // compares the events read with raw values to the events read normally
+    static void assertRawValueEvents(@NotNull List<String> expected, @NotNull List<String> actual) {
+        assertEquals(expected.size(), actual.size());
+
+        boolean dateFound = false;
+        for (int i = 0; i < expected.size(); i++) {
+            final String expectedEvent = expected.get(i);
+            final String actualEvent = actual.get(i);
+            if (!expectedEvent.startsWith("cell ")) {
+                assertEquals(expectedEvent, actualEvent);
+                continue;
+            }
+
+            // cell sheetIndex rowNum columnNum type value
+            final String[] expectedParts = expectedEvent.split(" ", 6);
+            final String[] actualParts = actualEvent.split(" ", 6);
+            for (int j = 0; j < 4; j++) {
+                assertEquals(expectedParts[j], actualParts[j], actualEvent);
+            }
+
+            final String expectedType = expectedParts[4];
+            final String actualType = actualParts[4];
+            switch (expectedType) {
+                case "LocalDate":
+                case "LocalDateTime":
+                case "LocalTime":
+                    dateFound = true;
+                    assertTrue(isRawNumberType(actualType), actualEvent);
+                    break;
+                case "Integer":
+                case "Long":
+                    assertEquals(expectedEvent, actualEvent);
+                    break;
+                case "Double":
+                case "BigDecimal":
+                    assertTrue(isRawNumberType(actualType), actualEvent);
+                    break;
+                default:
+                    // texts might be numbers formatted as text
+                    if (!isRawNumberType(actualType)) {
+                        assertEquals(expectedEvent, actualEvent);
+                    }
+            }
+        }
+
+        assertTrue(dateFound, "the workbook should contain dates");
+    }
+
+    private static boolean isRawNumberType(@NotNull String type) {
+        return "Integer".equals(type) || "Long".equals(type) || "Double".equals(type);
+    }
+
+    // records the events of the given reader with the typed callbacks, in the same form as WorkbookEventRecorder
+    @NotNull
+    static List<String> recordTypedEvents(@NotNull WorkbookEventReader reader) {
+        final TypedWorkbookEventRecorder recorder = new TypedWorkbookEventRecorder();
+        try {
+            reader.read(recorder);
+        } finally {
+            reader.close();
+        }
+
+        assertTrue(recorder.getTypedCellCount() > 0);
+        return recorder.getEvents();
+    }
+
+    // records the events of the given reader row by row, in the same form as WorkbookEventRecorder
+    @NotNull
+    static List<String> recordRowEvents(@NotNull WorkbookEventReader reader) {
+        final RowEventRecorder recorder = new RowEventRecorder();
+        try {
+            reader.read(recorder);
+        } finally {
+            reader.close();
+        }
+        return recorder.getEvents();
+    }
+
+    // records the events of the given reader batch by batch, in the same form as WorkbookEventRecorder without nulls
+    @NotNull
+    static List<String> recordBatchEvents(@NotNull WorkbookEventReader reader, int batchSize) {
+        final BatchEventRecorder recorder = new BatchEventRecorder(batchSize);
+        try {
+            reader.read(recorder);
+        } finally {
+            reader.close();
+        }
+        return recorder.getEvents();
+    }
+
+    // removes the events of null cells, which cannot be told from absent cells in batches
+    @NotNull
+    static List<String> withoutNullCells(@NotNull List<String> events) {
+        final List<String> result = new ArrayList<>(events);
+        result.removeIf(event -> event.matches("cell \\d+ \\d+ \\d+ null .*"));
+        return result;
+    }
+
+    // records the events of the given reader, but accesses the cell values after closing it in reverse order
+    @NotNull
+    static List<String> recordDeferredEvents(@NotNull WorkbookEventReader reader) {
+        final List<Object[]> cells = new ArrayList<>();
+        final WorkbookEventRecorder recorder = new WorkbookEventRecorder() {
+            @Override
+            public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+                cells.add(new Object[]{getEvents().size(), sheetIndex, rowNum, columnNum, cellValue});
+                getEvents().add(null);
+            }
+        };
+
+        try {
+            reader.read(recorder);
+        } finally {
+            reader.close();
+        }
+
+        final List<String> events = recorder.getEvents();
+        final WorkbookEventRecorder cellRecorder = new WorkbookEventRecorder();
+        for (int i = cells.size() - 1; i >= 0; i--) {
+            final Object[] cell = cells.get(i);
+            cellRecorder.onHandleCell((int) cell[1], (int) cell[2], (int) cell[3], (CellValue) cell[4]);
+            events.set((int) cell[0], cellRecorder.getEvents().get(cellRecorder.getEvents().size() - 1));
+        }
+        return events;
+    }
+
+    // records the events of the given reader, in the same way as recordEvents of the subclasses
+    @NotNull
+    static List<String> recordPlainEvents(@NotNull WorkbookEventReader reader) {
+        final WorkbookEventRecorder recorder = new WorkbookEventRecorder();
+        try {
+            reader.read(recorder);
+        } finally {
+            reader.close();
+        }
+        return recorder.getEvents();
+    }
+
+    @NotNull
+    static List<Path> resourcePaths(@NotNull String... fileNames) {
+        final List<Path> filePaths = new ArrayList<>();
+        for (String fileName : fileNames) {
+            filePaths.add(ResourceUtil.getPathOfClasspathResource(fileName));
+        }
+        return filePaths;
+    }
+
+    // asserts that every read recorded with the given options set gives the same events as reading without them
+    final void assertSameEvents(@NotNull List<Path> filePaths,
+                                @NotNull Function<WorkbookEventReader, List<String>> recording,
+                                @NotNull ReaderOption... options) {
+        assertEventsWithOptions(filePaths, UnaryOperator.identity(),
+                                (expected, actual) -> assertEquals(expected, actual), recording, options);
+    }
+
+    /*
+     * reads each of the files once per option, setting the options one after another so that each read runs with
+     * the option and all the options before it, then checks the recorded events against the expected ones, which are
+     * derived from reading without any option; the options set are reset in reverse order afterwards
+     */
+    final void assertEventsWithOptions(@NotNull List<Path> filePaths,
+                                       @NotNull UnaryOperator<List<String>> expectation,
+                                       @NotNull BiConsumer<List<String>, List<String>> assertion,
+                                       @NotNull Function<WorkbookEventReader, List<String>> recording,
+                                       @NotNull ReaderOption... options) {
+        assertTrue(options.length > 0);
+        for (Path filePath : filePaths) {
+            final List<String> expected = expectation.apply(recordPlainEvents(pathConstructor().newInstance(filePath)));
+
+            int setCount = 0;
+            try {
+                for (ReaderOption option : options) {
+                    option.set();
+                    setCount += 1;
+
+                    final List<String> actual = recording.apply(pathConstructor().newInstance(filePath));
+                    try {
+                        assertion.accept(expected, actual);
+                    } catch (AssertionError e) {
+                        final List<ReaderOption> optionsSet = Arrays.asList(options).subList(0, setCount);
+                        throw new AssertionError(filePath.getFileName() + " with " + optionsSet, e);
+                    }
+                }
+            } finally {
+                for (int i = setCount - 1; i >= 0; i--) {
+                    options[i].reset();
+                }
+            }
+        }
+    }
+
+    // a static option of the reader under test, which has to be reset as other tests share it
+    static final class ReaderOption {
+
+        // reads with nothing changed
+        static final ReaderOption DEFAULTS = new ReaderOption("defaults", () -> {}, () -> {});
+
+        private final String name;
+        private final Runnable setter;
+        private final Runnable resetter;
+
+        ReaderOption(@NotNull String name, @NotNull Runnable setter, @NotNull Runnable resetter) {
+            this.name = name;
+            this.setter = setter;
+            this.resetter = resetter;
+        }
+
+        void set() {
+            setter.run();
+        }
+
+        void reset() {
+            resetter.run();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+    void rows() {
+        dealWithReader(reader -> {
+            final RowEventRecorder recorder = new RowEventRecorder();
+            reader.read(recorder);
+            final List<String> expected = new ArrayList<>(recorder.getEvents());
+            expected.removeIf(event -> !event.startsWith("startRow ") && !event.startsWith("endRow ") &&
+                    !event.startsWith("cell "));
+
+            final List<String> actual = new ArrayList<>();
+            try (final Stream<RowView> rows = reader.rows()) {
+                rows.forEach(row -> RowEventRecorder.recordRow(actual, row));
+            }
+            assertEquals(expected, actual);
+
+            // stops early, the reader could be read again once the stream is closed
+            final List<String> firstRow = new ArrayList<>();
+            try (final Stream<RowView> rows = reader.rows()) {
+                rows.limit(1).forEach(row -> RowEventRecorder.recordRow(firstRow, row));
+            }
+            assertEquals(expected.subList(0, firstRow.size()), firstRow);
+            assertFalse(firstRow.isEmpty());
+
+            final List<String> readAgain = new ArrayList<>();
+            try (final Stream<RowView> rows = reader.rows()) {
+                rows.forEach(row -> RowEventRecorder.recordRow(readAgain, row));
+            }
+            assertEquals(expected, readAgain);
+
+            // stops early without closing, the reading is cancelled once the terminal operation returns
+            final List<String> firstRowUnclosed = new ArrayList<>();
+            reader.rows().limit(1).forEach(row -> RowEventRecorder.recordRow(firstRowUnclosed, row));
+            assertEquals(firstRow, firstRowUnclosed);
+            assertFalse(isRowReadingThreadAlive());
+            assertEquals(1, reader.rows().filter(Objects::nonNull).mapToLong(row -> 1).limit(1).sum());
+            assertFalse(isRowReadingThreadAlive());
+
+            final RowEventRecorder recorderAgain = new RowEventRecorder();
+            reader.read(recorderAgain);
+            assertEquals(recorder.getEvents(), recorderAgain.getEvents());
+
+            // errors are thrown by the terminal operation
+            reader.close();
+            try (final Stream<RowView> rows = reader.rows()) {
+                assertThrows(IllegalReaderStateException.class, rows::count);
+            }
+        });
+    }
+
+    private static boolean isRowReadingThreadAlive() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if ("workbook-row-reader".equals(thread.getName()) && thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     void cancel() {
         dealWithReader(reader -> {
             final boolean[] cancelledRef = {false};
@@ -439,4 +728,115 @@ abstract class AbstractWorkbookEventReaderTest<R extends AbstractWorkbookEventRe
         }
     }
 
+    private static class RowEventRecorder extends WorkbookEventRecorder
+            implements WorkbookEventReader.RowEventHandler {
+        @Override
+        public void onStartRow(int sheetIndex, int rowNum) {
+            fail("Row events should not be triggered");
+        }
+
+        @Override
+        public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+            fail("Cell events should not be triggered");
+        }
+
+        @Override
+        public void onRow(int sheetIndex, int rowNum, @NotNull RowView row) {
+            assertEquals(sheetIndex, row.sheetIndex());
+            assertEquals(rowNum, row.rowNum());
+            recordRow(getEvents(), row);
+        }
+
+        static void recordRow(@NotNull List<String> events, @NotNull RowView row) {
+            final int sheetIndex = row.sheetIndex();
+            final int rowNum = row.rowNum();
+
+            events.add("startRow " + sheetIndex + " " + rowNum);
+            int cellCount = 0;
+            for (int columnNum = row.firstColumnNum(); columnNum <= row.lastColumnNum(); columnNum++) {
+                if (row.hasCell(columnNum)) {
+                    final CellValue cellValue = row.cell(columnNum);
+                    assertEquals(cellValue.isNull(), row.isNull(columnNum));
+                    events.add("cell " + sheetIndex + " " + rowNum + " " + columnNum + " " +
+                            (cellValue.isNull() ? "null" : cellValue.originalType().getSimpleName()) + " " +
+                            cellValue.originalValue());
+                    cellCount += 1;
+                }
+            }
+            assertEquals(cellCount, row.cellCount());
+            events.add("endRow " + sheetIndex + " " + rowNum);
+        }
+    }
+
+    private static class BatchEventRecorder extends WorkbookEventRecorder
+            implements WorkbookEventReader.BatchEventHandler {
+        private final int batchSize;
+
+        BatchEventRecorder(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public int batchSize() {
+            return batchSize;
+        }
+
+        @Override
+        public void onStartRow(int sheetIndex, int rowNum) {
+            fail("Row events should not be triggered");
+        }
+
+        @Override
+        public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+            fail("Cell events should not be triggered");
+        }
+
+        @Override
+        public void onBatch(int sheetIndex, @NotNull ColumnBatch batch) {
+            assertEquals(sheetIndex, batch.sheetIndex());
+            assertTrue(batch.rowCount() > 0 && batch.rowCount() <= batchSize);
+
+            final List<String> events = getEvents();
+            for (int rowIndex = 0; rowIndex < batch.rowCount(); rowIndex++) {
+                final int rowNum = batch.rowNums()[rowIndex];
+                events.add("startRow " + sheetIndex + " " + rowNum);
+                for (int columnNum = 0; columnNum < batch.columnCount(); columnNum++) {
+                    final ColumnBatch.Column column = batch.column(columnNum);
+                    if (column.isNull(rowIndex)) {
+                        continue;
+                    }
+
+                    final CellValue cellValue = column.cell(rowIndex);
+                    assertColumnValue(batch, column, rowIndex, cellValue);
+                    events.add("cell " + sheetIndex + " " + rowNum + " " + columnNum + " " +
+                            cellValue.originalType().getSimpleName() + " " + cellValue.originalValue());
+                }
+                events.add("endRow " + sheetIndex + " " + rowNum);
+            }
+        }
+
+        private static void assertColumnValue(ColumnBatch batch, ColumnBatch.Column column, int rowIndex,
+                                              CellValue cellValue) {
+            switch (column.type()) {
+                case BOOLEAN:
+                    assertEquals(cellValue.booleanValue(), column.longValues()[rowIndex] != 0);
+                    break;
+                case LONG:
+                    assertEquals(cellValue.longValue(), column.longValues()[rowIndex]);
+                    break;
+                case DOUBLE:
+                    assertEquals(cellValue.doubleValue(), column.doubleValues()[rowIndex]);
+                    break;
+                case STRING:
+                    assertEquals(cellValue.stringValue(), batch.dictionaryString(column.stringCodes()[rowIndex]));
+                    break;
+                case OBJECT:
+                    assertEquals(cellValue.originalValue(), column.objectValues()[rowIndex]);
+                    break;
+                default:
+                    fail("Non-null value in an empty column");
+            }
+        }
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.github.kumasuke120.excel;
 
 import com.github.kumasuke120.util.ResourceUtil;
+import com.github.kumasuke120.util.WorkbookEventRecorder;
 import org.apache.commons.csv.CSVFormat;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -33,6 +35,12 @@ class CSVWorkbookEventReaderTest extends AbstractWorkbookEventReaderTest<CSVWork
         super.read();
     }
 
+    @Test
+    @Override
+    void rows() {
+        super.rows();
+    }
+
     @Test
     @Override
     void cancel() {
@@ -70,4 +78,42 @@ class CSVWorkbookEventReaderTest extends AbstractWorkbookEventReaderTest<CSVWork
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void readTypedCells() {
+        assertSameEvents(resourcePaths(NORMAL_FILE_NAME), AbstractWorkbookEventReaderTest::recordTypedEvents,
+                         ReaderOption.DEFAULTS);
+    }
+
+    @Test
+    void readRows() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(NORMAL_FILE_NAME);
+
+        final List<String> expected;
+        try (final WorkbookEventReader reader = new CSVWorkbookEventReader(filePath)) {
+            final WorkbookEventRecorder recorder = new WorkbookEventRecorder();
+            reader.read(recorder);
+            expected = recorder.getEvents();
+        }
+
+        assertEquals(expected, recordRowEvents(new CSVWorkbookEventReader(filePath)));
+        assertEquals(withoutNullCells(expected), recordBatchEvents(new CSVWorkbookEventReader(filePath), 3));
+    }
+
+    @Test
+    void readAsync() {
+        final List<Path> filePaths = resourcePaths(NORMAL_FILE_NAME);
+        final ReaderOption async = new ReaderOption("async",
+                () -> CSVWorkbookEventReader.setAsync(4, WorkbookEventReader.WaitStrategy.YIELD),
+                () -> CSVWorkbookEventReader.setAsync(0, WorkbookEventReader.WaitStrategy.PARK));
+        assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordPlainEvents, async);
+        assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordRowEvents, async);
+
+        async.set();
+        try {
+            super.cancel();
+        } finally {
+            async.reset();
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.github.kumasuke120.excel;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.LocaleUtil;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CellDecimalRendererTest {
+
+    private static final Object[][] FORMATS = {
+            {0, "General"}, {1, "0"}, {2, "0.00"}, {3, "#,##0"}, {4, "#,##0.00"}, {164, "0.0"}, {165, "0.000000"},
+            {166, "#,##0.0000"}, {9, "0%"}, {10, "0.00%"}, {11, "0.00E+00"}, {167, "0.00_);[Red]\\(0.00\\)"},
+            {168, "#,##0.00;-#,##0.00"}, {12, "# ?/?"}
+    };
+
+    private static final double[] VALUES = {
+            0, -0.0, 0.5, -0.5, 0.125, 0.005, 0.015, 0.045, 1.005, 2.675, 1.45, 1.55, -1.45, -2.5, 0.1 + 0.2,
+            1.0 / 3, 2.0 / 3, -2.0 / 3, 12345.6789, 1234567.891, 0.99999999999, 9.99999999995, 0.000123456789,
+            1E-10, 1.5E-10, 0.0000001, 123456789.123, 9999999999.5, 10000000000.5, -10000000000.5, 99999999999.4,
+            1E11, 1E15, 123456789012345.67, 1E20, 1.2345E21, 9.223372036854776E18, -9.223372036854776E18, 1E-300,
+            Double.MAX_VALUE, Double.MIN_VALUE, 44197.5, 3.14159265358979
+    };
+
+    @Test
+    void conformsToDataFormatter() {
+        final DataFormatter dataFormatter = new DataFormatter();
+        final CellDecimalRenderer renderer = new CellDecimalRenderer(new DataFormatter());
+        final Random random = new Random(20241016);
+
+        for (Object[] format : FORMATS) {
+            final CellNumberFormat cellNumberFormat = CellNumberFormat.of((int) format[0], (String) format[1]);
+
+            for (double value : VALUES) {
+                assertRendered(dataFormatter, renderer, value, cellNumberFormat);
+            }
+            for (int i = 0; i < 2000; i++) {
+                final double magnitude = Math.pow(10, random.nextInt(24) - 12);
+                final double value = (random.nextDouble() - 0.5) * magnitude;
+                assertRendered(dataFormatter, renderer, value, cellNumberFormat);
+                // values with a few decimal places, which are more likely to meet ties
+                assertRendered(dataFormatter, renderer, Math.round(value * 1000) / 1000.0, cellNumberFormat);
+            }
+        }
+    }
+
+    @Test
+    void rendersDirectly() {
+        final Locale userLocale = LocaleUtil.getUserLocale();
+        try {
+            LocaleUtil.setUserLocale(Locale.US);
+
+            final CellDecimalRenderer renderer = new CellDecimalRenderer(new DataFormatter() {
+                @Override
+                public String formatRawCellContents(double value, int formatIndex, String formatString) {
+                    throw new AssertionError("should be rendered directly: " + value + " with " + formatString);
+                }
+            });
+            assertEquals(1234.57, renderer.render(1234.5678, CellNumberFormat.of(4, "#,##0.00")));
+            assertEquals(new BigDecimal("1234.50"), renderer.render(1234.5, CellNumberFormat.of(2, "0.00")));
+            assertEquals(1235L, renderer.render(1234.5, CellNumberFormat.of(3, "#,##0")));
+            assertEquals(0.3, renderer.render(0.1 + 0.2, CellNumberFormat.of(0, "General")));
+            assertEquals(0.3333333333, renderer.render(1.0 / 3, CellNumberFormat.of(0, "General")));
+            assertEquals(12L, renderer.render(12, CellNumberFormat.of(0, "General")));
+        } finally {
+            LocaleUtil.setUserLocale(userLocale);
+        }
+    }
+
+    @Test
+    void fallsBackForLocale() {
+        final Locale userLocale = LocaleUtil.getUserLocale();
+        try {
+            LocaleUtil.setUserLocale(Locale.GERMANY);
+
+            final DataFormatter dataFormatter = new DataFormatter();
+            final CellDecimalRenderer renderer = new CellDecimalRenderer(new DataFormatter());
+            for (Object[] format : FORMATS) {
+                final CellNumberFormat cellNumberFormat = CellNumberFormat.of((int) format[0], (String) format[1]);
+                for (double value : VALUES) {
+                    assertRendered(dataFormatter, renderer, value, cellNumberFormat);
+                }
+            }
+        } finally {
+            LocaleUtil.setUserLocale(userLocale);
+        }
+    }
+
+    private static void assertRendered(DataFormatter dataFormatter, CellDecimalRenderer renderer,
+                                       double value, CellNumberFormat cellNumberFormat) {
+        final String decimalStringValue = dataFormatter.formatRawCellContents(value,
+                cellNumberFormat.getFormatIndex(), cellNumberFormat.getFormatString());
+        final Object expected = ReaderUtils.decimalStringToDecimal(decimalStringValue);
+        final Object actual = renderer.render(value, cellNumberFormat);
+
+        final String message = value + " with " + cellNumberFormat.getFormatString();
+        assertEquals(Objects.requireNonNull(expected).getClass(), actual.getClass(), message);
+        assertEquals(expected, actual, message);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.kumasuke120.excel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CellNumberFormatTest {
+
+    @Test
+    void of() {
+        final CellNumberFormat general = CellNumberFormat.of(0, "General");
+        assertEquals(CellNumberFormat.KIND_GENERAL, general.getKind());
+        assertSame(general, CellNumberFormat.of(0, "General"));
+
+        final CellNumberFormat text = CellNumberFormat.of(49, "@");
+        assertTrue(text.isText());
+        assertFalse(text.isDate());
+
+        final CellNumberFormat date = CellNumberFormat.of(14, "m/d/yy");
+        assertTrue(date.isDate());
+        assertFalse(date.isText());
+
+        final CellNumberFormat number = CellNumberFormat.of(4, "#,##0.00");
+        assertEquals(CellNumberFormat.KIND_NUMBER, number.getKind());
+        assertEquals(4, number.getFormatIndex());
+        assertEquals("#,##0.00", number.getFormatString());
+
+        final CellNumberFormat custom = CellNumberFormat.of(164, "0.000");
+        assertSame(custom, CellNumberFormat.of(164, "0.000"));
+        assertNotSame(custom, CellNumberFormat.of(165, "0.000"));
+
+        final CellNumberFormat missing = CellNumberFormat.of(200, null);
+        assertNull(missing.getFormatString());
+        assertSame(missing, CellNumberFormat.of(200, null));
+    }
+
+    @Test
+    void sharedByStyles() {
+        // styles of the same number format resolve to the same instance, while a custom format and a built-in
+        // one of the same format string are different formats
+        final CellNumberFormat percent = CellNumberFormat.of(10, "0.00%");
+        final CellNumberFormat custom = CellNumberFormat.of(170, "0.00%");
+        assertSame(percent, CellNumberFormat.of(10, "0.00%"));
+        assertSame(custom, CellNumberFormat.of(170, "0.00%"));
+        assertNotSame(percent, custom);
+        assertEquals(percent.getKind(), custom.getKind());
+        assertEquals(-1, custom.getFixedDecimalPlaces()); // percents are not plain fixed-point formats
+    }
+
+    @Test
+    void cacheEviction() {
+        final CellNumberFormat.FormatCache cache = new CellNumberFormat.FormatCache(2);
+        final CellNumberFormat first = cache.get(164, "0.0");
+        final CellNumberFormat second = cache.get(165, "0.00");
+
+        // the first one is used recently, the second one is evicted by the third one
+        assertSame(first, cache.get(164, "0.0"));
+        final CellNumberFormat third = cache.get(166, "0.000");
+        assertEquals(2, cache.size());
+
+        assertSame(first, cache.get(164, "0.0"));
+        assertSame(third, cache.get(166, "0.000"));
+        final CellNumberFormat resolvedAgain = cache.get(165, "0.00");
+        assertNotSame(second, resolvedAgain);
+        assertEquals(second.getFormatString(), resolvedAgain.getFormatString());
+        assertEquals(second.getFixedDecimalPlaces(), resolvedAgain.getFixedDecimalPlaces());
+        assertEquals(2, cache.size());
+    }
+
+}
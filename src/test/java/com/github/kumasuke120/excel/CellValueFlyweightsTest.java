@@ -0,0 +1,177 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CellValueFlyweightsTest {
+
+    private static final Object[] VALUES = {
+            null, true, false, -129, -128, 0, 42, 1023, 1024, 2147483647, 3L, 1.5, "", " ", "  ", "a",
+            BigDecimal.ONE, LocalDate.of(2020, 1, 1)
+    };
+
+    @Test
+    void sharesCommonValues() {
+        for (Object value : new Object[]{null, true, false, -128, 0, 1023, "", " "}) {
+            assertSame(LenientCellValue.newInstance(value), LenientCellValue.newInstance(value));
+            assertSame(StrictCellValue.newInstance(value), StrictCellValue.newInstance(value));
+
+            // no new instances for the views of common values
+            assertSame(StrictCellValue.newInstance(value), LenientCellValue.newInstance(value).strict());
+            assertSame(LenientCellValue.newInstance(value), StrictCellValue.newInstance(value).lenient());
+        }
+
+        assertSame(LenientCellValue.newInstance(""), LenientCellValue.newInstance("   ").trim());
+        assertNotSame(LenientCellValue.newInstance(1024), LenientCellValue.newInstance(1024));
+    }
+
+    @Test
+    void valueOf() {
+        for (Object value : VALUES) {
+            final CellValue lenientValue = LenientCellValue.newInstance(value);
+            assertTrue(lenientValue instanceof LenientCellValue);
+            assertEquals(value, lenientValue.originalValue());
+
+            final CellValue strictValue = StrictCellValue.newInstance(value);
+            assertTrue(strictValue instanceof StrictCellValue);
+            assertEquals(value, strictValue.originalValue());
+        }
+    }
+
+    @Test
+    void valueOfNumbers() {
+        final long[] wholeNumbers = {
+                0, -1, 1023, 1024, -129, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE + 1L,
+                Integer.MIN_VALUE - 1L, Long.MAX_VALUE, Long.MIN_VALUE
+        };
+        for (long value : wholeNumbers) {
+            assertEquals(CellValue.newInstance(ReaderUtils.toRelativeType(value)),
+                    LenientCellValue.newWholeNumberInstance(value));
+        }
+
+        final double[] numbers = {
+                0, -0.0, 1, 1.5, -1023, 1E10, -1E10, 1E19, 1E300, Double.NaN, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Integer.MAX_VALUE, Integer.MIN_VALUE
+        };
+        for (double value : numbers) {
+            final CellValue expected = CellValue.newInstance(ReaderUtils.toRelativeType(value));
+            final CellValue actual = LenientCellValue.newNumberInstance(value);
+            assertEquals(expected, actual);
+            assertEquals(expected.originalType(), actual.originalType());
+        }
+    }
+
+    @Test
+    void unboxedValues() {
+        final Object[] numbers = {-129, 1024, Integer.MAX_VALUE, 3L << 40, Long.MIN_VALUE, 1.5, -1E-300, Double.NaN};
+        for (Object number : numbers) {
+            final CellValue lenientValue = number instanceof Double ?
+                    LenientCellValue.newNumberInstance((Double) number) :
+                    LenientCellValue.newWholeNumberInstance(((Number) number).longValue());
+            final CellValue strictValue = lenientValue.strict();
+            assertNotEquals(LenientCellValue.class, lenientValue.getClass());
+            assertNotEquals(StrictCellValue.class, strictValue.getClass());
+
+            // behaves the same as the values holding boxes
+            final CellValue boxedLenientValue = LenientCellValue.newInstance(number);
+            final CellValue boxedStrictValue = StrictCellValue.newInstance(number);
+            assertEquals(boxedLenientValue, lenientValue);
+            assertEquals(lenientValue, boxedLenientValue);
+            assertEquals(boxedLenientValue.hashCode(), lenientValue.hashCode());
+            assertEquals(boxedStrictValue, strictValue);
+            assertEquals(boxedStrictValue.hashCode(), strictValue.hashCode());
+            assertNotEquals(lenientValue, strictValue);
+            assertEquals(number, lenientValue.originalValue());
+            assertEquals(number.getClass(), lenientValue.originalType());
+            assertFalse(lenientValue.isNull());
+            assertEquals(boxedLenientValue.toString().replaceAll("@.*", ""),
+                         lenientValue.toString().replaceAll("@.*", ""));
+
+            assertEquals(boxedLenientValue.booleanValue(), lenientValue.booleanValue());
+            assertEquals(boxedLenientValue.intValue(), lenientValue.intValue());
+            assertEquals(boxedLenientValue.longValue(), lenientValue.longValue());
+            assertEquals(boxedLenientValue.doubleValue(), lenientValue.doubleValue());
+            assertEquals(boxedLenientValue.stringValue(), lenientValue.stringValue());
+            if (!(number instanceof Double && ((Double) number).isNaN())) {
+                assertEquals(boxedLenientValue.bigDecimalValue(), lenientValue.bigDecimalValue());
+            }
+            assertThrows(CellValueCastException.class, lenientValue::localDateValue);
+
+            assertThrows(CellValueCastException.class, strictValue::booleanValue);
+            assertThrows(CellValueCastException.class, strictValue::stringValue);
+            assertEquals(number instanceof Integer, succeeds(strictValue::intValue));
+            assertEquals(number instanceof Long, succeeds(strictValue::longValue));
+            assertEquals(number instanceof Double, succeeds(strictValue::doubleValue));
+
+            // no new instances when nothing changes
+            assertSame(lenientValue, lenientValue.lenient());
+            assertSame(lenientValue, lenientValue.trim());
+            assertSame(strictValue, strictValue.strict());
+            assertSame(strictValue, strictValue.trim());
+            assertEquals(lenientValue, strictValue.lenient());
+        }
+    }
+
+    private static boolean succeeds(@NotNull Runnable accessor) {
+        try {
+            accessor.run();
+            return true;
+        } catch (CellValueCastException e) {
+            return false;
+        }
+    }
+
+    @Test
+    void allocation() {
+        final int count = 10_000;
+        final CellValue[] values = new CellValue[count];
+
+        LenientCellValue.newNumberInstance(0.5); // initializes the classes before measuring
+        final long boxedBytes = allocatedBytes(() -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = LenientCellValue.newInstance(i + 0.5);
+            }
+        });
+        final long unboxedBytes = allocatedBytes(() -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = LenientCellValue.newNumberInstance(i + 0.5);
+            }
+        });
+        assertTrue(unboxedBytes < boxedBytes, unboxedBytes + " >= " + boxedBytes);
+
+        // the views of unchanged values and the small integers cost nothing per cell
+        final Runnable viewing = () -> {
+            for (int i = 0; i < count; i++) {
+                values[i] = values[i].lenient().trim();
+                values[i] = LenientCellValue.newWholeNumberInstance(i % 1000).strict().trim();
+            }
+        };
+        viewing.run(); // initializes the classes before measuring
+        final long viewBytes = allocatedBytes(viewing);
+        assertTrue(viewBytes < count, "allocated " + viewBytes + " bytes");
+    }
+
+    // measures the bytes allocated by the current thread, which is only supported by some JVMs
+    private static long allocatedBytes(@NotNull Runnable task) {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported() &&
+                           allocationBean.isThreadAllocatedMemoryEnabled());
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = allocationBean.getThreadAllocatedBytes(threadId);
+        task.run();
+        return allocationBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+}
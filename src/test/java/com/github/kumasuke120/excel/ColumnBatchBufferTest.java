@@ -0,0 +1,99 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.excel.ColumnBatch.ColumnType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnBatchBufferTest {
+
+    @Test
+    void widensColumns() {
+        final ColumnBatchBuffer batch = new ColumnBatchBuffer(4);
+        batch.reset(0);
+
+        batch.addRow(0);
+        batch.columnToSet(0).setLong(1);
+        batch.columnToSet(1).setLong(2);
+        batch.columnToSet(2).setString("a");
+        batch.columnToSet(3).setBoolean(true);
+
+        batch.addRow(2);
+        batch.columnToSet(1).setDouble(2.5);
+        batch.columnToSet(2).setString("a");
+        batch.columnToSet(3).setString("b");
+
+        batch.addRow(5);
+        batch.columnToSet(1).setLong(3);
+        batch.columnToSet(3).setObject(LocalDate.of(2020, 1, 1));
+        batch.columnToSet(6);
+
+        assertEquals(3, batch.rowCount());
+        assertArrayEquals(new int[]{0, 2, 5}, Arrays.copyOf(batch.rowNums(), 3));
+        assertEquals(7, batch.columnCount());
+
+        final ColumnBatch.Column longColumn = batch.column(0);
+        assertEquals(ColumnType.LONG, longColumn.type());
+        assertEquals(1, longColumn.longValues()[0]);
+        assertFalse(longColumn.isNull(0));
+        assertTrue(longColumn.isNull(1));
+        assertEquals(1L, longColumn.nonNullBitmap()[0]);
+
+        final ColumnBatch.Column doubleColumn = batch.column(1);
+        assertEquals(ColumnType.DOUBLE, doubleColumn.type());
+        assertNull(doubleColumn.longValues());
+        assertArrayEquals(new double[]{2, 2.5, 3}, Arrays.copyOf(doubleColumn.doubleValues(), 3));
+        assertEquals(CellValue.newInstance(2), doubleColumn.cell(0));
+        assertEquals(CellValue.newInstance(2.5), doubleColumn.cell(1));
+
+        final ColumnBatch.Column stringColumn = batch.column(2);
+        assertEquals(ColumnType.STRING, stringColumn.type());
+        assertEquals(stringColumn.stringCodes()[0], stringColumn.stringCodes()[1]);
+        assertEquals("a", batch.dictionaryString(stringColumn.stringCodes()[0]));
+        assertTrue(stringColumn.isNull(2));
+
+        final ColumnBatch.Column objectColumn = batch.column(3);
+        assertEquals(ColumnType.OBJECT, objectColumn.type());
+        assertArrayEquals(new Object[]{true, "b", LocalDate.of(2020, 1, 1)},
+                Arrays.copyOf(objectColumn.objectValues(), 3));
+        assertEquals(1, batch.dictionarySize());
+
+        assertEquals(ColumnType.EMPTY, batch.column(4).type());
+        assertEquals(CellValue.newInstance(null), batch.column(4).cell(0));
+        assertTrue(batch.column(6).isNull(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.column(7));
+
+        batch.addRow(6);
+        assertTrue(batch.isFull());
+    }
+
+    @Test
+    void reset() {
+        final ColumnBatchBuffer batch = new ColumnBatchBuffer(2);
+        batch.reset(0);
+        batch.addRow(0);
+        batch.columnToSet(0).setObject(LocalDate.of(2020, 1, 1));
+        batch.columnToSet(1).setString("a");
+
+        batch.reset(1);
+        assertEquals(1, batch.sheetIndex());
+        assertEquals(0, batch.rowCount());
+        assertEquals(0, batch.columnCount());
+        assertEquals(0, batch.dictionarySize());
+
+        batch.addRow(1);
+        batch.columnToSet(0).setLong(42);
+        assertEquals(ColumnType.LONG, batch.column(0).type());
+        assertEquals(CellValue.newInstance(42), batch.column(0).cell(0));
+        assertEquals(1, batch.columnCount());
+    }
+
+    @Test
+    void invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ColumnBatchBuffer(0));
+    }
+
+}
@@ -1,14 +1,35 @@
 package com.github.kumasuke120.excel;
 
+import com.github.kumasuke120.util.ResourceUtil;
+import com.github.kumasuke120.util.WorkbookEventRecorder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class HSSFWorkbookEventReaderTest extends AbstractWorkbookEventReaderTest<HSSFWorkbookEventReader> {
 
     private static final String NORMAL_FILE_NAME = "workbook.xls";
     private static final String ENCRYPTED_FILE_NAME = "workbook-encrypted.xls";
 
+    private static final List<Path> DATE_FILE_PATHS = resourcePaths(NORMAL_FILE_NAME, "workbook-1904.xls");
+
+    private static final ReaderOption RAW_VALUES = new ReaderOption("rawValues",
+            () -> HSSFWorkbookEventReader.setRawValues(true),
+            () -> HSSFWorkbookEventReader.setRawValues(false));
+    private static final ReaderOption PARALLELISM = new ReaderOption("parallelism",
+            () -> HSSFWorkbookEventReader.setParallelism(4),
+            () -> HSSFWorkbookEventReader.setParallelism(1));
+    private static final ReaderOption LAZY_CELL_VALUES = new ReaderOption("lazyCellValues",
+            () -> HSSFWorkbookEventReader.setLazyCellValues(true),
+            () -> HSSFWorkbookEventReader.setLazyCellValues(false));
+
     HSSFWorkbookEventReaderTest() {
         super(NORMAL_FILE_NAME, ENCRYPTED_FILE_NAME, HSSFWorkbookEventReader.class);
     }
@@ -25,6 +46,123 @@ class HSSFWorkbookEventReaderTest extends AbstractWorkbookEventReaderTest<HSSFWo
         super.read();
     }
 
+    @Test
+    void readInParallel() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(NORMAL_FILE_NAME);
+        final Path filePath1904 = ResourceUtil.getPathOfClasspathResource("workbook-1904.xls");
+        final Path encryptedFilePath = ResourceUtil.getPathOfClasspathResource(ENCRYPTED_FILE_NAME);
+        final List<String> expected = recordEvents(filePath, null);
+        final List<String> expected1904 = recordEvents(filePath1904, null);
+        final List<String> expectedEncrypted = recordEvents(encryptedFilePath, WorkbookReaderTest.CORRECT_PASSWORD);
+
+        HSSFWorkbookEventReader.setParallelism(4);
+        try {
+            assertEquals(expected, recordEvents(filePath, null));
+            assertEquals(expected1904, recordEvents(filePath1904, null));
+            assertEquals(expectedEncrypted, recordEvents(encryptedFilePath, WorkbookReaderTest.CORRECT_PASSWORD));
+
+            try (final WorkbookEventReader reader = new HSSFWorkbookEventReader(filePath)) {
+                final WorkbookEventRecorder recorder = new WorkbookEventRecorder() {
+                    @Override
+                    public void onEndSheet(int sheetIndex) {
+                        super.onEndSheet(sheetIndex);
+                        reader.cancel();
+                    }
+                };
+                reader.read(recorder);
+
+                final List<String> events = recorder.getEvents();
+                assertEquals("endSheet 0", events.get(events.size() - 2));
+                assertEquals("readCancelled", events.get(events.size() - 1));
+            }
+        } finally {
+            HSSFWorkbookEventReader.setParallelism(1);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> HSSFWorkbookEventReader.setParallelism(0));
+    }
+
+    @Test
+    void readRawValues() {
+        assertEventsWithOptions(DATE_FILE_PATHS, UnaryOperator.identity(),
+                                AbstractWorkbookEventReaderTest::assertRawValueEvents,
+                                AbstractWorkbookEventReaderTest::recordPlainEvents,
+                                RAW_VALUES, PARALLELISM);
+    }
+
+    @Test
+    void readLazyCellValues() {
+        assertSameEvents(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::recordPlainEvents, LAZY_CELL_VALUES);
+        assertSameEvents(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::recordDeferredEvents,
+                         LAZY_CELL_VALUES, PARALLELISM);
+    }
+
+    @Test
+    void readTypedCells() {
+        assertSameEvents(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::recordTypedEvents,
+                         ReaderOption.DEFAULTS, PARALLELISM, LAZY_CELL_VALUES);
+    }
+
+    @Test
+    void readBatches() {
+        // null cells cannot be told from absent cells in batches
+        assertEventsWithOptions(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::withoutNullCells,
+                                (expected, actual) -> assertEquals(expected, actual),
+                                reader -> recordBatchEvents(reader, 1024), ReaderOption.DEFAULTS);
+        assertEventsWithOptions(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::withoutNullCells,
+                                (expected, actual) -> assertEquals(expected, actual),
+                                reader -> recordBatchEvents(reader, 3),
+                                ReaderOption.DEFAULTS, PARALLELISM, LAZY_CELL_VALUES);
+    }
+
+    @Test
+    void readRows() {
+        assertSameEvents(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::recordRowEvents,
+                         ReaderOption.DEFAULTS, PARALLELISM, LAZY_CELL_VALUES);
+    }
+
+    @Test
+    void readAsync() {
+        final List<Path> filePaths = resourcePaths(NORMAL_FILE_NAME);
+        for (WorkbookEventReader.WaitStrategy waitStrategy : WorkbookEventReader.WaitStrategy.values()) {
+            final ReaderOption async = new ReaderOption("async " + waitStrategy,
+                    () -> HSSFWorkbookEventReader.setAsync(2, waitStrategy),
+                    () -> HSSFWorkbookEventReader.setAsync(0, WorkbookEventReader.WaitStrategy.PARK));
+            assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordPlainEvents, async);
+            assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordTypedEvents, async);
+            assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordRowEvents, async);
+
+            // the handler runs on the calling thread, the cancellation works as usual
+            async.set();
+            try {
+                super.cancel();
+            } finally {
+                async.reset();
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> HSSFWorkbookEventReader.setAsync(-1, WorkbookEventReader.WaitStrategy.PARK));
+        assertThrows(IllegalArgumentException.class,
+                     () -> HSSFWorkbookEventReader.setAsync((1 << 30) + 1, WorkbookEventReader.WaitStrategy.SPIN));
+        assertThrows(NullPointerException.class, () -> HSSFWorkbookEventReader.setAsync(1, null));
+    }
+
+    @NotNull
+    private static List<String> recordEvents(@NotNull Path filePath, @Nullable String password) {
+        try (final WorkbookEventReader reader = new HSSFWorkbookEventReader(filePath, password)) {
+            final WorkbookEventRecorder recorder = new WorkbookEventRecorder();
+            reader.read(recorder);
+            return recorder.getEvents();
+        }
+    }
+
+    @Test
+    @Override
+    void rows() {
+        super.rows();
+    }
+
     @Test
     @Override
     void cancel() {
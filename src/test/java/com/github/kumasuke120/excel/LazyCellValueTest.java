@@ -0,0 +1,103 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyCellValueTest {
+
+    @Test
+    void decodesOnce() {
+        final int[] decodeCount = {0};
+        final LazyCellValue cellValue = new LazyCellValue() {
+            @Override
+            Object decode() {
+                decodeCount[0] += 1;
+                return 12.0;
+            }
+        };
+        assertEquals(0, decodeCount[0]);
+
+        assertEquals(Integer.class, cellValue.originalType());
+        assertEquals(12, cellValue.intValue());
+        assertEquals("12", cellValue.stringValue());
+        assertEquals(1, decodeCount[0]);
+    }
+
+    @Test
+    void behavesAsDecoded() {
+        final CellValue expected = CellValue.newInstance(LocalDate.of(2020, 1, 1));
+        final LazyCellValue cellValue = newLazyCellValue(LocalDate.of(2020, 1, 1));
+
+        assertEquals(expected, cellValue);
+        assertEquals(cellValue, expected);
+        assertEquals(cellValue, newLazyCellValue(LocalDate.of(2020, 1, 1)));
+        assertNotEquals(cellValue, newLazyCellValue(LocalDate.of(2020, 1, 2)));
+        assertEquals(expected.hashCode(), cellValue.hashCode());
+        assertEquals(expected.localDateTimeValue(), cellValue.localDateTimeValue());
+        assertEquals(expected.strict(), cellValue.strict());
+        assertEquals(expected.lenient(), cellValue.lenient());
+
+        final LazyCellValue nullValue = newLazyCellValue(null);
+        assertTrue(nullValue.isNull());
+        assertEquals(CellValue.newInstance(null), nullValue);
+    }
+
+    @Test
+    void isNullWithoutDecoding() {
+        final int[] decodeCount = {0};
+        final LazyCellValue cellValue = new LazyCellValue() {
+            @Override
+            boolean mightBeNull() {
+                return false;
+            }
+
+            @Override
+            Object decode() {
+                decodeCount[0] += 1;
+                return 12.0;
+            }
+        };
+
+        assertFalse(cellValue.isNull());
+        assertEquals(0, decodeCount[0]);
+
+        final LazyCellValue nullValue = new LazyCellValue() {
+            @Override
+            Object decode() {
+                decodeCount[0] += 1;
+                return null;
+            }
+        };
+
+        assertTrue(nullValue.isNull());
+        assertTrue(nullValue.isNull());
+        assertEquals(1, decodeCount[0]);
+    }
+
+    @Test
+    void throwsDecodingErrors() {
+        final LazyCellValue cellValue = new LazyCellValue() {
+            @Override
+            Object decode() {
+                throw new IndexOutOfBoundsException("Index out of bounds: 1");
+            }
+        };
+
+        final WorkbookProcessException e = assertThrows(WorkbookProcessException.class, cellValue::originalValue);
+        assertTrue(e.getCause() instanceof IndexOutOfBoundsException);
+    }
+
+    private static LazyCellValue newLazyCellValue(@Nullable Object originalValue) {
+        return new LazyCellValue() {
+            @Override
+            Object decode() {
+                return originalValue;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.github.kumasuke120.excel;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumericLexerTest {
+
+    private static final List<String> TEXTS = Arrays.asList(
+            "0", "-0", "+0", "007", "1", "-1", "+1", "123456789", "-123456789",
+            "2147483647", "2147483648", "-2147483648", "-2147483649",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+            "123456789012345678901234567890",
+            "1.", ".5", "-.5", "+.5", "0.1", "-0.0", "1234.5678", "0.30000000000000004",
+            "1e5", "1E5", "1e+5", "1e-5", "-1.5e-3", ".5e1", "1.e1", "1e0005", "1e999", "1e-999",
+            "1e9999999999", "1e0000000001",
+            "", "-", "+", ".", "-.", "e5", ".e5", "1e", "1e+", "1e-", "1..2", "1.2.3", "--1", "+-1", "1-",
+            "abc", "hello world", "1abc", "12:30", "2020-01-01", "1,234", "1 234", "中文",
+            " 1", "1 ", "\t1.5\n", "NaN", "-Infinity", "Infinity", "0x1p3", "-0X10P0", "1f", "1.5d", "1D", "1F",
+            "١٢", "１２", "١.5", "N", "I", "0x", "-N");
+
+    @Test
+    void conformsToJdkParsers() {
+        final NumericLexer lexer = new NumericLexer();
+        for (String text : TEXTS) {
+            lexer.lex(text);
+
+            final Long expectedLong = parseLong(text);
+            assertEquals(expectedLong != null, lexer.isLong(), text);
+            if (expectedLong != null) {
+                assertEquals(expectedLong, lexer.longValue(), text);
+            }
+
+            final Integer expectedInt = parseInt(text);
+            assertEquals(expectedInt != null, lexer.isInt(), text);
+
+            final Double expectedDouble = parseDouble(text);
+            assertEquals(expectedDouble != null, lexer.isDouble(), text);
+            if (expectedDouble != null) {
+                assertEquals(Double.doubleToLongBits(expectedDouble),
+                        Double.doubleToLongBits(lexer.doubleValue()), text);
+            }
+
+            final BigDecimal expectedBigDecimal = parseBigDecimal(text);
+            assertEquals(expectedBigDecimal != null, lexer.isBigDecimal(), text);
+            if (expectedBigDecimal != null) {
+                assertEquals(expectedBigDecimal, lexer.bigDecimalValue(), text);
+            }
+        }
+    }
+
+    @Test
+    void lex() {
+        final NumericLexer lexer = new NumericLexer();
+        assertEquals(NumericLexer.INTEGER, lexer.lex("-123"));
+        assertEquals(NumericLexer.DECIMAL, lexer.lex("-123.45"));
+        assertEquals(NumericLexer.SCIENTIFIC, lexer.lex("1.2345E-3"));
+        assertEquals(NumericLexer.NOT_A_NUMBER, lexer.lex("abc"));
+        assertEquals(NumericLexer.NOT_A_NUMBER, lexer.lex("NaN"));
+        assertEquals(NumericLexer.NOT_A_NUMBER, lexer.getKind());
+
+        assertEquals(NumericLexer.NOT_A_NUMBER, lexer.lex("1,234,567"));
+        assertEquals(NumericLexer.INTEGER, lexer.lex("1,234,567", true));
+        assertEquals(1234567L, lexer.longValue());
+        assertEquals(NumericLexer.DECIMAL, lexer.lex("-1,234.5", true));
+        assertEquals("-1234.5", lexer.getNumberText());
+        assertEquals(new BigDecimal("-1234.5"), lexer.bigDecimalValue());
+        assertEquals(NumericLexer.NOT_A_NUMBER, lexer.lex(",", true));
+    }
+
+    private static Long parseLong(String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Integer parseInt(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Double parseDouble(String text) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal parseBigDecimal(String text) {
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.github.kumasuke120.excel;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelEventDispatcherTest {
+
+    private static final int CHUNK_SIZE = 4;
+    private static final int MAX_BUFFERED_CHUNKS = 2;
+    private static final int ROW_COUNT = 1000;
+
+    @Test
+    void boundBufferedEvents() throws Exception {
+        final List<String> events = new ArrayList<>();
+        final WorkbookEventReader.EventHandler handler = new WorkbookEventReader.EventHandler() {
+            @Override
+            public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+                events.add("startSheet(" + sheetIndex + ")");
+            }
+
+            @Override
+            public void onStartRow(int sheetIndex, int rowNum) {
+                events.add("startRow(" + sheetIndex + ", " + rowNum + ")");
+            }
+        };
+
+        final CountDownLatch firstReleased = new CountDownLatch(1);
+        final AtomicInteger secondEmitted = new AtomicInteger();
+        final AtomicReference<Thread> secondThread = new AtomicReference<>();
+
+        try (ParallelEventDispatcher dispatcher = new ParallelEventDispatcher(handler, 2,
+                                                                              CHUNK_SIZE, MAX_BUFFERED_CHUNKS)) {
+            dispatcher.submit(null, h -> {
+                firstReleased.await();
+                h.onStartSheet(0, "first");
+            });
+            dispatcher.submit(null, h -> {
+                secondThread.set(Thread.currentThread());
+                h.onStartSheet(1, "second");
+                for (int i = 0; i < ROW_COUNT; i++) {
+                    secondEmitted.incrementAndGet();
+                    h.onStartRow(1, i);
+                }
+            });
+
+            // the second task is not the earliest, it has to wait once its chunks run out
+            while (secondThread.get() == null || secondThread.get().getState() != Thread.State.WAITING) {
+                Thread.yield();
+            }
+            assertTrue(secondEmitted.get() <= (MAX_BUFFERED_CHUNKS + 1) * CHUNK_SIZE);
+            assertTrue(events.isEmpty());
+
+            firstReleased.countDown();
+            dispatcher.finish();
+        }
+
+        final List<String> expected = new ArrayList<>();
+        expected.add("startSheet(0)");
+        expected.add("startSheet(1)");
+        for (int i = 0; i < ROW_COUNT; i++) {
+            expected.add("startRow(1, " + i + ")");
+        }
+        assertEquals(expected, events);
+    }
+
+    @Test
+    void rethrowTaskException() throws Exception {
+        final List<Integer> sheets = new ArrayList<>();
+        final WorkbookEventReader.EventHandler handler = new WorkbookEventReader.EventHandler() {
+            @Override
+            public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+                sheets.add(sheetIndex);
+            }
+        };
+
+        try (ParallelEventDispatcher dispatcher = new ParallelEventDispatcher(handler, 2,
+                                                                              CHUNK_SIZE, MAX_BUFFERED_CHUNKS)) {
+            dispatcher.submit(null, h -> h.onStartSheet(0, "first"));
+            dispatcher.submit(null, h -> {
+                h.onStartSheet(1, "second");
+                throw new IllegalStateException("broken");
+            });
+            dispatcher.submit(null, h -> h.onStartSheet(2, "third"));
+
+            final IllegalStateException e = assertThrows(IllegalStateException.class, dispatcher::finish);
+            assertEquals("broken", e.getMessage());
+        }
+
+        assertEquals(2, sheets.size());
+        assertEquals(0, sheets.get(0));
+        assertEquals(1, sheets.get(1));
+    }
+
+}
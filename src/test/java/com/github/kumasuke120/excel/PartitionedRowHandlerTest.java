@@ -0,0 +1,166 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.util.ResourceUtil;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedRowHandlerTest {
+
+    private static final String FILE_NAME = "workbook.xlsx";
+
+    @Test
+    void partition() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final List<String> expected;
+            try (final Stream<RowView> rows = reader.rows()) {
+                expected = rows.map(row -> row.sheetIndex() + " " + row.rowNum()).collect(Collectors.toList());
+            }
+
+            final Map<Integer, List<String>> rowsByKey = new ConcurrentHashMap<>();
+            final AtomicInteger rowCount = new AtomicInteger();
+            final List<String> events = new CopyOnWriteArrayList<>();
+            final PartitionedRowHandler handler = new PartitionedRowHandler(new WorkbookEventReader.RowEventHandler() {
+                @Override
+                public void onRow(int sheetIndex, int rowNum, @NotNull RowView row) {
+                    rowsByKey.computeIfAbsent(rowNum % 3, k -> new CopyOnWriteArrayList<>())
+                            .add(sheetIndex + " " + rowNum);
+                    rowCount.incrementAndGet();
+                }
+
+                @Override
+                public void onEndDocument() {
+                    // all the rows have been handled
+                    events.add("endDocument " + rowCount.get());
+                }
+            }, row -> row.rowNum() % 3, 3, 2);
+            handler.read(reader);
+
+            assertEquals(expected.size(), rowCount.get());
+            assertEquals(1, events.size());
+            assertEquals("endDocument " + expected.size(), events.get(0));
+
+            // rows with the same key are handled in order
+            for (Map.Entry<Integer, List<String>> entry : rowsByKey.entrySet()) {
+                final List<String> expectedOfKey = new ArrayList<>();
+                for (String row : expected) {
+                    if (Integer.parseInt(row.split(" ")[1]) % 3 == entry.getKey()) {
+                        expectedOfKey.add(row);
+                    }
+                }
+                assertEquals(expectedOfKey, entry.getValue());
+            }
+        }
+    }
+
+    @Test
+    void rowsOfUsers() {
+        final RowViewBuffer buffer = new RowViewBuffer();
+        buffer.reset(0, 7);
+        buffer.setLong(1, 42);
+        buffer.setString(3, "text");
+
+        // a row implemented by users, which is not a RowViewBuffer
+        final RowView row = (RowView) Proxy.newProxyInstance(RowView.class.getClassLoader(),
+                                                             new Class<?>[]{RowView.class}, (proxy, method, args) -> {
+                    try {
+                        return method.invoke(buffer, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+
+        final List<String> handled = new CopyOnWriteArrayList<>();
+        final PartitionedRowHandler handler = new PartitionedRowHandler((sheetIndex, rowNum, r) ->
+                handled.add(sheetIndex + " " + rowNum + " " + r.cellCount() + " " + r.longValue(1) + " " +
+                                    r.stringValue(3) + " " + r.hasCell(2)), RowView::rowNum, 2, 1);
+        try {
+            handler.onStartDocument();
+            handler.onStartSheet(0, "Sheet1");
+            handler.onRow(0, 7, row);
+            buffer.reset(0, 8); // the row is copied before the call returns
+            handler.onEndSheet(0);
+            handler.onEndDocument();
+        } finally {
+            handler.close();
+        }
+
+        assertEquals(1, handled.size());
+        assertEquals("0 7 2 42 text false", handled.get(0));
+    }
+
+    @Test
+    void errors() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final PartitionedRowHandler handler = new PartitionedRowHandler((s, r, row) -> {
+                if (r == 1) {
+                    throw new IllegalStateException("failed");
+                }
+            }, RowView::rowNum, 2, 1);
+
+            final WorkbookProcessException e = assertThrows(WorkbookProcessException.class,
+                                                            () -> handler.read(reader));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+
+            // the reader could be read again
+            try (final Stream<RowView> rows = reader.rows()) {
+                assertTrue(rows.count() > 0);
+            }
+        }
+    }
+
+    @Test
+    void cancel() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final boolean[] cancelledRef = {false};
+            final AtomicBoolean cancelling = new AtomicBoolean(false);
+            final PartitionedRowHandler handler = new PartitionedRowHandler(new WorkbookEventReader.RowEventHandler() {
+                @Override
+                public void onRow(int sheetIndex, int rowNum, @NotNull RowView row) {
+                    // cancels on a worker thread
+                    if (cancelling.compareAndSet(false, true)) {
+                        reader.cancel();
+                    }
+                }
+
+                @Override
+                public void onReadCancelled() {
+                    cancelledRef[0] = true;
+                }
+            }, row -> null, 2, 1);
+            handler.read(reader);
+
+            assertTrue(cancelledRef[0]);
+        }
+    }
+
+    @Test
+    void invalidArguments() {
+        final WorkbookEventReader.RowEventHandler handler = (s, r, row) -> {
+        };
+        assertThrows(NullPointerException.class, () -> new PartitionedRowHandler(null, RowView::rowNum, 1, 1));
+        assertThrows(NullPointerException.class, () -> new PartitionedRowHandler(handler, null, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedRowHandler(handler, RowView::rowNum, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedRowHandler(handler, RowView::rowNum, 1, 0));
+        assertThrows(NullPointerException.class,
+                     () -> new PartitionedRowHandler(handler, RowView::rowNum, 1, 1).read(null));
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.github.kumasuke120.excel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowViewBufferTest {
+
+    @Test
+    void sparseCells() {
+        final RowViewBuffer row = new RowViewBuffer();
+        row.reset(0, 1);
+        assertEquals(0, row.cellCount());
+        assertEquals(-1, row.firstColumnNum());
+        assertEquals(-1, row.lastColumnNum());
+
+        row.setLong(40, 42);
+        row.setBlank(3);
+        assertEquals(2, row.cellCount());
+        assertEquals(3, row.firstColumnNum());
+        assertEquals(40, row.lastColumnNum());
+        assertTrue(row.hasCell(3));
+        assertTrue(row.isNull(3));
+        assertFalse(row.hasCell(4));
+        assertTrue(row.isNull(4));
+        assertFalse(row.hasCell(-1));
+        assertFalse(row.hasCell(100));
+        assertEquals(CellValue.newInstance(null), row.cell(100));
+
+        row.reset(0, 2);
+        assertEquals(2, row.rowNum());
+        assertEquals(0, row.cellCount());
+        assertFalse(row.hasCell(3));
+        assertFalse(row.hasCell(40));
+
+        row.setString(5, new StringBuilder("reused"));
+        assertEquals(1, row.cellCount());
+        assertEquals(5, row.firstColumnNum());
+        assertEquals(5, row.lastColumnNum());
+        assertEquals("reused", row.stringValue(5));
+    }
+
+    @Test
+    void behavesAsCellValues() {
+        final Object[] values = {
+                null, true, false, 0, 42, -1, Integer.MAX_VALUE + 1L, 1.5, -2.75, 1E300, "", "1", "true", "1.5",
+                "abc", LocalDate.of(2020, 1, 1), BigDecimal.valueOf(3)
+        };
+
+        final RowViewBuffer row = new RowViewBuffer();
+        row.reset(0, 0);
+        for (int i = 0; i < values.length; i++) {
+            set(row, i, values[i]);
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            final CellValue expected = CellValue.newInstance(ReaderUtils.toRelativeType(values[i]));
+            final int columnNum = i;
+
+            assertEquals(expected, row.cell(columnNum));
+            assertEquals(expected.isNull(), row.isNull(columnNum));
+            assertSameResult(expected::booleanValue, () -> row.booleanValue(columnNum));
+            assertSameResult(expected::intValue, () -> row.intValue(columnNum));
+            assertSameResult(expected::longValue, () -> row.longValue(columnNum));
+            assertSameResult(expected::doubleValue, () -> row.doubleValue(columnNum));
+            assertSameResult(expected::stringValue, () -> row.stringValue(columnNum));
+        }
+    }
+
+    private static void set(RowViewBuffer row, int columnNum, Object value) {
+        if (value == null) {
+            row.setBlank(columnNum);
+        } else if (value instanceof Boolean) {
+            row.setBoolean(columnNum, (Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long) {
+            row.setLong(columnNum, ((Number) value).longValue());
+        } else if (value instanceof Double) {
+            row.setDouble(columnNum, (Double) value);
+        } else if (value instanceof String) {
+            row.setString(columnNum, (String) value);
+        } else if (value instanceof LocalDate) {
+            row.setTemporal(columnNum, (LocalDate) value);
+        } else {
+            row.setCellValue(columnNum, CellValue.newInstance(value));
+        }
+    }
+
+    private static <T> void assertSameResult(ThrowingSupplier<T> expected, ThrowingSupplier<T> actual) {
+        final T expectedResult;
+        try {
+            expectedResult = expected.get();
+        } catch (Throwable e) {
+            final Executable executable = actual::get;
+            assertThrows(e.getClass(), executable);
+            return;
+        }
+        assertDoesNotThrow(() -> assertEquals(expectedResult, actual.get()));
+    }
+
+}
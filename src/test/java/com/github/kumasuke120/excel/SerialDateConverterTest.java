@@ -0,0 +1,79 @@
+package com.github.kumasuke120.excel;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerialDateConverterTest {
+
+    private static final double[] SERIALS = {
+            0, -0.0, 0.5, 0.25, 0.9999999, 0.99999999999, 1, 1.5, 1.99999999999, 59, 59.5, 60, 60.75, 61, 61.1,
+            366, 1462, 43831, 43831.123456789, 43831.0000000058, 43831.0000000057, 2958465, 2958465.99999,
+            2958465.999999999, 2958466, -1, Double.NaN
+    };
+
+    @Test
+    void conformsToDateUtil() {
+        final SerialDateConverter converter = new SerialDateConverter();
+        final Random random = new Random(20241016);
+
+        for (boolean use1904Windowing : new boolean[]{false, true}) {
+            for (double serial : SERIALS) {
+                assertConverted(converter, serial, use1904Windowing);
+            }
+            for (int i = 0; i < 10000; i++) {
+                final double serial = random.nextDouble() * 2958466;
+                assertConverted(converter, serial, use1904Windowing);
+                assertConverted(converter, Math.floor(serial), use1904Windowing);
+                assertConverted(converter, random.nextInt(1000) + 40000, use1904Windowing);
+            }
+        }
+    }
+
+    @Test
+    void toLocalDate() {
+        assertEquals(LocalDate.of(1899, 12, 31), SerialDateConverter.toLocalDate(0, false));
+        assertEquals(LocalDate.of(1900, 1, 1), SerialDateConverter.toLocalDate(1, false));
+        assertEquals(LocalDate.of(1900, 2, 28), SerialDateConverter.toLocalDate(59, false));
+        assertEquals(LocalDate.of(1900, 3, 1), SerialDateConverter.toLocalDate(61, false));
+        assertEquals(LocalDate.of(2020, 1, 1), SerialDateConverter.toLocalDate(43831, false));
+        assertEquals(LocalDate.of(1904, 1, 1), SerialDateConverter.toLocalDate(0, true));
+        assertEquals(LocalDate.of(2020, 1, 1), SerialDateConverter.toLocalDate(42369, true));
+    }
+
+    private static void assertConverted(SerialDateConverter converter, double serial, boolean use1904Windowing) {
+        final Object expected = toJsr310DateOrTimeByDateUtil(serial, use1904Windowing);
+        final String message = serial + (use1904Windowing ? " (1904)" : " (1900)");
+        assertEquals(expected, converter.toJsr310DateOrTime(serial, use1904Windowing), message);
+        assertEquals(expected, SerialDateConverter.UNCACHED.toJsr310DateOrTime(serial, use1904Windowing), message);
+    }
+
+    // the previous implementation, which goes through java.util.Date
+    private static Object toJsr310DateOrTimeByDateUtil(double serial, boolean use1904Windowing) {
+        if (!ReaderUtils.isValidExcelDate(serial)) {
+            return null;
+        }
+
+        final Date date = DateUtil.getJavaDate(serial, use1904Windowing, TimeZone.getTimeZone("UTC"));
+        final LocalDateTime localDateTime = LocalDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC);
+        if (serial < 1) {
+            final LocalTime localTime = localDateTime.toLocalTime();
+            assertNotNull(localTime);
+            return localTime;
+        } else if (ReaderUtils.isAWholeNumber(serial)) {
+            return localDateTime.toLocalDate();
+        } else {
+            return localDateTime;
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.util.ResourceUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkbookBatchReaderTest {
+
+    @Test
+    void processAll() throws Exception {
+        final Path xlsx = ResourceUtil.getPathOfClasspathResource("workbook.xlsx");
+        final Path xls = ResourceUtil.getPathOfClasspathResource("workbook.xls");
+        final Path csv = ResourceUtil.getPathOfClasspathResource("ENGINES.csv");
+        final Path missing = xlsx.resolveSibling("missing.xlsx");
+        final List<Path> filePaths = Arrays.asList(xlsx, xls, missing, csv);
+
+        try (final WorkbookBatchReader batchReader = new WorkbookBatchReader(2)) {
+            final Map<Path, CompletableFuture<Long>> results =
+                    batchReader.processAll(filePaths, WorkbookBatchReaderTest::countRows);
+            assertEquals(filePaths, Arrays.asList(results.keySet().toArray()));
+
+            for (Path filePath : Arrays.asList(xlsx, xls, csv)) {
+                assertEquals(countRows(filePath), results.get(filePath).get(10, TimeUnit.SECONDS));
+            }
+            assertThrows(ExecutionException.class, () -> results.get(missing).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void read() throws Exception {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource("workbook.xlsx");
+        try (final WorkbookBatchReader batchReader = new WorkbookBatchReader(1)) {
+            final Thread callingThread = Thread.currentThread();
+            final Thread[] readingThread = new Thread[1];
+            batchReader.read(filePath, new WorkbookEventReader.EventHandler() {
+                @Override
+                public void onStartDocument() {
+                    readingThread[0] = Thread.currentThread();
+                }
+            }).get(10, TimeUnit.SECONDS);
+
+            assertNotNull(readingThread[0]);
+            assertNotSame(callingThread, readingThread[0]);
+        }
+    }
+
+    @Test
+    void openUntilClosed() throws Exception {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource("workbook.xlsx");
+        try (final WorkbookBatchReader batchReader = new WorkbookBatchReader(1)) {
+            final WorkbookEventReader first = batchReader.open(filePath).get(10, TimeUnit.SECONDS);
+            final CompletableFuture<WorkbookEventReader> second = batchReader.open(filePath);
+
+            // the second one waits until the first one is closed
+            assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+            first.close();
+            first.close();
+
+            try (final WorkbookEventReader reader = second.get(10, TimeUnit.SECONDS)) {
+                try (final Stream<RowView> rows = reader.rows()) {
+                    assertEquals(countRows(filePath), rows.count());
+                }
+            }
+        }
+    }
+
+    @Test
+    void maxOpenBytes() throws Exception {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource("workbook.xlsx");
+        // files larger than the limit are read one at a time
+        try (final WorkbookBatchReader batchReader = new WorkbookBatchReader(4, 1)) {
+            final WorkbookEventReader first = batchReader.open(filePath).get(10, TimeUnit.SECONDS);
+            final CompletableFuture<Long> second = batchReader.process(filePath, WorkbookBatchReaderTest::countRows);
+
+            assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+            first.close();
+            assertEquals(countRows(filePath), second.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void queuedWithoutThreads() throws Exception {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource("workbook.xlsx");
+        final List<Path> filePaths = Collections.nCopies(32, filePath);
+        final long expected = countRows(filePath);
+
+        // starts a thread for each task as the executor of virtual threads does
+        final ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor();
+        try (final WorkbookBatchReader batchReader = new WorkbookBatchReader(2, Long.MAX_VALUE, executor)) {
+            final List<CompletableFuture<Long>> results = new ArrayList<>();
+            for (Path path : filePaths) {
+                results.add(batchReader.process(path, WorkbookBatchReaderTest::countRows));
+            }
+
+            for (CompletableFuture<Long> result : results) {
+                assertEquals(expected, result.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        // the workbooks queued never hold threads while waiting
+        assertTrue(executor.maxRunning.get() <= 2, "max running: " + executor.maxRunning.get());
+    }
+
+    @Test
+    void cancelOpen() throws Exception {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource("workbook.xlsx");
+        try (final WorkbookBatchReader batchReader = new WorkbookBatchReader(1)) {
+            final WorkbookEventReader first = batchReader.open(filePath).get(10, TimeUnit.SECONDS);
+            final CompletableFuture<WorkbookEventReader> second = batchReader.open(filePath);
+            final CompletableFuture<WorkbookEventReader> third = batchReader.open(filePath);
+
+            // the cancelled one gives its room to the next one
+            assertTrue(second.cancel(false));
+            first.close();
+
+            try (final WorkbookEventReader reader = third.get(10, TimeUnit.SECONDS)) {
+                assertEquals(countRows(filePath), countRows(reader));
+            }
+            assertEquals(countRows(filePath), batchReader.process(filePath, WorkbookBatchReaderTest::countRows)
+                    .get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new WorkbookBatchReader(0));
+        assertThrows(IllegalArgumentException.class, () -> new WorkbookBatchReader(1, 0));
+
+        try (final WorkbookBatchReader batchReader = new WorkbookBatchReader(1)) {
+            assertThrows(NullPointerException.class, () -> batchReader.open((Path) null));
+            assertThrows(NullPointerException.class, () -> batchReader.process((Path) null, r -> null));
+            assertThrows(NullPointerException.class,
+                         () -> batchReader.read(ResourceUtil.getPathOfClasspathResource("workbook.xlsx"), null));
+        }
+
+        final Path filePath = ResourceUtil.getPathOfClasspathResource("workbook.xlsx");
+        final WorkbookBatchReader closedReader = new WorkbookBatchReader(1);
+        closedReader.close();
+        assertThrows(RejectedExecutionException.class, () -> closedReader.open(filePath));
+        assertThrows(RejectedExecutionException.class, () -> closedReader.process(filePath, r -> null));
+    }
+
+    private static long countRows(Path filePath) {
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            return countRows(reader);
+        }
+    }
+
+    private static long countRows(WorkbookEventReader reader) {
+        try (final Stream<RowView> rows = reader.rows()) {
+            return rows.collect(Collectors.counting());
+        }
+    }
+
+    private static final class ThreadPerTaskExecutor extends AbstractExecutorService {
+        private final ExecutorService threads = Executors.newCachedThreadPool();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Override
+        public void execute(Runnable command) {
+            threads.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    command.run();
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            threads.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return threads.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return threads.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return threads.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return threads.awaitTermination(timeout, unit);
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.util.ResourceUtil;
+import com.github.kumasuke120.util.WorkbookEventRecorder;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkbookEventBroadcasterTest {
+
+    private static final String FILE_NAME = "workbook.xlsx";
+
+    @Test
+    void broadcast() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final List<String> expected = recordEvents(reader);
+            final long expectedRows = expected.stream().filter(e -> e.startsWith("startRow")).count();
+
+            final WorkbookEventBroadcaster broadcaster = new WorkbookEventBroadcaster(reader);
+            final WorkbookEventRecorder inline = new WorkbookEventRecorder();
+            final WorkbookEventRecorder async = new WorkbookEventRecorder();
+            final AtomicInteger rowCount = new AtomicInteger();
+            broadcaster.add(inline);
+            broadcaster.addAsync(async, 1);
+            broadcaster.addAsync((WorkbookEventReader.RowEventHandler) (s, r, row) -> rowCount.incrementAndGet(), 16);
+            broadcaster.read();
+
+            assertEquals(expected, inline.getEvents());
+            assertEquals(expected, async.getEvents());
+            assertEquals(expectedRows, rowCount.get());
+
+            assertThrows(IllegalStateException.class, broadcaster::read);
+            assertThrows(IllegalStateException.class, () -> broadcaster.add(new WorkbookEventRecorder()));
+        }
+    }
+
+    @Test
+    void cancelMember() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final List<String> expected = recordEvents(reader);
+
+            final WorkbookEventBroadcaster broadcaster = new WorkbookEventBroadcaster(reader);
+            final WorkbookEventBroadcaster.Member[] members = new WorkbookEventBroadcaster.Member[2];
+            final WorkbookEventRecorder inline = new CancellingRecorder(() -> members[0]);
+            final WorkbookEventRecorder async = new CancellingRecorder(() -> members[1]);
+            final WorkbookEventRecorder remaining = new WorkbookEventRecorder();
+            members[0] = broadcaster.add(inline);
+            members[1] = broadcaster.addAsync(async, 4);
+            broadcaster.add(remaining);
+            broadcaster.read();
+
+            // the others keep receiving the events
+            assertEquals(expected, remaining.getEvents());
+
+            final int endOfFirstSheet = expected.indexOf("endSheet 0") + 1;
+            for (WorkbookEventRecorder recorder : new WorkbookEventRecorder[]{inline, async}) {
+                final List<String> events = recorder.getEvents();
+                assertEquals(expected.subList(0, endOfFirstSheet), events.subList(0, events.size() - 1));
+                assertEquals("readCancelled", events.get(events.size() - 1));
+            }
+            assertTrue(members[0].isCancelled());
+            assertTrue(members[1].isCancelled());
+        }
+    }
+
+    @Test
+    void cancelAllMembers() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final List<String> expected = recordEvents(reader);
+
+            final WorkbookEventBroadcaster broadcaster = new WorkbookEventBroadcaster(reader);
+            final WorkbookEventBroadcaster.Member[] members = new WorkbookEventBroadcaster.Member[1];
+            final WorkbookEventRecorder inline = new CancellingRecorder(() -> members[0]);
+            members[0] = broadcaster.add(inline);
+            broadcaster.read();
+
+            final List<String> events = inline.getEvents();
+            assertEquals("readCancelled", events.get(events.size() - 1));
+
+            // the reading has been cancelled, the reader could be read again
+            assertEquals(expected, recordEvents(reader));
+        }
+    }
+
+    @Test
+    void asyncErrors() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final List<String> expected = recordEvents(reader);
+
+            final WorkbookEventBroadcaster broadcaster = new WorkbookEventBroadcaster(reader);
+            final WorkbookEventRecorder remaining = new WorkbookEventRecorder();
+            final WorkbookEventBroadcaster.Member failing = broadcaster.addAsync(new WorkbookEventRecorder() {
+                @Override
+                public void onStartRow(int sheetIndex, int rowNum) {
+                    throw new IllegalStateException("failed");
+                }
+            }, 2);
+            broadcaster.addAsync(remaining, 2);
+
+            final WorkbookProcessException e = assertThrows(WorkbookProcessException.class, broadcaster::read);
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertTrue(failing.isCancelled());
+            assertEquals(expected, remaining.getEvents());
+        }
+    }
+
+    @Test
+    void invalidArguments() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            assertThrows(NullPointerException.class, () -> new WorkbookEventBroadcaster(null));
+
+            final WorkbookEventBroadcaster broadcaster = new WorkbookEventBroadcaster(reader);
+            assertThrows(NullPointerException.class, () -> broadcaster.add(null));
+            assertThrows(NullPointerException.class, () -> broadcaster.addAsync(null, 1));
+            assertThrows(IllegalArgumentException.class, () -> broadcaster.addAsync(new WorkbookEventRecorder(), 0));
+        }
+    }
+
+    private static List<String> recordEvents(WorkbookEventReader reader) {
+        final WorkbookEventRecorder recorder = new WorkbookEventRecorder();
+        reader.read(recorder);
+        return recorder.getEvents();
+    }
+
+    // cancels its member after the first sheet
+    private static class CancellingRecorder extends WorkbookEventRecorder {
+        private final Supplier<WorkbookEventBroadcaster.Member> member;
+
+        private CancellingRecorder(@NotNull Supplier<WorkbookEventBroadcaster.Member> member) {
+            this.member = member;
+        }
+
+        @Override
+        public void onEndSheet(int sheetIndex) {
+            super.onEndSheet(sheetIndex);
+            if (sheetIndex == 0) {
+                member.get().cancel();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.util.ResourceUtil;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkbookRowPublisherTest {
+
+    private static final String FILE_NAME = "workbook.xlsx";
+
+    @Test
+    void publishOnDemand() throws Exception {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final List<String> expected;
+            try (final Stream<RowView> rows = reader.rows()) {
+                expected = rows.map(WorkbookRowPublisherTest::toString).collect(Collectors.toList());
+            }
+            assertTrue(expected.size() > 3);
+
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+            new WorkbookRowPublisher(reader).subscribe(subscriber);
+
+            subscriber.subscription.request(2);
+            // the reading thread only waits once the requested rows have been emitted
+            final long deadline = System.currentTimeMillis() + 10_000;
+            while (subscriber.readingThread == null ||
+                    subscriber.readingThread.getState() != Thread.State.WAITING) {
+                assertTrue(System.currentTimeMillis() < deadline);
+                Thread.yield();
+            }
+            assertEquals(expected.subList(0, 2), subscriber.rows);
+            assertFalse(subscriber.completion.isDone());
+
+            subscriber.subscription.request(Long.MAX_VALUE);
+            subscriber.completion.get(10, TimeUnit.SECONDS);
+            assertEquals(expected, subscriber.rows);
+        }
+    }
+
+    @Test
+    void cancel() throws Exception {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+            new WorkbookRowPublisher(reader).subscribe(subscriber);
+
+            subscriber.subscription.request(1);
+            subscriber.subscription.cancel();
+            subscriber.subscription.request(1);
+
+            // the reader could be read again once the reading is cancelled
+            final long deadline = System.currentTimeMillis() + 10_000;
+            while (true) {
+                try {
+                    reader.read(new WorkbookEventReader.EventHandler() {
+                    });
+                    break;
+                } catch (IllegalReaderStateException e) {
+                    assertTrue(System.currentTimeMillis() < deadline);
+                    Thread.sleep(10);
+                }
+            }
+
+            assertTrue(subscriber.rows.size() <= 1);
+            assertFalse(subscriber.completion.isDone());
+        }
+    }
+
+    @Test
+    void invalidRequests() throws Exception {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final WorkbookRowPublisher publisher = new WorkbookRowPublisher(reader);
+
+            final RecordingSubscriber subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+            subscriber.subscription.request(0);
+            assertCompletedWith(IllegalArgumentException.class, subscriber.completion);
+
+            final RecordingSubscriber anotherSubscriber = new RecordingSubscriber();
+            publisher.subscribe(anotherSubscriber);
+            assertNotNull(anotherSubscriber.subscription);
+            assertCompletedWith(IllegalStateException.class, anotherSubscriber.completion);
+
+            assertThrows(NullPointerException.class, () -> publisher.subscribe(null));
+        }
+    }
+
+    @Test
+    void readingErrors() throws Exception {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(FILE_NAME);
+        final WorkbookEventReader reader = WorkbookEventReader.open(filePath);
+        reader.close();
+
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new WorkbookRowPublisher(reader).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertCompletedWith(IllegalReaderStateException.class, subscriber.completion);
+    }
+
+    private static void assertCompletedWith(Class<? extends Throwable> errorClass,
+                                            CompletableFuture<Void> completion) throws Exception {
+        final ExecutionException e = assertThrows(ExecutionException.class,
+                () -> completion.get(10, TimeUnit.SECONDS));
+        assertEquals(errorClass, e.getCause().getClass());
+    }
+
+    @NotNull
+    private static String toString(RowView row) {
+        final StringBuilder builder = new StringBuilder()
+                .append(row.sheetIndex()).append(' ').append(row.rowNum());
+        for (int columnNum = row.firstColumnNum(); columnNum <= row.lastColumnNum(); columnNum++) {
+            final CellValue cellValue = row.cell(columnNum);
+            builder.append(' ')
+                    .append(cellValue.isNull() ? "null" : cellValue.originalType().getSimpleName())
+                    .append(':')
+                    .append(cellValue.originalValue());
+        }
+        return builder.toString();
+    }
+
+    private static class RecordingSubscriber implements WorkbookRowPublisher.Subscriber {
+        private final List<String> rows = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private volatile WorkbookRowPublisher.Subscription subscription;
+        private volatile Thread readingThread;
+
+        @Override
+        public void onSubscribe(@NotNull WorkbookRowPublisher.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(@NotNull RowView row) {
+            readingThread = Thread.currentThread();
+            rows.add(WorkbookRowPublisherTest.toString(row));
+        }
+
+        @Override
+        public void onError(@NotNull Throwable error) {
+            completion.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.util.ResourceUtil;
+import com.github.kumasuke120.util.TypedWorkbookEventRecorder;
+import com.github.kumasuke120.util.WorkbookEventRecorder;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkbookTableTest {
+
+    private static final String[] FILE_NAMES = {"workbook.xlsx", "workbook-1904.xls", "ENGINES.csv"};
+
+    @Test
+    void load() {
+        for (String fileName : FILE_NAMES) {
+            final Path filePath = ResourceUtil.getPathOfClasspathResource(fileName);
+            for (boolean offHeap : new boolean[]{false, true}) {
+                try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+                    final WorkbookTable table = WorkbookTable.load(reader, 0, offHeap);
+                    assertEquals(0, table.sheetIndex());
+
+                    // the reader could be read again
+                    final WorkbookEventRecorder recorder = new WorkbookEventRecorder();
+                    reader.read(recorder);
+                    assertTableEquals(recorder.getEvents(), table);
+                }
+            }
+        }
+    }
+
+    private static void assertTableEquals(List<String> events, WorkbookTable table) {
+        int rowCount = 0;
+        int columnCount = 0;
+        for (String event : events) {
+            final String[] parts = event.split(" ", 6);
+            if (!"0".equals(parts.length > 1 ? parts[1] : null)) {
+                continue;
+            }
+
+            if ("startRow".equals(parts[0])) {
+                rowCount = Math.max(rowCount, Integer.parseInt(parts[2]) + 1);
+            } else if ("cell".equals(parts[0])) {
+                final int rowNum = Integer.parseInt(parts[2]);
+                final int columnNum = Integer.parseInt(parts[3]);
+                final CellValue cellValue = table.get(rowNum, columnNum);
+                assertEquals(event, toEvent(rowNum, columnNum, cellValue));
+                assertEquals(cellValue.isNull(), table.isNull(rowNum, columnNum));
+                if (!cellValue.isNull()) {
+                    columnCount = Math.max(columnCount, columnNum + 1);
+                }
+            }
+        }
+
+        assertTrue(rowCount > 0);
+        assertEquals(rowCount, table.rowCount());
+        assertEquals(columnCount, table.columnCount());
+        assertTrue(table.isNull(rowCount, 0));
+        assertTrue(table.isNull(0, columnCount));
+        assertTrue(table.get(-1, -1).isNull());
+    }
+
+    @NotNull
+    private static String toEvent(int rowNum, int columnNum, CellValue cellValue) {
+        return "cell 0 " + rowNum + " " + columnNum + " " +
+                (cellValue.isNull() ? "null" : cellValue.originalType().getSimpleName()) + " " +
+                cellValue.originalValue();
+    }
+
+    @Test
+    void scanColumn() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource("workbook.xlsx");
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            final WorkbookTable table = WorkbookTable.load(reader, 0, true);
+            for (int columnNum = 0; columnNum <= table.columnCount(); columnNum++) {
+                final TypedWorkbookEventRecorder recorder = new TypedWorkbookEventRecorder();
+                table.scanColumn(columnNum, recorder);
+
+                final List<String> expected = new ArrayList<>();
+                for (int rowNum = 0; rowNum < table.rowCount(); rowNum++) {
+                    if (!table.isNull(rowNum, columnNum)) {
+                        expected.add(toEvent(rowNum, columnNum, table.get(rowNum, columnNum)));
+                    }
+                }
+                assertEquals(expected, recorder.getEvents());
+            }
+        }
+    }
+
+    @Test
+    void loadMissingSheet() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource("workbook.xlsx");
+        try (final WorkbookEventReader reader = WorkbookEventReader.open(filePath)) {
+            assertThrows(IllegalArgumentException.class, () -> WorkbookTable.load(reader, 100));
+            assertThrows(NullPointerException.class, () -> WorkbookTable.load(null, 0));
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.github.kumasuke120.excel;
+
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.apache.xmlbeans.XmlOptions;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTRst;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XSSFCompactSharedStringsTest {
+
+    private static final String NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private static final List<String> ITEMS = Arrays.asList(
+            "<t>plain</t>",
+            "<t xml:space=\"preserve\">  spaced  </t>",
+            "<t></t>",
+            "",
+            "<t>café ÿ</t>",
+            "<t>中文 Ā €</t>",
+            "<t>😀 emoji</t>",
+            "<t>_x0041__x000d_ and _xZZZZ_ and _x00e9_</t>",
+            "<r><t>rich </t></r><r><rPr><b/></rPr><t>text</t></r>",
+            "<t>base</t><rPh sb=\"0\" eb=\"1\"><t>phonetic</t></rPh>",
+            "<r><t>run</t></r><rPh sb=\"0\" eb=\"1\"><t>phonetic</t></rPh>");
+
+    @Test
+    void getString() throws Exception {
+        final XSSFCompactSharedStrings strings = read(2);
+        assertEquals(ITEMS.size(), strings.size());
+
+        for (int i = 0; i < ITEMS.size(); i++) {
+            assertEquals(poiString(ITEMS.get(i)), strings.getString(i), ITEMS.get(i));
+        }
+
+        assertThrows(IndexOutOfBoundsException.class, () -> strings.getString(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> strings.getString(ITEMS.size()));
+    }
+
+    @Test
+    void cache() throws Exception {
+        final XSSFCompactSharedStrings strings = read(2);
+
+        final String first = strings.getString(0);
+        assertSame(first, strings.getString(0));
+
+        final String second = strings.getString(1);
+        assertSame(first, strings.getString(0));
+        assertSame(second, strings.getString(1));
+
+        // evicts the least recently used one, which is the first
+        strings.getString(4);
+        assertSame(second, strings.getString(1));
+        assertNotSame(first, strings.getString(0));
+        assertEquals(first, strings.getString(0));
+    }
+
+    @Test
+    void empty() throws Exception {
+        final XSSFCompactSharedStrings strings = XSSFCompactSharedStrings.read(null, newParser(), 1);
+        assertEquals(0, strings.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> strings.getString(0));
+    }
+
+    @NotNull
+    private static XSSFCompactSharedStrings read(int cacheSize) throws Exception {
+        final StringBuilder xml = new StringBuilder()
+                .append("<sst xmlns=\"").append(NS).append("\" count=\"").append(ITEMS.size()).append("\">");
+        for (String item : ITEMS) {
+            xml.append("<si>").append(item).append("</si>");
+        }
+        xml.append("</sst>");
+
+        final byte[] bytes = xml.toString().getBytes(StandardCharsets.UTF_8);
+        return XSSFCompactSharedStrings.read(new ByteArrayInputStream(bytes), newParser(), cacheSize);
+    }
+
+    private static String poiString(@NotNull String item) throws Exception {
+        final XmlOptions options = new XmlOptions();
+        options.setLoadReplaceDocumentElement(null);
+        final CTRst rst = CTRst.Factory.parse("<si xmlns=\"" + NS + "\">" + item + "</si>", options);
+        return new XSSFRichTextString(rst).getString();
+    }
+
+    @NotNull
+    private static SAXParser newParser() throws Exception {
+        final SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newSAXParser();
+    }
+
+}
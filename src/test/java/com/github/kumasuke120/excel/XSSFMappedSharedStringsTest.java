@@ -0,0 +1,143 @@
+package com.github.kumasuke120.excel;
+
+import com.github.kumasuke120.util.ResourceUtil;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XSSFMappedSharedStringsTest {
+
+    private static final String NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private static final String[] ITEMS = {
+            "<t>plain</t>", "", "<t></t>", "<t>café</t>", "<t>中文 €</t>", "<t>😀</t>",
+            "<r><t>rich </t></r><r><t>text</t></r>", "<t>_x0041_</t>", "<t>last one</t>"
+    };
+
+    @Test
+    void getString() throws Exception {
+        final XSSFCompactSharedStrings expected = XSSFCompactSharedStrings.read(newXml(), newParser(), 0);
+
+        // spills after each of the texts, or never
+        for (long threshold = 1; threshold <= 64; threshold++) {
+            try (final XSSFSharedStrings strings =
+                         XSSFMappedSharedStrings.read(newXml(), newParser(), threshold, 2)) {
+                for (int i = 0; i < ITEMS.length; i++) {
+                    assertEquals(expected.getString(i), strings.getString(i), ITEMS[i]);
+                    assertEquals(expected.getString(i), strings.getString(i), ITEMS[i]);
+                }
+
+                assertThrows(IndexOutOfBoundsException.class, () -> strings.getString(-1));
+                assertThrows(IndexOutOfBoundsException.class, () -> strings.getString(ITEMS.length));
+            }
+        }
+    }
+
+    @Test
+    void spill() throws Exception {
+        try (final XSSFSharedStrings strings = XSSFMappedSharedStrings.read(newXml(), newParser(), 1 << 30, 2)) {
+            assertTrue(strings instanceof XSSFCompactSharedStrings);
+        }
+
+        final Set<Path> before = listTempFiles();
+        final XSSFSharedStrings strings = XSSFMappedSharedStrings.read(newXml(), newParser(), 1, 2);
+        assertTrue(strings instanceof XSSFMappedSharedStrings);
+        assertEquals(ITEMS.length, ((XSSFMappedSharedStrings) strings).size());
+
+        final Set<Path> created = listTempFiles();
+        created.removeAll(before);
+        assertEquals(1, created.size());
+
+        assertNotNull(strings.getString(0));
+        strings.close();
+        assertFalse(Files.exists(created.iterator().next()));
+
+        // the cached ones are still available, while the others cannot be read from the unmapped file
+        assertNotNull(strings.getString(0));
+        assertThrows(IllegalStateException.class, () -> strings.getString(1));
+        strings.close();
+    }
+
+    @Test
+    void closeReader() throws Exception {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource("workbook.xlsx");
+        final Set<Path> before = listTempFiles();
+
+        XSSFWorkbookEventReader.setMappedSharedStrings(1);
+        XSSFWorkbookEventReader.setLazyCellValues(true);
+        try {
+            final WorkbookEventReader reader = new XSSFWorkbookEventReader(filePath);
+            final Set<Path> created = listTempFiles();
+            created.removeAll(before);
+            assertEquals(1, created.size());
+
+            // shared strings are decoded before the file is removed, even if cells are lazy
+            final List<CellValue> cellValues = new ArrayList<>();
+            reader.read(new WorkbookEventReader.EventHandler() {
+                @Override
+                public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+                    cellValues.add(cellValue);
+                }
+            });
+            reader.close();
+            assertFalse(Files.exists(created.iterator().next()));
+
+            for (CellValue cellValue : cellValues) {
+                assertDoesNotThrow(cellValue::originalValue);
+            }
+        } finally {
+            XSSFWorkbookEventReader.setLazyCellValues(false);
+            XSSFWorkbookEventReader.setMappedSharedStrings(0);
+        }
+    }
+
+    @Test
+    void empty() throws Exception {
+        try (final XSSFSharedStrings strings = XSSFMappedSharedStrings.read(null, newParser(), 1, 2)) {
+            assertThrows(IndexOutOfBoundsException.class, () -> strings.getString(0));
+        }
+    }
+
+    @NotNull
+    private static ByteArrayInputStream newXml() {
+        final StringBuilder xml = new StringBuilder().append("<sst xmlns=\"").append(NS).append("\">");
+        for (String item : ITEMS) {
+            xml.append("<si>").append(item).append("</si>");
+        }
+        xml.append("</sst>");
+        return new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @NotNull
+    private static Set<Path> listTempFiles() throws IOException {
+        final Set<Path> files = new HashSet<>();
+        final Path tempDir = Paths.get(System.getProperty("java.io.tmpdir"));
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(tempDir, "workbook-shared-strings-*")) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    @NotNull
+    private static SAXParser newParser() throws Exception {
+        final SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newSAXParser();
+    }
+
+}
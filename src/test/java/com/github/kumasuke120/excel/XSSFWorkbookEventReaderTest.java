@@ -1,19 +1,44 @@
 package com.github.kumasuke120.excel;
 
 import com.github.kumasuke120.util.ResourceUtil;
+import com.github.kumasuke120.util.WorkbookEventRecorder;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class XSSFWorkbookEventReaderTest extends AbstractWorkbookEventReaderTest<XSSFWorkbookEventReader> {
 
     private static final String NORMAL_FILE_NAME = "workbook.xlsx";
     private static final String ENCRYPTED_FILE_NAME = "workbook-encrypted.xlsx";
 
+    private static final List<Path> DATE_FILE_PATHS = resourcePaths(NORMAL_FILE_NAME, "workbook-1904.xlsx");
+
+    private static final ReaderOption RAW_VALUES = new ReaderOption("rawValues",
+            () -> XSSFWorkbookEventReader.setRawValues(true),
+            () -> XSSFWorkbookEventReader.setRawValues(false));
+    private static final ReaderOption BYTE_SCANNING = new ReaderOption("byteScanning",
+            () -> XSSFWorkbookEventReader.setByteScanning(true),
+            () -> XSSFWorkbookEventReader.setByteScanning(false));
+    private static final ReaderOption PARALLELISM = new ReaderOption("parallelism",
+            () -> XSSFWorkbookEventReader.setParallelism(4),
+            () -> XSSFWorkbookEventReader.setParallelism(1));
+    private static final ReaderOption LAZY_CELL_VALUES = new ReaderOption("lazyCellValues",
+            () -> XSSFWorkbookEventReader.setLazyCellValues(true),
+            () -> XSSFWorkbookEventReader.setLazyCellValues(false));
+
     XSSFWorkbookEventReaderTest() {
         super(NORMAL_FILE_NAME, ENCRYPTED_FILE_NAME, XSSFWorkbookEventReader.class);
     }
@@ -47,6 +72,333 @@ class XSSFWorkbookEventReaderTest extends AbstractWorkbookEventReaderTest<XSSFWo
         }
     }
 
+    @Test
+    void readInParallel() {
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(NORMAL_FILE_NAME);
+        final List<String> expected = recordEvents(filePath);
+
+        XSSFWorkbookEventReader.setParallelism(4);
+        try {
+            assertEquals(expected, recordEvents(filePath));
+
+            try (final WorkbookEventReader reader = new XSSFWorkbookEventReader(filePath)) {
+                final WorkbookEventRecorder recorder = new WorkbookEventRecorder() {
+                    @Override
+                    public void onEndSheet(int sheetIndex) {
+                        super.onEndSheet(sheetIndex);
+                        reader.cancel();
+                    }
+                };
+                reader.read(recorder);
+
+                final List<String> events = recorder.getEvents();
+                assertEquals("endSheet 0", events.get(events.size() - 2));
+                assertEquals("readCancelled", events.get(events.size() - 1));
+            }
+        } finally {
+            XSSFWorkbookEventReader.setParallelism(1);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> XSSFWorkbookEventReader.setParallelism(0));
+    }
+
+    @Test
+    void readInParallelWithSheetSplit() throws IOException {
+        final List<Path> filePaths = resourcePaths(NORMAL_FILE_NAME, "ENGINES.xlsx");
+
+        final Path tempDir = Files.createTempDirectory("sheet-split");
+        try {
+            // a processing instruction among the rows, which looks like a row to split at
+            final String sheetXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                    "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>" +
+                    "<row r=\"1\"><c r=\"A1\"><v>1</v></c></row>" +
+                    "<?pi <row r=\"2\"><c r=\"A2\"><v>2</v></c></row>?>" +
+                    "<row r=\"3\"><c r=\"A3\"><v>3</v></c></row></sheetData></worksheet>";
+            filePaths.add(replaceSheet(tempDir.resolve("instruction.xlsx"), sheetXml.getBytes(StandardCharsets.UTF_8)));
+
+            for (long sheetSplitSize : new long[]{1, 512, 1024 * 1024}) {
+                final ReaderOption sheetSplit = new ReaderOption("sheetSplitSize " + sheetSplitSize,
+                        () -> XSSFWorkbookEventReader.setSheetSplitSize(sheetSplitSize),
+                        () -> XSSFWorkbookEventReader.setSheetSplitSize(0));
+                assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordPlainEvents,
+                                 PARALLELISM, sheetSplit);
+            }
+        } finally {
+            for (Path filePath : filePaths) {
+                if (filePath.startsWith(tempDir)) {
+                    Files.delete(filePath);
+                }
+            }
+            Files.delete(tempDir);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> XSSFWorkbookEventReader.setSheetSplitSize(-1));
+    }
+
+    @Test
+    void readWithPrefetch() {
+        final List<Path> filePaths = resourcePaths(NORMAL_FILE_NAME, "workbook-1904.xlsx", "ENGINES.xlsx");
+        // buffers smaller than a tag as well as depths larger than the count of sheets
+        for (int depth : new int[]{1, 2, 100}) {
+            for (int bufferSize : new int[]{7, 64 * 1024}) {
+                assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordPlainEvents,
+                                 prefetch(depth, bufferSize), BYTE_SCANNING, PARALLELISM);
+            }
+        }
+
+        final Path filePath = ResourceUtil.getPathOfClasspathResource(NORMAL_FILE_NAME);
+        try (final XSSFWorkbookEventReader reader = new XSSFWorkbookEventReader(filePath)) {
+            reader.read(new WorkbookEventRecorder());
+            assertEquals(Duration.ZERO, reader.getPrefetchWaitTime());
+        }
+
+        final ReaderOption prefetch = prefetch(100, 7);
+        prefetch.set();
+        try (final XSSFWorkbookEventReader reader = new XSSFWorkbookEventReader(filePath)) {
+            final WorkbookEventRecorder recorder = new WorkbookEventRecorder() {
+                @Override
+                public void onEndSheet(int sheetIndex) {
+                    super.onEndSheet(sheetIndex);
+                    reader.cancel();
+                }
+            };
+            reader.read(recorder);
+
+            final List<String> events = recorder.getEvents();
+            assertEquals("endSheet 0", events.get(events.size() - 2));
+            assertEquals("readCancelled", events.get(events.size() - 1));
+
+            // the reader could be read again after the prefetching thread of a cancelled read is gone
+            assertEquals(recordEvents(filePath), recordPlainEvents(reader));
+        } finally {
+            prefetch.reset();
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> XSSFWorkbookEventReader.setPrefetch(-1, 1));
+        assertThrows(IllegalArgumentException.class, () -> XSSFWorkbookEventReader.setPrefetch(1, 0));
+    }
+
+    @Test
+    void readWithByteScanning() throws IOException {
+        final List<Path> filePaths = new ArrayList<>();
+        for (String fileName : new String[]{NORMAL_FILE_NAME, "workbook-1904.xlsx", "ENGINES.xlsx", "workbook"}) {
+            filePaths.add(ResourceUtil.getPathOfClasspathResource(fileName));
+        }
+
+        final Path tempDir = Files.createTempDirectory("byte-scanning");
+        try {
+            // prefixes, comments, CDATA, references, line endings and single quotes
+            final String sheetXml = "\uFEFF<?xml version='1.0' encoding='utf-8'?>\r\n<!-- sheet -->" +
+                    "<x:worksheet xmlns:x=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+                    "<x:sheetData><x:row r='2' spans=\"1:4\"><x:c r='A2' t='inlineStr'><x:is><x:t>" +
+                    "a &lt;&amp;&gt; &#x41;&#66; \u65e5\u672c\uD83D\uDE00\r\nb\rc</x:t></x:is></x:c>" +
+                    "<x:c r=\"C2\" t=\"inlineStr\"><x:is><x:r><x:t>rich</x:t></x:r><x:r><x:t><![CDATA[<cdata>]]>" +
+                    "</x:t></x:r></x:is></x:c><!-- cell --><x:c><x:v>-12345678901</x:v></x:c>" +
+                    "<x:c t=\"n\"><x:v>+42</x:v></x:c></x:row>\n<x:row><x:c t=\"b\"><x:v>1</x:v></x:c>" +
+                    "<x:c t=\"e\"><x:v>#N/A</x:v></x:c><x:c t=\"str\"><x:f>A1</x:f><x:v>formula</x:v></x:c>" +
+                    "<x:c t=\"s\"><x:v>3</x:v></x:c><x:c><x:v>1.25E-3</x:v></x:c><x:c><x:v>0.1</x:v></x:c>" +
+                    "<x:c><x:v></x:v></x:c><x:c/></x:row><x:row r=\"4\"/></x:sheetData></x:worksheet>";
+            filePaths.add(replaceSheet(tempDir.resolve("scanning.xlsx"), sheetXml.getBytes(StandardCharsets.UTF_8)));
+
+            // falls back to the SAX parser
+            final String latin1SheetXml = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                    "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+                    "<sheetData><row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t>caf\u00e9</t></is></c>" +
+                    "</row></sheetData></worksheet>";
+            filePaths.add(replaceSheet(tempDir.resolve("fallback.xlsx"),
+                    latin1SheetXml.getBytes(StandardCharsets.ISO_8859_1)));
+
+            for (Path filePath : filePaths) {
+                final List<String> expected = recordEvents(filePath);
+
+                XSSFWorkbookEventReader.setByteScanning(true);
+                try {
+                    assertEquals(expected, recordEvents(filePath), filePath.toString());
+                } finally {
+                    XSSFWorkbookEventReader.setByteScanning(false);
+                }
+            }
+        } finally {
+            for (Path filePath : filePaths) {
+                if (filePath.startsWith(tempDir)) {
+                    Files.delete(filePath);
+                }
+            }
+            Files.delete(tempDir);
+        }
+    }
+
+    // copies ENGINES.xlsx with the given sheet
+    @NotNull
+    private static Path replaceSheet(@NotNull Path targetPath, @NotNull byte[] sheetXml) throws IOException {
+        final Path sourcePath = ResourceUtil.getPathOfClasspathResource("ENGINES.xlsx");
+        try (final ZipInputStream zipIn = new ZipInputStream(Files.newInputStream(sourcePath));
+             final ZipOutputStream zipOut = new ZipOutputStream(Files.newOutputStream(targetPath))) {
+            ZipEntry entry;
+            while ((entry = zipIn.getNextEntry()) != null) {
+                zipOut.putNextEntry(new ZipEntry(entry.getName()));
+                if ("xl/worksheets/sheet1.xml".equals(entry.getName())) {
+                    zipOut.write(sheetXml);
+                } else {
+                    final byte[] buffer = new byte[4096];
+                    int n;
+                    while ((n = zipIn.read(buffer)) != -1) {
+                        zipOut.write(buffer, 0, n);
+                    }
+                }
+                zipOut.closeEntry();
+            }
+        }
+        return targetPath;
+    }
+
+    @Test
+    void readRawValues() {
+        assertEventsWithOptions(DATE_FILE_PATHS, UnaryOperator.identity(),
+                                AbstractWorkbookEventReaderTest::assertRawValueEvents,
+                                AbstractWorkbookEventReaderTest::recordPlainEvents,
+                                RAW_VALUES, BYTE_SCANNING);
+    }
+
+    @Test
+    void readLazyCellValues() {
+        assertSameEvents(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::recordPlainEvents, LAZY_CELL_VALUES);
+        assertSameEvents(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::recordDeferredEvents,
+                         LAZY_CELL_VALUES, BYTE_SCANNING, PARALLELISM);
+
+        // numbers are left undecoded by the byte scanning as well
+        LAZY_CELL_VALUES.set();
+        BYTE_SCANNING.set();
+        final List<CellValue> numberCellValues = new ArrayList<>();
+        try (final XSSFWorkbookEventReader reader =
+                     new XSSFWorkbookEventReader(ResourceUtil.getPathOfClasspathResource(NORMAL_FILE_NAME))) {
+            reader.read(new WorkbookEventReader.EventHandler() {
+                @Override
+                public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+                    if (cellValue.originalValue() instanceof Number) {
+                        numberCellValues.add(cellValue);
+                    }
+                }
+            });
+        } finally {
+            BYTE_SCANNING.reset();
+            LAZY_CELL_VALUES.reset();
+        }
+        assertFalse(numberCellValues.isEmpty());
+        for (CellValue cellValue : numberCellValues) {
+            assertTrue(cellValue instanceof LazyCellValue, cellValue::toString);
+        }
+    }
+
+    @Test
+    void readTypedCells() {
+        assertSameEvents(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::recordTypedEvents,
+                         ReaderOption.DEFAULTS, BYTE_SCANNING, PARALLELISM, LAZY_CELL_VALUES);
+    }
+
+    @Test
+    void readBatches() {
+        // null cells cannot be told from absent cells in batches
+        assertEventsWithOptions(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::withoutNullCells,
+                                (expected, actual) -> assertEquals(expected, actual),
+                                reader -> recordBatchEvents(reader, 1024), ReaderOption.DEFAULTS);
+        assertEventsWithOptions(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::withoutNullCells,
+                                (expected, actual) -> assertEquals(expected, actual),
+                                reader -> recordBatchEvents(reader, 3),
+                                ReaderOption.DEFAULTS, BYTE_SCANNING, PARALLELISM, LAZY_CELL_VALUES);
+    }
+
+    @Test
+    void readRows() {
+        assertSameEvents(DATE_FILE_PATHS, AbstractWorkbookEventReaderTest::recordRowEvents,
+                         ReaderOption.DEFAULTS, BYTE_SCANNING, PARALLELISM, LAZY_CELL_VALUES);
+    }
+
+    @Test
+    void readAsync() {
+        final List<Path> filePaths = resourcePaths(NORMAL_FILE_NAME);
+        for (WorkbookEventReader.WaitStrategy waitStrategy : WorkbookEventReader.WaitStrategy.values()) {
+            final ReaderOption async = new ReaderOption("async " + waitStrategy,
+                    () -> XSSFWorkbookEventReader.setAsync(2, waitStrategy),
+                    () -> XSSFWorkbookEventReader.setAsync(0, WorkbookEventReader.WaitStrategy.PARK));
+            assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordPlainEvents, async);
+            assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordTypedEvents, async);
+            assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordRowEvents, async);
+
+            // the handler runs on the calling thread, the cancellation works as usual
+            async.set();
+            try {
+                super.cancel();
+            } finally {
+                async.reset();
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> XSSFWorkbookEventReader.setAsync(-1, WorkbookEventReader.WaitStrategy.PARK));
+        assertThrows(IllegalArgumentException.class,
+                     () -> XSSFWorkbookEventReader.setAsync((1 << 30) + 1, WorkbookEventReader.WaitStrategy.SPIN));
+        assertThrows(NullPointerException.class, () -> XSSFWorkbookEventReader.setAsync(1, null));
+    }
+
+    @Test
+    void readCompactSharedStrings() {
+        final List<Path> filePaths = resourcePaths(NORMAL_FILE_NAME, "workbook-1904.xlsx", "ENGINES.xlsx");
+        for (int cacheSize : new int[]{1, 1024}) {
+            assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordDeferredEvents,
+                             compactSharedStrings(cacheSize), BYTE_SCANNING, PARALLELISM, LAZY_CELL_VALUES);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> XSSFWorkbookEventReader.setCompactSharedStrings(-1));
+    }
+
+    @Test
+    void readMappedSharedStrings() {
+        final List<Path> filePaths = resourcePaths(NORMAL_FILE_NAME, "workbook-1904.xlsx", "ENGINES.xlsx");
+        // 1 byte always spills into the file, while 2^30 bytes never does
+        for (long threshold : new long[]{1, 1 << 30}) {
+            final ReaderOption mappedSharedStrings = new ReaderOption("mappedSharedStrings " + threshold,
+                    () -> XSSFWorkbookEventReader.setMappedSharedStrings(threshold),
+                    () -> XSSFWorkbookEventReader.setMappedSharedStrings(0));
+            assertSameEvents(filePaths, AbstractWorkbookEventReaderTest::recordDeferredEvents,
+                             mappedSharedStrings, BYTE_SCANNING, PARALLELISM, compactSharedStrings(16),
+                             LAZY_CELL_VALUES);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> XSSFWorkbookEventReader.setMappedSharedStrings(-1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> XSSFWorkbookEventReader.setMappedSharedStrings((1L << 30) + 1));
+    }
+
+    @NotNull
+    private static ReaderOption prefetch(int depth, int bufferSize) {
+        return new ReaderOption("prefetch " + depth + " " + bufferSize,
+                                () -> XSSFWorkbookEventReader.setPrefetch(depth, bufferSize),
+                                () -> XSSFWorkbookEventReader.setPrefetch(0, 1));
+    }
+
+    @NotNull
+    private static ReaderOption compactSharedStrings(int cacheSize) {
+        return new ReaderOption("compactSharedStrings " + cacheSize,
+                                () -> XSSFWorkbookEventReader.setCompactSharedStrings(cacheSize),
+                                () -> XSSFWorkbookEventReader.setCompactSharedStrings(0));
+    }
+
+    @NotNull
+    static List<String> recordEvents(@NotNull Path filePath) {
+        try (final WorkbookEventReader reader = new XSSFWorkbookEventReader(filePath)) {
+            final WorkbookEventRecorder recorder = new WorkbookEventRecorder();
+            reader.read(recorder);
+            return recorder.getEvents();
+        }
+    }
+
+    @Test
+    @Override
+    void rows() {
+        super.rows();
+    }
+
     @Test
     @Override
     void cancel() {
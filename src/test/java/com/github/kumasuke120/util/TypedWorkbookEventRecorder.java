@@ -0,0 +1,53 @@
+package com.github.kumasuke120.util;
+
+import com.github.kumasuke120.excel.WorkbookEventReader;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.temporal.Temporal;
+
+public class TypedWorkbookEventRecorder extends WorkbookEventRecorder
+        implements WorkbookEventReader.TypedEventHandler {
+
+    private int typedCellCount = 0;
+
+    @Override
+    public void onBlankCell(int sheetIndex, int rowNum, int columnNum) {
+        recordCell(sheetIndex, rowNum, columnNum, "null", null);
+    }
+
+    @Override
+    public void onBooleanCell(int sheetIndex, int rowNum, int columnNum, boolean value) {
+        recordCell(sheetIndex, rowNum, columnNum, "Boolean", value);
+    }
+
+    @Override
+    public void onLongCell(int sheetIndex, int rowNum, int columnNum, long value) {
+        final boolean isInt = value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+        recordCell(sheetIndex, rowNum, columnNum, isInt ? "Integer" : "Long", value);
+    }
+
+    @Override
+    public void onNumericCell(int sheetIndex, int rowNum, int columnNum, double value) {
+        recordCell(sheetIndex, rowNum, columnNum, "Double", value);
+    }
+
+    @Override
+    public void onStringCell(int sheetIndex, int rowNum, int columnNum, @NotNull CharSequence value) {
+        recordCell(sheetIndex, rowNum, columnNum, "String", value.toString());
+    }
+
+    @Override
+    public void onTemporalCell(int sheetIndex, int rowNum, int columnNum, @NotNull Temporal value) {
+        recordCell(sheetIndex, rowNum, columnNum, value.getClass().getSimpleName(), value);
+    }
+
+    private void recordCell(int sheetIndex, int rowNum, int columnNum, String type, Object value) {
+        typedCellCount += 1;
+        getEvents().add("cell " + sheetIndex + " " + rowNum + " " + columnNum + " " + type + " " + value);
+    }
+
+    public int getTypedCellCount() {
+        return typedCellCount;
+    }
+
+}
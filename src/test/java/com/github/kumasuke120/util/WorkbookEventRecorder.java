@@ -0,0 +1,60 @@
+package com.github.kumasuke120.util;
+
+import com.github.kumasuke120.excel.CellValue;
+import com.github.kumasuke120.excel.WorkbookEventReader;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class WorkbookEventRecorder implements WorkbookEventReader.EventHandler {
+
+    private final List<String> events = new ArrayList<>();
+
+    @Override
+    public void onStartDocument() {
+        events.add("startDocument");
+    }
+
+    @Override
+    public void onEndDocument() {
+        events.add("endDocument");
+    }
+
+    @Override
+    public void onStartSheet(int sheetIndex, @NotNull String sheetName) {
+        events.add("startSheet " + sheetIndex + " " + sheetName);
+    }
+
+    @Override
+    public void onEndSheet(int sheetIndex) {
+        events.add("endSheet " + sheetIndex);
+    }
+
+    @Override
+    public void onStartRow(int sheetIndex, int rowNum) {
+        events.add("startRow " + sheetIndex + " " + rowNum);
+    }
+
+    @Override
+    public void onEndRow(int sheetIndex, int rowNum) {
+        events.add("endRow " + sheetIndex + " " + rowNum);
+    }
+
+    @Override
+    public void onHandleCell(int sheetIndex, int rowNum, int columnNum, @NotNull CellValue cellValue) {
+        events.add("cell " + sheetIndex + " " + rowNum + " " + columnNum + " " +
+                (cellValue.isNull() ? "null" : cellValue.originalType().getSimpleName()) + " " +
+                cellValue.originalValue());
+    }
+
+    @Override
+    public void onReadCancelled() {
+        events.add("readCancelled");
+    }
+
+    public List<String> getEvents() {
+        return events;
+    }
+
+}